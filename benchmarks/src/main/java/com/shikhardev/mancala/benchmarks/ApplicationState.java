@@ -0,0 +1,52 @@
+package com.shikhardev.mancala.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shikhardev.mancala.MancalaApplication;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.services.BoardService;
+import com.shikhardev.mancala.services.GameRegistry;
+import com.shikhardev.mancala.services.GameService;
+import com.shikhardev.mancala.services.PlayerService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The application context of the server, without the web server: benchmarks run the same beans, with the same
+ * configuration, that serve requests.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    ConfigurableApplicationContext context;
+    Rules rules;
+    BoardService boardService;
+    PlayerService playerService;
+    GameService gameService;
+    GameRegistry gameRegistry;
+    ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(MancalaApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run("--logging.level.root=WARN");
+        rules = context.getBean(Rules.class);
+        boardService = context.getBean(BoardService.class);
+        playerService = context.getBean(PlayerService.class);
+        gameService = context.getBean(GameService.class);
+        gameRegistry = context.getBean(GameRegistry.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+}
@@ -0,0 +1,29 @@
+package com.shikhardev.mancala.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so every throughput comes with its allocation rate (gc.alloc.rate.norm:
+ * bytes per operation). Takes the usual JMH command line, which overrides the defaults each benchmark class declares:
+ *
+ *      ./mvnw package -DskipTests
+ *      java -jar benchmarks/target/benchmarks.jar [JMH options] [regexp]
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class);
+        if (commandLine.getIncludes().isEmpty())
+            options.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+        new Runner(options.build()).run();
+    }
+}
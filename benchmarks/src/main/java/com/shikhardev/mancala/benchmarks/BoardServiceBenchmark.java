@@ -0,0 +1,111 @@
+package com.shikhardev.mancala.benchmarks;
+
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.models.Board;
+import com.shikhardev.mancala.models.Move;
+import com.shikhardev.mancala.models.Pit;
+import com.shikhardev.mancala.models.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single moves on the Board object model (BoardService) and, for comparison, on the primitive engine (Rules.sow).
+ * Each invocation plays one random legal move of a running game; a finished game is set up again, which happens
+ * about once every 40 moves.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardServiceBenchmark {
+
+    private ApplicationState app;
+    private SplittableRandom random;
+
+    private Board board;
+    private Player[] players;
+    private int player;
+
+    private int[] pits;
+    private int side;
+
+    private Board captureBoard;
+    private Player captureMover;
+    private Pit capturePit;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState app) {
+        this.app = app;
+        random = new SplittableRandom(7);
+        players = new Player[]{app.playerService.getP1(), app.playerService.getP2()};
+        board = app.boardService.initBoard();
+        pits = app.rules.newBoard();
+
+        // Player 1 ends in empty pit 2, across from 4 stones in pit 10
+        captureBoard = app.boardService.initBoard();
+        captureMover = players[Rules.PLAYER_1];
+        capturePit = app.boardService.getPitByID(captureBoard, 2);
+    }
+
+    @Benchmark
+    public boolean updateBoardForMove() {
+        int home = app.rules.getHome(player);
+        int first = app.rules.getFirstPit(player);
+        int pitID = first + random.nextInt(home - first);
+        while (app.boardService.getPitByID(board, pitID).getNumberOfStones() == 0)
+            pitID = pitID + 1 < home ? pitID + 1 : first;
+        boolean playerContinues = app.boardService.updateBoardForMove(board,
+                new Move(players[player], app.boardService.getPitByID(board, pitID)));
+        if (!playerContinues)
+            player = Rules.opponent(player);
+        if (app.boardService.arePitsInRangeEmpty(board, 0, app.rules.getHome(Rules.PLAYER_1)) ||
+                app.boardService.arePitsInRangeEmpty(board, app.rules.getFirstPit(Rules.PLAYER_2),
+                        app.rules.getHome(Rules.PLAYER_2))) {
+            board = app.boardService.initBoard();
+            player = Rules.PLAYER_1;
+        }
+        return playerContinues;
+    }
+
+    @Benchmark
+    public int sow() {
+        Rules rules = app.rules;
+        int home = rules.getHome(side);
+        int first = rules.getFirstPit(side);
+        int pitID = first + random.nextInt(home - first);
+        while (pits[pitID] == 0)
+            pitID = pitID + 1 < home ? pitID + 1 : first;
+        int outcome = rules.sow(pits, side, pitID);
+        if (!MoveOutcome.isExtraTurn(outcome))
+            side = Rules.opponent(side);
+        if (rules.isEndGame(pits)) {
+            pits = rules.newBoard();
+            side = Rules.PLAYER_1;
+        }
+        return outcome;
+    }
+
+    @Benchmark
+    public Board captureOppositeStones() {
+        captureBoard.getPit(2).setNumberOfStones(1);
+        captureBoard.getPit(10).setNumberOfStones(4);
+        captureBoard.getPit(6).setNumberOfStones(0);
+        app.boardService.captureOppositeStones(captureBoard, captureMover, capturePit);
+        return captureBoard;
+    }
+}
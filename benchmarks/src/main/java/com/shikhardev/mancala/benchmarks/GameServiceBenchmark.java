@@ -0,0 +1,117 @@
+package com.shikhardev.mancala.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.shikhardev.mancala.dto.GameStatus;
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.models.PlayerID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The request path: GameService.executeMove on a registered game, the end-of-game check, and the Jackson
+ * serialization of the GameStatus sent back to the client.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GameServiceBenchmark {
+
+    private static final int SAMPLE_COUNT = 64;
+
+    private ApplicationState app;
+    private SplittableRandom random;
+    private GameStatus game;    // Last status of the game executeMove plays
+
+    private int[][] samples;    // Boards met in random games, finished ones included
+    private int sample;
+
+    private GameStatus gameStatus;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState app) {
+        this.app = app;
+        random = new SplittableRandom(11);
+        game = app.gameService.initGame();
+
+        Rules rules = app.rules;
+        samples = new int[SAMPLE_COUNT][];
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            int[] pits = rules.newBoard();
+            int side = Rules.PLAYER_1;
+            for (int ply = random.nextInt(60); ply > 0 && !rules.isEndGame(pits); ply--) {
+                int pitID = randomLegalPit(pits, side);
+                if (!MoveOutcome.isExtraTurn(rules.sow(pits, side, pitID)))
+                    side = Rules.opponent(side);
+            }
+            samples[i] = pits;
+        }
+
+        GameStatus status = app.gameService.initGame();
+        for (int pitID : new int[]{2, 0, 9, 1, 11})
+            status = app.gameService.executeMove(status.getGameID(), status.getNextPlayer().getId().name(), pitID);
+        gameStatus = status;
+    }
+
+    private int randomLegalPit(int[] pits, int side) {
+        int home = app.rules.getHome(side);
+        int first = app.rules.getFirstPit(side);
+        int pitID = first + random.nextInt(home - first);
+        while (pits[pitID] == 0)
+            pitID = pitID + 1 < home ? pitID + 1 : first;
+        return pitID;
+    }
+
+    /**
+     * Random pit of the side among the legal moves of a GameStatus.
+     */
+    private int randomLegalPit(GameStatus gameStatus, int side) {
+        int[] legalMoves = gameStatus.getLegalMoves();
+        int home = app.rules.getHome(side);
+        int first = app.rules.getFirstPit(side);
+        int pitID = first + random.nextInt(home - first);
+        while ((legalMoves[pitID >>> 5] >>> (pitID & 31) & 1) == 0)
+            pitID = pitID + 1 < home ? pitID + 1 : first;
+        return pitID;
+    }
+
+    /**
+     * One random legal move through the service, as a /move request makes it. The move is picked from the status the
+     * previous move returned, as a client does; a finished game is followed by a new one.
+     */
+    @Benchmark
+    public GameStatus executeMove() {
+        if (game.isEndGame())
+            game = app.gameService.initGame();
+        PlayerID playerID = game.getNextPlayer().getId();
+        int pitID = randomLegalPit(game, app.playerService.getPlayerIndex(playerID));
+        game = app.gameService.executeMove(game.getGameID(), playerID.name(), pitID);
+        return game;
+    }
+
+    @Benchmark
+    public boolean isEndGame() {
+        sample = (sample + 1) & (SAMPLE_COUNT - 1);
+        return app.gameService.isEndGame(samples[sample]);
+    }
+
+    @Benchmark
+    public byte[] serializeGameStatus() throws JsonProcessingException {
+        return app.objectMapper.writeValueAsBytes(gameStatus);
+    }
+}
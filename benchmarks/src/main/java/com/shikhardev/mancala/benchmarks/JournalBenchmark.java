@@ -0,0 +1,78 @@
+package com.shikhardev.mancala.benchmarks;
+
+import com.shikhardev.mancala.journal.MoveJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The moves per second the journal makes durable when many requests append at once, each one waiting for its own
+ * move as GameService does. The group commit is what lets the threads share an fsync.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class JournalBenchmark {
+
+    @Param({"true", "false"})
+    public boolean force;
+
+    private Path directory;
+    private MoveJournal journal;
+    private final AtomicLong nextGameID = new AtomicLong();
+
+    @State(Scope.Thread)
+    public static class Player {
+        long gameID;
+        long sequence;
+
+        @Setup(Level.Trial)
+        public void setUp(JournalBenchmark benchmark) {
+            gameID = benchmark.nextGameID.incrementAndGet();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("journal");
+        journal = new MoveJournal(directory, 0, 1 << 26, 1 << 20, force);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        System.out.printf("%.1f moves per batch%n", (double) journal.getAppended() / journal.getBatches());
+        for (long index : MoveJournal.listSegments(directory))
+            Files.delete(MoveJournal.getSegmentPath(directory, index));
+        Files.delete(directory);
+    }
+
+    /**
+     * One move appended and waited for until it is durable, as a /move request makes it.
+     */
+    @Benchmark
+    public void appendAndAwait(Player player) {
+        journal.awaitDurable(journal.append(MoveJournal.MOVE, player.gameID, ++player.sequence, 0, 2));
+    }
+}
@@ -0,0 +1,101 @@
+package com.shikhardev.mancala.benchmarks;
+
+import com.shikhardev.mancala.ai.ParallelSearcher;
+import com.shikhardev.mancala.ai.TranspositionTable;
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Speedup of ParallelSearcher: the time to complete a fixed depth on positions of random openings, per thread count.
+ * The speedup at n threads is the time at 1 thread over the time at n. The table is cleared before every search, as
+ * the entries of an earlier search would make the next one look faster.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ParallelSearchBenchmark {
+
+    private static final int POSITION_COUNT = 16;
+    private static final int TABLE_BITS = 20;
+    private static final long NO_LIMIT = TimeUnit.MINUTES.toNanos(10);
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"12"})
+    public int depth;
+
+    private Rules rules;
+    private ForkJoinPool pool;
+    private ParallelSearcher searcher;
+    private int[][] positions;
+    private int[] sides;
+    private int position;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rules = new Rules(6, 6);
+        Random random = new Random(42);
+        positions = new int[POSITION_COUNT][];
+        sides = new int[POSITION_COUNT];
+        for (int i = 0; i < POSITION_COUNT; i++) {
+            int[] pits;
+            int side;
+            do {
+                pits = rules.newBoard();
+                side = Rules.PLAYER_1;
+                for (int ply = 4 + random.nextInt(12); ply > 0 && !rules.isEndGame(pits); ply--) {
+                    int pit;
+                    do {
+                        pit = rules.getFirstPit(side) + random.nextInt(rules.getPitsPerPlayer());
+                    } while (!rules.isLegalMove(pits, side, pit));
+                    if (!MoveOutcome.isExtraTurn(rules.sow(pits, side, pit)))
+                        side = Rules.opponent(side);
+                }
+            } while (rules.isEndGame(pits));
+            positions[i] = pits;
+            sides[i] = side;
+        }
+        pool = new ForkJoinPool(threads);
+        searcher = new ParallelSearcher(rules, new TranspositionTable(TABLE_BITS), depth, threads, pool);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        position = (position + 1) % POSITION_COUNT;
+        searcher.getTable().clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * One search of the next position to the fixed depth.
+     */
+    @Benchmark
+    public int searchToDepth() {
+        return searcher.search(positions[position], sides[position], NO_LIMIT, depth).getBestPit();
+    }
+}
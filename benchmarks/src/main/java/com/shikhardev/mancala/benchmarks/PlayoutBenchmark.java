@@ -0,0 +1,88 @@
+package com.shikhardev.mancala.benchmarks;
+
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.models.Board;
+import com.shikhardev.mancala.models.Move;
+import com.shikhardev.mancala.models.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Complete games of random legal moves, from the start position to the end, on the primitive engine and on
+ * the Board object model. Throughput is in games.
+ * Each game includes the random choice of every move and the end-of-game check after it, which both variants pay
+ * alike; SowBenchmark measures the move application alone.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PlayoutBenchmark {
+
+    private ApplicationState app;
+    private SplittableRandom random;
+    private int[] pits;
+    private Player[] players;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState app) {
+        this.app = app;
+        random = new SplittableRandom(13);
+        pits = new int[app.rules.getTotalPitCount()];
+        players = new Player[]{app.playerService.getP1(), app.playerService.getP2()};
+    }
+
+    @Benchmark
+    public int rulesPlayout() {
+        Rules rules = app.rules;
+        int[] start = rules.newBoard();
+        System.arraycopy(start, 0, pits, 0, pits.length);
+        int side = Rules.PLAYER_1;
+        while (!rules.isEndGame(pits)) {
+            int home = rules.getHome(side);
+            int first = rules.getFirstPit(side);
+            int pitID = first + random.nextInt(home - first);
+            while (pits[pitID] == 0)
+                pitID = pitID + 1 < home ? pitID + 1 : first;
+            if (!MoveOutcome.isExtraTurn(rules.sow(pits, side, pitID)))
+                side = Rules.opponent(side);
+        }
+        rules.collectRemainingStones(pits);
+        return rules.getWinner(pits);
+    }
+
+    @Benchmark
+    public Board boardServicePlayout() {
+        Rules rules = app.rules;
+        Board board = app.boardService.initBoard();
+        int side = Rules.PLAYER_1;
+        while (!app.boardService.arePitsInRangeEmpty(board, 0, rules.getHome(Rules.PLAYER_1)) &&
+                !app.boardService.arePitsInRangeEmpty(board, rules.getFirstPit(Rules.PLAYER_2),
+                        rules.getHome(Rules.PLAYER_2))) {
+            int home = rules.getHome(side);
+            int first = rules.getFirstPit(side);
+            int pitID = first + random.nextInt(home - first);
+            while (board.getPit(pitID).getNumberOfStones() == 0)
+                pitID = pitID + 1 < home ? pitID + 1 : first;
+            if (!app.boardService.updateBoardForMove(board, new Move(players[side], board.getPit(pitID))))
+                side = Rules.opponent(side);
+        }
+        app.boardService.collectRemainingStones(board);
+        return board;
+    }
+}
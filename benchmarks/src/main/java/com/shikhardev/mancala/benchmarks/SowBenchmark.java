@@ -0,0 +1,102 @@
+package com.shikhardev.mancala.benchmarks;
+
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.models.Board;
+import com.shikhardev.mancala.models.Move;
+import com.shikhardev.mancala.models.Pit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Move application alone: Rules.sow against BoardService.updateBoardForMove, on the same moves recorded from random
+ * games. Move selection and end-of-game checks are done once in the setup, so each invocation only restores the board
+ * the move was played from and plays it.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SowBenchmark {
+
+    private static final int SAMPLE_COUNT = 1024;
+
+    private ApplicationState app;
+    private int[][] boards;     // Board before each recorded move
+    private int[] sides;
+    private int[] pitIDs;
+    private int sample;
+
+    private int[] pits;
+    private Board board;
+    private List<Pit> boardPits;
+    private Move[][] moves;     // moves[side][pitID]: Move of the side from that pit of board
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState app) {
+        this.app = app;
+        Rules rules = app.rules;
+        SplittableRandom random = new SplittableRandom(17);
+        boards = new int[SAMPLE_COUNT][];
+        sides = new int[SAMPLE_COUNT];
+        pitIDs = new int[SAMPLE_COUNT];
+        int[] game = rules.newBoard();
+        int side = Rules.PLAYER_1;
+        for (int i = 0; i < SAMPLE_COUNT; i++) {
+            if (rules.isEndGame(game)) {
+                game = rules.newBoard();
+                side = Rules.PLAYER_1;
+            }
+            int home = rules.getHome(side);
+            int first = rules.getFirstPit(side);
+            int pitID = first + random.nextInt(home - first);
+            while (game[pitID] == 0)
+                pitID = pitID + 1 < home ? pitID + 1 : first;
+            boards[i] = game.clone();
+            sides[i] = side;
+            pitIDs[i] = pitID;
+            if (!MoveOutcome.isExtraTurn(rules.sow(game, side, pitID)))
+                side = Rules.opponent(side);
+        }
+
+        pits = new int[rules.getTotalPitCount()];
+        board = app.boardService.initBoard();
+        boardPits = board.getAllPits();
+        moves = new Move[2][rules.getTotalPitCount()];
+        for (int pitID = 0; pitID < rules.getTotalPitCount(); pitID++) {
+            moves[Rules.PLAYER_1][pitID] = new Move(app.playerService.getP1(), board.getPit(pitID));
+            moves[Rules.PLAYER_2][pitID] = new Move(app.playerService.getP2(), board.getPit(pitID));
+        }
+    }
+
+    @Benchmark
+    public int sow() {
+        sample = (sample + 1) & (SAMPLE_COUNT - 1);
+        System.arraycopy(boards[sample], 0, pits, 0, pits.length);
+        return app.rules.sow(pits, sides[sample], pitIDs[sample]);
+    }
+
+    @Benchmark
+    public boolean updateBoardForMove() {
+        sample = (sample + 1) & (SAMPLE_COUNT - 1);
+        int[] before = boards[sample];
+        for (int i = 0; i < before.length; i++)
+            boardPits.get(i).setNumberOfStones(before[i]);
+        return app.boardService.updateBoardForMove(board, moves[sides[sample]][pitIDs[sample]]);
+    }
+}
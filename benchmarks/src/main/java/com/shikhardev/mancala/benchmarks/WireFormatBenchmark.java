@@ -0,0 +1,78 @@
+package com.shikhardev.mancala.benchmarks;
+
+import com.shikhardev.mancala.dto.GameStatus;
+import com.shikhardev.mancala.dto.GameStatusCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of a mid-game GameStatus, in the Jackson JSON sent by default and in the binary form of
+ * GameStatusCodec. Both encode into a reused stream, as into a response buffer. The size of both forms is printed at
+ * setup.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WireFormatBenchmark {
+
+    private ApplicationState app;
+    private GameStatus gameStatus;
+    private ByteArrayOutputStream out;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup(Level.Trial)
+    public void setUp(ApplicationState app) throws IOException {
+        this.app = app;
+        GameStatus status = app.gameService.initGame();
+        for (int pitID : new int[]{2, 0, 9, 1, 11})
+            status = app.gameService.executeMove(status.getGameID(), status.getNextPlayer().getId().name(), pitID);
+        gameStatus = status;
+        out = new ByteArrayOutputStream(4096);
+        json = app.objectMapper.writeValueAsBytes(gameStatus);
+        GameStatusCodec.encode(gameStatus, out);
+        binary = out.toByteArray();
+        System.out.printf("%nGameStatus size: JSON %d bytes, binary %d bytes%n", json.length, binary.length);
+    }
+
+    @Benchmark
+    public int jsonEncode() throws IOException {
+        out.reset();
+        app.objectMapper.writeValue(out, gameStatus);
+        return out.size();
+    }
+
+    @Benchmark
+    public int binaryEncode() throws IOException {
+        out.reset();
+        GameStatusCodec.encode(gameStatus, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public GameStatus jsonDecode() throws IOException {
+        return app.objectMapper.readValue(json, GameStatus.class);
+    }
+
+    @Benchmark
+    public GameStatus binaryDecode() throws IOException {
+        return GameStatusCodec.decode(new ByteArrayInputStream(binary));
+    }
+}
@@ -4,14 +4,17 @@ import "./App.css";
 import Board from "./components/board";
 import Notifs from "./components/notifs";
 import BottomButtons from "./components/bottomButtons";
-import { startGame, playMove } from "./components/api";
+import { startGame, playMove, getStatus, watchGame } from "./components/api";
 
 class App extends Component {
   constructor(props) {
     super(props);
     this.state = {
+      gameID: null,
+      sequence: 0,
       board: "",
       legalMove: true,
+      legalMoves: null,
       currentPlayer: "",
       endGame: false,
       winner: "",
@@ -62,12 +65,40 @@ class App extends Component {
     const data = await startGame().catch(() => this.setState({ error: true }));
     if (data) {
       this.mapData(data);
+      if (this.socket) {
+        this.socket.close();
+      }
+      // Moves of both players, and of the computer, are pushed as they are played
+      this.socket = watchGame(data.gameID, this.mapData, this.applyDelta);
+    }
+  };
+
+  componentWillUnmount() {
+    if (this.socket) {
+      this.socket.close();
+    }
+  }
+
+  isLegalPit = (pit) => {
+    const { legalMoves } = this.state;
+    if (!legalMoves) {
+      return true; // Unknown until the first status: let the server decide
     }
+    // Bit (pit % 32) of word (pit / 32)
+    return ((legalMoves[pit >> 5] >>> (pit & 31)) & 1) === 1;
   };
 
   onMoveApp = async (pit) => {
+    if (!this.isLegalPit(pit)) {
+      this.setState({ legalMove: false }); // Known illegal: no request needed
+      return;
+    }
     if (!this.state.endGame) {
-      const data = await playMove(this.state.currentPlayer, pit).catch(() =>
+      const data = await playMove(
+        this.state.gameID,
+        this.state.currentPlayer,
+        pit
+      ).catch(() =>
         this.setState({ error: true })
       );
       if (data) {
@@ -76,10 +107,41 @@ class App extends Component {
     }
   };
 
+  applyDelta = async (delta) => {
+    if (delta.sequence <= this.state.sequence) {
+      return; // Already applied from the /move response
+    }
+    if (delta.sequence !== this.state.sequence + 1) {
+      // An update was missed: resync from the full status
+      const data = await getStatus(this.state.gameID).catch(() => this.setState({ error: true }));
+      if (data) {
+        this.mapData(data);
+      }
+      return;
+    }
+    const allPits = this.state.allPits.slice();
+    delta.pitIDs.forEach((pitID, i) => {
+      allPits[pitID] = { ...allPits[pitID], numberOfStones: delta.stoneCounts[i] };
+    });
+    this.setState({
+      allPits,
+      legalMove: delta.legalMove,
+      legalMoves: delta.legalMoves,
+      currentPlayer: delta.nextPlayer,
+      endGame: delta.endGame,
+      winner: { id: delta.winner },
+      sequence: delta.sequence,
+      error: false,
+    });
+  };
+
   mapData = (data) => {
     this.setState({
+      gameID: data.gameID,
+      sequence: data.sequence,
       allPits: data.currentBoardStatus.allPits,
       legalMove: data.legalMove,
+      legalMoves: data.legalMoves,
       currentPlayer: data.nextPlayer.id,
       endGame: data.endGame,
       winner: data.winner,
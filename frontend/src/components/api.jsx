@@ -5,8 +5,8 @@ export async function startGame() {
   }
 }
 
-export async function playMove(player, pit) {
-  const response = await fetch(`/move?playerID=${player}&pitID=${pit}`, {
+export async function playMove(gameID, player, pit) {
+  const response = await fetch(`/move?gameID=${gameID}&playerID=${player}&pitID=${pit}`, {
     method: "GET",
     headers: {
       "Content-Type": "application/json",
@@ -17,3 +17,27 @@ export async function playMove(player, pit) {
     return await response.json();
   }
 }
+
+export async function getStatus(gameID) {
+  const response = await fetch(`/status?gameID=${gameID}`);
+  if (response.ok) {
+    return await response.json();
+  }
+}
+
+// The first message is the full game status, every later one the delta of a move
+export function watchGame(gameID, onStatus, onDelta) {
+  const protocol = window.location.protocol === "https:" ? "wss" : "ws";
+  const socket = new WebSocket(`${protocol}://${window.location.host}/updates?gameID=${gameID}&delta=true`);
+  let first = true;
+  socket.onmessage = (event) => {
+    const data = JSON.parse(event.data);
+    if (first) {
+      first = false;
+      onStatus(data);
+    } else {
+      onDelta(data);
+    }
+  };
+  return socket;
+}
@@ -0,0 +1,274 @@
+package com.shikhardev.mancala.ai;
+
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.engine.Zobrist;
+import com.shikhardev.mancala.tablebase.Tablebase;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Computer player: negamax search with alpha-beta pruning over the primitive rules engine, run by iterative deepening
+ * until a wall-clock budget is spent.
+ *
+ * A move that ends at the mover's home keeps the turn, so its child is searched for the same side and its score is
+ * not negated. Moves are tried in the order: move stored in the transposition table, extra-turn moves, captures,
+ * then the rest. Scores are final store differences in stones from the point of view of the side to move; a finished
+ * game scores its exact result (remaining stones collected as in Rules.collectRemainingStones) and a leaf scores the
+ * current home difference. Below the root, a position with few enough stones in play for the endgame tablebase scores
+ * its exact result without being searched.
+ *
+ * An object of this class keeps all its scratch boards preallocated and is not thread-safe: use one per thread.
+ * Several searchers may share one TranspositionTable, which is how ParallelSearcher runs them on many cores.
+ */
+public class AlphaBetaSearcher {
+
+    private static final int INFINITY = Short.MAX_VALUE;
+    private static final int CLOCK_CHECK_INTERVAL = 1023;   // Nodes between two clock reads, minus one
+
+    /** Thrown (without stack trace) to unwind an iteration once the budget is spent. */
+    private static final class SearchAborted extends RuntimeException {
+        SearchAborted() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final SearchAborted ABORTED = new SearchAborted();
+    private static final AtomicBoolean NEVER_STOP = new AtomicBoolean();
+
+    private final Rules rules;
+    private final Zobrist zobrist;
+    private final TranspositionTable table;
+    private final Tablebase tablebase;
+    private final int maxDepth;
+    private final int lapLength;
+
+    private final int[][] boards;       // boards[ply]: board searched at ply
+    private final int[][] moves;        // moves[ply]: ordered pits to try at ply
+    private final int[][] orderScores;  // orderScores[ply]: ordering key of each entry of moves[ply]
+
+    private int totalStones;
+    private long nodes;
+    private long tableProbes;
+    private long tableHits;
+    private long deadline;
+    private AtomicBoolean stop;
+    private int rootBestPit;
+
+    /**
+     * @param rules: Rules of the variant to play
+     * @param table: Transposition table, owned by this searcher or shared with others
+     * @param maxDepth: Deepest iteration to search, in plies
+     */
+    public AlphaBetaSearcher(Rules rules, TranspositionTable table, int maxDepth) {
+        this(rules, table, maxDepth, Tablebase.NONE);
+    }
+
+    /**
+     * @param tablebase: Endgame tablebase of the variant, or Tablebase.NONE
+     */
+    public AlphaBetaSearcher(Rules rules, TranspositionTable table, int maxDepth, Tablebase tablebase) {
+        this.rules = rules;
+        this.zobrist = Zobrist.forRules(rules);
+        this.table = table;
+        this.tablebase = tablebase;
+        this.maxDepth = maxDepth;
+        this.lapLength = rules.getTotalPitCount() - 1;
+        boards = new int[maxDepth + 1][rules.getTotalPitCount()];
+        moves = new int[maxDepth + 1][rules.getPitsPerPlayer()];
+        orderScores = new int[maxDepth + 1][rules.getPitsPerPlayer()];
+    }
+
+    public Rules getRules() {
+        return rules;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Searches the best move for the side to move, deepening one ply at a time until the budget is spent or maxDepth
+     * is reached. The move of the last completed iteration is returned.
+     * @param pits: Board to search; left unchanged
+     * @param sideToMove: Rules.PLAYER_1 or Rules.PLAYER_2
+     * @param budgetNanos: Wall-clock budget for the whole search
+     */
+    public SearchResult search(int[] pits, int sideToMove, long budgetNanos) {
+        return search(pits, sideToMove, budgetNanos, maxDepth);
+    }
+
+    /**
+     * Same as search(pits, sideToMove, budgetNanos), with a lower depth limit.
+     */
+    public SearchResult search(int[] pits, int sideToMove, long budgetNanos, int depthLimit) {
+        long start = System.nanoTime();
+        table.newSearch();
+        return iterate(pits, sideToMove, start, budgetNanos, 1, depthLimit, NEVER_STOP);
+    }
+
+    /**
+     * Iterative deepening loop, shared by search and by the threads of ParallelSearcher. Does not start a new table
+     * search: the caller does, once for all threads sharing the table.
+     * @param start: System.nanoTime() at which the budget started
+     * @param firstDepth: Depth of the first iteration
+     * @param stop: Set by another thread to end the search early; the last completed iteration is returned
+     */
+    SearchResult iterate(int[] pits, int sideToMove, long start, long budgetNanos, int firstDepth, int depthLimit,
+                         AtomicBoolean stop) {
+        this.deadline = start + budgetNanos;
+        this.stop = stop;
+        nodes = 0;
+        tableProbes = 0;
+        tableHits = 0;
+
+        System.arraycopy(pits, 0, boards[0], 0, pits.length);
+        totalStones = 0;
+        for (int stones : pits)
+            totalStones += stones;
+        long hash = zobrist.hash(pits, sideToMove);
+        int bestPit = firstLegalMove(pits, sideToMove);
+        int bestScore = 0;
+        int completedDepth = 0;
+        if (bestPit >= 0 && !rules.isEndGame(pits)) {
+            for (int depth = Math.min(firstDepth, depthLimit); depth <= Math.min(depthLimit, maxDepth); depth++) {
+                try {
+                    bestScore = negamax(0, depth, -INFINITY, INFINITY, sideToMove, hash);
+                } catch (SearchAborted e) {
+                    break;
+                }
+                bestPit = rootBestPit;
+                completedDepth = depth;
+                // The next iteration costs several times this one: do not start what cannot finish
+                if (System.nanoTime() - start > budgetNanos / 2)
+                    break;
+            }
+        }
+        return new SearchResult(bestPit, bestScore, completedDepth, nodes, System.nanoTime() - start,
+                tableProbes, tableHits);
+    }
+
+    private int firstLegalMove(int[] pits, int side) {
+        for (int i = rules.getFirstPit(side); i < rules.getHome(side); i++)
+            if (pits[i] != 0)
+                return i;
+        return -1;
+    }
+
+    private int negamax(int ply, int depth, int alpha, int beta, int side, long hash) {
+        if ((++nodes & CLOCK_CHECK_INTERVAL) == 0 && (stop.get() || System.nanoTime() > deadline))
+            throw ABORTED;
+        int[] pits = boards[ply];
+        if (rules.isEndGame(pits))
+            return finalScore(pits, side);
+        int own = pits[rules.getHome(side)];
+        int other = pits[rules.getHome(Rules.opponent(side))];
+        if (ply > 0 && tablebase.covers(totalStones - own - other))
+            return own - other + tablebase.getValue(pits, side);
+        if (depth == 0)
+            return own - other;
+
+        int alphaOrig = alpha;
+        int tableMove = -1;
+        long entry = table.probe(hash);
+        tableProbes++;
+        if (entry != TranspositionTable.MISS) {
+            tableHits++;
+            tableMove = TranspositionTable.getBestPit(entry);
+            // No cutoff at the root, which must always come back with its best move
+            if (ply > 0 && TranspositionTable.getDepth(entry) >= depth) {
+                int score = TranspositionTable.getScore(entry);
+                int bound = TranspositionTable.getBound(entry);
+                if (bound == TranspositionTable.EXACT)
+                    return score;
+                if (bound == TranspositionTable.LOWER_BOUND)
+                    alpha = Math.max(alpha, score);
+                else
+                    beta = Math.min(beta, score);
+                if (alpha >= beta)
+                    return score;
+            }
+        }
+
+        int moveCount = orderMoves(ply, pits, side, tableMove);
+        int[] ordered = moves[ply];
+        int[] child = boards[ply + 1];
+        int bestScore = -INFINITY;
+        int bestPit = ordered[0];
+        for (int m = 0; m < moveCount; m++) {
+            int pit = ordered[m];
+            System.arraycopy(pits, 0, child, 0, pits.length);
+            boolean extraTurn = MoveOutcome.isExtraTurn(rules.sow(child, side, pit));
+            long childHash = zobrist.update(hash, pits, child, !extraTurn);
+            int score = extraTurn ?
+                    negamax(ply + 1, depth - 1, alpha, beta, side, childHash) :
+                    -negamax(ply + 1, depth - 1, -beta, -alpha, Rules.opponent(side), childHash);
+            if (score > bestScore) {
+                bestScore = score;
+                bestPit = pit;
+            }
+            if (score > alpha)
+                alpha = score;
+            if (alpha >= beta)
+                break;
+        }
+
+        int bound = bestScore <= alphaOrig ? TranspositionTable.UPPER_BOUND :
+                bestScore >= beta ? TranspositionTable.LOWER_BOUND :
+                        TranspositionTable.EXACT;
+        table.store(hash, bestScore, depth, bound, bestPit);
+        if (ply == 0)
+            rootBestPit = bestPit;
+        return bestScore;
+    }
+
+    /**
+     * Fills moves[ply] with the legal pits of the side, best candidates first.
+     * @return number of legal moves
+     */
+    private int orderMoves(int ply, int[] pits, int side, int tableMove) {
+        int[] ordered = moves[ply];
+        int[] keys = orderScores[ply];
+        int home = rules.getHome(side);
+        int count = 0;
+        for (int pit = rules.getFirstPit(side); pit < home; pit++) {
+            int stones = pits[pit];
+            if (stones == 0)
+                continue;
+            int key;
+            if (pit == tableMove)
+                key = 3000;
+            else if (stones % lapLength == home - pit)
+                key = 2000 + pit;   // Extra turn; nearest to home first, so it does not spoil the others
+            else if (stones < lapLength && pit + stones < home && pits[pit + stones] == 0 &&
+                    pits[rules.getOpposite(pit + stones)] != 0)
+                key = 1000 + pits[rules.getOpposite(pit + stones)];    // Capture, largest first
+            else
+                key = stones;
+            // Insertion sort: at most pitsPerPlayer entries
+            int i = count++;
+            while (i > 0 && keys[i - 1] < key) {
+                keys[i] = keys[i - 1];
+                ordered[i] = ordered[i - 1];
+                i--;
+            }
+            keys[i] = key;
+            ordered[i] = pit;
+        }
+        return count;
+    }
+
+    /**
+     * Exact result of a finished game: remaining stones go to the side they are on.
+     */
+    private int finalScore(int[] pits, int side) {
+        int own = pits[rules.getHome(side)];
+        int other = pits[rules.getHome(Rules.opponent(side))];
+        for (int i = rules.getFirstPit(side); i < rules.getHome(side); i++)
+            own += pits[i];
+        int opponent = Rules.opponent(side);
+        for (int i = rules.getFirstPit(opponent); i < rules.getHome(opponent); i++)
+            other += pits[i];
+        return own - other;
+    }
+}
@@ -0,0 +1,250 @@
+package com.shikhardev.mancala.ai;
+
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+
+import java.util.SplittableRandom;
+
+/**
+ * Second computer player: Monte Carlo tree search with the UCT selection rule and uniformly random playouts over the
+ * primitive rules engine.
+ *
+ * The search is anytime: every iteration leaves a usable answer (the most visited move at the root), so it stops at
+ * the deadline, when stop() is called from another thread or when the searching thread is interrupted, and returns the
+ * best move found so far.
+ *
+ * Tree nodes live in a preallocated arena of parallel arrays, indexed by int; the children of a node are contiguous,
+ * so a node only records its first child and their count. A search starts by resetting the arena, so no node is ever
+ * allocated or freed. Once the arena is full the tree stops growing, and the remaining iterations keep refining the
+ * statistics of the nodes already in it. Boards are not stored either: each iteration replays the moves of its path
+ * from the root position.
+ *
+ * A node's statistics are from the point of view of the player who made the move leading to it: 2 points per win,
+ * 1 per draw, and the sum of the final store differences. An extra turn keeps the same player on the move, so the
+ * mover is recorded per node rather than derived from the depth.
+ *
+ * An object of this class is not thread-safe, apart from stop(): use one per thread.
+ */
+public class MctsSearcher {
+
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final int CLOCK_CHECK_INTERVAL = 63;    // Iterations between two clock reads, minus one
+
+    private final Rules rules;
+    private final SplittableRandom random;
+    private final int capacity;
+
+    // The arena: node i is described by element i of each array
+    private final int[] visits;
+    private final int[] points;         // 2 per win, 1 per draw, for the mover
+    private final int[] stoneSums;      // Sum of the final store differences, for the mover
+    private final int[] firstChild;     // -1 until expanded
+    private final byte[] childCount;
+    private final byte[] moves;         // Pit played to reach the node
+    private final byte[] movers;        // Player who played it
+    private int nodeCount;
+
+    private final int[] board;
+    private final int[] path;
+    private volatile boolean stopped;
+
+    /**
+     * @param rules: Rules of the variant to play
+     * @param capacity: Number of nodes in the arena
+     * @param seed: Seed of the random playouts
+     */
+    public MctsSearcher(Rules rules, int capacity, long seed) {
+        if (capacity < rules.getPitsPerPlayer() + 1)
+            throw new IllegalArgumentException("The node arena must hold at least the root and its children");
+        this.rules = rules;
+        this.random = new SplittableRandom(seed);
+        this.capacity = capacity;
+        visits = new int[capacity];
+        points = new int[capacity];
+        stoneSums = new int[capacity];
+        firstChild = new int[capacity];
+        childCount = new byte[capacity];
+        moves = new byte[capacity];
+        movers = new byte[capacity];
+        board = new int[rules.getTotalPitCount()];
+        path = new int[capacity];
+    }
+
+    public Rules getRules() {
+        return rules;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Ends the running search, which returns its best move so far. May be called from any thread; if no search is
+     * running, the next one returns at once with a legal move.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Searches the best move for the side to move until the budget is spent.
+     * @param pits: Board to search; left unchanged
+     * @param sideToMove: Rules.PLAYER_1 or Rules.PLAYER_2
+     * @param budgetNanos: Wall-clock budget for the whole search
+     */
+    public SearchResult search(int[] pits, int sideToMove, long budgetNanos) {
+        return search(pits, sideToMove, budgetNanos, Long.MAX_VALUE);
+    }
+
+    /**
+     * Same as search(pits, sideToMove, budgetNanos), stopping after at most maxIterations playouts.
+     * The result reports the playouts as nodes and the deepest path of the tree as depth; its score is the average
+     * final store difference of the playouts through the chosen move.
+     */
+    public SearchResult search(int[] pits, int sideToMove, long budgetNanos, long maxIterations) {
+        long start = System.nanoTime();
+        long deadline = start + budgetNanos;
+        nodeCount = 1;
+        resetNode(0, -1, Rules.opponent(sideToMove));
+        if (rules.isEndGame(pits)) {
+            stopped = false;
+            return new SearchResult(-1, 0, 0, 0, System.nanoTime() - start, 0, 0);
+        }
+        expand(0, pits, sideToMove);
+
+        long iterations = 0;
+        int maxDepth = 0;
+        if (childCount[0] > 1) {
+            while (iterations < maxIterations) {
+                if ((iterations & CLOCK_CHECK_INTERVAL) == 0 &&
+                        (stopped || System.nanoTime() > deadline || Thread.currentThread().isInterrupted()))
+                    break;
+                maxDepth = Math.max(maxDepth, iterate(pits, sideToMove));
+                iterations++;
+            }
+        }
+        stopped = false;    // Cleared once the search is over, so a stop() that came before it is not lost
+
+        int best = firstChild[0];
+        for (int child = firstChild[0] + 1; child < firstChild[0] + childCount[0]; child++)
+            if (visits[child] > visits[best])
+                best = child;
+        int score = visits[best] == 0 ? 0 : Math.round((float) stoneSums[best] / visits[best]);
+        return new SearchResult(moves[best], score, maxDepth, iterations, System.nanoTime() - start, 0, 0);
+    }
+
+    /**
+     * One iteration: selection down to a leaf, expansion, random playout from there, back-propagation.
+     * @return length of the path in the tree
+     */
+    private int iterate(int[] pits, int rootSide) {
+        System.arraycopy(pits, 0, board, 0, pits.length);
+        int side = rootSide;
+        int node = 0;
+        int length = 0;
+        path[length++] = node;
+        while (firstChild[node] >= 0) {
+            node = select(node);
+            side = play(side, moves[node]);
+            path[length++] = node;
+        }
+        if (visits[node] > 0 && !rules.isEndGame(board) && expand(node, board, side)) {
+            node = firstChild[node] + random.nextInt(childCount[node]);
+            side = play(side, moves[node]);
+            path[length++] = node;
+        }
+
+        int difference = playout(side);     // Final store difference for player 1
+        for (int i = 0; i < length; i++) {
+            int n = path[i];
+            int forMover = movers[n] == Rules.PLAYER_1 ? difference : -difference;
+            visits[n]++;
+            points[n] += forMover > 0 ? 2 : forMover == 0 ? 1 : 0;
+            stoneSums[n] += forMover;
+        }
+        return length - 1;
+    }
+
+    /**
+     * UCT: the child maximizing its mean result plus an exploration bonus; unvisited children first.
+     */
+    private int select(int node) {
+        int first = firstChild[node];
+        int best = first;
+        double bestValue = Double.NEGATIVE_INFINITY;
+        double logVisits = Math.log(visits[node]);
+        for (int child = first; child < first + childCount[node]; child++) {
+            if (visits[child] == 0)
+                return child;
+            double value = points[child] / (2.0 * visits[child]) +
+                    EXPLORATION * Math.sqrt(logVisits / visits[child]);
+            if (value > bestValue) {
+                bestValue = value;
+                best = child;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Allocates the children of the node, one per legal move of the side, if the arena has room for them.
+     * @return true if the node was expanded
+     */
+    private boolean expand(int node, int[] pits, int side) {
+        int count = 0;
+        for (int pit = rules.getFirstPit(side); pit < rules.getHome(side); pit++)
+            if (pits[pit] != 0)
+                count++;
+        if (nodeCount + count > capacity)
+            return false;
+        firstChild[node] = nodeCount;
+        childCount[node] = (byte) count;
+        for (int pit = rules.getFirstPit(side); pit < rules.getHome(side); pit++)
+            if (pits[pit] != 0)
+                resetNode(nodeCount++, pit, side);
+        return true;
+    }
+
+    private void resetNode(int node, int move, int mover) {
+        visits[node] = 0;
+        points[node] = 0;
+        stoneSums[node] = 0;
+        firstChild[node] = -1;
+        childCount[node] = 0;
+        moves[node] = (byte) move;
+        movers[node] = (byte) mover;
+    }
+
+    /**
+     * Plays a move on the iteration board.
+     * @return side to move next
+     */
+    private int play(int side, int pit) {
+        return MoveOutcome.isExtraTurn(rules.sow(board, side, pit)) ? side : Rules.opponent(side);
+    }
+
+    /**
+     * Plays uniformly random moves on the iteration board until the game ends: every non-empty pit of the side to
+     * move is drawn with the same probability, as RandomPolicy does.
+     * @return final store difference for player 1
+     */
+    private int playout(int side) {
+        while (!rules.isEndGame(board)) {
+            int first = rules.getFirstPit(side);
+            int home = rules.getHome(side);
+            int legal = 0;
+            for (int pit = first; pit < home; pit++)
+                if (board[pit] != 0)
+                    legal++;
+            int choice = random.nextInt(legal);
+            int pit = first;
+            while (board[pit] == 0 || choice-- != 0)
+                pit++;
+            side = play(side, pit);
+        }
+        int difference = 0;
+        for (int i = 0; i < board.length; i++)
+            difference += rules.getOwner(i) == Rules.PLAYER_1 ? board[i] : -board[i];
+        return difference;
+    }
+}
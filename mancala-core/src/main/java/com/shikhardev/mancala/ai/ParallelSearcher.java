@@ -0,0 +1,112 @@
+package com.shikhardev.mancala.ai;
+
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.tablebase.Tablebase;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Multi-core computer player (Lazy SMP): several AlphaBetaSearchers search the same position at once over one shared
+ * transposition table. They do not split the tree between them; each one fills the table with bounds and best moves
+ * the others pick up, so the main search reaches a given depth sooner. Half of the helpers start one ply deeper than
+ * the main search, so the threads do not all walk the same iteration in the same order.
+ *
+ * The main search runs on the calling thread and decides when the search ends; helpers run as tasks of the given
+ * ForkJoinPool and are stopped as soon as it returns. The deepest completed iteration wins, ties going to the main
+ * search. Node and table counts of the result are summed over all threads.
+ *
+ * An object of this class runs one search at a time: use one per concurrent request.
+ */
+public class ParallelSearcher {
+
+    private final TranspositionTable table;
+    private final AlphaBetaSearcher[] searchers;    // searchers[0]: main search, others: helpers
+    private final ForkJoinPool pool;
+    private final int maxDepth;
+    private final ForkJoinTask<?>[] tasks;
+    private final SearchResult[] results;
+
+    /**
+     * @param rules: Rules of the variant to play
+     * @param table: Transposition table shared by all threads of this searcher
+     * @param maxDepth: Deepest iteration to search, in plies
+     * @param threads: Number of threads searching, the calling one included
+     * @param pool: Pool the helper threads run in
+     */
+    public ParallelSearcher(Rules rules, TranspositionTable table, int maxDepth, int threads, ForkJoinPool pool) {
+        this(rules, table, maxDepth, threads, pool, Tablebase.NONE);
+    }
+
+    /**
+     * @param tablebase: Endgame tablebase shared by all threads, or Tablebase.NONE
+     */
+    public ParallelSearcher(Rules rules, TranspositionTable table, int maxDepth, int threads, ForkJoinPool pool,
+                            Tablebase tablebase) {
+        if (threads < 1)
+            throw new IllegalArgumentException("A search needs at least one thread");
+        this.table = table;
+        this.pool = pool;
+        this.maxDepth = maxDepth;
+        searchers = new AlphaBetaSearcher[threads];
+        for (int i = 0; i < threads; i++)
+            searchers[i] = new AlphaBetaSearcher(rules, table, maxDepth, tablebase);
+        tasks = new ForkJoinTask<?>[threads];
+        results = new SearchResult[threads];
+    }
+
+    public int getThreadCount() {
+        return searchers.length;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+
+    /**
+     * Same as AlphaBetaSearcher.search(pits, sideToMove, budgetNanos), on all threads.
+     */
+    public SearchResult search(int[] pits, int sideToMove, long budgetNanos) {
+        return search(pits, sideToMove, budgetNanos, maxDepth);
+    }
+
+    /**
+     * Same as AlphaBetaSearcher.search(pits, sideToMove, budgetNanos, depthLimit), on all threads.
+     */
+    public SearchResult search(int[] pits, int sideToMove, long budgetNanos, int depthLimit) {
+        long start = System.nanoTime();
+        table.newSearch();
+        AtomicBoolean stop = new AtomicBoolean();
+        for (int i = 1; i < searchers.length; i++) {
+            AlphaBetaSearcher helper = searchers[i];
+            int firstDepth = 1 + (i & 1);
+            int index = i;
+            tasks[i] = pool.submit(() -> {
+                results[index] = helper.iterate(pits, sideToMove, start, budgetNanos, firstDepth, depthLimit, stop);
+            });
+        }
+        try {
+            results[0] = searchers[0].iterate(pits, sideToMove, start, budgetNanos, 1, depthLimit, stop);
+        }
+        finally {
+            stop.set(true);
+            for (int i = 1; i < searchers.length; i++)
+                tasks[i].join();
+        }
+
+        SearchResult best = results[0];
+        long nodes = 0;
+        long probes = 0;
+        long hits = 0;
+        for (SearchResult result : results) {
+            if (result.getDepth() > best.getDepth())
+                best = result;
+            nodes += result.getNodes();
+            probes += result.getTableProbes();
+            hits += result.getTableHits();
+        }
+        return new SearchResult(best.getBestPit(), best.getScore(), best.getDepth(), nodes, System.nanoTime() - start,
+                probes, hits);
+    }
+}
@@ -0,0 +1,9 @@
+package com.shikhardev.mancala.ai;
+
+/**
+ * Search algorithms the computer player can use, selected by the AI_ENGINE property.
+ */
+public enum SearchEngine {
+    ALPHA_BETA,     // ParallelSearcher: iterative deepening alpha-beta, on AI_THREADS threads
+    MCTS            // MctsSearcher: Monte Carlo tree search, one thread per search
+}
@@ -0,0 +1,71 @@
+package com.shikhardev.mancala.ai;
+
+/**
+ * Outcome of a search: the move to play, its score and what it cost to find it.
+ */
+public final class SearchResult {
+
+    private final int bestPit;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedNanos;
+    private final long tableProbes;
+    private final long tableHits;
+
+    public SearchResult(int bestPit, int score, int depth, long nodes, long elapsedNanos,
+                        long tableProbes, long tableHits) {
+        this.bestPit = bestPit;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.tableProbes = tableProbes;
+        this.tableHits = tableHits;
+    }
+
+    /** Pit to play, or -1 if the side to move has no legal move. */
+    public int getBestPit() {
+        return bestPit;
+    }
+
+    /** Expected final store difference in stones, from the point of view of the side to move. */
+    public int getScore() {
+        return score;
+    }
+
+    /** Depth of the last completed iteration. */
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public long getTableProbes() {
+        return tableProbes;
+    }
+
+    public long getTableHits() {
+        return tableHits;
+    }
+
+    public long getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+    }
+
+    public double getTableHitRate() {
+        return tableProbes == 0 ? 0 : (double) tableHits / tableProbes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("pit %d score %d depth %d nodes %d (%d nps) table hit rate %.3f in %.1f ms",
+                bestPit, score, depth, nodes, getNodesPerSecond(), getTableHitRate(), elapsedNanos / 1e6);
+    }
+}
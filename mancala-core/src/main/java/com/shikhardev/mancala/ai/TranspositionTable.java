@@ -0,0 +1,117 @@
+package com.shikhardev.mancala.ai;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size transposition table: a power-of-two number of slots, each a 64-bit Zobrist key plus one packed 64-bit
+ * entry, held in two long[] so the table costs 16 bytes per slot and never allocates after construction.
+ *
+ * The table is lock-free and shared by all threads of a parallel search. A slot stores (key XOR entry) next to the
+ * entry, and a probe only accepts the entry if XOR-ing them back gives its key: when two threads write the same slot
+ * at once and a reader sees the key word of one and the entry word of the other, the check fails and the probe is a
+ * plain miss. Any entry a probe returns is therefore one that was stored for that key.
+ *
+ * Entry layout:
+ *      bits 0 - 15:  score (signed)
+ *      bits 16 - 23: search depth
+ *      bits 24 - 25: bound type (EXACT, LOWER_BOUND, UPPER_BOUND)
+ *      bits 26 - 33: best pit id
+ *      bits 34 - 41: age of the search that stored it
+ *      bit 42:       slot in use
+ * Replacement policy: depth-preferred with aging. A slot is overwritten by the same position, by any entry once the
+ * stored one is from an older search, and otherwise only by an entry searched at least as deep.
+ */
+public final class TranspositionTable {
+
+    public static final int EXACT = 0;
+    public static final int LOWER_BOUND = 1;
+    public static final int UPPER_BOUND = 2;
+
+    /** Returned by probe when the position is not in the table. */
+    public static final long MISS = 0L;
+
+    private static final long USED = 1L << 42;
+
+    private final long[] checks;    // checks[slot]: key XOR entry
+    private final long[] entries;
+    private final int mask;
+    private volatile int age;
+
+    /**
+     * @param sizeBits: The table holds 2^sizeBits slots of 16 bytes each
+     */
+    public TranspositionTable(int sizeBits) {
+        if (sizeBits < 1 || sizeBits > 30)
+            throw new IllegalArgumentException("Transposition table size must be between 2^1 and 2^30 slots");
+        checks = new long[1 << sizeBits];
+        entries = new long[1 << sizeBits];
+        mask = (1 << sizeBits) - 1;
+    }
+
+    public int getSlotCount() {
+        return entries.length;
+    }
+
+    /**
+     * Starts a new search: entries stored before become replaceable regardless of their depth.
+     * Called once per search, before any of its threads starts.
+     */
+    public void newSearch() {
+        age = (age + 1) & 0xFF;
+    }
+
+    /**
+     * Empties the table. Not to be called while a search is using it.
+     */
+    public void clear() {
+        Arrays.fill(checks, 0L);
+        Arrays.fill(entries, MISS);
+    }
+
+    /**
+     * Returns the entry stored for the key, or MISS.
+     */
+    public long probe(long key) {
+        int index = (int) key & mask;
+        long entry = entries[index];
+        if (entry == MISS || (checks[index] ^ entry) != key)
+            return MISS;
+        return entry;
+    }
+
+    public void store(long key, int score, int depth, int bound, int bestPit) {
+        int index = (int) key & mask;
+        int age = this.age;
+        long old = entries[index];
+        if (old != MISS && (checks[index] ^ old) != key && getAge(old) == age && getDepth(old) > depth)
+            return;
+        long entry = (score & 0xFFFFL) |
+                ((long) depth << 16) |
+                ((long) bound << 24) |
+                ((long) (bestPit & 0xFF) << 26) |
+                ((long) age << 34) |
+                USED;
+        checks[index] = key ^ entry;
+        entries[index] = entry;
+    }
+
+    public static int getScore(long entry) {
+        return (short) entry;
+    }
+
+    public static int getDepth(long entry) {
+        return (int) (entry >>> 16) & 0xFF;
+    }
+
+    public static int getBound(long entry) {
+        return (int) (entry >>> 24) & 0x3;
+    }
+
+    public static int getBestPit(long entry) {
+        return (int) (entry >>> 26) & 0xFF;
+    }
+
+    private static int getAge(long entry) {
+        return (int) (entry >>> 34) & 0xFF;
+    }
+}
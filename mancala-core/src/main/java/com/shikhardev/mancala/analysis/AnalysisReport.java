@@ -0,0 +1,180 @@
+package com.shikhardev.mancala.analysis;
+
+import com.shikhardev.mancala.engine.Rules;
+
+/**
+ * Aggregate tables of an archive analysis. Each analyzer thread fills its own report; they are merged once the
+ * archive is done, so counting takes no shared state.
+ *
+ * Moves are grouped by phase of the game (by ply: OPENING_PLIES, then up to ENDGAME_PLY, then the rest) and by the
+ * stones they gave away against the engine's best move (LOSS_BUCKETS).
+ */
+public final class AnalysisReport {
+
+    static final String[] PHASES = {"opening", "middlegame", "endgame"};
+    static final int OPENING_PLIES = 10;
+    static final int ENDGAME_PLY = 30;
+
+    /** Lower bounds of the loss buckets, in stones. */
+    static final int[] LOSS_BUCKETS = {0, 1, 3, 6, 10};
+
+    private long games;
+    private long invalidGames;
+    private long plies;
+    private long firstMoverWins;
+    private long secondMoverWins;
+    private long draws;
+    private final long[] phaseMoves = new long[PHASES.length];
+    private final long[] phaseLostStones = new long[PHASES.length];
+    private final long[] phaseInaccuracies = new long[PHASES.length];
+    private final long[] phaseMistakes = new long[PHASES.length];
+    private final long[] phaseBlunders = new long[PHASES.length];
+    private final long[] lossCounts = new long[LOSS_BUCKETS.length];
+    private long elapsedNanos;
+
+    static int phase(int ply) {
+        return ply < OPENING_PLIES ? 0 : ply < ENDGAME_PLY ? 1 : 2;
+    }
+
+    void recordMove(int ply, int loss) {
+        int phase = phase(ply);
+        phaseMoves[phase]++;
+        phaseLostStones[phase] += loss;
+        if (loss >= GameAnalysis.BLUNDER_STONES)
+            phaseBlunders[phase]++;
+        else if (loss >= GameAnalysis.MISTAKE_STONES)
+            phaseMistakes[phase]++;
+        else if (loss >= GameAnalysis.INACCURACY_STONES)
+            phaseInaccuracies[phase]++;
+        int bucket = LOSS_BUCKETS.length - 1;
+        while (loss < LOSS_BUCKETS[bucket])
+            bucket--;
+        lossCounts[bucket]++;
+    }
+
+    void recordGame(GameAnalysis analysis) {
+        games++;
+        if (!analysis.isValid()) {
+            invalidGames++;
+            return;
+        }
+        plies += analysis.getPlies();
+        if (analysis.getWinner() == Rules.PLAYER_1)
+            firstMoverWins++;
+        else if (analysis.getWinner() == Rules.PLAYER_2)
+            secondMoverWins++;
+        else
+            draws++;
+    }
+
+    void merge(AnalysisReport other) {
+        games += other.games;
+        invalidGames += other.invalidGames;
+        plies += other.plies;
+        firstMoverWins += other.firstMoverWins;
+        secondMoverWins += other.secondMoverWins;
+        draws += other.draws;
+        for (int phase = 0; phase < PHASES.length; phase++) {
+            phaseMoves[phase] += other.phaseMoves[phase];
+            phaseLostStones[phase] += other.phaseLostStones[phase];
+            phaseInaccuracies[phase] += other.phaseInaccuracies[phase];
+            phaseMistakes[phase] += other.phaseMistakes[phase];
+            phaseBlunders[phase] += other.phaseBlunders[phase];
+        }
+        for (int bucket = 0; bucket < LOSS_BUCKETS.length; bucket++)
+            lossCounts[bucket] += other.lossCounts[bucket];
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the number of games read from the archive, invalid ones included.
+     */
+    public long getGames() {
+        return games;
+    }
+
+    public long getInvalidGames() {
+        return invalidGames;
+    }
+
+    /**
+     * Returns the number of moves analyzed, those of the valid games.
+     */
+    public long getPlies() {
+        return plies;
+    }
+
+    public long getFirstMoverWins() {
+        return firstMoverWins;
+    }
+
+    public long getSecondMoverWins() {
+        return secondMoverWins;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public long getBlunders() {
+        long blunders = 0;
+        for (long phaseBlunder : phaseBlunders)
+            blunders += phaseBlunder;
+        return blunders;
+    }
+
+    /**
+     * Returns the number of moves that gave away at least LOSS_BUCKETS[bucket] stones, and fewer than the next bound.
+     */
+    public long getLossCount(int bucket) {
+        return lossCounts[bucket];
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    private static double percent(long count, long total) {
+        return total == 0 ? 0 : 100.0 * count / total;
+    }
+
+    @Override
+    public String toString() {
+        long validGames = games - invalidGames;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%d games in %.2f s (%.0f games/s), %d invalid, %d moves analyzed%n",
+                games, elapsedNanos / 1e9, getGamesPerSecond(), invalidGames, plies));
+        report.append(String.format("first mover wins %.2f%%, second mover wins %.2f%%, draws %.2f%%%n",
+                percent(firstMoverWins, validGames), percent(secondMoverWins, validGames), percent(draws, validGames)));
+
+        report.append(String.format("%n%-11s %12s %10s %12s %10s %10s%n", "phase", "moves", "avg loss",
+                "inaccuracies", "mistakes", "blunders"));
+        for (int phase = 0; phase < PHASES.length; phase++) {
+            long moves = phaseMoves[phase];
+            report.append(String.format("%-11s %12d %10.2f %11.2f%% %9.2f%% %9.2f%%%n", PHASES[phase], moves,
+                    moves == 0 ? 0 : (double) phaseLostStones[phase] / moves,
+                    percent(phaseInaccuracies[phase], moves), percent(phaseMistakes[phase], moves),
+                    percent(phaseBlunders[phase], moves)));
+        }
+
+        report.append(String.format("%n%-11s %12s %10s%n", "stones lost", "moves", "share"));
+        long moves = 0;
+        for (long count : lossCounts)
+            moves += count;
+        for (int bucket = 0; bucket < LOSS_BUCKETS.length; bucket++) {
+            String range = bucket == LOSS_BUCKETS.length - 1 ? LOSS_BUCKETS[bucket] + "+"
+                    : LOSS_BUCKETS[bucket] + 1 == LOSS_BUCKETS[bucket + 1] ? Integer.toString(LOSS_BUCKETS[bucket])
+                    : LOSS_BUCKETS[bucket] + "-" + (LOSS_BUCKETS[bucket + 1] - 1);
+            report.append(String.format("%-11s %12d %9.2f%%%n", range, lossCounts[bucket],
+                    percent(lossCounts[bucket], moves)));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,319 @@
+package com.shikhardev.mancala.analysis;
+
+import com.shikhardev.mancala.ai.AlphaBetaSearcher;
+import com.shikhardev.mancala.ai.TranspositionTable;
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offline analysis of an archive of recorded games: every game is replayed through the rules engine, every move is
+ * scored against a fixed-depth search of the position, and the tool writes a CSV line of blunder statistics per game
+ * (see GameAnalysis) and prints the aggregate tables of an AnalysisReport.
+ *
+ * The archive is a text file with one game per line: the pit ids played, separated by spaces or commas, from the
+ * start position with player 1 to move, an extra turn keeping the same player. Blank lines and lines starting with #
+ * are skipped. A game with an illegal move, or that stops before its end, is reported invalid and not analyzed.
+ *
+ * The archive is streamed through a pipeline, so it is never loaded whole: a reader thread cuts it into batches of
+ * BATCH_SIZE games, the analyzer threads take batches from a queue, and the calling thread writes the analyzed
+ * batches in archive order. The reader needs a permit for every batch, returned once the batch is written, so at most
+ * 4 batches per analyzer thread are in memory at any time: when analysis falls behind, reading waits for it. Every
+ * analyzer thread owns its searcher and report, which are merged at the end.
+ *
+ * Usage: java -cp target/classes com.shikhardev.mancala.analysis.ArchiveAnalyzer archive [statsFile] [depth]
+ *                                                                                 [threads] [pitsPerPlayer] [stones]
+ * statsFile - to skip the per-game lines; threads 0 for one per core.
+ */
+public class ArchiveAnalyzer {
+
+    static final int BATCH_SIZE = 256;
+    private static final int BATCHES_PER_THREAD = 4;
+    private static final int TABLE_BITS = 18;
+    private static final long NO_LIMIT = TimeUnit.HOURS.toNanos(1);
+
+    /**
+     * Games of the archive cut at consecutive lines, and then their analyses. A batch without games (firstGame -1)
+     * tells the writer how many batches the archive holds (its index), or carries the exception of a failed thread.
+     */
+    private static final class Batch {
+        final long index;
+        final long firstGame;
+        final List<String> lines;
+        final GameAnalysis[] analyses;
+        Throwable failure;
+
+        Batch(long index, long firstGame, List<String> lines) {
+            this.index = index;
+            this.firstGame = firstGame;
+            this.lines = lines;
+            this.analyses = new GameAnalysis[lines.size()];
+        }
+    }
+
+    private static final Batch END = new Batch(-1, -1, List.of());
+
+    private final Rules rules;
+    private final int depth;
+    private final int threads;
+
+    /**
+     * @param rules: Rules of the variant the archived games were played in
+     * @param depth: Depth every position is searched to
+     * @param threads: Number of threads analyzing games
+     */
+    public ArchiveAnalyzer(Rules rules, int depth, int threads) {
+        if (depth < 1)
+            throw new IllegalArgumentException("The search depth must be at least 1");
+        if (threads < 1)
+            throw new IllegalArgumentException("The analyzer needs at least one thread");
+        this.rules = rules;
+        this.depth = depth;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 1) {
+            System.err.println("Usage: ArchiveAnalyzer archive [statsFile] [depth] [threads] [pitsPerPlayer] [stones]");
+            System.exit(1);
+        }
+        String statsFile = args.length > 1 ? args[1] : "-";
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        int pitsPerPlayer = args.length > 4 ? Integer.parseInt(args[4]) : 6;
+        int stones = args.length > 5 ? Integer.parseInt(args[5]) : 6;
+        Rules rules = new Rules(pitsPerPlayer, stones);
+        if (threads == 0)
+            threads = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%s, depth %d, %d x %d stones, %d threads%n%n", args[0], depth, pitsPerPlayer, stones,
+                threads);
+        AnalysisReport report;
+        try (BufferedReader archive = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8);
+             BufferedWriter stats = statsFile.equals("-") ? null
+                     : Files.newBufferedWriter(Paths.get(statsFile), StandardCharsets.UTF_8)) {
+            report = new ArchiveAnalyzer(rules, depth, threads).run(archive, stats);
+        }
+        System.out.println(report);
+    }
+
+    /**
+     * Analyzes every game of the archive.
+     * @param archive: Archive, read to its end; not closed
+     * @param stats: Receives the CSV header and a line per game, in archive order; null for none. Not closed.
+     * @return The aggregate tables of all games
+     * @exception IOException: if the archive cannot be read or the statistics written
+     */
+    public AnalysisReport run(BufferedReader archive, Writer stats) throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        int maxBatches = BATCHES_PER_THREAD * threads;
+        Semaphore permits = new Semaphore(maxBatches);
+        BlockingQueue<Batch> work = new ArrayBlockingQueue<>(maxBatches + 1);
+        BlockingQueue<Batch> done = new LinkedBlockingQueue<>();    // Holds at most maxBatches + 1 batches
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            executor.execute(() -> read(archive, permits, work, done));
+            List<Future<AnalysisReport>> reports = new ArrayList<>();
+            for (int t = 0; t < threads; t++)
+                reports.add(executor.submit(() -> analyze(work, done)));
+
+            if (stats != null)
+                stats.write(GameAnalysis.csvHeader() + System.lineSeparator());
+            Map<Long, Batch> pending = new HashMap<>();
+            long batches = -1;          // Known once the reader is done
+            for (long next = 0; next != batches; ) {
+                Batch batch = done.take();
+                if (batch.failure instanceof IOException)
+                    throw (IOException) batch.failure;
+                if (batch.failure != null)
+                    throw new IllegalStateException("The analysis of an archived game failed", batch.failure);
+                if (batch.firstGame < 0)
+                    batches = batch.index;
+                else
+                    pending.put(batch.index, batch);
+                for (Batch ready; (ready = pending.remove(next)) != null; next++) {
+                    if (stats != null)
+                        for (GameAnalysis analysis : ready.analyses)
+                            stats.write(analysis + System.lineSeparator());
+                    permits.release();
+                }
+            }
+            if (stats != null)
+                stats.flush();
+
+            AnalysisReport total = new AnalysisReport();
+            for (Future<AnalysisReport> report : reports)
+                total.merge(report.get());
+            total.setElapsedNanos(System.nanoTime() - start);
+            return total;
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("The analysis of an archived game failed", e.getCause());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Reader thread: cuts the archive into batches, each taking a permit, then tells the analyzers and the writer
+     * that the archive is done.
+     */
+    private void read(BufferedReader archive, Semaphore permits, BlockingQueue<Batch> work, BlockingQueue<Batch> done) {
+        try {
+            long batches = 0;
+            long games = 0;
+            List<String> lines = new ArrayList<>(BATCH_SIZE);
+            for (String line; (line = archive.readLine()) != null; ) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#"))
+                    continue;
+                lines.add(line);
+                if (lines.size() == BATCH_SIZE) {
+                    permits.acquire();
+                    work.put(new Batch(batches++, games, lines));
+                    games += lines.size();
+                    lines = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            if (!lines.isEmpty()) {
+                permits.acquire();
+                work.put(new Batch(batches++, games, lines));
+            }
+            work.put(END);
+            done.put(new Batch(batches, -1, List.of()));
+        }
+        catch (IOException | RuntimeException e) {
+            fail(done, e);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Analyzer thread: analyzes batches until the end of the archive.
+     */
+    private AnalysisReport analyze(BlockingQueue<Batch> work, BlockingQueue<Batch> done) throws InterruptedException {
+        AlphaBetaSearcher searcher = new AlphaBetaSearcher(rules, new TranspositionTable(TABLE_BITS), depth);
+        AnalysisReport report = new AnalysisReport();
+        try {
+            for (Batch batch; (batch = work.take()) != END; ) {
+                for (int i = 0; i < batch.analyses.length; i++) {
+                    batch.analyses[i] = analyze(batch.firstGame + i, batch.lines.get(i), searcher, report);
+                    report.recordGame(batch.analyses[i]);
+                }
+                done.put(batch);
+            }
+            work.put(END);      // For the other analyzers
+        }
+        catch (RuntimeException e) {
+            fail(done, e);
+        }
+        return report;
+    }
+
+    private static void fail(BlockingQueue<Batch> done, Throwable failure) {
+        Batch batch = new Batch(-1, -1, List.of());
+        batch.failure = failure;
+        done.add(batch);
+    }
+
+    /**
+     * Parses the pit ids of a game line.
+     * @return The moves, or null if a token is not a number
+     */
+    static int[] parseMoves(String line) {
+        String[] tokens = line.split("[\\s,]+");
+        int[] moves = new int[tokens.length];
+        try {
+            for (int i = 0; i < tokens.length; i++)
+                moves[i] = Integer.parseInt(tokens[i]);
+        }
+        catch (NumberFormatException e) {
+            return null;
+        }
+        return moves;
+    }
+
+    /**
+     * Replays one game and scores its moves. The loss of a move is the score of the position before it, minus the
+     * score of the position it leads to, both searched to the same depth and seen from the mover's side: the search of
+     * each position serves both the move that leads to it and the move played from it. A move that ends the game is
+     * scored with the exact result.
+     */
+    GameAnalysis analyze(long game, String line, AlphaBetaSearcher searcher, AnalysisReport report) {
+        GameAnalysis analysis = new GameAnalysis(game);
+        int[] moves = parseMoves(line);
+        if (moves == null) {
+            analysis.setIllegalPly(0);
+            return analysis;
+        }
+        int illegalPly = findIllegalPly(moves);
+        if (illegalPly >= 0) {
+            analysis.setIllegalPly(illegalPly);
+            return analysis;
+        }
+
+        int[] pits = rules.newBoard();
+        int side = Rules.PLAYER_1;
+        int score = searcher.search(pits, side, NO_LIMIT, depth).getScore();
+        for (int ply = 0; ply < moves.length; ply++) {
+            int mover = side;
+            if (!MoveOutcome.isExtraTurn(rules.sow(pits, mover, moves[ply])))
+                side = Rules.opponent(side);
+            int next = 0;
+            int value;
+            if (rules.isEndGame(pits)) {
+                rules.collectRemainingStones(pits);
+                value = pits[rules.getHome(mover)] - pits[rules.getHome(Rules.opponent(mover))];
+            }
+            else {
+                next = searcher.search(pits, side, NO_LIMIT, depth).getScore();
+                value = side == mover ? next : -next;
+            }
+            int loss = Math.max(0, score - value);
+            analysis.recordMove(mover, loss);
+            report.recordMove(ply, loss);
+            score = next;
+        }
+        analysis.setWinner(rules.getWinner(pits));
+        return analysis;
+    }
+
+    /**
+     * Returns the index of the first move that is illegal, or played after the end of the game, the number of moves
+     * if the game stops before its end, and -1 for a complete, legal game.
+     */
+    private int findIllegalPly(int[] moves) {
+        int[] pits = rules.newBoard();
+        int side = Rules.PLAYER_1;
+        for (int ply = 0; ply < moves.length; ply++) {
+            if (rules.isEndGame(pits) || !rules.isLegalMove(pits, side, moves[ply]))
+                return ply;
+            if (!MoveOutcome.isExtraTurn(rules.sow(pits, side, moves[ply])))
+                side = Rules.opponent(side);
+        }
+        return rules.isEndGame(pits) ? -1 : moves.length;
+    }
+}
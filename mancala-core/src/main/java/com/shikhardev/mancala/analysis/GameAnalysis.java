@@ -0,0 +1,135 @@
+package com.shikhardev.mancala.analysis;
+
+import com.shikhardev.mancala.engine.Rules;
+
+import java.util.Locale;
+
+/**
+ * Move-by-move verdict on one archived game: for each player, how many stones their moves gave away against the
+ * engine's choice, and how many of those moves were inaccuracies, mistakes or blunders.
+ */
+public final class GameAnalysis {
+
+    /** Stones a move gives away against the best move, from which it counts as an inaccuracy, mistake, blunder. */
+    public static final int INACCURACY_STONES = 1;
+    public static final int MISTAKE_STONES = 3;
+    public static final int BLUNDER_STONES = 6;
+
+    private final long game;
+    private int plies;
+    private int winner = Rules.NO_PLAYER;
+    private int illegalPly = -1;
+    private final int[] moves = new int[2];
+    private final long[] lostStones = new long[2];
+    private final int[] inaccuracies = new int[2];
+    private final int[] mistakes = new int[2];
+    private final int[] blunders = new int[2];
+
+    /**
+     * @param game: Index of the game in the archive, from 0
+     */
+    GameAnalysis(long game) {
+        this.game = game;
+    }
+
+    void recordMove(int player, int loss) {
+        plies++;
+        moves[player]++;
+        lostStones[player] += loss;
+        if (loss >= BLUNDER_STONES)
+            blunders[player]++;
+        else if (loss >= MISTAKE_STONES)
+            mistakes[player]++;
+        else if (loss >= INACCURACY_STONES)
+            inaccuracies[player]++;
+    }
+
+    void setWinner(int winner) {
+        this.winner = winner;
+    }
+
+    void setIllegalPly(int ply) {
+        this.illegalPly = ply;
+    }
+
+    public long getGame() {
+        return game;
+    }
+
+    /**
+     * Returns false if the game holds an illegal move, or stops before its end; such a game is not analyzed.
+     */
+    public boolean isValid() {
+        return illegalPly < 0;
+    }
+
+    /**
+     * Returns the index of the first illegal move, the number of moves for a game that stops early; -1 if valid.
+     */
+    public int getIllegalPly() {
+        return illegalPly;
+    }
+
+    public int getPlies() {
+        return plies;
+    }
+
+    /**
+     * Returns Rules.PLAYER_1, Rules.PLAYER_2 or Rules.NO_PLAYER for a draw, as GameService.getGameWinner decides.
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    public int getMoves(int player) {
+        return moves[player];
+    }
+
+    public long getLostStones(int player) {
+        return lostStones[player];
+    }
+
+    public double getAverageLoss(int player) {
+        return moves[player] == 0 ? 0 : (double) lostStones[player] / moves[player];
+    }
+
+    public int getInaccuracies(int player) {
+        return inaccuracies[player];
+    }
+
+    public int getMistakes(int player) {
+        return mistakes[player];
+    }
+
+    public int getBlunders(int player) {
+        return blunders[player];
+    }
+
+    /**
+     * Header of the CSV lines of toString.
+     */
+    public static String csvHeader() {
+        return "game,plies,winner," +
+                "p1_moves,p1_average_loss,p1_inaccuracies,p1_mistakes,p1_blunders," +
+                "p2_moves,p2_average_loss,p2_inaccuracies,p2_mistakes,p2_blunders";
+    }
+
+    /**
+     * Returns the CSV line of the game; an invalid game only has its index and "illegal@ply".
+     */
+    @Override
+    public String toString() {
+        if (!isValid())
+            return game + ",illegal@" + illegalPly;
+        StringBuilder line = new StringBuilder();
+        line.append(game).append(',').append(plies).append(',')
+                .append(winner == Rules.PLAYER_1 ? "p1" : winner == Rules.PLAYER_2 ? "p2" : "draw");
+        for (int player = Rules.PLAYER_1; player <= Rules.PLAYER_2; player++)
+            line.append(',').append(moves[player])
+                    .append(',').append(String.format(Locale.ROOT, "%.2f", getAverageLoss(player)))
+                    .append(',').append(inaccuracies[player])
+                    .append(',').append(mistakes[player])
+                    .append(',').append(blunders[player]);
+        return line.toString();
+    }
+}
@@ -0,0 +1,149 @@
+package com.shikhardev.mancala.book;
+
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.engine.Zobrist;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opening book: the best move of every position near the start of the game, found offline by OpeningBookBuilder.
+ *
+ * Positions are identified by their Zobrist hash (Zobrist.forRules, whose keys come from a fixed seed). The book holds
+ * the hashes as one sorted long[] next to the moves and scores in the same order, so it costs 11 bytes per position
+ * and a lookup is a binary search; the file is the same three arrays, written one after the other.
+ *
+ * File layout (big-endian):
+ *      int MAGIC, int pitsPerPlayer, int startingStoneCount, int depth, int size
+ *      long hash[size], ascending
+ *      byte pit[size]
+ *      short score[size]
+ */
+public final class OpeningBook {
+
+    static final int MAGIC = 0x4B4F4231;     // "KOB1"
+
+    /** Book holding no position, for variants without a book. */
+    public static final OpeningBook EMPTY = new OpeningBook(null, 0, new long[0], new byte[0], new short[0]);
+
+    private final Zobrist zobrist;
+    private final int depth;
+    private final long[] hashes;
+    private final byte[] pits;
+    private final short[] scores;
+
+    private final LongAdder lookups = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * @param rules: Rules of the variant the book was built for
+     * @param depth: Depth every position of the book was searched to
+     * @param hashes: Zobrist hashes of the positions, ascending
+     * @param pits: pits[i]: best move of the position hashes[i]
+     * @param scores: scores[i]: score of that move, as AlphaBetaSearcher reports it
+     */
+    OpeningBook(Rules rules, int depth, long[] hashes, byte[] pits, short[] scores) {
+        this.zobrist = rules == null ? null : Zobrist.forRules(rules);
+        this.depth = depth;
+        this.hashes = hashes;
+        this.pits = pits;
+        this.scores = scores;
+    }
+
+    /**
+     * Reads a book written by write.
+     * @exception IllegalArgumentException: if the stream is not an opening book of the variant played with the rules
+     */
+    public static OpeningBook read(InputStream stream, Rules rules) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(stream));
+        if (in.readInt() != MAGIC)
+            throw new IllegalArgumentException("Not an opening book");
+        int pitsPerPlayer = in.readInt();
+        int startingStoneCount = in.readInt();
+        if (pitsPerPlayer != rules.getPitsPerPlayer() || startingStoneCount != rules.getStartingStoneCount())
+            throw new IllegalArgumentException(String.format("Opening book of the %d x %d variant, not %d x %d",
+                    pitsPerPlayer, startingStoneCount, rules.getPitsPerPlayer(), rules.getStartingStoneCount()));
+        int depth = in.readInt();
+        int size = in.readInt();
+        long[] hashes = new long[size];
+        byte[] pits = new byte[size];
+        short[] scores = new short[size];
+        for (int i = 0; i < size; i++)
+            hashes[i] = in.readLong();
+        in.readFully(pits);
+        for (int i = 0; i < size; i++)
+            scores[i] = in.readShort();
+        return new OpeningBook(rules, depth, hashes, pits, scores);
+    }
+
+    /**
+     * Writes the book in the format read reads. The stream is flushed, not closed.
+     */
+    public void write(OutputStream stream, Rules rules) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream));
+        out.writeInt(MAGIC);
+        out.writeInt(rules.getPitsPerPlayer());
+        out.writeInt(rules.getStartingStoneCount());
+        out.writeInt(depth);
+        out.writeInt(hashes.length);
+        for (long hash : hashes)
+            out.writeLong(hash);
+        out.write(pits);
+        for (short score : scores)
+            out.writeShort(score);
+        out.flush();
+    }
+
+    public int size() {
+        return hashes.length;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the entry of the position, or -1 if it is not in the book. Every call counts as a lookup for the hit
+     * rate.
+     * @param pits: Board to look up
+     * @param sideToMove: Rules.PLAYER_1 or Rules.PLAYER_2
+     */
+    public int lookup(int[] pits, int sideToMove) {
+        lookups.increment();
+        if (hashes.length == 0)
+            return -1;
+        int entry = Arrays.binarySearch(hashes, zobrist.hash(pits, sideToMove));
+        if (entry < 0)
+            return -1;
+        hits.increment();
+        return entry;
+    }
+
+    public int getPit(int entry) {
+        return pits[entry];
+    }
+
+    public int getScore(int entry) {
+        return scores[entry];
+    }
+
+    public long getLookups() {
+        return lookups.sum();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public double getHitRate() {
+        long lookups = getLookups();
+        return lookups == 0 ? 0 : (double) getHits() / lookups;
+    }
+}
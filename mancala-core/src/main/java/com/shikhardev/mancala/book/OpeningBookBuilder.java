@@ -0,0 +1,111 @@
+package com.shikhardev.mancala.book;
+
+import com.shikhardev.mancala.ai.AlphaBetaSearcher;
+import com.shikhardev.mancala.ai.SearchResult;
+import com.shikhardev.mancala.ai.TranspositionTable;
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.engine.Zobrist;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Offline builder of the OpeningBook: collects every position reachable from the start of the game within a number
+ * of plies, whichever moves both sides play, and searches each one to a fixed depth. Positions are searched in
+ * parallel, one AlphaBetaSearcher per thread.
+ *
+ * Usage: java -cp target/classes com.shikhardev.mancala.book.OpeningBookBuilder file [plies] [depth]
+ *                                                                                    [pitsPerPlayer] [stones]
+ */
+public class OpeningBookBuilder {
+
+    private static final long NO_LIMIT = TimeUnit.HOURS.toNanos(1);
+
+    private final Rules rules;
+    private final int plies;
+    private final int depth;
+
+    /**
+     * @param rules: Rules of the variant
+     * @param plies: Moves from the start of the game, either side's, an extra turn counting as a move
+     * @param depth: Depth every position is searched to
+     */
+    public OpeningBookBuilder(Rules rules, int plies, int depth) {
+        this.rules = rules;
+        this.plies = plies;
+        this.depth = depth;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: OpeningBookBuilder file [plies] [depth] [pitsPerPlayer] [stones]");
+            System.exit(1);
+        }
+        int plies = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        int pitsPerPlayer = args.length > 3 ? Integer.parseInt(args[3]) : 6;
+        int stones = args.length > 4 ? Integer.parseInt(args[4]) : 6;
+        Rules rules = new Rules(pitsPerPlayer, stones);
+
+        long start = System.nanoTime();
+        OpeningBook book = new OpeningBookBuilder(rules, plies, depth).build();
+        try (OutputStream out = Files.newOutputStream(Paths.get(args[0]))) {
+            book.write(out, rules);
+        }
+        System.out.printf("%d positions in %.1f s%n", book.size(), (System.nanoTime() - start) / 1e9);
+    }
+
+    public OpeningBook build() {
+        Zobrist zobrist = Zobrist.forRules(rules);
+        Map<Long, int[]> positions = new HashMap<>();    // Hash -> board, side to move in the last element
+        List<int[]> frontier = new ArrayList<>();
+        frontier.add(withSide(rules.newBoard(), Rules.PLAYER_1));
+        for (int ply = 0; ply <= plies; ply++) {
+            List<int[]> next = new ArrayList<>();
+            for (int[] position : frontier) {
+                int[] pits = Arrays.copyOf(position, rules.getTotalPitCount());
+                int side = position[pits.length];
+                if (rules.isEndGame(pits) || positions.putIfAbsent(zobrist.hash(pits, side), position) != null)
+                    continue;
+                for (int pit = rules.getFirstPit(side); pit < rules.getHome(side) && ply < plies; pit++) {
+                    if (pits[pit] == 0)
+                        continue;
+                    int[] child = pits.clone();
+                    boolean extraTurn = MoveOutcome.isExtraTurn(rules.sow(child, side, pit));
+                    next.add(withSide(child, extraTurn ? side : Rules.opponent(side)));
+                }
+            }
+            frontier = next;
+        }
+
+        long[] hashes = positions.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        byte[] pits = new byte[hashes.length];
+        short[] scores = new short[hashes.length];
+        ThreadLocal<AlphaBetaSearcher> searchers = ThreadLocal.withInitial(
+                () -> new AlphaBetaSearcher(rules, new TranspositionTable(20), depth));
+        IntStream.range(0, hashes.length).parallel().forEach(i -> {
+            int[] position = positions.get(hashes[i]);
+            int[] board = Arrays.copyOf(position, rules.getTotalPitCount());
+            SearchResult result = searchers.get().search(board, position[board.length], NO_LIMIT, depth);
+            pits[i] = (byte) result.getBestPit();
+            scores[i] = (short) result.getScore();
+        });
+        return new OpeningBook(rules, depth, hashes, pits, scores);
+    }
+
+    private static int[] withSide(int[] pits, int side) {
+        int[] position = Arrays.copyOf(pits, pits.length + 1);
+        position[pits.length] = side;
+        return position;
+    }
+}
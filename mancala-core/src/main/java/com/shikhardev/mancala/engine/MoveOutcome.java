@@ -0,0 +1,40 @@
+package com.shikhardev.mancala.engine;
+
+/**
+ * Encodes the outcome of a sowing move into a single int, so the rules engine can report it without allocating.
+ * Layout:
+ *      bits 0 - 15: id of the pit in which the last stone landed
+ *      bit 16: the move ended at the mover's home, so the mover plays again
+ *      bit 17: the move captured the stones of the opposite pit
+ * ILLEGAL (-1) stands for a move that was refused, where a legal move's outcome is expected.
+ */
+public final class MoveOutcome {
+
+    public static final int EXTRA_TURN = 1 << 16;
+    public static final int CAPTURE = 1 << 17;
+    public static final int ILLEGAL = -1;
+    private static final int LAST_PIT_MASK = 0xFFFF;
+
+    private MoveOutcome() {
+    }
+
+    public static int of(int lastPit, boolean extraTurn, boolean capture) {
+        return lastPit | (extraTurn ? EXTRA_TURN : 0) | (capture ? CAPTURE : 0);
+    }
+
+    public static boolean isLegal(int outcome) {
+        return outcome != ILLEGAL;
+    }
+
+    public static int getLastPit(int outcome) {
+        return outcome & LAST_PIT_MASK;
+    }
+
+    public static boolean isExtraTurn(int outcome) {
+        return (outcome & EXTRA_TURN) != 0;
+    }
+
+    public static boolean isCapture(int outcome) {
+        return (outcome & CAPTURE) != 0;
+    }
+}
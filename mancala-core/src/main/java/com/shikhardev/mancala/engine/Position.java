@@ -0,0 +1,182 @@
+package com.shikhardev.mancala.engine;
+
+/**
+ * Compact immutable position of the standard 14-pit board: all pit counts plus the side to move packed into two longs,
+ * with the Zobrist hash of the position carried alongside.
+ * Layout:
+ *      low:  8 bits per pit for pits 0 - 7 (pit 0 in the lowest byte)
+ *      high: 8 bits per pit for pits 8 - 13, then bit 48 set if player 2 is to move
+ * A pit holds at most 255 stones, far above the 72 stones of the standard game.
+ * Positions can be copied, compared, hashed and used as keys without creating any Pit, Board or Player object.
+ */
+public final class Position {
+
+    public static final int PIT_COUNT = 14;
+    public static final int MAX_STONES = 255;
+
+    private static final int BITS_PER_PIT = 8;
+    private static final int PITS_IN_LOW = 8;
+    private static final long SIDE_BIT = 1L << ((PIT_COUNT - PITS_IN_LOW) * BITS_PER_PIT);
+    private static final Zobrist ZOBRIST = new Zobrist(PIT_COUNT, MAX_STONES);
+
+    private final long low;
+    private final long high;
+    private final long hash;
+
+    private Position(long low, long high, long hash) {
+        this.low = low;
+        this.high = high;
+        this.hash = hash;
+    }
+
+    /**
+     * Packs a board of the rules engine.
+     * @param pits: Stone count of each of the 14 pits
+     * @param sideToMove: Rules.PLAYER_1 or Rules.PLAYER_2
+     * @exception IllegalArgumentException: if the board does not have 14 pits or a pit holds more than 255 stones
+     */
+    public static Position of(int[] pits, int sideToMove) {
+        if (pits.length != PIT_COUNT)
+            throw new IllegalArgumentException(String.format("Position holds %d pits, not %d", PIT_COUNT, pits.length));
+        long low = 0;
+        long high = sideToMove == Rules.PLAYER_2 ? SIDE_BIT : 0;
+        for (int i = 0; i < PIT_COUNT; i++) {
+            if (pits[i] < 0 || pits[i] > MAX_STONES)
+                throw new IllegalArgumentException(String.format("Pit %d holds %d stones", i, pits[i]));
+            if (i < PITS_IN_LOW)
+                low |= (long) pits[i] << (i * BITS_PER_PIT);
+            else
+                high |= (long) pits[i] << ((i - PITS_IN_LOW) * BITS_PER_PIT);
+        }
+        return new Position(low, high, ZOBRIST.hash(pits, sideToMove));
+    }
+
+    /**
+     * Rebuilds a position from its two packed longs, as returned by getLow() and getHigh().
+     */
+    public static Position fromPacked(long low, long high) {
+        Position unhashed = new Position(low, high, 0);
+        return new Position(low, high, ZOBRIST.hash(unhashed.toArray(), unhashed.getSideToMove()));
+    }
+
+    /**
+     * Zobrist keys of all positions, for code hashing int[] boards of the standard game the same way.
+     */
+    public static Zobrist getZobrist() {
+        return ZOBRIST;
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    public int getStones(int pitID) {
+        if (pitID < PITS_IN_LOW)
+            return (int) (low >>> (pitID * BITS_PER_PIT)) & MAX_STONES;
+        return (int) (high >>> ((pitID - PITS_IN_LOW) * BITS_PER_PIT)) & MAX_STONES;
+    }
+
+    public int getSideToMove() {
+        return (high & SIDE_BIT) != 0 ? Rules.PLAYER_2 : Rules.PLAYER_1;
+    }
+
+    /**
+     * Unpacks the stone counts into the specified array of at least 14 ints.
+     */
+    public void copyTo(int[] pits) {
+        for (int i = 0; i < PIT_COUNT; i++)
+            pits[i] = getStones(i);
+    }
+
+    public int[] toArray() {
+        int[] pits = new int[PIT_COUNT];
+        copyTo(pits);
+        return pits;
+    }
+
+    /**
+     * Plays the specified pit for the side to move with the rules engine and returns the resulting position.
+     * The side to move only changes if the move did not end at the mover's home. Only the pits the move touched are
+     * repacked and rehashed: the starting pit, the pits sown into (all but the opponent's home once the move holds a
+     * full lap) and, on a capture, the last pit, its opposite and the mover's home.
+     * @param rules: Rules of a 14-pit variant
+     * @param pitID: Pit of the side to move, with stones
+     * @exception IllegalArgumentException: if the rules are not of a 14-pit variant, the move is not legal or a pit
+     * would hold more than 255 stones
+     */
+    public Position play(Rules rules, int pitID) {
+        if (rules.getTotalPitCount() != PIT_COUNT)
+            throw new IllegalArgumentException(
+                    String.format("Position holds %d pits, not %d", PIT_COUNT, rules.getTotalPitCount()));
+        int side = getSideToMove();
+        int[] pits = toArray();
+        if (!rules.isLegalMove(pits, side, pitID))
+            throw new IllegalArgumentException(String.format("Pit %d cannot be played by player %d", pitID, side + 1));
+        int sown = Math.min(pits[pitID], PIT_COUNT - 1);
+        int outcome = rules.sow(pits, side, pitID);
+
+        int touched = 1 << pitID;
+        int opponentHome = rules.getHome(Rules.opponent(side));
+        for (int pit = pitID; sown > 0; ) {
+            if (++pit == PIT_COUNT)
+                pit = 0;
+            if (pit != opponentHome) {
+                touched |= 1 << pit;
+                sown--;
+            }
+        }
+        if (MoveOutcome.isCapture(outcome)) {
+            int lastPit = MoveOutcome.getLastPit(outcome);
+            touched |= 1 << lastPit | 1 << rules.getOpposite(lastPit) | 1 << rules.getHome(side);
+        }
+
+        boolean sideChanged = !MoveOutcome.isExtraTurn(outcome);
+        long newHash = sideChanged ? hash ^ ZOBRIST.sideKey() : hash;
+        long newLow = low;
+        long newHigh = sideChanged ? high ^ SIDE_BIT : high;
+        for (; touched != 0; touched &= touched - 1) {
+            int i = Integer.numberOfTrailingZeros(touched);
+            if (pits[i] > MAX_STONES)
+                throw new IllegalArgumentException(String.format("Pit %d would hold %d stones", i, pits[i]));
+            newHash ^= ZOBRIST.key(i, getStones(i)) ^ ZOBRIST.key(i, pits[i]);
+            if (i < PITS_IN_LOW) {
+                int shift = i * BITS_PER_PIT;
+                newLow = newLow & ~((long) MAX_STONES << shift) | (long) pits[i] << shift;
+            } else {
+                int shift = (i - PITS_IN_LOW) * BITS_PER_PIT;
+                newHigh = newHigh & ~((long) MAX_STONES << shift) | (long) pits[i] << shift;
+            }
+        }
+        return new Position(newLow, newHigh, newHash);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Position position = (Position) o;
+        return low == position.low &&
+                high == position.high;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder res = new StringBuilder("Position[");
+        for (int i = 0; i < PIT_COUNT; i++)
+            res.append(getStones(i)).append(i == PIT_COUNT - 1 ? "" : ",");
+        return res.append("; player ").append(getSideToMove() + 1).append(" to move]").toString();
+    }
+}
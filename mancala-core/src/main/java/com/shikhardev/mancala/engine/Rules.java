@@ -0,0 +1,274 @@
+package com.shikhardev.mancala.engine;
+
+import java.util.Properties;
+
+/**
+ * Primitive rules engine of the game. The board is a flat int[] of stone counts indexed by pit id, laid out exactly
+ * like the Board object: player 1's playground, player 1's home, player 2's playground, player 2's home.
+ * Players are ints (PLAYER_1, PLAYER_2), so no Pit or Player objects are touched while a move is played.
+ *
+ * Everything that only depends on the variant (owner, home and opposite pit of every pit) is precomputed once in
+ * flat tables. An object of this class is immutable and can be shared by any number of threads; all game state
+ * lives in the int[] passed to each method.
+ */
+public final class Rules {
+
+    public static final int PLAYER_1 = 0;
+    public static final int PLAYER_2 = 1;
+    public static final int NO_PLAYER = -1;
+
+    private final int pitsPerPlayer;
+    private final int startingStoneCount;
+    private final int totalPitCount;
+
+    private final int[] homes;      // homes[player]: home pit id of the player
+    private final int[] owners;     // owners[pitID]: player owning the pit
+    private final boolean[] isHome; // isHome[pitID]: is the pit a home pit
+    private final int[] opposite;   // opposite[pitID]: pit across the board, -1 for homes
+
+    /**
+     * @param pitsPerPlayer: Number of playground pits on each side (6 for the standard game)
+     * @param startingStoneCount: Number of stones in every playground pit at the start (6 for the standard game)
+     * @exception IllegalArgumentException: if either parameter is not positive
+     */
+    public Rules(int pitsPerPlayer, int startingStoneCount) {
+        if (pitsPerPlayer <= 0 || startingStoneCount <= 0)
+            throw new IllegalArgumentException("Pits per player and starting stone count must be positive");
+        this.pitsPerPlayer = pitsPerPlayer;
+        this.startingStoneCount = startingStoneCount;
+        this.totalPitCount = 2 * pitsPerPlayer + 2;
+        this.homes = new int[]{pitsPerPlayer, totalPitCount - 1};
+
+        owners = new int[totalPitCount];
+        isHome = new boolean[totalPitCount];
+        opposite = new int[totalPitCount];
+        for (int i = 0; i < totalPitCount; i++) {
+            owners[i] = i <= homes[PLAYER_1] ? PLAYER_1 : PLAYER_2;
+            isHome[i] = i == homes[PLAYER_1] || i == homes[PLAYER_2];
+            opposite[i] = isHome[i] ? -1 : totalPitCount - i - 2;   // 2 for the 2 homes
+        }
+    }
+
+    /**
+     * Reads the variant from the keys of application.properties, so bots and tools outside the webapp play the same
+     * game as the server without starting Spring. The derived keys TOTAL_PIT_COUNT, P1_HOME_PIT and P2_HOME_PIT are
+     * optional, but must agree with the variant when present.
+     * @param properties: PITS_PER_PLAYER, STARTING_STONE_COUNT and, optionally, the derived keys
+     * @exception IllegalArgumentException: if a key is missing, not a number, or disagrees with the variant
+     */
+    public static Rules fromProperties(Properties properties) {
+        Rules rules = new Rules(intProperty(properties, "PITS_PER_PLAYER"),
+                intProperty(properties, "STARTING_STONE_COUNT"));
+        checkProperty(properties, "TOTAL_PIT_COUNT", rules.totalPitCount);
+        checkProperty(properties, "P1_HOME_PIT", rules.homes[PLAYER_1]);
+        checkProperty(properties, "P2_HOME_PIT", rules.homes[PLAYER_2]);
+        return rules;
+    }
+
+    private static int intProperty(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null)
+            throw new IllegalArgumentException("Missing variant property " + key);
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Variant property " + key + " is not a number: " + value);
+        }
+    }
+
+    private static void checkProperty(Properties properties, String key, int expected) {
+        if (properties.getProperty(key) != null && intProperty(properties, key) != expected)
+            throw new IllegalArgumentException("Variant property " + key + " should be " + expected);
+    }
+
+    public int getPitsPerPlayer() {
+        return pitsPerPlayer;
+    }
+
+    public int getStartingStoneCount() {
+        return startingStoneCount;
+    }
+
+    public int getTotalPitCount() {
+        return totalPitCount;
+    }
+
+    public int getHome(int player) {
+        return homes[player];
+    }
+
+    public int getOwner(int pitID) {
+        return owners[pitID];
+    }
+
+    public boolean isHome(int pitID) {
+        return isHome[pitID];
+    }
+
+    public int getOpposite(int pitID) {
+        return opposite[pitID];
+    }
+
+    /**
+     * Returns the first pit id of the specified player's playground. The playground spans [first, home).
+     */
+    public int getFirstPit(int player) {
+        return player == PLAYER_1 ? 0 : homes[PLAYER_1] + 1;
+    }
+
+    /**
+     * Returns PLAYER_2 for PLAYER_1 and vice versa.
+     */
+    public static int opponent(int player) {
+        return 1 - player;
+    }
+
+    /**
+     * Creates the board of a new game: every playground pit holds the starting stone count, homes are empty.
+     */
+    public int[] newBoard() {
+        int[] pits = new int[totalPitCount];
+        for (int i = 0; i < totalPitCount; i++)
+            pits[i] = isHome[i] ? 0 : startingStoneCount;
+        return pits;
+    }
+
+    /**
+     * Same checks as Move.isValid(): the pit must exist, belong to the player, not be a home and not be empty.
+     */
+    public boolean isLegalMove(int[] pits, int player, int pitID) {
+        return pitID >= 0 && pitID < totalPitCount &&
+                owners[pitID] == player &&
+                !isHome[pitID] &&
+                pits[pitID] != 0;
+    }
+
+    /**
+     * Executes the move of the specified player from the specified pit. Assumes the move has already been validated.
+     * Sows the stones counter-clockwise, skipping the opponent's home, then captures the opposite stones if the last
+     * stone landed in an empty playground pit of the mover.
+     *
+     * A full lap drops one stone in each of the (totalPitCount - 1) pits the mover sows into, the emptied starting pit
+     * included. So the full laps are added to every such pit at once, and only the remainder is sown stone by stone:
+     * a move costs O(pits) however many stones it holds.
+     * @return MoveOutcome encoding of the last pit, extra turn and capture
+     */
+    public int sow(int[] pits, int player, int pitID) {
+        int stones = pits[pitID];
+        pits[pitID] = 0;
+        int lapLength = totalPitCount - 1;
+        int opponentHome = homes[opponent(player)];
+        if (stones >= lapLength) {
+            int laps = stones / lapLength;
+            for (int i = 0; i < totalPitCount; i++)
+                if (i != opponentHome)
+                    pits[i] += laps;
+            stones -= laps * lapLength;
+        }
+        int pit = pitID;    // With no remainder, the last stone of the last lap fell back into the starting pit
+        while (stones > 0) {
+            if (++pit == totalPitCount)
+                pit = 0;
+            if (pit != opponentHome) {
+                pits[pit]++;
+                stones--;
+            }
+        }
+        if (pit == homes[player])
+            return MoveOutcome.of(pit, true, false);
+        return MoveOutcome.of(pit, false, captureOppositeStones(pits, player, pit));
+    }
+
+    /**
+     * Returns the MoveOutcome sow would return for the move, without changing the board. The pits the mover sows
+     * into form a ring of (totalPitCount - 1) pits, so the last pit and the stones of the two pits a capture looks
+     * at are worked out from the full laps and the remainder alone: O(1) whatever the number of stones.
+     * Assumes the move has already been validated.
+     */
+    public int preview(int[] pits, int player, int pitID) {
+        int stones = pits[pitID];
+        int lapLength = totalPitCount - 1;
+        int laps = stones / lapLength;
+        int remainder = stones % lapLength;
+        int opponentHome = homes[opponent(player)];
+        int start = toRing(pitID, opponentHome);
+        int lastIndex = (start + remainder) % lapLength;
+        int lastPit = lastIndex >= opponentHome ? lastIndex + 1 : lastIndex;
+        if (lastPit == homes[player])
+            return MoveOutcome.of(lastPit, true, false);
+        if (isHome[lastPit] || owners[lastPit] != player)
+            return MoveOutcome.of(lastPit, false, false);
+        // Stones after sowing: the starting pit is emptied, every pit gets the laps, the remainder one more each
+        int lastStones = (lastPit == pitID ? 0 : pits[lastPit]) + laps + (remainder > 0 ? 1 : 0);
+        int oppositeID = opposite[lastPit];
+        int distance = (toRing(oppositeID, opponentHome) - start + lapLength) % lapLength;
+        int oppositeStones = (oppositeID == pitID ? 0 : pits[oppositeID]) + laps +
+                (distance >= 1 && distance <= remainder ? 1 : 0);
+        return MoveOutcome.of(lastPit, false, lastStones == 1 && oppositeStones != 0);
+    }
+
+    /**
+     * Returns the position of a pit on the ring a player sows into, which skips the opponent's home.
+     */
+    private static int toRing(int pitID, int opponentHome) {
+        return pitID > opponentHome ? pitID - 1 : pitID;
+    }
+
+    /**
+     * If the move ended on an empty playground pit of the mover (which now holds exactly that last stone) and the
+     * opposite pit is not empty, both pits are emptied into the mover's home.
+     * @return true if stones were captured
+     */
+    public boolean captureOppositeStones(int[] pits, int player, int lastPit) {
+        if (isHome[lastPit] || owners[lastPit] != player || pits[lastPit] != 1)
+            return false;
+        int oppositeID = opposite[lastPit];
+        if (pits[oppositeID] == 0)
+            return false;
+        pits[homes[player]] += pits[oppositeID] + pits[lastPit];
+        pits[oppositeID] = 0;
+        pits[lastPit] = 0;
+        return true;
+    }
+
+    /**
+     * Returns true if all playground pits of the specified player are empty.
+     */
+    public boolean isPlaygroundEmpty(int[] pits, int player) {
+        int stones = 0;     // No early exit: one predictable loop costs less than a branch per pit on random boards
+        for (int i = getFirstPit(player), home = homes[player]; i < home; i++)
+            stones |= pits[i];
+        return stones == 0;
+    }
+
+    /**
+     * The game has ended as soon as either playground is empty.
+     */
+    public boolean isEndGame(int[] pits) {
+        return isPlaygroundEmpty(pits, PLAYER_1) || isPlaygroundEmpty(pits, PLAYER_2);
+    }
+
+    /**
+     * Adds the stones remaining in each playground to the home of that side, as BoardService.collectRemainingStones
+     * does. The playground pits are left untouched, so the final board still shows where the stones were.
+     */
+    public void collectRemainingStones(int[] pits) {
+        for (int player = PLAYER_1; player <= PLAYER_2; player++) {
+            int count = 0;
+            for (int i = getFirstPit(player), home = homes[player]; i < home; i++)
+                count += pits[i];
+            pits[homes[player]] += count;
+        }
+    }
+
+    /**
+     * Returns the player with more stones at home, or NO_PLAYER for a draw.
+     */
+    public int getWinner(int[] pits) {
+        int p1Count = pits[homes[PLAYER_1]];
+        int p2Count = pits[homes[PLAYER_2]];
+        return p1Count > p2Count ? PLAYER_1 :
+                p2Count > p1Count ? PLAYER_2 :
+                        NO_PLAYER;
+    }
+}
@@ -0,0 +1,82 @@
+package com.shikhardev.mancala.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist keys for hashing boards: one random 64-bit key per (pit, stone count) pair plus one for player 2 to move.
+ * The hash of a board is the XOR of the keys of its pits, so a move only has to XOR out the old and XOR in the new key
+ * of the pits it changed.
+ * Keys come from a fixed seed, so hashes are stable across runs and can be stored in files (opening book, caches).
+ */
+public final class Zobrist {
+
+    private static final long SEED = 0x5DEECE66DL;
+
+    private final int pitCount;
+    private final int maxStones;
+    private final long[] keys;      // keys[pitID * (maxStones + 1) + stones]
+    private final long sideKey;
+
+    /**
+     * @param pitCount: Number of pits on the board, homes included
+     * @param maxStones: Highest stone count a single pit can hold
+     */
+    public Zobrist(int pitCount, int maxStones) {
+        this.pitCount = pitCount;
+        this.maxStones = maxStones;
+        SplittableRandom random = new SplittableRandom(SEED);
+        keys = new long[pitCount * (maxStones + 1)];
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = random.nextLong();
+        sideKey = random.nextLong();
+    }
+
+    /**
+     * Returns keys large enough for every board of the variant: a single pit never holds more than all stones.
+     */
+    public static Zobrist forRules(Rules rules) {
+        return new Zobrist(rules.getTotalPitCount(), 2 * rules.getPitsPerPlayer() * rules.getStartingStoneCount());
+    }
+
+    public int getPitCount() {
+        return pitCount;
+    }
+
+    public int getMaxStones() {
+        return maxStones;
+    }
+
+    public long key(int pitID, int stones) {
+        return keys[pitID * (maxStones + 1) + stones];
+    }
+
+    /**
+     * Key XORed into the hash when player 2 is to move.
+     */
+    public long sideKey() {
+        return sideKey;
+    }
+
+    /**
+     * Hashes a board from scratch.
+     * @param pits: Stone count of every pit
+     * @param sideToMove: Rules.PLAYER_1 or Rules.PLAYER_2
+     */
+    public long hash(int[] pits, int sideToMove) {
+        long hash = sideToMove == Rules.PLAYER_2 ? sideKey : 0L;
+        for (int i = 0; i < pits.length; i++)
+            hash ^= key(i, pits[i]);
+        return hash;
+    }
+
+    /**
+     * Updates a hash for a move: XORs out/in the keys of every pit whose count differs between before and after, and
+     * flips the side key if the side to move changed.
+     */
+    public long update(long hash, int[] before, int[] after, boolean sideChanged) {
+        for (int i = 0; i < before.length; i++)
+            if (before[i] != after[i])
+                hash ^= key(i, before[i]) ^ key(i, after[i]);
+        return sideChanged ? hash ^ sideKey : hash;
+    }
+}
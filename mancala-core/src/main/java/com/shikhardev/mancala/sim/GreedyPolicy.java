@@ -0,0 +1,47 @@
+package com.shikhardev.mancala.sim;
+
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays the move that puts the most stones in its home right away, captures included. Among equal gains a move that
+ * keeps the turn comes first, then a random one.
+ */
+public class GreedyPolicy implements MovePolicy {
+
+    private final Rules rules;
+    private final SplittableRandom random;
+    private final int[] scratch;
+
+    public GreedyPolicy(Rules rules, long seed) {
+        this.rules = rules;
+        this.random = new SplittableRandom(seed);
+        this.scratch = new int[rules.getTotalPitCount()];
+    }
+
+    @Override
+    public int selectMove(int[] pits, int sideToMove) {
+        int home = rules.getHome(sideToMove);
+        int bestPit = -1;
+        int bestScore = -1;
+        int ties = 0;
+        for (int pit = rules.getFirstPit(sideToMove); pit < home; pit++) {
+            if (pits[pit] == 0)
+                continue;
+            System.arraycopy(pits, 0, scratch, 0, pits.length);
+            boolean extraTurn = MoveOutcome.isExtraTurn(rules.sow(scratch, sideToMove, pit));
+            int score = 2 * (scratch[home] - pits[home]) + (extraTurn ? 1 : 0);
+            if (score > bestScore) {
+                bestScore = score;
+                bestPit = pit;
+                ties = 1;
+            }
+            else if (score == bestScore && random.nextInt(++ties) == 0) {
+                bestPit = pit;  // Reservoir sampling: every tied move equally likely
+            }
+        }
+        return bestPit;
+    }
+}
@@ -0,0 +1,29 @@
+package com.shikhardev.mancala.sim;
+
+import com.shikhardev.mancala.ai.MctsSearcher;
+import com.shikhardev.mancala.engine.Rules;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays the move of the Monte Carlo tree search, run for a fixed number of playouts so results do not depend on
+ * machine speed.
+ */
+public class MctsPolicy implements MovePolicy {
+
+    private static final long NO_LIMIT = TimeUnit.HOURS.toNanos(1);
+
+    private final MctsSearcher searcher;
+    private final int iterations;
+
+    public MctsPolicy(Rules rules, int iterations, long seed) {
+        this.searcher = new MctsSearcher(rules, Math.max(rules.getPitsPerPlayer() + 1,
+                (rules.getPitsPerPlayer() + 1) * iterations), seed);
+        this.iterations = iterations;
+    }
+
+    @Override
+    public int selectMove(int[] pits, int sideToMove) {
+        return searcher.search(pits, sideToMove, NO_LIMIT, iterations).getBestPit();
+    }
+}
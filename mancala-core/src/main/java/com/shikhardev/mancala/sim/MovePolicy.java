@@ -0,0 +1,36 @@
+package com.shikhardev.mancala.sim;
+
+import com.shikhardev.mancala.engine.Rules;
+
+/**
+ * Chooses the moves of one side in a simulated game. A policy keeps its own scratch state (random generator, boards,
+ * searcher) and is used by one thread only; the simulator creates one per thread.
+ */
+public interface MovePolicy {
+
+    /**
+     * Returns a legal pit for the side to move. The game is not over, so there is at least one.
+     * @param pits: Board of the game; must be left unchanged
+     * @param sideToMove: Rules.PLAYER_1 or Rules.PLAYER_2
+     */
+    int selectMove(int[] pits, int sideToMove);
+
+    /**
+     * Creates the policy named on the simulator command line.
+     * @param name: "random", "greedy", "ai:depth" for a fixed-depth alpha-beta search, or "mcts:playouts" for a
+     *            Monte Carlo tree search
+     * @param seed: Seed of the policy's random choices
+     * @exception IllegalArgumentException: if the name is none of those
+     */
+    static MovePolicy forName(String name, Rules rules, long seed) {
+        if (name.equals("random"))
+            return new RandomPolicy(rules, seed);
+        if (name.equals("greedy"))
+            return new GreedyPolicy(rules, seed);
+        if (name.startsWith("ai:"))
+            return new SearchPolicy(rules, Integer.parseInt(name.substring(3)));
+        if (name.startsWith("mcts:"))
+            return new MctsPolicy(rules, Integer.parseInt(name.substring(5)), seed);
+        throw new IllegalArgumentException(String.format("Unknown policy %s: use random, greedy, ai:depth or mcts:playouts", name));
+    }
+}
@@ -0,0 +1,33 @@
+package com.shikhardev.mancala.sim;
+
+import com.shikhardev.mancala.engine.Rules;
+
+import java.util.SplittableRandom;
+
+/**
+ * Plays a uniformly random legal move.
+ */
+public class RandomPolicy implements MovePolicy {
+
+    private final Rules rules;
+    private final SplittableRandom random;
+
+    public RandomPolicy(Rules rules, long seed) {
+        this.rules = rules;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public int selectMove(int[] pits, int sideToMove) {
+        int first = rules.getFirstPit(sideToMove);
+        int home = rules.getHome(sideToMove);
+        int legal = 0;
+        for (int pit = first; pit < home; pit++)
+            if (pits[pit] != 0)
+                legal++;
+        int choice = random.nextInt(legal);
+        for (int pit = first; ; pit++)
+            if (pits[pit] != 0 && choice-- == 0)
+                return pit;
+    }
+}
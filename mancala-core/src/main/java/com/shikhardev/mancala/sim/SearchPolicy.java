@@ -0,0 +1,28 @@
+package com.shikhardev.mancala.sim;
+
+import com.shikhardev.mancala.ai.AlphaBetaSearcher;
+import com.shikhardev.mancala.ai.TranspositionTable;
+import com.shikhardev.mancala.engine.Rules;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays the move of the computer player, searched to a fixed depth so results do not depend on machine speed.
+ */
+public class SearchPolicy implements MovePolicy {
+
+    private static final long NO_LIMIT = TimeUnit.HOURS.toNanos(1);
+
+    private final AlphaBetaSearcher searcher;
+    private final int depth;
+
+    public SearchPolicy(Rules rules, int depth) {
+        this.searcher = new AlphaBetaSearcher(rules, new TranspositionTable(16), depth);
+        this.depth = depth;
+    }
+
+    @Override
+    public int selectMove(int[] pits, int sideToMove) {
+        return searcher.search(pits, sideToMove, NO_LIMIT, depth).getBestPit();
+    }
+}
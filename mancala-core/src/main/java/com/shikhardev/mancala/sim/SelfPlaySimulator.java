@@ -0,0 +1,132 @@
+package com.shikhardev.mancala.sim;
+
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+/**
+ * Headless self-play: plays complete games between two move policies on the primitive rules engine, spread over
+ * several threads. Every thread owns its board, its two policies and its report, so threads share nothing until the
+ * reports are merged at the end. The policies swap sides every game, so that the first-mover advantage and the
+ * strength of each policy can be told apart.
+ *
+ * Usage: java -cp target/classes com.shikhardev.mancala.sim.SelfPlaySimulator [games] [policyA] [policyB] [threads]
+ *                                                                            [pitsPerPlayer] [stones]
+ * Policies: random, greedy, ai:depth, mcts:playouts (see MovePolicy.forName); threads 0 for one per core.
+ */
+public class SelfPlaySimulator {
+
+    private final Rules rules;
+    private final int threads;
+
+    /**
+     * @param rules: Rules of the variant to play
+     * @param threads: Number of threads playing games
+     */
+    public SelfPlaySimulator(Rules rules, int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("The simulator needs at least one thread");
+        this.rules = rules;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        String policyA = args.length > 1 ? args[1] : "random";
+        String policyB = args.length > 2 ? args[2] : "random";
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        int pitsPerPlayer = args.length > 4 ? Integer.parseInt(args[4]) : 6;
+        int stones = args.length > 5 ? Integer.parseInt(args[5]) : 6;
+        Rules rules = new Rules(pitsPerPlayer, stones);
+        if (threads == 0)
+            threads = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%s (A) against %s (B), %d x %d stones, %d threads%n", policyA, policyB, pitsPerPlayer,
+                stones, threads);
+        SimulationReport report = new SelfPlaySimulator(rules, threads).run(games,
+                seed -> MovePolicy.forName(policyA, rules, seed),
+                seed -> MovePolicy.forName(policyB, rules, seed),
+                System.nanoTime());
+        System.out.println(report);
+    }
+
+    /**
+     * Plays the games and returns their totals.
+     * @param games: Number of games; policy A moves first in the even-numbered ones
+     * @param policyA: Creates the policy A of a thread from a seed
+     * @param policyB: Creates the policy B of a thread from a seed
+     * @param seed: Seed the seeds of every thread's policies are derived from
+     */
+    public SimulationReport run(long games, LongFunction<MovePolicy> policyA, LongFunction<MovePolicy> policyB,
+                                long seed) throws InterruptedException {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<SimulationReport>> reports = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                reports.add(executor.submit(() -> {
+                    MovePolicy a = policyA.apply(seed + 2 * thread);
+                    MovePolicy b = policyB.apply(seed + 2 * thread + 1);
+                    SimulationReport report = new SimulationReport();
+                    int[] startBoard = rules.newBoard();
+                    int[] pits = new int[startBoard.length];
+                    for (long game = thread; game < games; game += threads) {
+                        boolean aFirst = (game & 1) == 0;
+                        System.arraycopy(startBoard, 0, pits, 0, pits.length);
+                        play(pits, aFirst ? a : b, aFirst ? b : a, report, aFirst);
+                    }
+                    return report;
+                }));
+            }
+            SimulationReport total = new SimulationReport();
+            for (Future<SimulationReport> report : reports)
+                total.merge(report.get());
+            total.setElapsedNanos(System.nanoTime() - start);
+            return total;
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("A simulated game failed", e.getCause());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays one game to the end from the board given, player 1 to move.
+     */
+    private void play(int[] pits, MovePolicy first, MovePolicy second, SimulationReport report, boolean aFirst) {
+        report.recordGame(playGame(rules, pits, Rules.PLAYER_1, first, second, report), aFirst);
+    }
+
+    /**
+     * Plays a game to the end and returns its winner, decided as GameService.getGameWinner does: the remaining stones
+     * are collected, then the homes compared. The moves are counted in the report, the game is not.
+     * @param pits: Board to play from; holds the final board afterwards
+     * @param sideToMove: Side to move on that board
+     * @param first: Policy of player 1
+     * @param second: Policy of player 2
+     * @return Rules.PLAYER_1, Rules.PLAYER_2 or Rules.NO_PLAYER for a draw
+     */
+    static int playGame(Rules rules, int[] pits, int sideToMove, MovePolicy first, MovePolicy second,
+                        SimulationReport report) {
+        int side = sideToMove;
+        while (!rules.isEndGame(pits)) {
+            int pitID = (side == Rules.PLAYER_1 ? first : second).selectMove(pits, side);
+            int outcome = rules.sow(pits, side, pitID);
+            report.recordMove(MoveOutcome.isExtraTurn(outcome), MoveOutcome.isCapture(outcome));
+            if (!MoveOutcome.isExtraTurn(outcome))
+                side = Rules.opponent(side);
+        }
+        rules.collectRemainingStones(pits);
+        return rules.getWinner(pits);
+    }
+}
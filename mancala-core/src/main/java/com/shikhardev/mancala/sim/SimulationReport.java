@@ -0,0 +1,146 @@
+package com.shikhardev.mancala.sim;
+
+/**
+ * Totals of a batch of simulated games. Each simulator thread fills its own report; they are merged once all games
+ * are played, so counting takes no shared state.
+ */
+public final class SimulationReport {
+
+    private long games;
+    private long firstMoverWins;
+    private long secondMoverWins;
+    private long draws;
+    private long policyAWins;       // Wins of the first policy given to the simulator, whichever side it played
+    private long policyBWins;
+    private long plies;
+    private long extraTurns;
+    private long captures;
+    private long elapsedNanos;
+
+    void recordMove(boolean extraTurn, boolean capture) {
+        plies++;
+        if (extraTurn)
+            extraTurns++;
+        if (capture)
+            captures++;
+    }
+
+    /**
+     * @param winner: Rules.PLAYER_1 (who moves first), Rules.PLAYER_2 or Rules.NO_PLAYER
+     * @param policyAFirst: true if policy A played the first mover
+     */
+    void recordGame(int winner, boolean policyAFirst) {
+        games++;
+        if (winner < 0) {
+            draws++;
+            return;
+        }
+        boolean firstMoverWon = winner == 0;
+        if (firstMoverWon)
+            firstMoverWins++;
+        else
+            secondMoverWins++;
+        if (firstMoverWon == policyAFirst)
+            policyAWins++;
+        else
+            policyBWins++;
+    }
+
+    void merge(SimulationReport other) {
+        games += other.games;
+        firstMoverWins += other.firstMoverWins;
+        secondMoverWins += other.secondMoverWins;
+        draws += other.draws;
+        policyAWins += other.policyAWins;
+        policyBWins += other.policyBWins;
+        plies += other.plies;
+        extraTurns += other.extraTurns;
+        captures += other.captures;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    public long getFirstMoverWins() {
+        return firstMoverWins;
+    }
+
+    public long getSecondMoverWins() {
+        return secondMoverWins;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public long getPolicyAWins() {
+        return policyAWins;
+    }
+
+    public long getPolicyBWins() {
+        return policyBWins;
+    }
+
+    public long getPlies() {
+        return plies;
+    }
+
+    public long getExtraTurns() {
+        return extraTurns;
+    }
+
+    public long getCaptures() {
+        return captures;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    public double getFirstMoverWinRate() {
+        return games == 0 ? 0 : (double) firstMoverWins / games;
+    }
+
+    public double getSecondMoverWinRate() {
+        return games == 0 ? 0 : (double) secondMoverWins / games;
+    }
+
+    public double getDrawRate() {
+        return games == 0 ? 0 : (double) draws / games;
+    }
+
+    /** Average number of moves per game, an extra turn counting as a move of its own. */
+    public double getAverageLength() {
+        return games == 0 ? 0 : (double) plies / games;
+    }
+
+    /** Share of moves that ended in the mover's home. */
+    public double getExtraTurnFrequency() {
+        return plies == 0 ? 0 : (double) extraTurns / plies;
+    }
+
+    public double getCaptureFrequency() {
+        return plies == 0 ? 0 : (double) captures / plies;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d games in %.2f s (%.0f games/s)%n" +
+                        "first mover wins %.2f%%, second mover wins %.2f%%, draws %.2f%%%n" +
+                        "policy A wins %d, policy B wins %d%n" +
+                        "average length %.1f moves, extra turns %.2f%%, captures %.2f%% of moves",
+                games, elapsedNanos / 1e9, getGamesPerSecond(),
+                100 * getFirstMoverWinRate(), 100 * getSecondMoverWinRate(), 100 * getDrawRate(),
+                policyAWins, policyBWins,
+                getAverageLength(), 100 * getExtraTurnFrequency(), 100 * getCaptureFrequency());
+    }
+}
@@ -0,0 +1,154 @@
+package com.shikhardev.mancala.sim;
+
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Round-robin tournament between move policies (engines), to check that a change to an engine does not cost playing
+ * strength: every entrant plays every other one the same number of games, and the results are rated in Elo.
+ *
+ * Games are played in pairs from the same opening, a few random plies from the start position, with sides swapped:
+ * engines that search to a fixed depth would otherwise play the same game every time, and the pair cancels the
+ * advantage the opening gives one side. Game pairs are handed out to the threads one at a time, so fast and slow
+ * pairings spread over all threads. Every thread owns its policies, boards and report, which are merged at the end,
+ * exactly as in SelfPlaySimulator, whose game loop decides the winner the way GameService.getGameWinner does.
+ *
+ * Usage: java -cp target/classes com.shikhardev.mancala.sim.Tournament entrant,entrant,... [gamesPerPairing]
+ *                                                                      [openingPlies] [threads] [pitsPerPlayer] [stones]
+ * Entrants: random, greedy, ai:depth, mcts:playouts (see MovePolicy.forName); threads 0 for one per core.
+ */
+public class Tournament {
+
+    private final Rules rules;
+    private final int threads;
+
+    /**
+     * @param rules: Rules of the variant to play
+     * @param threads: Number of threads playing games
+     */
+    public Tournament(Rules rules, int threads) {
+        if (threads < 1)
+            throw new IllegalArgumentException("The tournament needs at least one thread");
+        this.rules = rules;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length == 0) {
+            System.err.println("Usage: Tournament entrant,entrant,... [gamesPerPairing] [openingPlies] [threads] " +
+                    "[pitsPerPlayer] [stones]");
+            System.exit(1);
+        }
+        List<String> entrants = Arrays.asList(args[0].split(","));
+        int gamesPerPairing = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int openingPlies = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        int pitsPerPlayer = args.length > 4 ? Integer.parseInt(args[4]) : 6;
+        int stones = args.length > 5 ? Integer.parseInt(args[5]) : 6;
+        Rules rules = new Rules(pitsPerPlayer, stones);
+        if (threads == 0)
+            threads = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%s, %d games per pairing, %d random opening plies, %d x %d stones, %d threads%n%n",
+                String.join(" ", entrants), gamesPerPairing, openingPlies, pitsPerPlayer, stones, threads);
+        System.out.println(new Tournament(rules, threads).run(entrants, gamesPerPairing, openingPlies,
+                System.nanoTime()));
+    }
+
+    /**
+     * Plays the tournament and returns its results.
+     * @param entrants: Names of the policies, as MovePolicy.forName takes them; at least two
+     * @param gamesPerPairing: Games between every two entrants, half on each side; a positive even number
+     * @param openingPlies: Random plies played from the start position before the entrants take over
+     * @param seed: Seed of the openings and of the policies' random choices
+     * @exception IllegalArgumentException: if there are fewer than two entrants, an unknown one, or an odd number of
+     * games per pairing
+     */
+    public TournamentReport run(List<String> entrants, int gamesPerPairing, int openingPlies, long seed)
+            throws InterruptedException {
+        int n = entrants.size();
+        if (n < 2)
+            throw new IllegalArgumentException("A tournament needs at least two entrants");
+        if (gamesPerPairing < 2 || gamesPerPairing % 2 != 0)
+            throw new IllegalArgumentException("Games per pairing must be a positive even number");
+        for (String entrant : entrants)
+            MovePolicy.forName(entrant, rules, seed);   // Fails here rather than in every thread
+
+        int[] entrantA = new int[n * (n - 1) / 2];      // Entrants of every pairing
+        int[] entrantB = new int[entrantA.length];
+        for (int i = 0, p = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++, p++) {
+                entrantA[p] = i;
+                entrantB[p] = j;
+            }
+        }
+        int gamePairs = gamesPerPairing / 2;
+        long totalGamePairs = (long) entrantA.length * gamePairs;
+        AtomicLong nextGamePair = new AtomicLong();
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<TournamentReport>> reports = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                reports.add(executor.submit(() -> {
+                    MovePolicy[] policies = new MovePolicy[n];
+                    for (int e = 0; e < n; e++)
+                        policies[e] = MovePolicy.forName(entrants.get(e), rules, seed + (long) thread * n + e);
+                    TournamentReport report = new TournamentReport(entrants, gamesPerPairing);
+                    int[] opening = new int[rules.getTotalPitCount()];
+                    int[] pits = new int[opening.length];
+                    for (long gamePair; (gamePair = nextGamePair.getAndIncrement()) < totalGamePairs; ) {
+                        int a = entrantA[(int) (gamePair / gamePairs)];
+                        int b = entrantB[(int) (gamePair / gamePairs)];
+                        int side = playOpening(opening, openingPlies, seed ^ gamePair * 0x9E3779B97F4A7C15L);
+                        System.arraycopy(opening, 0, pits, 0, pits.length);
+                        report.recordGame(a, b, SelfPlaySimulator.playGame(rules, pits, side, policies[a],
+                                policies[b], report.getMoves()));
+                        System.arraycopy(opening, 0, pits, 0, pits.length);
+                        report.recordGame(b, a, SelfPlaySimulator.playGame(rules, pits, side, policies[b],
+                                policies[a], report.getMoves()));
+                    }
+                    return report;
+                }));
+            }
+            TournamentReport total = new TournamentReport(entrants, gamesPerPairing);
+            for (Future<TournamentReport> report : reports)
+                total.merge(report.get());
+            total.getMoves().setElapsedNanos(System.nanoTime() - start);
+            return total;
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("A tournament game failed", e.getCause());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Sets up the board of a game pair: random legal moves from the start position, up to the specified number of
+     * plies or the end of the game.
+     * @return The side to move after the opening
+     */
+    private int playOpening(int[] pits, int plies, long seed) {
+        System.arraycopy(rules.newBoard(), 0, pits, 0, pits.length);
+        RandomPolicy policy = new RandomPolicy(rules, seed);
+        int side = Rules.PLAYER_1;
+        for (int ply = 0; ply < plies && !rules.isEndGame(pits); ply++) {
+            if (!MoveOutcome.isExtraTurn(rules.sow(pits, side, policy.selectMove(pits, side))))
+                side = Rules.opponent(side);
+        }
+        return side;
+    }
+}
@@ -0,0 +1,259 @@
+package com.shikhardev.mancala.sim;
+
+import com.shikhardev.mancala.engine.Rules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Results of a round-robin tournament, and the Elo ratings they give. Each tournament thread fills its own report;
+ * they are merged once all games are played, as SimulationReports are.
+ *
+ * Ratings are the maximum likelihood fit of the logistic Elo model to all games, a draw counting half a win, centred
+ * on 0. One virtual draw in every pairing keeps the rating of an entrant that wins or loses every game finite. Their
+ * 95% intervals come from the curvature of the likelihood at the fit, so they shrink with the square root of the
+ * games played. The Elo difference of a pairing and its 95% interval only use the games of that pairing.
+ */
+public final class TournamentReport {
+
+    private static final double Z_95 = 1.959964;
+    private static final double ELO_SCALE = 400 / Math.log(10);   // Rating points per unit of log-odds
+    private static final double PRIOR_DRAWS = 1;
+    private static final int MAX_ITERATIONS = 10_000;
+
+    private final List<String> entrants;
+    private final int gamesPerPairing;
+    private final long[][] wins;        // wins[i][j]: games entrant i won against entrant j
+    private final long[][] draws;       // draws[i][j] == draws[j][i]
+    private final SimulationReport moves = new SimulationReport();
+    private double[] ratings;
+    private double[] ratingErrors;
+
+    TournamentReport(List<String> entrants, int gamesPerPairing) {
+        this.entrants = new ArrayList<>(entrants);
+        this.gamesPerPairing = gamesPerPairing;
+        wins = new long[entrants.size()][entrants.size()];
+        draws = new long[entrants.size()][entrants.size()];
+    }
+
+    /**
+     * @param first: Entrant that played player 1
+     * @param second: Entrant that played player 2
+     * @param winner: Rules.PLAYER_1, Rules.PLAYER_2 or Rules.NO_PLAYER
+     */
+    void recordGame(int first, int second, int winner) {
+        moves.recordGame(winner, true);
+        if (winner == Rules.PLAYER_1)
+            wins[first][second]++;
+        else if (winner == Rules.PLAYER_2)
+            wins[second][first]++;
+        else {
+            draws[first][second]++;
+            draws[second][first]++;
+        }
+    }
+
+    void merge(TournamentReport other) {
+        for (int i = 0; i < wins.length; i++) {
+            for (int j = 0; j < wins.length; j++) {
+                wins[i][j] += other.wins[i][j];
+                draws[i][j] += other.draws[i][j];
+            }
+        }
+        moves.merge(other.moves);
+        ratings = null;
+    }
+
+    /**
+     * Returns the move and game totals of the tournament, policy A being whoever played player 1.
+     */
+    SimulationReport getMoves() {
+        return moves;
+    }
+
+    public List<String> getEntrants() {
+        return entrants;
+    }
+
+    public int getGamesPerPairing() {
+        return gamesPerPairing;
+    }
+
+    public long getGames() {
+        return moves.getGames();
+    }
+
+    public long getWins(int entrant, int opponent) {
+        return wins[entrant][opponent];
+    }
+
+    public long getDraws(int entrant, int opponent) {
+        return draws[entrant][opponent];
+    }
+
+    public long getGames(int entrant, int opponent) {
+        return wins[entrant][opponent] + wins[opponent][entrant] + draws[entrant][opponent];
+    }
+
+    /**
+     * Returns the points of the entrant against the opponent, a draw counting half a point, over the games played.
+     */
+    public double getScore(int entrant, int opponent) {
+        long games = getGames(entrant, opponent);
+        return games == 0 ? 0.5 : (wins[entrant][opponent] + 0.5 * draws[entrant][opponent]) / games;
+    }
+
+    /**
+     * Returns the points of the entrant against the whole field, over the games it played.
+     */
+    public double getScore(int entrant) {
+        double points = 0;
+        long games = 0;
+        for (int opponent = 0; opponent < wins.length; opponent++) {
+            points += wins[entrant][opponent] + 0.5 * draws[entrant][opponent];
+            games += getGames(entrant, opponent);
+        }
+        return games == 0 ? 0.5 : points / games;
+    }
+
+    /**
+     * Returns the Elo rating of every entrant, in the order of getEntrants, centred on 0.
+     */
+    public double[] getRatings() {
+        fitRatings();
+        return ratings.clone();
+    }
+
+    /**
+     * Returns the half-width of the 95% interval of every rating.
+     */
+    public double[] getRatingErrors() {
+        fitRatings();
+        return ratingErrors.clone();
+    }
+
+    /**
+     * Returns the Elo difference the score of the pairing gives, infinite if one side won every point.
+     */
+    public double getEloDifference(int entrant, int opponent) {
+        return toElo(getScore(entrant, opponent));
+    }
+
+    /**
+     * Returns the 95% interval of the Elo difference of the pairing: {low, high}. It is the Wilson interval of the
+     * score, with the variance of the game results, so it stays finite when one side won every point.
+     */
+    public double[] getEloInterval(int entrant, int opponent) {
+        long games = getGames(entrant, opponent);
+        if (games == 0)
+            return new double[]{Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+        double score = getScore(entrant, opponent);
+        double variance = (wins[entrant][opponent] * (1 - score) * (1 - score)
+                + draws[entrant][opponent] * (0.5 - score) * (0.5 - score)
+                + wins[opponent][entrant] * score * score) / games;
+        double z2 = Z_95 * Z_95 / games;
+        double centre = (score + z2 / 2) / (1 + z2);
+        double error = Z_95 / (1 + z2) * Math.sqrt(variance / games + z2 / (4 * games));
+        return new double[]{toElo(Math.max(0, centre - error)), toElo(Math.min(1, centre + error))};
+    }
+
+    private static double toElo(double score) {
+        return -ELO_SCALE * Math.log(1 / score - 1);
+    }
+
+    private static double expectedScore(double ratingDifference) {
+        return 1 / (1 + Math.exp(-ratingDifference / ELO_SCALE));
+    }
+
+    /**
+     * Fits the ratings by coordinate-wise Newton steps on the log-likelihood, which is concave, then derives their
+     * errors from its curvature.
+     */
+    private void fitRatings() {
+        if (ratings != null)
+            return;
+        int n = wins.length;
+        double[] fit = new double[n];
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            double largestStep = 0;
+            for (int i = 0; i < n; i++) {
+                double gradient = 0;
+                double curvature = 0;
+                for (int j = 0; j < n; j++) {
+                    if (j == i)
+                        continue;
+                    double games = getGames(i, j) + PRIOR_DRAWS;
+                    double points = wins[i][j] + 0.5 * (draws[i][j] + PRIOR_DRAWS);
+                    double expected = expectedScore(fit[i] - fit[j]);
+                    gradient += points - games * expected;
+                    curvature += games * expected * (1 - expected);
+                }
+                double step = ELO_SCALE * gradient / curvature;
+                fit[i] += step;
+                largestStep = Math.max(largestStep, Math.abs(step));
+            }
+            double mean = 0;
+            for (double rating : fit)
+                mean += rating / n;
+            for (int i = 0; i < n; i++)
+                fit[i] -= mean;
+            if (largestStep < 1e-6)
+                break;
+        }
+
+        double[] errors = new double[n];
+        for (int i = 0; i < n; i++) {
+            double information = 0;
+            for (int j = 0; j < n; j++) {
+                if (j == i)
+                    continue;
+                double expected = expectedScore(fit[i] - fit[j]);
+                information += (getGames(i, j) + PRIOR_DRAWS) * expected * (1 - expected);
+            }
+            errors[i] = Z_95 * ELO_SCALE / Math.sqrt(information);
+        }
+        ratingErrors = errors;
+        ratings = fit;
+    }
+
+    private static String formatElo(double elo) {
+        return Double.isInfinite(elo) ? (elo > 0 ? "+inf" : "-inf") : String.format("%+.0f", elo);
+    }
+
+    @Override
+    public String toString() {
+        double[] ratings = getRatings();
+        double[] errors = getRatingErrors();
+        Integer[] ranking = new Integer[ratings.length];
+        for (int i = 0; i < ranking.length; i++)
+            ranking[i] = i;
+        Arrays.sort(ranking, (a, b) -> Double.compare(ratings[b], ratings[a]));
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%d games in %.2f s (%.0f games/s), %d per pairing, average length %.1f moves%n",
+                getGames(), moves.getElapsedNanos() / 1e9, moves.getGamesPerSecond(), gamesPerPairing,
+                moves.getAverageLength()));
+        report.append(String.format("%nrank  %-16s %7s %6s %7s%n", "entrant", "elo", "95%", "score"));
+        for (int rank = 0; rank < ranking.length; rank++) {
+            int i = ranking[rank];
+            report.append(String.format("%4d  %-16s %7.1f %6.1f %6.1f%%%n", rank + 1, entrants.get(i), ratings[i],
+                    errors[i], 100 * getScore(i)));
+        }
+        report.append(String.format("%n%-34s %17s %7s  %s%n", "pairing", "+win =draw -loss", "score",
+                "elo difference [95%]"));
+        for (int a = 0; a < ranking.length; a++) {
+            for (int b = a + 1; b < ranking.length; b++) {
+                int i = ranking[a];
+                int j = ranking[b];
+                double[] interval = getEloInterval(i, j);
+                report.append(String.format("%-34s %17s %6.1f%%  %s [%s, %s]%n",
+                        entrants.get(i) + " vs " + entrants.get(j),
+                        String.format("+%d =%d -%d", wins[i][j], draws[i][j], wins[j][i]),
+                        100 * getScore(i, j), formatElo(getEloDifference(i, j)),
+                        formatElo(interval[0]), formatElo(interval[1])));
+            }
+        }
+        return report.toString();
+    }
+}
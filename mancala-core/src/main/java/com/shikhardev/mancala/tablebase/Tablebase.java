@@ -0,0 +1,92 @@
+package com.shikhardev.mancala.tablebase;
+
+import com.shikhardev.mancala.engine.Rules;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Endgame tablebase: the exact outcome of every position with at most getMaxStones() stones left in the playgrounds,
+ * as written by TablebaseGenerator.
+ *
+ * The file is memory-mapped read-only, so a lookup is one TablebaseIndex computation and one byte read, and the table
+ * takes no heap whatever its size. The value of a position is the number of stones still in play that the side to
+ * move ends up with, minus the number its opponent ends up with, under perfect play from both sides; adding the
+ * current home difference gives the final store difference, the score AlphaBetaSearcher uses.
+ *
+ * File layout (big-endian):
+ *      int MAGIC, int pitsPerPlayer, int maxStones, int 0
+ *      byte value[TablebaseIndex.index(position)], for every position
+ */
+public final class Tablebase {
+
+    static final int MAGIC = 0x4B544231;     // "KTB1"
+    static final int HEADER_SIZE = 16;
+
+    /** Tablebase holding no position, for servers started without a tablebase file. */
+    public static final Tablebase NONE = new Tablebase(null, null);
+
+    private final TablebaseIndex index;
+    private final ByteBuffer values;
+
+    private Tablebase(TablebaseIndex index, ByteBuffer values) {
+        this.index = index;
+        this.values = values;
+    }
+
+    /**
+     * Maps the tablebase file written by TablebaseGenerator.
+     * @exception IllegalArgumentException: if the file is not a tablebase of the variant played with the rules
+     */
+    public static Tablebase open(Path file, Rules rules) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer values = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (values.limit() < HEADER_SIZE || values.getInt(0) != MAGIC)
+                throw new IllegalArgumentException(String.format("%s is not a tablebase file", file));
+            if (values.getInt(4) != rules.getPitsPerPlayer())
+                throw new IllegalArgumentException(String.format("%s was generated for %d pits per player, not %d",
+                        file, values.getInt(4), rules.getPitsPerPlayer()));
+            TablebaseIndex index = new TablebaseIndex(rules, values.getInt(8));
+            if (values.limit() != HEADER_SIZE + index.size())
+                throw new IllegalArgumentException(String.format("%s is truncated", file));
+            return new Tablebase(index, values);
+        }
+    }
+
+    /**
+     * Largest number of stones in play the tablebase solves; -1 for NONE.
+     */
+    public int getMaxStones() {
+        return index == null ? -1 : index.getMaxStones();
+    }
+
+    /**
+     * Returns true if positions with the specified number of stones in the playgrounds are in the tablebase.
+     */
+    public boolean covers(int stonesInPlay) {
+        return stonesInPlay <= getMaxStones();
+    }
+
+    /**
+     * Stones in the playgrounds of both players, homes excluded.
+     */
+    public static int getStonesInPlay(Rules rules, int[] pits) {
+        int count = 0;
+        for (int i = 0; i < pits.length; i++)
+            if (!rules.isHome(i))
+                count += pits[i];
+        return count;
+    }
+
+    /**
+     * Exact value of the position for the side to move: stones in play it collects minus those its opponent collects.
+     * Assumes covers(getStonesInPlay(pits)).
+     * @param sideToMove: Rules.PLAYER_1 or Rules.PLAYER_2
+     */
+    public int getValue(int[] pits, int sideToMove) {
+        return values.get(HEADER_SIZE + (int) index.index(pits, sideToMove));
+    }
+}
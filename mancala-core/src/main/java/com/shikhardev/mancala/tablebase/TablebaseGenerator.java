@@ -0,0 +1,153 @@
+package com.shikhardev.mancala.tablebase;
+
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Offline generator of the endgame tablebase read by Tablebase, by retrograde analysis.
+ *
+ * Stones never come back into play once they reach a home, so a move either keeps the number of stones in play or
+ * lowers it. A move that keeps it only carries the mover's stones towards the mover's home, so it strictly lowers the
+ * potential: the sum, over every stone in play, of its distance to the home of the pit's owner. Positions are
+ * therefore solved by stone count, lowest first, and within a count by potential, lowest first; every successor of
+ * a position is solved before the position itself, and its value is final as soon as it is computed.
+ *
+ * Positions are solved with player 1 to move; a position with player 2 to move is the same position seen from the
+ * other side of the board, and TablebaseIndex reads it that way.
+ *
+ * Usage: java -cp target/classes com.shikhardev.mancala.tablebase.TablebaseGenerator file maxStones [pitsPerPlayer]
+ */
+public class TablebaseGenerator {
+
+    private final Rules rules;
+    private final TablebaseIndex index;
+    private final byte[] values;
+
+    /**
+     * @param rules: Rules of the variant to solve
+     * @param maxStones: Largest number of stones in play to solve, at most 127 so that every value fits a byte
+     * @exception IllegalArgumentException: if maxStones is out of range or the tablebase would not fit one file mapping
+     */
+    public TablebaseGenerator(Rules rules, int maxStones) {
+        if (maxStones < 0 || maxStones > Byte.MAX_VALUE)
+            throw new IllegalArgumentException("Tablebase stone count must be between 0 and 127");
+        this.rules = rules;
+        this.index = new TablebaseIndex(rules, maxStones);
+        if (index.size() > Integer.MAX_VALUE - Tablebase.HEADER_SIZE)
+            throw new IllegalArgumentException(String.format("A tablebase of %d stones holds %d positions, too many",
+                    maxStones, index.size()));
+        this.values = new byte[(int) index.size()];
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: TablebaseGenerator file maxStones [pitsPerPlayer]");
+            System.exit(1);
+        }
+        int pitsPerPlayer = args.length > 2 ? Integer.parseInt(args[2]) : 6;
+        TablebaseGenerator generator = new TablebaseGenerator(new Rules(pitsPerPlayer, 1), Integer.parseInt(args[1]));
+        long start = System.nanoTime();
+        generator.generate();
+        generator.write(Paths.get(args[0]));
+        System.out.printf("%d positions in %.1f s%n", generator.values.length, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Solves every position, fewest stones first.
+     */
+    public void generate() {
+        for (int n = 0; n <= index.getMaxStones(); n++)
+            solveLayer(n);
+    }
+
+    /**
+     * Writes the solved positions in the format Tablebase maps.
+     */
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(Tablebase.MAGIC);
+            out.writeInt(rules.getPitsPerPlayer());
+            out.writeInt(index.getMaxStones());
+            out.writeInt(0);
+            out.write(values);
+        }
+    }
+
+    /**
+     * Solves the positions with n stones in play, in increasing potential. Assumes all layers below n are solved.
+     */
+    private void solveLayer(int n) {
+        int size = (int) index.layerSize(n);
+        int maxPotential = n * rules.getPitsPerPlayer();
+        int[] pits = new int[rules.getTotalPitCount()];
+
+        // Counting sort of the ranks by potential
+        short[] potentials = new short[size];
+        int[] starts = new int[maxPotential + 2];
+        for (int rank = 0; rank < size; rank++) {
+            index.unrank(n, rank, pits);
+            potentials[rank] = (short) potential(pits);
+            starts[potentials[rank] + 1]++;
+        }
+        for (int p = 1; p < starts.length; p++)
+            starts[p] += starts[p - 1];
+        int[] order = new int[size];
+        for (int rank = 0; rank < size; rank++)
+            order[starts[potentials[rank]]++] = rank;
+
+        long offset = index.offset(n);
+        int[] child = new int[pits.length];
+        for (int rank : order) {
+            index.unrank(n, rank, pits);
+            values[(int) (offset + rank)] = (byte) solve(pits, child);
+        }
+    }
+
+    /**
+     * Sum over the stones in play of the distance to their owner's home.
+     */
+    private int potential(int[] pits) {
+        int potential = 0;
+        for (int player = Rules.PLAYER_1; player <= Rules.PLAYER_2; player++) {
+            int home = rules.getHome(player);
+            for (int i = rules.getFirstPit(player); i < home; i++)
+                potential += pits[i] * (home - i);
+        }
+        return potential;
+    }
+
+    /**
+     * Value of the board (homes empty) with player 1 to move, from the already solved values of its successors.
+     */
+    private int solve(int[] pits, int[] child) {
+        int home = rules.getHome(Rules.PLAYER_1);
+        int opponentHome = rules.getHome(Rules.PLAYER_2);
+        if (rules.isEndGame(pits)) {
+            int value = 0;
+            for (int i = 0; i < pits.length; i++)
+                if (!rules.isHome(i))
+                    value += rules.getOwner(i) == Rules.PLAYER_1 ? pits[i] : -pits[i];
+            return value;
+        }
+        int best = Integer.MIN_VALUE;
+        for (int pit = rules.getFirstPit(Rules.PLAYER_1); pit < home; pit++) {
+            if (pits[pit] == 0)
+                continue;
+            System.arraycopy(pits, 0, child, 0, pits.length);
+            boolean extraTurn = MoveOutcome.isExtraTurn(rules.sow(child, Rules.PLAYER_1, pit));
+            int gain = child[home] - child[opponentHome];
+            child[home] = 0;
+            child[opponentHome] = 0;
+            int childValue = values[(int) index.index(child, extraTurn ? Rules.PLAYER_1 : Rules.PLAYER_2)];
+            best = Math.max(best, gain + (extraTurn ? childValue : -childValue));
+        }
+        return best;
+    }
+}
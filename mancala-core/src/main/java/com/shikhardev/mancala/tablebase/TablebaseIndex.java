@@ -0,0 +1,105 @@
+package com.shikhardev.mancala.tablebase;
+
+import com.shikhardev.mancala.engine.Rules;
+
+/**
+ * Perfect hash of the positions with at most maxStones stones in play, seen from the side to move.
+ *
+ * The playground pits are read in the order: side to move first, opponent second (homes are left out, they do not
+ * change what the remaining stones are worth). The positions holding n stones in play are the ways of putting n
+ * stones in P = 2 * pitsPerPlayer pits; writing them as n stones and P - 1 separators, the separator slots form a
+ * (P - 1)-combination of n + P - 1 slots, ranked in the combinatorial number system. Positions with n stones come
+ * after all positions with fewer stones, so the index of every position with at most maxStones stones is a distinct
+ * number in [0, C(maxStones + P, P)).
+ */
+final class TablebaseIndex {
+
+    private final int pitsPerPlayer;
+    private final int pitCount;         // P: playground pits of both players
+    private final int maxStones;
+    private final long[][] binomials;   // binomials[n][k] = C(n, k)
+    private final int[] order;          // order[player * pitCount + i]: board pit read i-th when player is to move
+
+    TablebaseIndex(Rules rules, int maxStones) {
+        int pitsPerPlayer = rules.getPitsPerPlayer();
+        this.pitsPerPlayer = pitsPerPlayer;
+        this.pitCount = 2 * pitsPerPlayer;
+        this.maxStones = maxStones;
+        binomials = new long[maxStones + pitCount + 1][pitCount + 1];
+        for (int n = 0; n < binomials.length; n++) {
+            binomials[n][0] = 1;
+            for (int k = 1; k <= Math.min(n, pitCount); k++)
+                binomials[n][k] = binomials[n - 1][k - 1] + binomials[n - 1][k];
+        }
+        order = new int[2 * pitCount];
+        for (int player = Rules.PLAYER_1; player <= Rules.PLAYER_2; player++) {
+            int opponent = Rules.opponent(player);
+            for (int i = 0; i < pitsPerPlayer; i++) {
+                order[player * pitCount + i] = rules.getFirstPit(player) + i;
+                order[player * pitCount + pitsPerPlayer + i] = rules.getFirstPit(opponent) + i;
+            }
+        }
+    }
+
+    int getPitsPerPlayer() {
+        return pitsPerPlayer;
+    }
+
+    int getMaxStones() {
+        return maxStones;
+    }
+
+    /**
+     * Number of positions with at most maxStones stones in play.
+     */
+    long size() {
+        return offset(maxStones + 1);
+    }
+
+    /**
+     * Index of the first position with n stones in play: the count of positions with fewer, C(n + P - 1, P).
+     */
+    long offset(int n) {
+        return binomials[n + pitCount - 1][pitCount];
+    }
+
+    /**
+     * Number of positions with exactly n stones in play: C(n + P - 1, P - 1).
+     */
+    long layerSize(int n) {
+        return binomials[n + pitCount - 1][pitCount - 1];
+    }
+
+    /**
+     * Index of the board with the specified side to move. Assumes at most maxStones stones in play.
+     */
+    long index(int[] pits, int sideToMove) {
+        int base = sideToMove * pitCount;
+        long rank = 0;
+        int sum = 0;
+        for (int j = 0; j < pitCount - 1; j++) {
+            sum += pits[order[base + j]];
+            rank += binomials[sum + j][j + 1];
+        }
+        sum += pits[order[base + pitCount - 1]];
+        return offset(sum) + rank;
+    }
+
+    /**
+     * Inverse of index for player 1 to move: fills the playground of the board with the rank-th position holding
+     * n stones in play. Homes are left untouched.
+     */
+    void unrank(int n, long rank, int[] pits) {
+        int previous = n;
+        for (int j = pitCount - 2; j >= 0; j--) {
+            int slot = j;
+            while (binomials[slot + 1][j + 1] <= rank)
+                slot++;
+            rank -= binomials[slot][j + 1];
+            int sum = slot - j;     // Stones in the first j + 1 pits
+            pits[order[j + 1]] = previous - sum;
+            previous = sum;
+        }
+        pits[order[0]] = previous;
+    }
+}
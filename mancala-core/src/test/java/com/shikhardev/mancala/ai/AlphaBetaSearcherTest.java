@@ -0,0 +1,126 @@
+package com.shikhardev.mancala.ai;
+
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+class AlphaBetaSearcherTest {
+
+    private static final long NO_LIMIT = TimeUnit.SECONDS.toNanos(60);
+
+    Rules rules = new Rules(6, 6);
+
+    AlphaBetaSearcher newSearcher() {
+        return new AlphaBetaSearcher(rules, new TranspositionTable(16), 32);
+    }
+
+    /**
+     * Plain minimax without pruning or table, scoring exactly like the searcher.
+     */
+    int minimax(int[] pits, int side, int depth) {
+        if (rules.isEndGame(pits)) {
+            int[] end = pits.clone();
+            rules.collectRemainingStones(end);
+            return end[rules.getHome(side)] - end[rules.getHome(Rules.opponent(side))];
+        }
+        if (depth == 0)
+            return pits[rules.getHome(side)] - pits[rules.getHome(Rules.opponent(side))];
+        int best = Integer.MIN_VALUE;
+        for (int pit = rules.getFirstPit(side); pit < rules.getHome(side); pit++) {
+            if (!rules.isLegalMove(pits, side, pit))
+                continue;
+            int[] child = pits.clone();
+            boolean extraTurn = MoveOutcome.isExtraTurn(rules.sow(child, side, pit));
+            int score = extraTurn ? minimax(child, side, depth - 1) : -minimax(child, Rules.opponent(side), depth - 1);
+            best = Math.max(best, score);
+        }
+        return best;
+    }
+
+    @Test
+    @DisplayName("Scores should match plain minimax on random positions")
+    void matchesMinimax() {
+        Random random = new Random(11);
+        AlphaBetaSearcher searcher = newSearcher();
+        for (int position = 0; position < 40; position++) {
+            int[] pits = rules.newBoard();
+            int side = Rules.PLAYER_1;
+            for (int ply = random.nextInt(30); ply > 0 && !rules.isEndGame(pits); ply--) {
+                int pit;
+                do {
+                    pit = rules.getFirstPit(side) + random.nextInt(rules.getPitsPerPlayer());
+                } while (!rules.isLegalMove(pits, side, pit));
+                if (!MoveOutcome.isExtraTurn(rules.sow(pits, side, pit)))
+                    side = Rules.opponent(side);
+            }
+            if (rules.isEndGame(pits))
+                continue;
+            int[] copy = pits.clone();
+            SearchResult result = searcher.search(pits, side, NO_LIMIT, 5);
+            Assert.assertArrayEquals(copy, pits);
+            Assert.assertEquals(5, result.getDepth());
+            Assert.assertEquals(minimax(pits, side, 5), result.getScore());
+            Assert.assertTrue(rules.isLegalMove(pits, side, result.getBestPit()));
+        }
+    }
+
+    @Test
+    @DisplayName("The only move that captures should be found")
+    void findsCapture() {
+        int[] pits = new int[14];
+        pits[0] = 1;    // Lands in empty pit 1, opposite of pit 11
+        pits[3] = 2;
+        pits[11] = 9;
+        pits[8] = 1;
+        SearchResult result = newSearcher().search(pits, Rules.PLAYER_1, NO_LIMIT, 3);
+        Assert.assertEquals(0, result.getBestPit());
+    }
+
+    @Test
+    @DisplayName("Iterative deepening should stop within the time budget")
+    void respectsBudget() {
+        AlphaBetaSearcher searcher = newSearcher();
+        long budget = TimeUnit.MILLISECONDS.toNanos(50);
+        SearchResult result = searcher.search(rules.newBoard(), Rules.PLAYER_1, budget);
+        Assert.assertTrue(result.getElapsedNanos() < 2 * budget);
+        Assert.assertTrue(result.getDepth() > 0);
+        Assert.assertTrue(result.getNodes() > 0);
+        Assert.assertTrue(result.getTableHitRate() > 0);
+        Assert.assertTrue(rules.isLegalMove(rules.newBoard(), Rules.PLAYER_1, result.getBestPit()));
+    }
+
+    @Test
+    @DisplayName("No legal move should be reported as pit -1")
+    void noMove() {
+        int[] pits = new int[14];
+        Arrays.fill(pits, 7, 13, 2);
+        Assert.assertEquals(-1, newSearcher().search(pits, Rules.PLAYER_1, NO_LIMIT).getBestPit());
+    }
+
+    @Test
+    @DisplayName("Verify depth-preferred replacement with aging")
+    void tableReplacement() {
+        TranspositionTable table = new TranspositionTable(4);
+        long key = 0x1234_0000_0005L;
+        long other = 0x5678_0000_0005L;    // Same slot
+        table.store(key, -12, 6, TranspositionTable.EXACT, 3);
+        long entry = table.probe(key);
+        Assert.assertEquals(-12, TranspositionTable.getScore(entry));
+        Assert.assertEquals(6, TranspositionTable.getDepth(entry));
+        Assert.assertEquals(TranspositionTable.EXACT, TranspositionTable.getBound(entry));
+        Assert.assertEquals(3, TranspositionTable.getBestPit(entry));
+
+        table.store(other, 1, 2, TranspositionTable.LOWER_BOUND, 9);
+        Assert.assertEquals(TranspositionTable.MISS, table.probe(other));   // Shallower entry does not replace
+        table.newSearch();
+        table.store(other, 1, 2, TranspositionTable.LOWER_BOUND, 9);
+        Assert.assertEquals(9, TranspositionTable.getBestPit(table.probe(other)));  // Older entry does
+        Assert.assertEquals(TranspositionTable.MISS, table.probe(key));
+    }
+}
@@ -0,0 +1,92 @@
+package com.shikhardev.mancala.ai;
+
+import com.shikhardev.mancala.engine.Rules;
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MctsSearcherTest {
+
+    private static final long NO_LIMIT = TimeUnit.SECONDS.toNanos(60);
+
+    Rules rules = new Rules(6, 6);
+
+    @Test
+    @DisplayName("The only move that captures should be found")
+    void findsCapture() {
+        int[] pits = new int[14];
+        pits[0] = 1;    // Lands in empty pit 1, opposite of pit 11
+        pits[3] = 2;
+        pits[11] = 9;
+        pits[8] = 1;
+        int[] copy = pits.clone();
+        SearchResult result = new MctsSearcher(rules, 1 << 14, 3).search(pits, Rules.PLAYER_1, NO_LIMIT, 2000);
+        Assert.assertArrayEquals(copy, pits);
+        Assert.assertEquals(0, result.getBestPit());
+        Assert.assertEquals(2000, result.getNodes());
+        Assert.assertTrue(result.getScore() > 0);
+    }
+
+    @Test
+    @DisplayName("The same seed should give the same search")
+    void deterministic() {
+        SearchResult first = new MctsSearcher(rules, 1 << 14, 5).search(rules.newBoard(), Rules.PLAYER_1, NO_LIMIT, 3000);
+        SearchResult second = new MctsSearcher(rules, 1 << 14, 5).search(rules.newBoard(), Rules.PLAYER_1, NO_LIMIT, 3000);
+        Assert.assertEquals(first.getBestPit(), second.getBestPit());
+        Assert.assertEquals(first.getScore(), second.getScore());
+        Assert.assertEquals(first.getDepth(), second.getDepth());
+    }
+
+    @Test
+    @DisplayName("A full arena should stop the tree from growing, not the search")
+    void fullArena() {
+        MctsSearcher searcher = new MctsSearcher(rules, 64, 7);
+        for (int i = 0; i < 3; i++) {
+            SearchResult result = searcher.search(rules.newBoard(), Rules.PLAYER_2, NO_LIMIT, 5000);
+            Assert.assertEquals(5000, result.getNodes());
+            Assert.assertTrue(rules.isLegalMove(rules.newBoard(), Rules.PLAYER_2, result.getBestPit()));
+        }
+    }
+
+    @Test
+    @DisplayName("The search should return its best move so far at the deadline or when stopped")
+    void anytime() throws InterruptedException {
+        MctsSearcher searcher = new MctsSearcher(rules, 1 << 16, 9);
+        long budget = TimeUnit.MILLISECONDS.toNanos(50);
+        SearchResult timed = searcher.search(rules.newBoard(), Rules.PLAYER_1, budget);
+        Assert.assertTrue(timed.getElapsedNanos() < 2 * budget);
+        Assert.assertTrue(timed.getNodes() > 0);
+        Assert.assertTrue(rules.isLegalMove(rules.newBoard(), Rules.PLAYER_1, timed.getBestPit()));
+
+        AtomicReference<SearchResult> stopped = new AtomicReference<>();
+        Thread thread = new Thread(() -> stopped.set(searcher.search(rules.newBoard(), Rules.PLAYER_1, NO_LIMIT)));
+        thread.start();
+        Thread.sleep(50);
+        searcher.stop();
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+        Assert.assertFalse(thread.isAlive());
+        Assert.assertTrue(stopped.get().getNodes() > 0);
+        Assert.assertTrue(rules.isLegalMove(rules.newBoard(), Rules.PLAYER_1, stopped.get().getBestPit()));
+
+        searcher.stop();    // Before the search: not lost, the search returns at once
+        SearchResult early = searcher.search(rules.newBoard(), Rules.PLAYER_1, NO_LIMIT);
+        Assert.assertEquals(0, early.getNodes());
+        Assert.assertTrue(rules.isLegalMove(rules.newBoard(), Rules.PLAYER_1, early.getBestPit()));
+        Assert.assertTrue(searcher.search(rules.newBoard(), Rules.PLAYER_1, budget).getNodes() > 0);
+    }
+
+    @Test
+    @DisplayName("No legal move should be reported as pit -1, a too small arena as an exception")
+    void edgeCases() {
+        int[] pits = new int[14];
+        Arrays.fill(pits, 7, 13, 2);
+        Assert.assertEquals(-1, new MctsSearcher(rules, 64, 1).search(pits, Rules.PLAYER_1, NO_LIMIT).getBestPit());
+        assertThrows(IllegalArgumentException.class, () -> new MctsSearcher(rules, 6, 1));
+    }
+}
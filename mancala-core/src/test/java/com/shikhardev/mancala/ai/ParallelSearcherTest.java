@@ -0,0 +1,71 @@
+package com.shikhardev.mancala.ai;
+
+import com.shikhardev.mancala.engine.Rules;
+import org.junit.Assert;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSearcherTest {
+
+    private static final long NO_LIMIT = TimeUnit.SECONDS.toNanos(60);
+
+    Rules rules = new Rules(6, 6);
+    ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("One thread should search exactly like AlphaBetaSearcher")
+    void singleThread() {
+        int[] pits = rules.newBoard();
+        SearchResult expected = new AlphaBetaSearcher(rules, new TranspositionTable(16), 32)
+                .search(pits, Rules.PLAYER_1, NO_LIMIT, 8);
+        SearchResult result = new ParallelSearcher(rules, new TranspositionTable(16), 32, 1, pool)
+                .search(pits, Rules.PLAYER_1, NO_LIMIT, 8);
+        Assert.assertEquals(expected.getBestPit(), result.getBestPit());
+        Assert.assertEquals(expected.getScore(), result.getScore());
+        Assert.assertEquals(expected.getNodes(), result.getNodes());
+    }
+
+    @Test
+    @DisplayName("Several threads should complete the requested depth with a legal move")
+    void severalThreads() {
+        int[] pits = rules.newBoard();
+        pits[0] = 0;
+        pits[7] = 9;
+        ParallelSearcher searcher = new ParallelSearcher(rules, new TranspositionTable(16), 32, 4, pool);
+        for (int i = 0; i < 5; i++) {
+            SearchResult result = searcher.search(pits, Rules.PLAYER_1, NO_LIMIT, 9);
+            Assert.assertEquals(9, result.getDepth());
+            Assert.assertTrue(result.getNodes() > 0);
+            Assert.assertTrue(rules.isLegalMove(pits, Rules.PLAYER_1, result.getBestPit()));
+        }
+    }
+
+    @Test
+    @DisplayName("Helpers should stop within the time budget")
+    void respectsBudget() {
+        long budget = TimeUnit.MILLISECONDS.toNanos(50);
+        SearchResult result = new ParallelSearcher(rules, new TranspositionTable(16), 64, 4, pool)
+                .search(rules.newBoard(), Rules.PLAYER_1, budget);
+        Assert.assertTrue(result.getElapsedNanos() < 2 * budget);
+        Assert.assertTrue(result.getDepth() > 0);
+        Assert.assertTrue(rules.isLegalMove(rules.newBoard(), Rules.PLAYER_1, result.getBestPit()));
+    }
+
+    @Test
+    @DisplayName("Verify if exception is thrown for a search without threads")
+    void noThreads() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ParallelSearcher(rules, new TranspositionTable(16), 32, 0, pool));
+    }
+}
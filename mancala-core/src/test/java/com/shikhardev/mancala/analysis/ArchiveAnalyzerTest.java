@@ -0,0 +1,99 @@
+package com.shikhardev.mancala.analysis;
+
+import com.shikhardev.mancala.ai.AlphaBetaSearcher;
+import com.shikhardev.mancala.ai.TranspositionTable;
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.sim.MovePolicy;
+import com.shikhardev.mancala.sim.RandomPolicy;
+import com.shikhardev.mancala.sim.SearchPolicy;
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchiveAnalyzerTest {
+
+    Rules rules = new Rules(6, 6);
+
+    /**
+     * Plays a game between the policies and returns its archive line.
+     */
+    String playGame(MovePolicy first, MovePolicy second) {
+        int[] pits = rules.newBoard();
+        int side = Rules.PLAYER_1;
+        StringJoiner line = new StringJoiner(" ");
+        while (!rules.isEndGame(pits)) {
+            int pitID = (side == Rules.PLAYER_1 ? first : second).selectMove(pits, side);
+            line.add(Integer.toString(pitID));
+            if (!MoveOutcome.isExtraTurn(rules.sow(pits, side, pitID)))
+                side = Rules.opponent(side);
+        }
+        return line.toString();
+    }
+
+    @Test
+    @DisplayName("Every game of the archive should be analyzed once, and written in archive order")
+    void pipeline() throws IOException, InterruptedException {
+        RandomPolicy random = new RandomPolicy(rules, 3);
+        StringBuilder archive = new StringBuilder("# random games\n");
+        int games = 2 * ArchiveAnalyzer.BATCH_SIZE + 17;
+        for (int game = 0; game < games; game++)
+            archive.append(playGame(random, random)).append(game % 100 == 0 ? "\n\n" : "\n");
+        archive.append("0 1 9\n");          // Stops early
+        archive.append("7\n");              // Player 2's pit
+        archive.append("3,x\n");            // Not a number
+
+        StringWriter stats = new StringWriter();
+        AnalysisReport report = new ArchiveAnalyzer(rules, 2, 3)
+                .run(new BufferedReader(new StringReader(archive.toString())), stats);
+        Assert.assertEquals(games + 3, report.getGames());
+        Assert.assertEquals(3, report.getInvalidGames());
+        Assert.assertEquals(games, report.getFirstMoverWins() + report.getSecondMoverWins() + report.getDraws());
+        Assert.assertTrue(report.getGamesPerSecond() > 0);
+
+        String[] lines = stats.toString().split(System.lineSeparator());
+        Assert.assertEquals(GameAnalysis.csvHeader(), lines[0]);
+        Assert.assertEquals(games + 4, lines.length);
+        for (int game = 0; game < games + 3; game++)
+            Assert.assertTrue(lines[game + 1].startsWith(game + ","));
+        Assert.assertEquals((games + 2) + ",illegal@0", lines[games + 3]);
+        Assert.assertEquals((games + 1) + ",illegal@0", lines[games + 2]);
+        Assert.assertEquals(games + ",illegal@3", lines[games + 1]);
+
+        AnalysisReport single = new ArchiveAnalyzer(rules, 2, 1)
+                .run(new BufferedReader(new StringReader(archive.toString())), null);
+        Assert.assertEquals(report.getPlies(), single.getPlies());
+        Assert.assertEquals(report.getFirstMoverWins(), single.getFirstMoverWins());
+    }
+
+    @Test
+    @DisplayName("Random moves should give away more stones than searched ones")
+    void losses() {
+        ArchiveAnalyzer analyzer = new ArchiveAnalyzer(rules, 6, 1);
+        AlphaBetaSearcher searcher = new AlphaBetaSearcher(rules, new TranspositionTable(16), 6);
+        RandomPolicy random = new RandomPolicy(rules, 5);
+        SearchPolicy search = new SearchPolicy(rules, 6);
+        AnalysisReport report = new AnalysisReport();
+
+        double randomLoss = 0;
+        double searchLoss = 0;
+        for (int game = 0; game < 10; game++) {
+            GameAnalysis analysis = analyzer.analyze(game, playGame(random, search), searcher, report);
+            Assert.assertTrue(analysis.isValid());
+            Assert.assertEquals(analysis.getPlies(), analysis.getMoves(0) + analysis.getMoves(1));
+            randomLoss += analysis.getAverageLoss(Rules.PLAYER_1);
+            searchLoss += analysis.getAverageLoss(Rules.PLAYER_2);
+            Assert.assertNotEquals(Rules.PLAYER_1, analysis.getWinner());
+        }
+        Assert.assertTrue(randomLoss > 2 * searchLoss);
+        Assert.assertTrue(report.getBlunders() > 0);
+    }
+}
@@ -0,0 +1,80 @@
+package com.shikhardev.mancala.book;
+
+import com.shikhardev.mancala.ai.AlphaBetaSearcher;
+import com.shikhardev.mancala.ai.TranspositionTable;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.engine.Zobrist;
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningBookTest {
+
+    Rules rules = new Rules(6, 6);
+
+    OpeningBook roundTrip(OpeningBook book, Rules rules) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        book.write(out, rules);
+        return OpeningBook.read(new ByteArrayInputStream(out.toByteArray()), rules);
+    }
+
+    @Test
+    @DisplayName("Built book should hold the searched move of every position it reaches, sorted by hash")
+    void buildAndLookup() throws IOException {
+        OpeningBook book = roundTrip(new OpeningBookBuilder(rules, 2, 6).build(), rules);
+        // Start position, 6 replies (one of them keeps the turn), and the second moves after each
+        Assert.assertTrue(book.size() > 6);
+        Assert.assertEquals(6, book.getDepth());
+
+        int entry = book.lookup(rules.newBoard(), Rules.PLAYER_1);
+        Assert.assertTrue(entry >= 0);
+        AlphaBetaSearcher searcher = new AlphaBetaSearcher(rules, new TranspositionTable(16), 6);
+        Assert.assertEquals(searcher.search(rules.newBoard(), Rules.PLAYER_1, TimeUnit.SECONDS.toNanos(60), 6).getScore(),
+                book.getScore(entry));
+        Assert.assertTrue(rules.isLegalMove(rules.newBoard(), Rules.PLAYER_1, book.getPit(entry)));
+
+        int[] pits = rules.newBoard();
+        rules.sow(pits, Rules.PLAYER_1, 1);     // Ends on the opponent's side
+        Assert.assertTrue(book.lookup(pits, Rules.PLAYER_2) >= 0);
+        Assert.assertEquals(-1, book.lookup(rules.newBoard(), Rules.PLAYER_2));   // Not reachable
+        Assert.assertEquals(3, book.getLookups());
+        Assert.assertEquals(2, book.getHits());
+        Assert.assertEquals(2.0 / 3, book.getHitRate(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Entries should be written in ascending hash order")
+    void sortedFile() throws IOException {
+        OpeningBook book = new OpeningBookBuilder(rules, 3, 1).build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        book.write(out, rules);
+        ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+        Assert.assertEquals(20 + 11 * book.size(), buffer.limit());
+        for (int i = 1; i < book.size(); i++)
+            Assert.assertTrue(buffer.getLong(20 + 8 * (i - 1)) < buffer.getLong(20 + 8 * i));
+        Zobrist zobrist = Zobrist.forRules(rules);
+        long start = zobrist.hash(rules.newBoard(), Rules.PLAYER_1);
+        Assert.assertTrue(book.lookup(rules.newBoard(), Rules.PLAYER_1) >= 0);
+        Assert.assertEquals(start, buffer.getLong(20 + 8 * book.lookup(rules.newBoard(), Rules.PLAYER_1)));
+    }
+
+    @Test
+    @DisplayName("Verify if exception is thrown for a book of another variant")
+    void otherVariant() throws IOException {
+        Rules other = new Rules(6, 4);
+        OpeningBook book = new OpeningBookBuilder(other, 1, 1).build();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        book.write(out, other);
+        assertThrows(IllegalArgumentException.class,
+                () -> OpeningBook.read(new ByteArrayInputStream(out.toByteArray()), rules));
+        Assert.assertEquals(-1, OpeningBook.EMPTY.lookup(rules.newBoard(), Rules.PLAYER_1));
+    }
+}
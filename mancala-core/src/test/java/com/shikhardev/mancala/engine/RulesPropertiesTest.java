@@ -0,0 +1,44 @@
+package com.shikhardev.mancala.engine;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RulesPropertiesTest {
+
+    private static Properties properties(String text) throws IOException {
+        Properties properties = new Properties();
+        properties.load(new StringReader(text));
+        return properties;
+    }
+
+    @Test
+    @DisplayName("Variant should be read from the application.properties keys")
+    void fromProperties() throws IOException {
+        Rules rules = Rules.fromProperties(properties(
+                "PITS_PER_PLAYER=6\nSTARTING_STONE_COUNT=4\nTOTAL_PIT_COUNT=14\nP1_HOME_PIT=6\nP2_HOME_PIT=13\n"));
+        Assert.assertEquals(6, rules.getPitsPerPlayer());
+        Assert.assertEquals(4, rules.getStartingStoneCount());
+        Assert.assertEquals(13, rules.getHome(Rules.PLAYER_2));
+
+        Assert.assertEquals(18, Rules.fromProperties(properties("PITS_PER_PLAYER=8\nSTARTING_STONE_COUNT=3"))
+                .getTotalPitCount());
+    }
+
+    @Test
+    @DisplayName("Missing, malformed or inconsistent keys should be rejected")
+    void invalidProperties() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Rules.fromProperties(properties("PITS_PER_PLAYER=6")));
+        assertThrows(IllegalArgumentException.class,
+                () -> Rules.fromProperties(properties("PITS_PER_PLAYER=six\nSTARTING_STONE_COUNT=6")));
+        assertThrows(IllegalArgumentException.class,
+                () -> Rules.fromProperties(properties("PITS_PER_PLAYER=6\nSTARTING_STONE_COUNT=6\nP2_HOME_PIT=14")));
+    }
+}
@@ -0,0 +1,156 @@
+package com.shikhardev.mancala.engine;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+class RulesTest {
+
+    Rules rules = new Rules(6, 6);
+
+    int[] pits;
+
+    @BeforeEach
+    void setUp() {
+        pits = rules.newBoard();
+    }
+
+    @Test
+    @DisplayName("Verify initialized board state")
+    void newBoard() {
+        Assert.assertEquals(14, pits.length);
+        Assert.assertEquals(6 * 12, Arrays.stream(pits).sum());
+        for (int i = 0; i < 14; i++) {
+            boolean home = i == 6 || i == 13;
+            Assert.assertEquals(home, rules.isHome(i));
+            Assert.assertEquals(home ? 0 : 6, pits[i]);
+            Assert.assertEquals(i <= 6 ? Rules.PLAYER_1 : Rules.PLAYER_2, rules.getOwner(i));
+        }
+        Assert.assertEquals(12, rules.getOpposite(0));
+        Assert.assertEquals(7, rules.getOpposite(5));
+        Assert.assertEquals(-1, rules.getOpposite(6));
+    }
+
+    @Test
+    @DisplayName("Same checks as Move.isValid()")
+    void isLegalMove() {
+        Assert.assertTrue(rules.isLegalMove(pits, Rules.PLAYER_1, 0));
+        Assert.assertFalse(rules.isLegalMove(pits, Rules.PLAYER_1, 6));
+        Assert.assertFalse(rules.isLegalMove(pits, Rules.PLAYER_1, 10));
+        Assert.assertFalse(rules.isLegalMove(pits, Rules.PLAYER_1, 100));
+        pits[0] = 0;
+        Assert.assertFalse(rules.isLegalMove(pits, Rules.PLAYER_1, 0));
+    }
+
+    @Test
+    @DisplayName("Verify board status when player 1 moves from pit 0 after board init")
+    void doesP1Move0Work() {
+        int outcome = rules.sow(pits, Rules.PLAYER_1, 0);
+        Assert.assertEquals(0, pits[0]);
+        for (int i = 1; i < 6; i++)
+            Assert.assertEquals(7, pits[i]);
+        Assert.assertEquals(1, pits[6]);
+        Assert.assertEquals(6, MoveOutcome.getLastPit(outcome));
+        Assert.assertTrue(MoveOutcome.isExtraTurn(outcome));
+    }
+
+    @Test
+    @DisplayName("Verify board status when player 2 moves from pit 8 after board init")
+    void doesP2Move8Work() {
+        int outcome = rules.sow(pits, Rules.PLAYER_2, 8);
+        Assert.assertEquals(6, pits[7]);
+        Assert.assertEquals(0, pits[8]);
+        for (int i = 9; i < 13; i++)
+            Assert.assertEquals(7, pits[i]);
+        Assert.assertEquals(1, pits[13]);
+        Assert.assertEquals(7, pits[0]);
+        Assert.assertFalse(MoveOutcome.isExtraTurn(outcome));
+    }
+
+    @Test
+    @DisplayName("Verify capture opposite stones condition")
+    void captureOppositeStones() {
+        pits[0] = 1;
+        pits[1] = 0;
+        int outcome = rules.sow(pits, Rules.PLAYER_1, 0);
+        Assert.assertTrue(MoveOutcome.isCapture(outcome));
+        Assert.assertEquals(7, pits[6]);
+        Assert.assertEquals(0, pits[13]);
+        Assert.assertEquals(0, pits[1]);
+        Assert.assertEquals(0, pits[11]);
+    }
+
+    @Test
+    @DisplayName("Verify skipping the opponent's home")
+    void skipOpponentHome() {
+        Arrays.fill(pits, 0);
+        pits[12] = 2;
+        int outcome = rules.sow(pits, Rules.PLAYER_2, 12);
+        Assert.assertEquals(1, pits[13]);
+        Assert.assertEquals(1, pits[0]);
+        Assert.assertEquals(0, MoveOutcome.getLastPit(outcome));
+
+        pits[5] = 3;
+        rules.sow(pits, Rules.PLAYER_1, 5);
+        Assert.assertEquals(1, pits[6]);
+        Assert.assertEquals(1, pits[7]);
+        Assert.assertEquals(1, pits[8]);
+        Assert.assertEquals(1, pits[13]);
+    }
+
+    @Test
+    @DisplayName("Verify end game detection, collection and winner")
+    void endGame() {
+        Assert.assertFalse(rules.isEndGame(pits));
+        for (int i = 0; i < 6; i++)
+            pits[i] = 0;
+        Assert.assertTrue(rules.isEndGame(pits));
+        rules.collectRemainingStones(pits);
+        Assert.assertEquals(36, pits[13]);
+        Assert.assertEquals(Rules.PLAYER_2, rules.getWinner(pits));
+        pits[6] = 36;
+        Assert.assertEquals(Rules.NO_PLAYER, rules.getWinner(pits));
+    }
+
+    @Test
+    @DisplayName("A pit holding exactly one lap ends in the emptied starting pit and captures")
+    void fullLapEndsInStartingPit() {
+        Rules rules = new Rules(12, 20);
+        int[] pits = rules.newBoard();
+        pits[3] = 25;   // 25 pits to sow into for player 1
+        int outcome = rules.sow(pits, Rules.PLAYER_1, 3);
+        Assert.assertEquals(3, MoveOutcome.getLastPit(outcome));
+        Assert.assertTrue(MoveOutcome.isCapture(outcome));
+        Assert.assertEquals(0, pits[3]);
+        Assert.assertEquals(0, pits[rules.getOpposite(3)]);
+        Assert.assertEquals(1 + 1 + 21, pits[12]);
+        Assert.assertEquals(0, pits[25]);
+    }
+
+    @ParameterizedTest(name = "{0} pits per player")
+    @CsvSource({"6", "12"})
+    @DisplayName("preview should return the outcome of sow on any board, laps and captures included, and not change it")
+    void preview(int pitsPerPlayer) {
+        Rules rules = new Rules(pitsPerPlayer, 6);
+        int[] pits = rules.newBoard();
+        Random random = new Random(3);
+        for (int round = 0; round < 20_000; round++) {
+            for (int i = 0; i < pits.length; i++)
+                pits[i] = random.nextInt(4) == 0 ? 0 : random.nextInt(random.nextBoolean() ? 4 : 40);
+            int pitID = random.nextInt(pits.length);
+            int player = rules.getOwner(pitID);
+            if (!rules.isLegalMove(pits, player, pitID))
+                continue;
+            int[] before = pits.clone();
+            int preview = rules.preview(pits, player, pitID);
+            Assert.assertArrayEquals(before, pits);
+            Assert.assertEquals(rules.sow(pits, player, pitID), preview);
+        }
+    }
+}
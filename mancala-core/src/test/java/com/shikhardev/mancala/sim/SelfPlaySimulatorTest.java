@@ -0,0 +1,60 @@
+package com.shikhardev.mancala.sim;
+
+import com.shikhardev.mancala.engine.Rules;
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SelfPlaySimulatorTest {
+
+    Rules rules = new Rules(6, 6);
+
+    @Test
+    @DisplayName("Totals of all threads should add up")
+    void totals() throws InterruptedException {
+        SimulationReport report = new SelfPlaySimulator(rules, 3).run(3001,
+                seed -> new RandomPolicy(rules, seed), seed -> new RandomPolicy(rules, seed), 1);
+        Assert.assertEquals(3001, report.getGames());
+        Assert.assertEquals(report.getGames(),
+                report.getFirstMoverWins() + report.getSecondMoverWins() + report.getDraws());
+        Assert.assertEquals(report.getFirstMoverWins() + report.getSecondMoverWins(),
+                report.getPolicyAWins() + report.getPolicyBWins());
+        Assert.assertTrue(report.getAverageLength() > 10);
+        Assert.assertTrue(report.getExtraTurnFrequency() > 0 && report.getExtraTurnFrequency() < 1);
+        Assert.assertTrue(report.getGamesPerSecond() > 0);
+    }
+
+    @Test
+    @DisplayName("Same seed and thread count should replay the same games")
+    void deterministic() throws InterruptedException {
+        SelfPlaySimulator simulator = new SelfPlaySimulator(rules, 2);
+        SimulationReport first = simulator.run(500,
+                seed -> new RandomPolicy(rules, seed), seed -> new GreedyPolicy(rules, seed), 42);
+        SimulationReport second = simulator.run(500,
+                seed -> new RandomPolicy(rules, seed), seed -> new GreedyPolicy(rules, seed), 42);
+        Assert.assertEquals(first.getPlies(), second.getPlies());
+        Assert.assertEquals(first.getPolicyAWins(), second.getPolicyAWins());
+        Assert.assertEquals(first.getExtraTurns(), second.getExtraTurns());
+    }
+
+    @Test
+    @DisplayName("Greedy and search policies should beat random play")
+    void strongerPolicies() throws InterruptedException {
+        SelfPlaySimulator simulator = new SelfPlaySimulator(rules, 2);
+        SimulationReport greedy = simulator.run(1000,
+                seed -> new GreedyPolicy(rules, seed), seed -> new RandomPolicy(rules, seed), 7);
+        Assert.assertTrue(greedy.getPolicyAWins() > 2 * greedy.getPolicyBWins());
+        SimulationReport search = simulator.run(40,
+                seed -> MovePolicy.forName("ai:4", rules, seed), seed -> new GreedyPolicy(rules, seed), 7);
+        Assert.assertTrue(search.getPolicyAWins() > search.getPolicyBWins());
+    }
+
+    @Test
+    @DisplayName("Verify if exception is thrown for an unknown policy or no thread")
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> MovePolicy.forName("minimax", rules, 0));
+        assertThrows(IllegalArgumentException.class, () -> new SelfPlaySimulator(rules, 0));
+    }
+}
@@ -0,0 +1,65 @@
+package com.shikhardev.mancala.sim;
+
+import com.shikhardev.mancala.engine.Rules;
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentTest {
+
+    Rules rules = new Rules(6, 6);
+
+    @Test
+    @DisplayName("Every pairing should be played in full, and the random player rated lowest")
+    void roundRobin() throws InterruptedException {
+        List<String> entrants = List.of("random", "greedy", "ai:3");
+        TournamentReport report = new Tournament(rules, 3).run(entrants, 20, 4, 7);
+        Assert.assertEquals(60, report.getGames());
+        for (int i = 0; i < 3; i++) {
+            for (int j = 0; j < 3; j++) {
+                if (i == j)
+                    continue;
+                Assert.assertEquals(20, report.getGames(i, j));
+                Assert.assertEquals(1.0, report.getScore(i, j) + report.getScore(j, i), 1e-9);
+            }
+        }
+        double[] ratings = report.getRatings();
+        Assert.assertEquals(0, ratings[0] + ratings[1] + ratings[2], 1e-6);
+        Assert.assertTrue(ratings[2] > ratings[0] && ratings[1] > ratings[0]);
+        Assert.assertTrue(report.toString().contains("ai:3 vs random"));
+    }
+
+    @Test
+    @DisplayName("Ratings and intervals should follow the logistic Elo model")
+    void elo() {
+        TournamentReport report = new TournamentReport(List.of("a", "b"), 8);
+        for (int game = 0; game < 6; game++)
+            report.recordGame(game % 2, 1 - game % 2, game % 2 == 0 ? Rules.PLAYER_1 : Rules.PLAYER_2);
+        report.recordGame(0, 1, Rules.NO_PLAYER);
+        report.recordGame(1, 0, Rules.PLAYER_1);
+
+        Assert.assertEquals(6.5 / 8, report.getScore(0, 1), 1e-9);
+        double difference = -400 * Math.log10(8 / 6.5 - 1);
+        Assert.assertEquals(difference, report.getEloDifference(0, 1), 1e-9);
+        double[] interval = report.getEloInterval(0, 1);
+        Assert.assertTrue(interval[0] < difference && difference < interval[1]);
+
+        // The virtual draw pulls the fitted difference towards 0: 7 points out of 9
+        double[] ratings = report.getRatings();
+        Assert.assertEquals(-400 * Math.log10(9 / 7.0 - 1), ratings[0] - ratings[1], 1e-3);
+        Assert.assertEquals(report.getRatingErrors()[0], report.getRatingErrors()[1], 1e-9);
+    }
+
+    @Test
+    @DisplayName("Invalid tournaments should be refused")
+    void invalid() {
+        Tournament tournament = new Tournament(rules, 1);
+        assertThrows(IllegalArgumentException.class, () -> tournament.run(List.of("random"), 2, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> tournament.run(List.of("random", "greedy"), 3, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> tournament.run(List.of("random", "best"), 2, 0, 0));
+    }
+}
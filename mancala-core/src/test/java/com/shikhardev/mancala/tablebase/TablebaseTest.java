@@ -0,0 +1,147 @@
+package com.shikhardev.mancala.tablebase;
+
+import com.shikhardev.mancala.ai.AlphaBetaSearcher;
+import com.shikhardev.mancala.ai.TranspositionTable;
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TablebaseTest {
+
+    private static final int MAX_STONES = 5;
+
+    static Rules rules = new Rules(6, 6);
+    static Tablebase tablebase;
+
+    @BeforeAll
+    static void generate(@TempDir Path directory) throws IOException {
+        TablebaseGenerator generator = new TablebaseGenerator(rules, MAX_STONES);
+        generator.generate();
+        Path file = directory.resolve("kalah-6.tb");
+        generator.write(file);
+        tablebase = Tablebase.open(file, rules);
+    }
+
+    /**
+     * Exhaustive negamax to the end of the game: stones in play won by the side to move minus those of the opponent.
+     */
+    int solve(int[] pits, int side) {
+        int opponent = Rules.opponent(side);
+        if (rules.isEndGame(pits)) {
+            int value = 0;
+            for (int i = 0; i < pits.length; i++)
+                if (!rules.isHome(i))
+                    value += rules.getOwner(i) == side ? pits[i] : -pits[i];
+            return value;
+        }
+        int best = Integer.MIN_VALUE;
+        for (int pit = rules.getFirstPit(side); pit < rules.getHome(side); pit++) {
+            if (pits[pit] == 0)
+                continue;
+            int[] child = pits.clone();
+            boolean extraTurn = MoveOutcome.isExtraTurn(rules.sow(child, side, pit));
+            int gain = (child[rules.getHome(side)] - pits[rules.getHome(side)]) -
+                    (child[rules.getHome(opponent)] - pits[rules.getHome(opponent)]);
+            best = Math.max(best, gain + (extraTurn ? solve(child, side) : -solve(child, opponent)));
+        }
+        return best;
+    }
+
+    int[] randomBoard(Random random, int stones) {
+        int[] pits = new int[rules.getTotalPitCount()];
+        pits[rules.getHome(Rules.PLAYER_1)] = random.nextInt(30);
+        pits[rules.getHome(Rules.PLAYER_2)] = random.nextInt(30);
+        for (int i = 0; i < stones; i++) {
+            int pit;
+            do {
+                pit = random.nextInt(pits.length);
+            } while (rules.isHome(pit));
+            pits[pit]++;
+        }
+        return pits;
+    }
+
+    @Test
+    @DisplayName("The index should be a bijection onto [0, size) of the positions it covers")
+    void perfectHash() {
+        TablebaseIndex index = new TablebaseIndex(rules, MAX_STONES);
+        Set<Long> seen = new HashSet<>();
+        int[] pits = new int[rules.getTotalPitCount()];
+        for (int n = 0; n <= MAX_STONES; n++) {
+            for (long rank = 0; rank < index.layerSize(n); rank++) {
+                index.unrank(n, rank, pits);
+                Assert.assertEquals(n, Tablebase.getStonesInPlay(rules, pits));
+                long position = index.index(pits, Rules.PLAYER_1);
+                Assert.assertEquals(index.offset(n) + rank, position);
+                Assert.assertTrue(seen.add(position));
+            }
+        }
+        Assert.assertEquals(index.size(), seen.size());
+    }
+
+    @Test
+    @DisplayName("Values should match an exhaustive search to the end of the game")
+    void matchesExhaustiveSearch() {
+        Random random = new Random(5);
+        for (int i = 0; i < 300; i++) {
+            int[] pits = randomBoard(random, random.nextInt(MAX_STONES + 1));
+            int side = random.nextInt(2);
+            Assert.assertEquals(solve(pits, side), tablebase.getValue(pits, side));
+        }
+    }
+
+    @Test
+    @DisplayName("A position with player 2 to move should read as its mirror image with player 1 to move")
+    void mirror() {
+        Random random = new Random(8);
+        for (int i = 0; i < 100; i++) {
+            int[] pits = randomBoard(random, MAX_STONES);
+            int[] mirror = new int[pits.length];
+            for (int pit = 0; pit < pits.length; pit++)
+                mirror[(pit + rules.getPitsPerPlayer() + 1) % pits.length] = pits[pit];
+            Assert.assertEquals(tablebase.getValue(pits, Rules.PLAYER_2), tablebase.getValue(mirror, Rules.PLAYER_1));
+        }
+    }
+
+    @Test
+    @DisplayName("The searcher should score covered positions exactly")
+    void searcherUsesTablebase() {
+        int[] pits = new int[rules.getTotalPitCount()];
+        pits[2] = 2;
+        pits[4] = 1;
+        pits[9] = 2;
+        pits[rules.getHome(Rules.PLAYER_1)] = 30;
+        pits[rules.getHome(Rules.PLAYER_2)] = 35;
+        AlphaBetaSearcher searcher = new AlphaBetaSearcher(rules, new TranspositionTable(12), 2, tablebase);
+        int score = searcher.search(pits, Rules.PLAYER_1, TimeUnit.SECONDS.toNanos(60)).getScore();
+        Assert.assertEquals(-5 + solve(pits, Rules.PLAYER_1), score);
+    }
+
+    @Test
+    @DisplayName("Verify if exception is thrown for a file of another variant or not a tablebase")
+    void invalidFiles(@TempDir Path directory) throws IOException {
+        TablebaseGenerator generator = new TablebaseGenerator(new Rules(4, 3), 2);
+        generator.generate();
+        Path other = directory.resolve("kalah-4.tb");
+        generator.write(other);
+        assertThrows(IllegalArgumentException.class, () -> Tablebase.open(other, rules));
+        Path garbage = Files.write(directory.resolve("garbage"), new byte[64]);
+        assertThrows(IllegalArgumentException.class, () -> Tablebase.open(garbage, rules));
+        assertThrows(IllegalArgumentException.class, () -> new TablebaseGenerator(rules, 128));
+        Assert.assertFalse(Tablebase.NONE.covers(0));
+    }
+}
@@ -0,0 +1,234 @@
+package com.shikhardev.mancala.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * Bounded, thread-safe cache of computed values, evicting the least recently used ones once the entries weigh more
+ * than maxWeight (bytes, or any unit the weigher uses).
+ *
+ * The keys are spread over SEGMENTS segments, each an access-ordered LinkedHashMap with its own lock and a share of the
+ * weight budget: a lookup only locks the segment of its key, for the time of a map access. Values are computed
+ * outside the lock by the first caller that misses; callers asking for the same key meanwhile wait for that
+ * computation instead of starting their own, so a key is computed once however many requests arrive together.
+ * A failed computation is not cached: its waiters get its exception, and the next caller computes again.
+ *
+ * Hits, misses, evictions and the time spent computing are counted with LongAdders, for the metrics. A caller that
+ * waits for another one's computation counts as a hit.
+ */
+public class LruCache<K, V> {
+
+    static final int SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+    private final ToLongBiFunction<K, V> weigher;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    /**
+     * Entry of a segment: the value, or its computation while it runs, and its weight once computed.
+     */
+    private static final class Node<V> {
+        final CompletableFuture<V> value = new CompletableFuture<>();
+        long weight;
+    }
+
+    private static final class Segment<K, V> {
+        final ReentrantLock lock = new ReentrantLock();
+        final LinkedHashMap<K, Node<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+        final long maxWeight;
+        long weight;
+
+        Segment(long maxWeight) {
+            this.maxWeight = maxWeight;
+        }
+    }
+
+    /**
+     * @param maxWeight: Total weight of the entries kept
+     * @param weigher: Weight of an entry, e.g. its estimated heap size
+     * @exception IllegalArgumentException: if maxWeight is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public LruCache(long maxWeight, ToLongBiFunction<K, V> weigher) {
+        if (maxWeight <= 0)
+            throw new IllegalArgumentException("Cache weight must be positive");
+        this.weigher = weigher;
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++)
+            segments[i] = new Segment<>(Math.max(1, maxWeight / SEGMENTS));
+    }
+
+    /**
+     * Returns the value cached for the key, computing it with the loader if it is not. Exceptions thrown by the loader
+     * are thrown to every caller waiting for that computation.
+     */
+    public V get(K key, Function<K, V> loader) {
+        Segment<K, V> segment = segmentFor(key);
+        Node<V> node;
+        boolean isLoader = false;
+        segment.lock.lock();
+        try {
+            node = segment.map.get(key);   // Moves the entry to the most recently used end
+            if (node == null) {
+                node = new Node<>();
+                segment.map.put(key, node);
+                isLoader = true;
+            }
+        }
+        finally {
+            segment.lock.unlock();
+        }
+        if (isLoader) {
+            misses.increment();
+            load(segment, key, node, loader);
+        }
+        else {
+            hits.increment();
+        }
+        try {
+            return node.value.join();
+        }
+        catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            throw e;
+        }
+    }
+
+    private void load(Segment<K, V> segment, K key, Node<V> node, Function<K, V> loader) {
+        long start = System.nanoTime();
+        V value;
+        try {
+            value = loader.apply(key);
+        }
+        catch (Throwable e) {
+            segment.lock.lock();
+            try {
+                segment.map.remove(key, node);
+            }
+            finally {
+                segment.lock.unlock();
+            }
+            node.value.completeExceptionally(e);
+            return;
+        }
+        finally {
+            loads.increment();
+            loadNanos.add(System.nanoTime() - start);
+        }
+        segment.lock.lock();
+        try {
+            if (segment.map.get(key) == node) {
+                node.weight = Math.max(1, weigher.applyAsLong(key, value));
+                segment.weight += node.weight;
+                evict(segment, node);
+            }
+        }
+        finally {
+            segment.lock.unlock();
+        }
+        node.value.complete(value);
+    }
+
+    /**
+     * Drops the least recently used entries of the segment until it fits its budget. Entries still being computed
+     * weigh nothing yet and are left alone, and so is the entry just added, so that a value is kept at least until it
+     * is returned. Must be called under the segment's lock.
+     */
+    private void evict(Segment<K, V> segment, Node<V> added) {
+        Iterator<Node<V>> eldest = segment.map.values().iterator();
+        while (segment.weight > segment.maxWeight && eldest.hasNext()) {
+            Node<V> node = eldest.next();
+            if (node == added || node.weight == 0)
+                continue;
+            eldest.remove();
+            segment.weight -= node.weight;
+            evictions.increment();
+        }
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return segments[h & (SEGMENTS - 1)];
+    }
+
+    /**
+     * Returns the number of entries, values being computed included.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.map.size();
+            }
+            finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the total weight of the entries.
+     */
+    public long getWeight() {
+        long weight = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                weight += segment.weight;
+            }
+            finally {
+                segment.lock.unlock();
+            }
+        }
+        return weight;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the share of lookups answered without computing, 0 before the first lookup.
+     */
+    public double getHitRate() {
+        long hits = getHits();
+        long lookups = hits + getMisses();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the number of computations, failed ones included.
+     */
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    public double getLoadNanos() {
+        return loadNanos.sum();
+    }
+}
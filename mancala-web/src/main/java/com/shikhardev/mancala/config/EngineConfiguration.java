@@ -0,0 +1,69 @@
+package com.shikhardev.mancala.config;
+
+import com.shikhardev.mancala.book.OpeningBook;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.tablebase.Tablebase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Exposes the plain-Java rules engine as a bean, configured from the variant in application.properties, along with
+ * the endgame tablebase and opening book of that variant.
+ */
+@Configuration
+public class EngineConfiguration {
+
+    private static final String[] VARIANT_KEYS =
+            {"PITS_PER_PLAYER", "STARTING_STONE_COUNT", "TOTAL_PIT_COUNT", "P1_HOME_PIT", "P2_HOME_PIT"};
+
+    /**
+     * Reads the variant with Rules.fromProperties, so the server fails at startup if TOTAL_PIT_COUNT, P1_HOME_PIT or
+     * P2_HOME_PIT disagree with PITS_PER_PLAYER.
+     */
+    @Bean
+    public Rules rules(Environment environment) {
+        Properties properties = new Properties();
+        for (String key : VARIANT_KEYS) {
+            String value = environment.getProperty(key);
+            if (value != null)
+                properties.setProperty(key, value);
+        }
+        return Rules.fromProperties(properties);
+    }
+
+    /**
+     * Maps the tablebase file named by TABLEBASE_FILE; without one, the server runs with Tablebase.NONE.
+     */
+    @Bean
+    public Tablebase tablebase(Rules rules, @Value("${TABLEBASE_FILE}") String file) throws IOException {
+        if (file.isEmpty())
+            return Tablebase.NONE;
+        return Tablebase.open(Paths.get(file), rules);
+    }
+
+    /**
+     * Reads the opening book at OPENING_BOOK, a Spring resource location; the server runs with OpeningBook.EMPTY if
+     * there is no book there.
+     */
+    @Bean
+    public OpeningBook openingBook(Rules rules, ResourceLoader resourceLoader,
+                                   @Value("${OPENING_BOOK}") String location) throws IOException {
+        if (location.isEmpty())
+            return OpeningBook.EMPTY;
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists())
+            return OpeningBook.EMPTY;
+        try (InputStream in = resource.getInputStream()) {
+            return OpeningBook.read(in, rules);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.shikhardev.mancala.config;
+
+import com.shikhardev.mancala.dto.GameStatus;
+import com.shikhardev.mancala.dto.GameStatusCodec;
+import com.shikhardev.mancala.services.GameMetrics;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Serves GameStatus responses in the binary form of GameStatusCodec to clients sending
+ * "Accept: application/x-mancala-status", on /start, /move and /status. Registered by WebConfiguration after the
+ * default converters, so JSON remains the answer to any other Accept header, wildcards included.
+ * The status is encoded straight into the response stream, and its exact size is sent as Content-Length. The time
+ * taken is recorded as the serialize phase of GameMetrics.
+ */
+public class GameStatusBinaryConverter extends AbstractHttpMessageConverter<GameStatus> {
+
+    public static final MediaType MEDIA_TYPE = new MediaType("application", "x-mancala-status");
+
+    private final GameMetrics gameMetrics;
+
+    public GameStatusBinaryConverter(GameMetrics gameMetrics) {
+        super(MEDIA_TYPE);
+        this.gameMetrics = gameMetrics;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return GameStatus.class == clazz;
+    }
+
+    @Override
+    protected Long getContentLength(GameStatus gameStatus, MediaType contentType) {
+        return (long) GameStatusCodec.size(gameStatus);
+    }
+
+    @Override
+    protected GameStatus readInternal(Class<? extends GameStatus> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        try {
+            return GameStatusCodec.decode(inputMessage.getBody());
+        }
+        catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(GameStatus gameStatus, HttpOutputMessage outputMessage) throws IOException {
+        long start = System.nanoTime();
+        GameStatusCodec.encode(gameStatus, outputMessage.getBody());
+        gameMetrics.recordPhase(GameMetrics.Phase.SERIALIZE, System.nanoTime() - start);
+    }
+}
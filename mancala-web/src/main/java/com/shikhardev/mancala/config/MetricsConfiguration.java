@@ -0,0 +1,93 @@
+package com.shikhardev.mancala.config;
+
+import com.shikhardev.mancala.book.OpeningBook;
+import com.shikhardev.mancala.cache.LruCache;
+import com.shikhardev.mancala.services.GameRegistry;
+import com.shikhardev.mancala.services.HintService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers the game engine meters with Micrometer. Meters read the counters the engine keeps itself, so recording
+ * costs nothing on the request path beyond the counter increment.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public MeterBinder openingBookMetrics(OpeningBook openingBook) {
+        return registry -> {
+            Gauge.builder("mancala.book.size", openingBook, OpeningBook::size)
+                    .description("Positions in the opening book")
+                    .register(registry);
+            FunctionCounter.builder("mancala.book.lookups", openingBook, OpeningBook::getLookups)
+                    .description("Computer moves looked up in the opening book")
+                    .register(registry);
+            FunctionCounter.builder("mancala.book.hits", openingBook, OpeningBook::getHits)
+                    .description("Computer moves answered from the opening book")
+                    .register(registry);
+            Gauge.builder("mancala.book.hit.rate", openingBook, OpeningBook::getHitRate)
+                    .description("Share of lookups answered from the opening book")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder gameRegistryMetrics(GameRegistry gameRegistry) {
+        return registry -> {
+            Gauge.builder("mancala.games.resident", gameRegistry, GameRegistry::getResidentGameCount)
+                    .description("Games live on the heap")
+                    .register(registry);
+            Gauge.builder("mancala.games.cold", gameRegistry, GameRegistry::getColdGameCount)
+                    .description("Idle games in the off-heap cold tier")
+                    .register(registry);
+            Gauge.builder("mancala.games.cold.bytes", gameRegistry, GameRegistry::getColdGameBytes)
+                    .description("Direct memory held by the cold tier")
+                    .baseUnit("bytes")
+                    .register(registry);
+            FunctionCounter.builder("mancala.games.evictions", gameRegistry, GameRegistry::getEvictions)
+                    .description("Games moved to the cold tier")
+                    .register(registry);
+            FunctionTimer.builder("mancala.games.rehydration", gameRegistry, GameRegistry::getRehydrations,
+                            GameRegistry::getRehydrationNanos, TimeUnit.NANOSECONDS)
+                    .description("Cold games brought back to the heap by a request")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder hintMetrics(HintService hintService) {
+        LruCache<?, ?> cache = hintService.getCache();
+        return registry -> {
+            Gauge.builder("mancala.hints.cache.size", cache, LruCache::size)
+                    .description("Positions in the hint cache")
+                    .register(registry);
+            Gauge.builder("mancala.hints.cache.bytes", cache, LruCache::getWeight)
+                    .description("Estimated heap taken by the hint cache")
+                    .baseUnit("bytes")
+                    .register(registry);
+            FunctionCounter.builder("mancala.hints.cache.hits", cache, LruCache::getHits)
+                    .description("Hints served from the cache, or by the search of a concurrent request")
+                    .register(registry);
+            FunctionCounter.builder("mancala.hints.cache.misses", cache, LruCache::getMisses)
+                    .description("Hints that needed a search")
+                    .register(registry);
+            Gauge.builder("mancala.hints.cache.hit.rate", cache, LruCache::getHitRate)
+                    .description("Share of hints served without a search")
+                    .register(registry);
+            FunctionCounter.builder("mancala.hints.cache.evictions", cache, LruCache::getEvictions)
+                    .description("Hints dropped to keep the cache within HINT_CACHE_BYTES")
+                    .register(registry);
+            FunctionTimer.builder("mancala.hints.search", cache, LruCache::getLoads, LruCache::getLoadNanos,
+                            TimeUnit.NANOSECONDS)
+                    .description("Searches run for hints")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.shikhardev.mancala.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shikhardev.mancala.dto.BatchMoveStatus;
+import com.shikhardev.mancala.dto.GameDelta;
+import com.shikhardev.mancala.dto.GameStatus;
+import com.shikhardev.mancala.services.GameMetrics;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * The default JSON converter, recording the time taken to write the answers to moves (GameStatus, GameDelta,
+ * BatchMoveStatus) as the serialize phase of GameMetrics. Installed by WebConfiguration in place of the default one,
+ * with the same ObjectMapper.
+ */
+public class TimedJsonConverter extends MappingJackson2HttpMessageConverter {
+
+    private final GameMetrics gameMetrics;
+
+    public TimedJsonConverter(ObjectMapper objectMapper, GameMetrics gameMetrics) {
+        super(objectMapper);
+        this.gameMetrics = gameMetrics;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (!(object instanceof GameStatus || object instanceof GameDelta || object instanceof BatchMoveStatus)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        super.writeInternal(object, type, outputMessage);
+        gameMetrics.recordPhase(GameMetrics.Phase.SERIALIZE, System.nanoTime() - start);
+    }
+}
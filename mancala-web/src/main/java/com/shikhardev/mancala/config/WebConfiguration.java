@@ -0,0 +1,31 @@
+package com.shikhardev.mancala.config;
+
+import com.shikhardev.mancala.services.GameMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Adds the binary GameStatus format to the message converters of the REST routes, and times the JSON ones.
+ */
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+
+    @Autowired
+    private GameMetrics gameMetrics;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            HttpMessageConverter<?> converter = converters.get(i);
+            if (converter.getClass() == MappingJackson2HttpMessageConverter.class)
+                converters.set(i, new TimedJsonConverter(
+                        ((MappingJackson2HttpMessageConverter) converter).getObjectMapper(), gameMetrics));
+        }
+        converters.add(new GameStatusBinaryConverter(gameMetrics));
+    }
+}
@@ -0,0 +1,28 @@
+package com.shikhardev.mancala.config;
+
+import com.shikhardev.mancala.controllers.GameUpdateHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Maps the WebSocket route of the live game updates.
+ */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfiguration implements WebSocketConfigurer {
+
+    private final GameUpdateHandler gameUpdateHandler;
+
+    @Autowired
+    public WebSocketConfiguration(GameUpdateHandler gameUpdateHandler) {
+        this.gameUpdateHandler = gameUpdateHandler;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(gameUpdateHandler, "/updates");
+    }
+}
@@ -0,0 +1,145 @@
+package com.shikhardev.mancala.controllers;
+
+import com.shikhardev.mancala.dto.AiMoveStatus;
+import com.shikhardev.mancala.dto.BatchMoveStatus;
+import com.shikhardev.mancala.dto.GameDelta;
+import com.shikhardev.mancala.dto.GameStatus;
+import com.shikhardev.mancala.dto.HintStatus;
+import com.shikhardev.mancala.dto.MoveRequest;
+import com.shikhardev.mancala.dto.OutcomeStatus;
+import com.shikhardev.mancala.services.GameMetrics;
+import com.shikhardev.mancala.services.GameService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Class that provides the URL entry point to the game
+ */
+@RestController
+public class GameController {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private GameMetrics gameMetrics;
+
+    /**
+     * Entry point to the game. Every call starts a new, independent game.
+     * @return GameStatus object that describes the current game status, including the ID of the new game
+     */
+    @RequestMapping("/start")
+    public GameStatus start(){
+        long start = System.nanoTime();
+        try {
+            return gameService.initGame();
+        }
+        finally {
+            gameMetrics.recordStart(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Request route interfacing web-client and playing the game
+     * @param gameID: ID of the game, as returned by /start
+     * @param playerID {PLAYER_1, PLAYER_2}: Which player is playing the current move?
+     * @param pitID [0 - 13]: For the specified player, what pit are we trying to play?
+     * @return GameStatus object that describes the current game status
+     */
+    @RequestMapping("/move")
+    public GameStatus move(@RequestParam("gameID") Long gameID,
+                           @RequestParam("playerID") String playerID,
+                           @RequestParam("pitID") Integer pitID) {
+        long start = System.nanoTime();
+        try {
+            return gameService.executeMove(gameID, playerID, pitID);
+        }
+        finally {
+            gameMetrics.recordMove(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Request route playing several moves of a game in one request, e.g. to replay a game:
+     * POST /moves?gameID=ID with a JSON array of {"playerID": "PLAYER_1", "pitID": 2} moves
+     * The moves are played in order until the first illegal one; no other move can come in between.
+     * @param gameID: ID of the game, as returned by /start
+     * @param moves: Moves to play, in order
+     * @return BatchMoveStatus object with the game status after the last move played and the index where it stopped
+     */
+    @PostMapping("/moves")
+    public BatchMoveStatus moves(@RequestParam("gameID") Long gameID,
+                                 @RequestBody List<MoveRequest> moves) {
+        return gameService.executeMoves(gameID, moves);
+    }
+
+    /**
+     * Request route playing a move, answered with only what the move changed: /move?...&delta=true
+     * @param gameID: ID of the game, as returned by /start
+     * @param playerID {PLAYER_1, PLAYER_2}: Which player is playing the current move?
+     * @param pitID [0 - 13]: For the specified player, what pit are we trying to play?
+     * @return GameDelta object with the changed pits and the sequence number of the move
+     */
+    @RequestMapping(value = "/move", params = "delta=true")
+    public GameDelta moveDelta(@RequestParam("gameID") Long gameID,
+                               @RequestParam("playerID") String playerID,
+                               @RequestParam("pitID") Integer pitID) {
+        long start = System.nanoTime();
+        try {
+            return gameService.executeMoveDelta(gameID, playerID, pitID);
+        }
+        finally {
+            gameMetrics.recordMove(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Request route returning the current status of a game, to resynchronize a client that missed a GameDelta
+     * @param gameID: ID of the game, as returned by /start
+     * @return GameStatus object that describes the current game status
+     */
+    @RequestMapping("/status")
+    public GameStatus status(@RequestParam("gameID") Long gameID) {
+        return gameService.getGameStatus(gameID);
+    }
+
+    /**
+     * Request route letting the computer play a move
+     * @param gameID: ID of the game, as returned by /start
+     * @param playerID {PLAYER_1, PLAYER_2}: Which player does the computer play? It only moves on that player's turn.
+     * @return AiMoveStatus object with the game status after the move, the pit played and the search statistics
+     */
+    @RequestMapping("/aiMove")
+    public AiMoveStatus aiMove(@RequestParam("gameID") Long gameID,
+                               @RequestParam("playerID") String playerID) {
+        return gameService.executeAiMove(gameID, playerID);
+    }
+
+    /**
+     * Request route suggesting a move to the player to move, with the computer's evaluation of the position
+     * @param gameID: ID of the game, as returned by /start
+     * @return HintStatus object with the suggested pit, the score and whether the hint came from the cache
+     */
+    @RequestMapping("/hint")
+    public HintStatus hint(@RequestParam("gameID") Long gameID) {
+        return gameService.getHint(gameID);
+    }
+
+    /**
+     * Request route telling who wins from the current position with perfect play, from the endgame tablebase
+     * @param gameID: ID of the game, as returned by /start
+     * @return OutcomeStatus object; isSolved is false while too many stones are left in play
+     */
+    @RequestMapping("/whoWins")
+    public OutcomeStatus whoWins(@RequestParam("gameID") Long gameID) {
+        return gameService.getOutcome(gameID);
+    }
+}
+//  /move?gameID=1&playerID=PLAYER_1&pitID=0
\ No newline at end of file
@@ -0,0 +1,68 @@
+package com.shikhardev.mancala.controllers;
+
+import com.shikhardev.mancala.services.GameService;
+import com.shikhardev.mancala.services.GameUpdatePublisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.IOException;
+
+/**
+ * WebSocket route pushing the live updates of one game: ws://host/updates?gameID=ID[&delta=true]
+ * The client receives the current GameStatus on connection, then the GameStatus after every move of the game, played
+ * by either player through /move or /aiMove; with delta=true, the GameDelta of every move instead.
+ * Messages sent by the client are ignored.
+ */
+@Component
+public class GameUpdateHandler extends TextWebSocketHandler {
+
+    private static final String GAME_ID = "gameID";
+    private static final String DELTA = "delta";
+
+    private final GameService gameService;
+    private final GameUpdatePublisher gameUpdatePublisher;
+
+    @Autowired
+    public GameUpdateHandler(GameService gameService, GameUpdatePublisher gameUpdatePublisher) {
+        this.gameService = gameService;
+        this.gameUpdatePublisher = gameUpdatePublisher;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        try {
+            MultiValueMap<String, String> query = getQuery(session);
+            String value = query.getFirst(GAME_ID);
+            if (value == null)
+                throw new IllegalArgumentException("Missing gameID");
+            long gameID = Long.parseLong(value);    // NumberFormatException is an IllegalArgumentException
+            session.getAttributes().put(GAME_ID, gameID);
+            gameService.subscribe(gameID, session, Boolean.parseBoolean(query.getFirst(DELTA)));
+        }
+        catch (IllegalArgumentException e) {
+            session.close(CloseStatus.BAD_DATA.withReason(e.getMessage()));
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Object gameID = session.getAttributes().get(GAME_ID);
+        if (gameID != null)
+            gameUpdatePublisher.unsubscribe((Long) gameID, session);
+    }
+
+    /**
+     * Reads the query string of the handshake.
+     * @exception IllegalArgumentException: if there is none
+     */
+    private static MultiValueMap<String, String> getQuery(WebSocketSession session) {
+        if (session.getUri() == null)
+            throw new IllegalArgumentException("Missing gameID");
+        return UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams();
+    }
+}
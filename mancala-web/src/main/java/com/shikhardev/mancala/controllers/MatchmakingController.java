@@ -0,0 +1,51 @@
+package com.shikhardev.mancala.controllers;
+
+import com.shikhardev.mancala.dto.MatchStatus;
+import com.shikhardev.mancala.services.MatchmakingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Class that provides the URL entry points of matchmaking, which pairs two players into a new game
+ */
+@RestController
+public class MatchmakingController {
+
+    @Autowired
+    private MatchmakingService matchmakingService;
+
+    /**
+     * Request route putting a player in a matchmaking queue: /matchmaking/join?variant=6x6&rating=1500
+     * @param variant: Variant to play, PITS_PER_PLAYER x STARTING_STONE_COUNT; the variant of the server if omitted
+     * @param rating: Rating of the player; if omitted, the player is matched with others without a rating
+     * @return MatchStatus object of the new ticket: MATCHED with the game and seat, or WAITING
+     */
+    @RequestMapping("/matchmaking/join")
+    public MatchStatus join(@RequestParam(value = "variant", required = false) String variant,
+                            @RequestParam(value = "rating", required = false) Integer rating) {
+        return matchmakingService.join(variant, rating);
+    }
+
+    /**
+     * Request route polling a ticket until it is matched; a ticket not polled for MATCHMAKING_TICKET_TTL_MILLIS
+     * expires
+     * @param ticketID: ID of the ticket, as returned by /matchmaking/join
+     * @return MatchStatus object of the ticket
+     */
+    @RequestMapping("/matchmaking/ticket")
+    public MatchStatus ticket(@RequestParam("ticketID") Long ticketID) {
+        return matchmakingService.getTicket(ticketID);
+    }
+
+    /**
+     * Request route taking a waiting player out of their queue
+     * @param ticketID: ID of the ticket, as returned by /matchmaking/join
+     * @return MatchStatus object of the ticket: CANCELLED, or MATCHED if the player was matched first
+     */
+    @RequestMapping("/matchmaking/leave")
+    public MatchStatus leave(@RequestParam("ticketID") Long ticketID) {
+        return matchmakingService.leave(ticketID);
+    }
+}
@@ -0,0 +1,43 @@
+package com.shikhardev.mancala.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Class of objects that describe a move made by the computer player: the resulting game status, the pit that was
+ * played and what the search cost.
+ */
+public class AiMoveStatus {
+
+    @Getter
+    @Setter
+    private GameStatus gameStatus;  // Game status after the move
+
+    @Getter
+    @Setter
+    private int pitID;              // Pit played by the computer, -1 if it could not move
+
+    @Getter
+    @Setter
+    private int score;              // Expected final store difference for the computer player
+
+    @Getter
+    @Setter
+    private int depth;              // Depth of the last completed iteration
+
+    @Getter
+    @Setter
+    private long nodes;             // Positions searched
+
+    @Getter
+    @Setter
+    private long nodesPerSecond;
+
+    @Getter
+    @Setter
+    private double tableHitRate;    // Share of transposition table probes that found the position
+
+    @Getter
+    @Setter
+    private double elapsedMillis;   // Wall-clock time of the search
+}
@@ -0,0 +1,23 @@
+package com.shikhardev.mancala.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Class of objects that describe the result of a batch of moves: the game status after the last move played, and
+ * where the batch stopped.
+ */
+public class BatchMoveStatus {
+
+    @Getter
+    @Setter
+    private GameStatus gameStatus;  // Game status after the batch; not a legal move if the batch stopped
+
+    @Getter
+    @Setter
+    private int movesPlayed;        // Moves of the batch that were played, from the first one
+
+    @Getter
+    @Setter
+    private int stoppedAt;          // Index of the first illegal move, which was not played; -1 if all were played
+}
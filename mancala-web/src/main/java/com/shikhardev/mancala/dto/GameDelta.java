@@ -0,0 +1,50 @@
+package com.shikhardev.mancala.dto;
+
+import com.shikhardev.mancala.models.PlayerID;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Compact form of a GameStatus: what a move changed instead of the whole board. Pits are sent as two parallel
+ * arrays of ids and new stone counts, players as their ids.
+ * The sequence number counts the legal moves of the game; a client that receives sequence n + 2 after n missed an
+ * update and should resync from the full status (/status), which carries the same sequence number.
+ */
+public class GameDelta {
+
+    @Getter
+    @Setter
+    private long gameID;
+
+    @Getter
+    @Setter
+    private long sequence;          // Legal moves played in the game so far, this one included
+
+    @Getter
+    @Setter
+    private boolean isLegalMove;    // Was the last made move legal; nothing changed if not
+
+    @Getter
+    @Setter
+    private int[] pitIDs;           // Pits whose stone count changed
+
+    @Getter
+    @Setter
+    private int[] stoneCounts;      // New stone count of each of those pits
+
+    @Getter
+    @Setter
+    private PlayerID nextPlayer;    // Which player has the control for the next move
+
+    @Getter
+    @Setter
+    private boolean isEndGame;      // Has the game ended?
+
+    @Getter
+    @Setter
+    private PlayerID winner;        // Winner if the game has ended, None otherwise
+
+    @Getter
+    @Setter
+    private int[] legalMoves;       // Pits their owner may play from after the move, as GameStatus.legalMoves
+}
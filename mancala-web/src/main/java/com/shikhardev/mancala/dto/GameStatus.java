@@ -0,0 +1,113 @@
+package com.shikhardev.mancala.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.models.Board;
+import com.shikhardev.mancala.models.Player;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Class of objects that are used to describe the current status of the game.
+ * A new object of this class is created for every response, as a snapshot of the game it describes.
+ * The legal moves (and the optional preview of each) are worked out when the status is built, so a client never has
+ * to send a move to find out it is illegal. The server accepts a move from any playground pit with stones by the
+ * pit's owner, which is what legalMoves holds for both sides.
+ * Sets of pits are sent as 32-bit words, which JavaScript reads exactly with its bitwise operators; 64-bit words would
+ * lose their high bits past 2^53 once parsed as numbers.
+ */
+public class GameStatus {
+
+    @Getter
+    @Setter
+    private long gameID;    // Game this status belongs to; sent back by the client with every move
+
+    @Getter
+    @Setter
+    private long sequence;  // Legal moves played in the game so far; see GameDelta
+
+    @Getter
+    @Setter
+    private Board currentBoardStatus;   // Board status after the last move
+
+    @Getter
+    @Setter
+    private boolean isLegalMove;    // Was the last made move legal
+
+    @Getter
+    @Setter
+    private Player nextPlayer;   // Which player has the control for the next move
+
+    @Getter
+    @Setter
+    private boolean isEndGame;  // Has the game ended?
+
+    @Getter
+    @Setter
+    private Player winner;      // Point to the winner if the game has ended
+
+    @Getter
+    @Setter
+    private int[] legalMoves;   // Pits their owner may play from: bit (pitID % 32) of word (pitID / 32)
+
+    @Getter
+    @Setter
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private MovePreview movePreview;    // What each legal move would do; only sent with MOVE_PREVIEW=true
+
+    /**
+     * Sets the legal moves, and the preview of each if asked for, in one pass over the board: every playground pit
+     * with stones is a legal move for its owner, and Rules.preview tells its outcome in O(1).
+     * @param pits: Board the status describes
+     * @param isMovePreview: true to set movePreview as well
+     */
+    public void analyzeMoves(Rules rules, int[] pits, boolean isMovePreview) {
+        int words = getMaskWords(pits.length);
+        legalMoves = new int[words];
+        int[] lastPitIDs = isMovePreview ? new int[pits.length] : null;
+        int[] captures = isMovePreview ? new int[words] : null;
+        int[] extraTurns = isMovePreview ? new int[words] : null;
+        for (int i = 0; i < pits.length; i++) {
+            int owner = rules.getOwner(i);
+            boolean isLegal = rules.isLegalMove(pits, owner, i);
+            if (isLegal)
+                legalMoves[i >>> 5] |= 1 << i;      // Shifts are modulo 32
+            if (!isMovePreview)
+                continue;
+            if (!isLegal) {
+                lastPitIDs[i] = -1;
+                continue;
+            }
+            int outcome = rules.preview(pits, owner, i);
+            lastPitIDs[i] = MoveOutcome.getLastPit(outcome);
+            if (MoveOutcome.isCapture(outcome))
+                captures[i >>> 5] |= 1 << i;
+            if (MoveOutcome.isExtraTurn(outcome))
+                extraTurns[i >>> 5] |= 1 << i;
+        }
+        movePreview = null;
+        if (isMovePreview) {
+            movePreview = new MovePreview();
+            movePreview.setLastPitIDs(lastPitIDs);
+            movePreview.setCaptures(captures);
+            movePreview.setExtraTurns(extraTurns);
+        }
+    }
+
+    /**
+     * Returns the legal moves of both sides on the board, in the form of legalMoves, for the updates that do not
+     * carry a whole status (GameDelta).
+     */
+    public static int[] getLegalMoves(Rules rules, int[] pits) {
+        int[] legalMoves = new int[getMaskWords(pits.length)];
+        for (int i = 0; i < pits.length; i++)
+            if (rules.isLegalMove(pits, rules.getOwner(i), i))
+                legalMoves[i >>> 5] |= 1 << i;
+        return legalMoves;
+    }
+
+    private static int getMaskWords(int pitCount) {
+        return (pitCount + 31) >>> 5;
+    }
+}
@@ -0,0 +1,173 @@
+package com.shikhardev.mancala.dto;
+
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.models.Board;
+import com.shikhardev.mancala.models.Pit;
+import com.shikhardev.mancala.models.PitType;
+import com.shikhardev.mancala.models.Player;
+import com.shikhardev.mancala.models.PlayerID;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary form of a GameStatus, for bots and load generators (media type application/x-mancala-status):
+ *
+ *     version     1 byte, VERSION
+ *     gameID      varint
+ *     sequence    varint
+ *     flags       1 byte: bit 0 legal move, bit 1 end game, bits 2-3 next player, bits 4-5 winner
+ *                 (players as 0 for none, 1 for PLAYER_1, 2 for PLAYER_2), bit 6 move preview
+ *     pitCount    varint
+ *     stones      pitCount varints, in pit id order
+ *
+ * Varints are unsigned LEB128: 7 bits per byte, least significant first, high bit set on all bytes but the last.
+ * Owners, pit types and homes are not sent: they follow from the pit count, as on every board of the game. Neither
+ * are the legal moves and the move preview, which follow from the stones: decode works them out again, the preview
+ * only if the status had one. A status of the standard board takes 19 bytes while its game ID and sequence are
+ * below 128, and a few more after.
+ * Encoding writes straight to the stream, without building any object or buffer of its own.
+ */
+public final class GameStatusCodec {
+
+    public static final int VERSION = 1;
+
+    private static final int LEGAL_MOVE = 1;
+    private static final int END_GAME = 1 << 1;
+    private static final int NEXT_PLAYER_SHIFT = 2;
+    private static final int WINNER_SHIFT = 4;
+    private static final int MOVE_PREVIEW = 1 << 6;
+
+    private GameStatusCodec() {
+    }
+
+    /**
+     * Returns the number of bytes encode writes for the status.
+     */
+    public static int size(GameStatus gameStatus) {
+        List<Pit> pits = gameStatus.getCurrentBoardStatus().getAllPits();
+        int size = 2 + varintSize(gameStatus.getGameID()) + varintSize(gameStatus.getSequence()) +
+                varintSize(pits.size());
+        for (int i = 0; i < pits.size(); i++)
+            size += varintSize(pits.get(i).getNumberOfStones());
+        return size;
+    }
+
+    public static void encode(GameStatus gameStatus, OutputStream out) throws IOException {
+        List<Pit> pits = gameStatus.getCurrentBoardStatus().getAllPits();
+        out.write(VERSION);
+        writeVarint(gameStatus.getGameID(), out);
+        writeVarint(gameStatus.getSequence(), out);
+        out.write((gameStatus.isLegalMove() ? LEGAL_MOVE : 0) |
+                (gameStatus.isEndGame() ? END_GAME : 0) |
+                toCode(gameStatus.getNextPlayer()) << NEXT_PLAYER_SHIFT |
+                toCode(gameStatus.getWinner()) << WINNER_SHIFT |
+                (gameStatus.getMovePreview() != null ? MOVE_PREVIEW : 0));
+        writeVarint(pits.size(), out);
+        for (int i = 0; i < pits.size(); i++)
+            writeVarint(pits.get(i).getNumberOfStones(), out);
+    }
+
+    /**
+     * Reads a status written by encode, with the same Board, Pit and Player objects the JSON form describes.
+     * @exception IllegalArgumentException: if the version is unknown or the content malformed
+     * @exception EOFException: if the stream ends before the status
+     */
+    public static GameStatus decode(InputStream in) throws IOException {
+        int version = readByte(in);
+        if (version != VERSION)
+            throw new IllegalArgumentException(String.format("Unknown game status version %d", version));
+        GameStatus gameStatus = new GameStatus();
+        gameStatus.setGameID(readVarint(in));
+        gameStatus.setSequence(readVarint(in));
+        int flags = readByte(in);
+        long pitCount = readVarint(in);
+        if (pitCount < 4 || pitCount % 2 != 0 || pitCount > 2 * Byte.MAX_VALUE)
+            throw new IllegalArgumentException(String.format("Invalid pit count %d", pitCount));
+        int home1 = (int) pitCount / 2 - 1;
+        int home2 = (int) pitCount - 1;
+        gameStatus.setLegalMove((flags & LEGAL_MOVE) != 0);
+        gameStatus.setEndGame((flags & END_GAME) != 0);
+        gameStatus.setNextPlayer(toPlayer(flags >>> NEXT_PLAYER_SHIFT & 3, home1, home2));
+        gameStatus.setWinner(toPlayer(flags >>> WINNER_SHIFT & 3, home1, home2));
+
+        Player p1 = new Player(PlayerID.PLAYER_1, home1);
+        Player p2 = new Player(PlayerID.PLAYER_2, home2);
+        List<Pit> pits = new ArrayList<>((int) pitCount);
+        int[] stones = new int[(int) pitCount];
+        for (int i = 0; i < pitCount; i++) {
+            Pit pit = new Pit();
+            pit.setId(i);
+            pit.setOwner(i <= home1 ? p1 : p2);
+            pit.setPitType(i == home1 || i == home2 ? PitType.HOME : PitType.PLAYGROUND);
+            stones[i] = (int) readVarint(in);
+            pit.setNumberOfStones(stones[i]);
+            pits.add(pit);
+        }
+        Board board = new Board();
+        board.setAllPits(pits);
+        gameStatus.setCurrentBoardStatus(board);
+        // The starting stone count plays no part in the moves
+        gameStatus.analyzeMoves(new Rules((int) pitCount / 2 - 1, 1), stones, (flags & MOVE_PREVIEW) != 0);
+        return gameStatus;
+    }
+
+    private static int toCode(Player player) {
+        if (player == null)
+            return 0;
+        switch (player.getId()) {
+            case PLAYER_1:
+                return 1;
+            case PLAYER_2:
+                return 2;
+        }
+        return 0;
+    }
+
+    private static Player toPlayer(int code, int home1, int home2) {
+        switch (code) {
+            case 1:
+                return new Player(PlayerID.PLAYER_1, home1);
+            case 2:
+                return new Player(PlayerID.PLAYER_2, home2);
+        }
+        return new Player(PlayerID.None, -1);
+    }
+
+    private static int varintSize(long value) {
+        int size = 1;
+        while ((value >>>= 7) != 0)
+            size++;
+        return size;
+    }
+
+    private static void writeVarint(long value, OutputStream out) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte(in);
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static int readByte(InputStream in) throws IOException {
+        int b = in.read();
+        if (b < 0)
+            throw new EOFException("Truncated game status");
+        return b;
+    }
+}
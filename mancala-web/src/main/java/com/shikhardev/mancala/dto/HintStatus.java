@@ -0,0 +1,39 @@
+package com.shikhardev.mancala.dto;
+
+import com.shikhardev.mancala.models.PlayerID;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Class of objects that describe the move the computer suggests to the player to move, and how it rates the position.
+ */
+public class HintStatus {
+
+    @Getter
+    @Setter
+    private long gameID;
+
+    @Getter
+    @Setter
+    private long sequence;          // Legal moves played in the game when the hint was given; see GameDelta
+
+    @Getter
+    @Setter
+    private PlayerID player;        // Player the hint is for: the one to move
+
+    @Getter
+    @Setter
+    private int pitID;              // Suggested move, -1 if the game has ended
+
+    @Getter
+    @Setter
+    private int score;              // Expected final store difference for that player
+
+    @Getter
+    @Setter
+    private int depth;              // Depth of the search the hint comes from
+
+    @Getter
+    @Setter
+    private boolean isCached;       // Was the hint served from the cache, or by the search of a concurrent request
+}
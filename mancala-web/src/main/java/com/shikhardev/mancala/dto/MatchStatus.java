@@ -0,0 +1,37 @@
+package com.shikhardev.mancala.dto;
+
+import com.shikhardev.mancala.matchmaking.Ticket;
+import com.shikhardev.mancala.models.PlayerID;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Class of objects that describe a matchmaking ticket: where the player waits, and the game they are seated in once
+ * matched.
+ */
+public class MatchStatus {
+
+    @Getter
+    @Setter
+    private long ticketID;
+
+    @Getter
+    @Setter
+    private String queue;           // Variant and rating band, e.g. 6x6/7; the band is "any" without a rating
+
+    @Getter
+    @Setter
+    private Ticket.State state;
+
+    @Getter
+    @Setter
+    private long gameID;            // Game the player is seated in, once MATCHED
+
+    @Getter
+    @Setter
+    private PlayerID playerID;      // Seat of the player in that game, None until MATCHED
+
+    @Getter
+    @Setter
+    private long waitMillis;        // Time waited in the queue so far, or until matched
+}
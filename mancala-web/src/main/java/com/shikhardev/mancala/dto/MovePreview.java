@@ -0,0 +1,25 @@
+package com.shikhardev.mancala.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * What the move from each pit would do, sent along with a GameStatus so that clients can show it, or pick a move,
+ * without asking the server. Like GameStatus.legalMoves, the sets of pits are bitmasks: bit (pitID % 32) of word
+ * (pitID / 32) stands for the pit.
+ */
+public class MovePreview {
+
+    @Getter
+    @Setter
+    private int[] lastPitIDs;   // Pit where the last stone of each pit's move lands, -1 if the move is illegal
+
+    @Getter
+    @Setter
+    private int[] captures;     // Moves that would capture the opposite pit
+
+    @Getter
+    @Setter
+    private int[] extraTurns;   // Moves that would end at home and earn an extra turn
+
+}
@@ -0,0 +1,26 @@
+package com.shikhardev.mancala.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * One move of a batch sent to /moves: the same parameters as a /move request, without the game.
+ */
+public class MoveRequest {
+
+    @Getter
+    @Setter
+    private String playerID;    // {PLAYER_1, PLAYER_2}
+
+    @Getter
+    @Setter
+    private int pitID;          // [0, 13]
+
+    public MoveRequest() {
+    }
+
+    public MoveRequest(String playerID, int pitID) {
+        this.playerID = playerID;
+        this.pitID = pitID;
+    }
+}
@@ -0,0 +1,36 @@
+package com.shikhardev.mancala.dto;
+
+import com.shikhardev.mancala.models.Player;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Class of objects that describe how a game ends from its current position if both players play perfectly, as far as
+ * the endgame tablebase knows.
+ */
+public class OutcomeStatus {
+
+    @Getter
+    @Setter
+    private long gameID;
+
+    @Getter
+    @Setter
+    private boolean isSolved;       // Is the outcome known? Only for finished games and positions in the tablebase
+
+    @Getter
+    @Setter
+    private int stonesInPlay;       // Stones left in the playgrounds
+
+    @Getter
+    @Setter
+    private Player winner;          // Winner with perfect play; None for a draw or an unsolved position
+
+    @Getter
+    @Setter
+    private int player1HomeCount;   // Final home count of player 1 with perfect play, if solved
+
+    @Getter
+    @Setter
+    private int player2HomeCount;   // Final home count of player 2 with perfect play, if solved
+}
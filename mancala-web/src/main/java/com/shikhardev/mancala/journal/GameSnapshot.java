@@ -0,0 +1,132 @@
+package com.shikhardev.mancala.journal;
+
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.models.Game;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Snapshot of every game at the time the journal rolled to segment N (snapshot-N.snap): recovery loads it, then
+ * replays the journal from segment N on, skipping the moves a game already had in the snapshot.
+ *
+ * A snapshot is written to a temporary file, synced, then renamed, so a snapshot file is always complete.
+ *
+ * File layout (big-endian):
+ *      int MAGIC, int pitCount
+ *      per game: long gameID, long sequence, byte nextPlayer, byte winner, byte isEndGame,
+ *                unsigned short stones[pitCount]
+ *      long 0
+ */
+public final class GameSnapshot {
+
+    static final int MAGIC = 0x4B534E31;     // "KSN1"
+
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+
+    private GameSnapshot() {
+    }
+
+    public static Path getPath(Path directory, long segment) {
+        return directory.resolve(String.format("%s%016d%s", PREFIX, segment, SUFFIX));
+    }
+
+    /**
+     * Returns the segments of the snapshots in the directory, in increasing order.
+     */
+    public static List<Long> list(Path directory) throws IOException {
+        List<Long> segments = new ArrayList<>();
+        if (!Files.isDirectory(directory))
+            return segments;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    /**
+     * Writes the snapshot of the games taken for the specified segment.
+     * @param games: Detached copies of the games, which nothing else writes (see Game.copy)
+     * @return number of games written
+     */
+    public static int write(Path directory, long segment, Iterable<Game> games, Rules rules) throws IOException {
+        Path file = getPath(directory, segment);
+        Path temporary = directory.resolve(file.getFileName() + ".tmp");
+        int count = 0;
+        try (FileOutputStream fileStream = new FileOutputStream(temporary.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileStream, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(rules.getTotalPitCount());
+            for (Game game : games) {
+                out.writeLong(game.getId());
+                out.writeLong(game.getSequence());
+                out.writeByte(game.getNextPlayer());
+                out.writeByte(game.getWinner());
+                out.writeBoolean(game.isEndGame());
+                for (int stones : game.getPits())
+                    out.writeShort(stones);
+                count++;
+            }
+            out.writeLong(0);
+            out.flush();
+            fileStream.getChannel().force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return count;
+    }
+
+    /**
+     * Reads back the games of a snapshot.
+     * @exception IllegalArgumentException: if the file is not a snapshot of the variant played with the rules
+     */
+    public static List<Game> read(Path file, Rules rules) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC)
+                throw new IllegalArgumentException(String.format("%s is not a snapshot file", file));
+            int pitCount = in.readInt();
+            if (pitCount != rules.getTotalPitCount())
+                throw new IllegalArgumentException(String.format("%s holds boards of %d pits, not %d", file,
+                        pitCount, rules.getTotalPitCount()));
+            List<Game> games = new ArrayList<>();
+            for (long gameID = in.readLong(); gameID != 0; gameID = in.readLong()) {
+                long sequence = in.readLong();
+                int nextPlayer = in.readByte();
+                int winner = in.readByte();
+                boolean isEndGame = in.readBoolean();
+                int[] pits = new int[pitCount];
+                for (int i = 0; i < pitCount; i++)
+                    pits[i] = in.readUnsignedShort();
+                Game game = new Game(gameID, pits, nextPlayer, winner);
+                game.setSequence(sequence);
+                game.setEndGame(isEndGame);
+                games.add(game);
+            }
+            return games;
+        }
+    }
+
+    /**
+     * Deletes the snapshots older than the specified one.
+     */
+    public static void deleteBefore(Path directory, long segment) throws IOException {
+        for (long older : list(directory))
+            if (older < segment)
+                Files.deleteIfExists(getPath(directory, older));
+    }
+}
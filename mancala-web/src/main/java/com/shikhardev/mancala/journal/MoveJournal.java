@@ -0,0 +1,369 @@
+package com.shikhardev.mancala.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of game events, written to numbered segment files (segment-N.log) in one directory.
+ *
+ * Writes use group commit. Appending copies the record into an in-memory buffer and returns a ticket at once. A single
+ * writer thread swaps that buffer for an empty one, writes the whole batch with one write call and one fsync, and
+ * wakes up everyone waiting for a ticket in it. However many threads append, the disk sees one sequential write and
+ * one sync per batch, and batches grow with the load. An appender that finds the buffer full waits for the writer,
+ * so memory stays bounded.
+ *
+ * A segment is closed once it reaches its size limit, or on request (rollSegment) before a snapshot, which lets
+ * recovery skip and delete the segments the snapshot covers.
+ *
+ * Record layout (RECORD_SIZE bytes, big-endian):
+ *      byte type (CREATE, MOVE), byte player, byte pitID, byte 0, long gameID, long sequence, int CRC-32C of the rest
+ * A CREATE record carries the first player of a new game, a MOVE the mover and pit of the move numbered sequence.
+ * Reading stops at the first incomplete or corrupt record: the tail a crash leaves behind.
+ *
+ * All methods are thread-safe.
+ */
+public class MoveJournal implements Closeable {
+
+    public static final int RECORD_SIZE = 24;
+    public static final byte CREATE = 1;
+    public static final byte MOVE = 2;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    /**
+     * Receives the records read back from a segment.
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void onRecord(byte type, long gameID, long sequence, int player, int pitID);
+    }
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean force;
+    private final CRC32C crc = new CRC32C();     // Used under the lock
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pending = lock.newCondition();  // Something for the writer to do
+    private final Condition written = lock.newCondition();  // The writer finished a batch
+    private ByteBuffer active;          // Filled by appenders
+    private ByteBuffer flushing;        // Written by the writer thread
+    private long appended;              // Bytes appended since the journal was opened: the ticket of the last record
+    private long durable;               // Bytes written, and synced if force
+    private boolean rollRequested;
+    private long rolls;
+    private long segmentIndex;
+    private long batches;
+    private boolean closed;
+    private IOException failure;
+
+    private FileChannel channel;        // Current segment, only touched by the writer thread
+    private long segmentSize;
+    private final Thread writer;
+
+    /**
+     * Opens a journal that writes new segments from firstSegment on.
+     * @param directory: Directory of the segments; created if missing
+     * @param firstSegment: Index of the first segment written; must be past every segment already there
+     * @param segmentBytes: Size past which a segment is closed and the next one started
+     * @param bufferBytes: Size of each of the two group commit buffers
+     * @param force: true to fsync every batch before its appenders are released
+     */
+    public MoveJournal(Path directory, long firstSegment, long segmentBytes, int bufferBytes, boolean force)
+            throws IOException {
+        if (bufferBytes < RECORD_SIZE)
+            throw new IllegalArgumentException("The journal buffer must hold at least one record");
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+        this.force = force;
+        active = ByteBuffer.allocate(bufferBytes - bufferBytes % RECORD_SIZE);
+        flushing = ByteBuffer.allocate(active.capacity());
+        segmentIndex = firstSegment;
+        channel = openSegment(firstSegment);
+        writer = new Thread(this::write, "move-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public static Path getSegmentPath(Path directory, long index) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Returns the indexes of the segments in the directory, in increasing order.
+     */
+    public static List<Long> listSegments(Path directory) throws IOException {
+        List<Long> indexes = new ArrayList<>();
+        if (!Files.isDirectory(directory))
+            return indexes;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                indexes.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                        name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        Collections.sort(indexes);
+        return indexes;
+    }
+
+    /**
+     * Reads the records of a segment in order, up to its end or to its first incomplete or corrupt record.
+     * @return length of the valid part of the segment, in bytes
+     */
+    public static long read(Path segment, RecordHandler handler) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 4096);
+        long valid = 0;
+        try (FileChannel in = FileChannel.open(segment, StandardOpenOption.READ)) {
+            boolean end = false;
+            while (!end) {
+                end = in.read(buffer) < 0;
+                buffer.flip();
+                while (buffer.remaining() >= RECORD_SIZE) {
+                    int start = buffer.position();
+                    crc.reset();
+                    crc.update(buffer.array(), start, RECORD_SIZE - 4);
+                    byte type = buffer.get();
+                    int player = buffer.get();
+                    int pitID = buffer.get();
+                    buffer.get();
+                    long gameID = buffer.getLong();
+                    long sequence = buffer.getLong();
+                    if (buffer.getInt() != (int) crc.getValue())
+                        return valid;
+                    handler.onRecord(type, gameID, sequence, player, pitID);
+                    valid += RECORD_SIZE;
+                }
+                buffer.compact();
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Adds a record to the journal; it is durable once awaitDurable returns for the ticket.
+     * @return ticket of the record
+     * @exception IllegalStateException: if the journal is closed or failed to write
+     */
+    public long append(byte type, long gameID, long sequence, int player, int pitID) {
+        lock.lock();
+        try {
+            while (active.remaining() < RECORD_SIZE && !closed && failure == null)
+                written.awaitUninterruptibly();
+            checkOpen();
+            int start = active.position();
+            active.put(type).put((byte) player).put((byte) pitID).put((byte) 0).putLong(gameID).putLong(sequence);
+            crc.reset();
+            crc.update(active.array(), start, RECORD_SIZE - 4);
+            active.putInt((int) crc.getValue());
+            if (start == 0)
+                pending.signal();
+            appended += RECORD_SIZE;
+            return appended;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the ticket of the last record appended so far.
+     */
+    public long getAppended() {
+        lock.lock();
+        try {
+            return appended;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Waits until the record of the ticket, and every record before it, is written (and synced if force).
+     * @exception IllegalStateException: if the journal failed to write, or was closed before
+     */
+    public void awaitDurable(long ticket) {
+        lock.lock();
+        try {
+            while (durable < ticket && failure == null && !(closed && !writer.isAlive()))
+                written.awaitUninterruptibly();
+            if (durable < ticket)
+                checkOpen();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the current segment once the records appended so far are written, so that later records go to the next
+     * one.
+     * @return index of the segment that receives the records appended from now on
+     */
+    public long rollSegment() {
+        lock.lock();
+        try {
+            checkOpen();
+            long rolled = rolls;
+            rollRequested = true;
+            pending.signal();
+            while (rolls == rolled && failure == null && !closed)
+                written.awaitUninterruptibly();
+            checkOpen();
+            return segmentIndex;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the segments before the specified one, once a snapshot covers them.
+     */
+    public void deleteSegmentsBefore(long index) throws IOException {
+        for (long segment : listSegments(directory))
+            if (segment < index)
+                Files.deleteIfExists(getSegmentPath(directory, segment));
+    }
+
+    /**
+     * Returns the number of batches written: records per batch is the group commit factor.
+     */
+    public long getBatches() {
+        lock.lock();
+        try {
+            return batches;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Writes the records appended so far and stops the writer thread.
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            closed = true;
+            pending.signal();
+        }
+        finally {
+            lock.unlock();
+        }
+        try {
+            writer.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            written.signalAll();
+            if (failure != null)
+                throw failure;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkOpen() {
+        if (failure != null)
+            throw new IllegalStateException("The move journal failed to write", failure);
+        if (closed)
+            throw new IllegalStateException("The move journal is closed");
+    }
+
+    private FileChannel openSegment(long index) throws IOException {
+        segmentSize = 0;
+        return FileChannel.open(getSegmentPath(directory, index),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Loop of the writer thread: one batch per iteration.
+     */
+    private void write() {
+        try {
+            while (true) {
+                long target;
+                boolean roll;
+                lock.lock();
+                try {
+                    while (active.position() == 0 && !rollRequested && !closed)
+                        pending.awaitUninterruptibly();
+                    if (active.position() == 0 && !rollRequested)
+                        break;      // Closed, and everything written
+                    ByteBuffer batch = active;
+                    active = flushing;
+                    flushing = batch;
+                    target = appended;
+                    roll = rollRequested;
+                    written.signalAll();    // Appenders waiting for room can use the empty buffer
+                }
+                finally {
+                    lock.unlock();
+                }
+
+                flushing.flip();
+                segmentSize += flushing.remaining();
+                while (flushing.hasRemaining())
+                    channel.write(flushing);
+                flushing.clear();
+                if (force)
+                    channel.force(false);
+                long index = -1;
+                if ((roll && segmentSize > 0) || segmentSize >= segmentBytes) {
+                    channel.close();
+                    index = segmentIndex + 1;
+                    channel = openSegment(index);
+                }
+
+                lock.lock();
+                try {
+                    durable = target;
+                    batches++;
+                    if (index >= 0)
+                        segmentIndex = index;
+                    if (roll) {
+                        rollRequested = false;
+                        rolls++;
+                    }
+                    written.signalAll();
+                }
+                finally {
+                    lock.unlock();
+                }
+            }
+            channel.close();
+        }
+        catch (IOException e) {
+            lock.lock();
+            try {
+                failure = e;
+                written.signalAll();
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.shikhardev.mancala.matchmaking;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Lock-free pairing of entries that arrive under the same key (a matchmaking queue: variant and rating band).
+ *
+ * Two entries waiting under one key would already have been paired, so the queue of a key is a single slot holding
+ * at most one waiting entry. An offer either takes the waiting entry out of the slot with a compare-and-set, and is
+ * paired with it, or sets itself into the empty slot and waits. Removing a waiting entry is a compare-and-set of the
+ * slot as well, so an entry that is both removed and taken by an offer goes to exactly one of them. Every operation is
+ * one or two atomic operations on the slot of its key: nothing blocks, and keys share nothing but the map of slots,
+ * which is only written the first time a key is used.
+ */
+public final class PairingQueue<K, T> {
+
+    private final ConcurrentHashMap<K, AtomicReference<T>> slots = new ConcurrentHashMap<>();
+    private final LongAdder waiting = new LongAdder();
+
+    private AtomicReference<T> slot(K key) {
+        AtomicReference<T> slot = slots.get(key);
+        return slot != null ? slot : slots.computeIfAbsent(key, k -> new AtomicReference<>());
+    }
+
+    /**
+     * Pairs the entry with the one waiting under the key, or leaves it waiting there.
+     * @param key: Queue of the entry
+     * @param entry: Entry that is not waiting yet; entries are told apart by identity
+     * @param isLive: Tells whether a waiting entry may still be paired; others are dropped from the queue
+     * @param onDropped: Called with every waiting entry isLive rejected, once it is out of the queue
+     * @return The entry paired with this one, which is no longer waiting; null if this one is now waiting
+     */
+    public T offer(K key, T entry, Predicate<? super T> isLive, Consumer<? super T> onDropped) {
+        AtomicReference<T> slot = slot(key);
+        while (true) {
+            T other = slot.get();
+            if (other == null) {
+                if (slot.compareAndSet(null, entry)) {
+                    waiting.increment();
+                    return null;
+                }
+            }
+            else if (slot.compareAndSet(other, null)) {
+                waiting.decrement();
+                if (isLive.test(other))
+                    return other;
+                onDropped.accept(other);
+            }
+        }
+    }
+
+    /**
+     * Takes the entry out of the queue if it is still waiting there.
+     * @return false if the entry was not waiting under the key, e.g. because it has been paired
+     */
+    public boolean remove(K key, T entry) {
+        AtomicReference<T> slot = slots.get(key);
+        if (slot == null || !slot.compareAndSet(entry, null))
+            return false;
+        waiting.decrement();
+        return true;
+    }
+
+    /**
+     * Returns the number of waiting entries, at most one per key.
+     */
+    public long getWaiting() {
+        return waiting.sum();
+    }
+
+    /**
+     * Returns the number of keys used so far.
+     */
+    public int getKeyCount() {
+        return slots.size();
+    }
+}
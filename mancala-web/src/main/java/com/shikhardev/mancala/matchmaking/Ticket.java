@@ -0,0 +1,100 @@
+package com.shikhardev.mancala.matchmaking;
+
+import com.shikhardev.mancala.models.PlayerID;
+
+/**
+ * Place of a player in the matchmaking queue, until it is matched into a game, cancelled or expired.
+ * The state changes once, from WAITING, by whoever took the ticket out of its PairingQueue; the game and seat are
+ * written before the state, so a reader that sees MATCHED sees them too.
+ */
+public final class Ticket {
+
+    public enum State {
+        WAITING,    // In the queue, or being matched
+        MATCHED,    // Seated in the game gameID as playerID
+        CANCELLED,  // Left the queue on the player's request
+        EXPIRED,    // Dropped from the queue after the player stopped polling it
+        FAILED      // Paired, but the game could not be created: the player should join again
+    }
+
+    private final long id;
+    private final String queue;
+    private final long joinNanos;
+    private volatile long lastSeenNanos;
+    private volatile long gameID;
+    private volatile PlayerID playerID = PlayerID.None;
+    private volatile long waitNanos;
+    private volatile State state = State.WAITING;
+
+    /**
+     * @param id: ID of the ticket, for the player to poll it
+     * @param queue: Queue the ticket waits in: variant and rating band
+     * @param joinNanos: System.nanoTime() when the player joined
+     */
+    public Ticket(long id, String queue, long joinNanos) {
+        this.id = id;
+        this.queue = queue;
+        this.joinNanos = joinNanos;
+        this.lastSeenNanos = joinNanos;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getQueue() {
+        return queue;
+    }
+
+    public long getJoinNanos() {
+        return joinNanos;
+    }
+
+    public long getLastSeenNanos() {
+        return lastSeenNanos;
+    }
+
+    /**
+     * Records that the player polled the ticket, which keeps it from expiring.
+     */
+    public void seen(long nanos) {
+        lastSeenNanos = nanos;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getGameID() {
+        return gameID;
+    }
+
+    public PlayerID getPlayerID() {
+        return playerID;
+    }
+
+    /**
+     * Returns the time the ticket waited in the queue before it was matched, 0 until then.
+     */
+    public long getWaitNanos() {
+        return waitNanos;
+    }
+
+    /**
+     * Seats the ticket in a game. Only the owner of the ticket, who took it out of the queue, may call this.
+     */
+    public void matched(long gameID, PlayerID playerID, long nanos) {
+        this.gameID = gameID;
+        this.playerID = playerID;
+        this.waitNanos = nanos - joinNanos;
+        state = State.MATCHED;
+    }
+
+    /**
+     * Ends a ticket that will not be matched, as CANCELLED, EXPIRED or FAILED. Only the owner of the ticket, who took it out
+     * of the queue, may call this.
+     */
+    public void closed(State state) {
+        this.state = state;
+    }
+}
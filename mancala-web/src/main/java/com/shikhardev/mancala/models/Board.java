@@ -2,7 +2,6 @@ package com.shikhardev.mancala.models;
 
 import lombok.Getter;
 import lombok.Setter;
-import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -12,8 +11,8 @@ import java.util.List;
  * Collection has been implemented as a List<Pit> (ArrayList).
  * This allows O(1) fetch operations and O(1) init for a fixed length of pits.
  * Also implements exception handling for mis-specified pitID during fetch operations.
+ * Every game owns its own Board object.
  */
-@Component
 public class Board {
 
     @Getter
@@ -0,0 +1,92 @@
+package com.shikhardev.mancala.models;
+
+import com.shikhardev.mancala.actor.Mailbox;
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Class represents a single live game in its primitive form, as played by the rules engine (engine.Rules):
+ * stone counts in a flat int[] and players as Rules.PLAYER_1 / Rules.PLAYER_2 / Rules.NO_PLAYER.
+ * Pit, Board and Player objects are only built from it when a GameStatus is sent to the client.
+ * One object of this class exists per running game and is owned by the GameRegistry.
+ * Its state is only read and written by actions run through its mailbox (see services.GameExecutor), one at a time.
+ * Once the registry moves an idle game to its cold tier the object is marked evicted and dropped; the next request
+ * gets a new object for the game.
+ */
+public class Game {
+
+    @Getter
+    private final long id;
+
+    @Getter
+    private final int[] pits;   // Stone count of every pit, indexed by pit id
+
+    @Getter
+    @Setter
+    private int nextPlayer;     // Which player has the control for the next move
+
+    @Getter
+    @Setter
+    private boolean isEndGame;  // Has the game ended?
+
+    @Getter
+    @Setter
+    private int winner;         // Winner if the game has ended, Rules.NO_PLAYER otherwise or for a draw
+
+    @Getter
+    @Setter
+    private long sequence;      // Number of legal moves played, which numbers the updates sent to clients
+
+    @Getter
+    @Setter
+    private volatile long lastAccess;   // System.nanoTime() of the last lookup, for eviction
+
+    @Getter
+    @Setter
+    private boolean isEvicted;  // Moved to the cold tier
+
+    @Getter
+    private final Mailbox mailbox = new Mailbox();
+
+    public Game(long id, int[] pits, int nextPlayer, int winner) {
+        this.id = id;
+        this.pits = pits;
+        this.nextPlayer = nextPlayer;
+        this.winner = winner;
+    }
+
+    /**
+     * Returns a detached copy of the state of the game.
+     */
+    public Game copy() {
+        Game game = new Game(id, pits.clone(), nextPlayer, winner);
+        game.setSequence(sequence);
+        game.setEndGame(isEndGame);
+        return game;
+    }
+
+    /**
+     * Validates and plays a move: sows, ends the game if a playground is empty, passes the turn unless the move
+     * earned an extra one and counts the move. Must be called from the game's mailbox.
+     * Moves replayed from the journal go through here too, so a replayed game ends up exactly as it was played.
+     * @return MoveOutcome of the move if it was legal and played; MoveOutcome.ILLEGAL if nothing changed
+     */
+    public int play(Rules rules, int mover, int pitID) {
+        if (!rules.isLegalMove(pits, mover, pitID))
+            return MoveOutcome.ILLEGAL;
+
+        int outcome = rules.sow(pits, mover, pitID);
+        if (rules.isEndGame(pits)) {
+            isEndGame = true;
+            rules.collectRemainingStones(pits);
+            winner = rules.getWinner(pits);
+        }
+        // The next player is toggled from the one recorded on the game, not from the mover
+        if (!MoveOutcome.isExtraTurn(outcome))
+            nextPlayer = Rules.opponent(nextPlayer);
+        sequence++;
+        return outcome;
+    }
+}
@@ -2,12 +2,10 @@ package com.shikhardev.mancala.models;
 
 import lombok.Getter;
 import lombok.Setter;
-import org.springframework.stereotype.Component;
 
 /**
  * Class represents a Move, and provides validation for the current move.
  */
-@Component
 public class Move {
 
     @Getter
@@ -2,7 +2,6 @@ package com.shikhardev.mancala.models;
 
 import lombok.Getter;
 import lombok.Setter;
-import org.springframework.stereotype.Component;
 
 import java.util.Objects;
 
@@ -13,7 +12,6 @@ import java.util.Objects;
  *         (2) player's home id (6 for player 1 and 13 for player 2)
  * Implements getters / setters for each of the fields and overrides the equal method to allow comparison.
  */
-@Component
 public class Player {
 
     @Getter
@@ -0,0 +1,140 @@
+package com.shikhardev.mancala.services;
+
+import com.shikhardev.mancala.ai.AlphaBetaSearcher;
+import com.shikhardev.mancala.ai.MctsSearcher;
+import com.shikhardev.mancala.ai.ParallelSearcher;
+import com.shikhardev.mancala.ai.SearchEngine;
+import com.shikhardev.mancala.book.OpeningBook;
+import com.shikhardev.mancala.ai.SearchResult;
+import com.shikhardev.mancala.ai.TranspositionTable;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.tablebase.Tablebase;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implements services for the computer player. Keeps a pool of parallel searchers, each running AI_THREADS threads
+ * (at most DEFAULT_THREADS_PER_SEARCH by default) over its own shared transposition table, and at least MIN_SEARCHERS
+ * of them; a request borrows one for the duration of its search. Helper threads of every searcher run in one
+ * ForkJoinPool. A request waits for a free searcher for half of its time budget at most: past that, it is answered
+ * by a shallow search of FALLBACK_DEPTH plies on its own thread, so the reply time stays within the budget however
+ * many requests come at once.
+ * With AI_ENGINE=MCTS the pool holds one Monte Carlo tree searcher per core instead (at least MIN_SEARCHERS), each
+ * with its node arena of AI_MCTS_NODES nodes, and the same bounded wait and fallback apply.
+ * Positions in the opening book are answered from the book, without searching.
+ */
+@Service
+public class AiService {
+
+    static final int DEFAULT_THREADS_PER_SEARCH = 4;
+    static final int MIN_SEARCHERS = 4;
+    static final int FALLBACK_DEPTH = 6;
+    private static final int FALLBACK_TABLE_BITS = 12;
+
+    private final Rules rules;
+    private final OpeningBook openingBook;
+    private final SearchEngine engine;
+    private final BlockingQueue<ParallelSearcher> searchers;
+    private final BlockingQueue<MctsSearcher> mctsSearchers;
+    private final int threadsPerSearch;
+    private final ThreadLocal<AlphaBetaSearcher> fallbackSearchers;
+
+    @Value("#{new Integer ('${AI_TIME_BUDGET_MILLIS}')}")
+    private Integer AI_TIME_BUDGET_MILLIS;
+
+    @Autowired
+    public AiService(Rules rules, Tablebase tablebase, OpeningBook openingBook,
+                     @Value("#{new Integer ('${AI_MAX_DEPTH}')}") Integer maxDepth,
+                     @Value("#{new Integer ('${AI_TRANSPOSITION_TABLE_BITS}')}") Integer tableBits,
+                     @Value("#{new Integer ('${AI_THREADS}')}") Integer threads,
+                     @Value("${AI_ENGINE}") SearchEngine engine,
+                     @Value("#{new Integer ('${AI_MCTS_NODES}')}") Integer mctsNodes) {
+        this.rules = rules;
+        this.openingBook = openingBook;
+        this.engine = engine;
+        int cores = Runtime.getRuntime().availableProcessors();
+        fallbackSearchers = ThreadLocal.withInitial(() ->
+                new AlphaBetaSearcher(rules, new TranspositionTable(FALLBACK_TABLE_BITS), FALLBACK_DEPTH, tablebase));
+        if (engine == SearchEngine.MCTS) {
+            threadsPerSearch = 1;
+            searchers = new ArrayBlockingQueue<>(1);
+            int poolSize = Math.max(MIN_SEARCHERS, cores);
+            mctsSearchers = new ArrayBlockingQueue<>(poolSize);
+            for (int i = 0; i < poolSize; i++)
+                mctsSearchers.add(new MctsSearcher(rules, mctsNodes, System.nanoTime() + i));
+            return;
+        }
+        mctsSearchers = new ArrayBlockingQueue<>(1);
+        threadsPerSearch = threads > 0 ? threads : Math.min(cores, DEFAULT_THREADS_PER_SEARCH);
+        int poolSize = Math.max(MIN_SEARCHERS, cores / threadsPerSearch);
+        ForkJoinPool helpers = new ForkJoinPool(Math.max(1, poolSize * (threadsPerSearch - 1)));
+        searchers = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++)
+            searchers.add(new ParallelSearcher(rules, new TranspositionTable(tableBits), maxDepth, threadsPerSearch,
+                    helpers, tablebase));
+    }
+
+    public SearchEngine getEngine() {
+        return engine;
+    }
+
+    public int getThreadsPerSearch() {
+        return threadsPerSearch;
+    }
+
+    /**
+     * Searches the best move for the side to move within the configured time budget.
+     * @param pits: Board to search; left unchanged
+     * @param sideToMove: Rules.PLAYER_1 or Rules.PLAYER_2
+     * @exception IllegalStateException: if interrupted while waiting for a free searcher
+     */
+    public SearchResult findBestMove(int[] pits, int sideToMove) {
+        long start = System.nanoTime();
+        int entry = openingBook.lookup(pits, sideToMove);
+        if (entry >= 0 && rules.isLegalMove(pits, sideToMove, openingBook.getPit(entry)))
+            return new SearchResult(openingBook.getPit(entry), openingBook.getScore(entry), openingBook.getDepth(), 0,
+                    System.nanoTime() - start, 0, 0);
+
+        long budgetNanos = TimeUnit.MILLISECONDS.toNanos(AI_TIME_BUDGET_MILLIS);
+        long deadline = start + budgetNanos;
+        if (engine == SearchEngine.MCTS) {
+            MctsSearcher searcher = tryBorrow(mctsSearchers, budgetNanos / 2);
+            if (searcher == null)
+                return fallbackSearchers.get().search(pits, sideToMove, deadline - System.nanoTime(), FALLBACK_DEPTH);
+            try {
+                return searcher.search(pits, sideToMove, deadline - System.nanoTime());
+            }
+            finally {
+                mctsSearchers.add(searcher);
+            }
+        }
+        ParallelSearcher searcher = tryBorrow(searchers, budgetNanos / 2);
+        if (searcher == null)
+            return fallbackSearchers.get().search(pits, sideToMove, deadline - System.nanoTime(), FALLBACK_DEPTH);
+        try {
+            return searcher.search(pits, sideToMove, deadline - System.nanoTime());
+        }
+        finally {
+            searchers.add(searcher);
+        }
+    }
+
+    /**
+     * Returns a free searcher of the pool, or null if none was returned within the timeout.
+     */
+    private static <T> T tryBorrow(BlockingQueue<T> pool, long timeoutNanos) {
+        try {
+            return pool.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a searcher", e);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.shikhardev.mancala.services;
 
+import com.shikhardev.mancala.engine.Position;
 import com.shikhardev.mancala.models.*;
-import lombok.Getter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -12,12 +12,13 @@ import java.util.List;
 /**
  * Class represents services associated with the board, including initiation, move implementation on the board with
  * stone dynamics handled.
+ * The service holds no board of its own: every operation works on the Board it is called for.
+ * Games are played on the primitive engine.Rules; the Board-based operations here are the object-model reference
+ * of the same rules (BoardServiceRulesTest checks that both agree), and toBoard builds the Board view sent to clients.
  */
 @Service
 public class BoardService {
 
-    @Getter
-    private Board board;
     private PlayerService playerService;
 
     @Value("#{new Integer ('${PITS_PER_PLAYER}')}")
@@ -35,21 +36,19 @@ public class BoardService {
     @Value("#{new Integer ('${P2_HOME_PIT}')}")
     private Integer P2_HOME_PIT;
 
-    private boolean playerContinues = false;
-
     @Autowired
-    public BoardService(Board board, PlayerService playerService) {
-        this.board = board;
+    public BoardService(PlayerService playerService) {
         this.playerService = playerService;
     }
 
     /**
      * Gets pit if id is valid and board initiated.
+     * @param board: Board of the current game
      * @param id [0, 13]
      * @return Pit object
      * @throws IndexOutOfBoundsException: if id is invalid
      */
-    public Pit getPitByID (int id) throws IndexOutOfBoundsException{
+    public Pit getPitByID (Board board, int id) throws IndexOutOfBoundsException{
         try {
             return board.getPit(id);
         }
@@ -74,7 +73,7 @@ public class BoardService {
         Pit res = new Pit();
         res.setId(pitID);
         if (pitID <= P1_HOME_PIT) {
-            res.setOwner(new Player(PlayerID.PLAYER_1, P1_HOME_PIT));
+            res.setOwner(playerService.getP1());
             if (pitID < P1_HOME_PIT) {
                 res.setNumberOfStones(STARTING_STONE_COUNT);
                 res.setPitType(PitType.PLAYGROUND);
@@ -85,7 +84,7 @@ public class BoardService {
             }
         }
         else {
-            res.setOwner(new Player(PlayerID.PLAYER_2, P2_HOME_PIT));
+            res.setOwner(playerService.getP2());
             if (pitID < P2_HOME_PIT) {
                 res.setNumberOfStones(STARTING_STONE_COUNT);
                 res.setPitType(PitType.PLAYGROUND);
@@ -99,40 +98,77 @@ public class BoardService {
     }
 
     /**
-     * Initializes the class' board object with all 14 pits
+     * Creates a new board object with all 14 pits
+     * @return Board object of a new game
      */
-    public void initBoard(){
-        List<Pit> temp_board = new ArrayList<>();
+    public Board initBoard(){
+        List<Pit> temp_board = new ArrayList<>(TOTAL_PIT_COUNT);
         for (int i = 0; i < TOTAL_PIT_COUNT; i++)
             temp_board.add(initPit(i));
+        Board board = new Board();
+        board.setAllPits(temp_board);
+        return board;
+    }
+
+    /**
+     * Builds the Board view of a board held by the rules engine. Used at the REST boundary only: the game itself is
+     * played on the int[] (see engine.Rules), and every call returns new Pit objects, so the view is a snapshot.
+     * @param pits: Stone count of every pit, indexed by pit id
+     * @return Board object with one Pit per entry of pits
+     */
+    public Board toBoard(int[] pits) {
+        List<Pit> temp_board = new ArrayList<>(pits.length);
+        for (int i = 0; i < pits.length; i++) {
+            Pit pit = initPit(i);
+            pit.setNumberOfStones(pits[i]);
+            temp_board.add(pit);
+        }
+        Board board = new Board();
         board.setAllPits(temp_board);
+        return board;
+    }
+
+    /**
+     * Builds the Board view of a packed position.
+     */
+    public Board toBoard(Position position) {
+        return toBoard(position.toArray());
+    }
+
+    /**
+     * Packs a board and the player to move into a Position. Lossless: toBoard(toPosition(board, player)) holds the
+     * same pits as board.
+     * @param board: Board object of the standard 14-pit game
+     * @param sideToMove: Player who has the control for the next move
+     * @exception IllegalArgumentException: if the game or the board does not have 14 pits
+     */
+    public Position toPosition(Board board, Player sideToMove) {
+        if (TOTAL_PIT_COUNT != Position.PIT_COUNT || board.getAllPits().size() != Position.PIT_COUNT)
+            throw new IllegalArgumentException(String.format("Position holds %d pits, not %d of a %d-pit game",
+                    Position.PIT_COUNT, board.getAllPits().size(), TOTAL_PIT_COUNT));
+        int[] pits = new int[board.getAllPits().size()];
+        for (Pit pit : board.getAllPits())
+            pits[pit.getId()] = pit.getNumberOfStones();
+        return Position.of(pits, playerService.getPlayerIndex(sideToMove.getId()));
     }
 
     /**
      * Returns true if all pits in the specified range have 0 stones. Else, returns false.
      */
-    public boolean arePitsInRangeEmpty (int fromID, int toID) {
+    public boolean arePitsInRangeEmpty (Board board, int fromID, int toID) {
         for (int i = fromID; i < toID; i ++)
             if (board.getPit(i).getNumberOfStones() != 0)
                 return false;
         return true;
     }
 
-    /**
-     * This method is typically called after execution of a move.
-     * Returns true if the same player should make the next move also. Else, returns false.
-     */
-    public boolean doesPlayerContinue() {
-        // playerContinues is dynamically set during the execution of a move in updateBoardForMove method
-        return playerContinues;
-    }
-
     /**
      * Returns the number of stones at the Home pit of the specified player
+     * @param board: Board of the current game
      * @param player: Player object whose home-pit count is requested
      * @exception IllegalArgumentException: if the specified player is neither player 1 nor player 2.
      */
-    public int getPlayerHomeCount(Player player) {
+    public int getPlayerHomeCount(Board board, Player player) {
         int homeID = player.getHomeID();
         if (homeID == -1)
             throw new IllegalArgumentException("Homeless player.");
@@ -144,9 +180,9 @@ public class BoardService {
      * If the game has ended, at least one side of the board is empty.
      * If there are remaining stones on one of the sides, it will be allocated to player of that side.
      */
-    public void collectRemainingStones() {
-        collectRemainingStones(0, P1_HOME_PIT);
-        collectRemainingStones(P1_HOME_PIT + 1, P2_HOME_PIT);
+    public void collectRemainingStones(Board board) {
+        collectRemainingStones(board, 0, P1_HOME_PIT);
+        collectRemainingStones(board, P1_HOME_PIT + 1, P2_HOME_PIT);
     }
 
     /**
@@ -155,7 +191,7 @@ public class BoardService {
      * @param lower: Starting pit ID of the current side
      * @param upper: Home ID of the current side
      */
-    private void collectRemainingStones(int lower, int upper) {
+    private void collectRemainingStones(Board board, int lower, int upper) {
         int count = 0;
         for (int i = lower; i < upper; i ++)
             count += board.getPit(i).getNumberOfStones();
@@ -165,10 +201,11 @@ public class BoardService {
     /**
      * While moving, if the move ends on a pit with 0 stones, the current player captures the stones of the opposite
      * side. Home stone count increases by oppositeStoneCount + 1 (player's latest stone).
+     * @param board: Board of the current game
      * @param mover: Player object of the current move-maker
      * @param latestPit: Pit object at which the current move ended
      */
-    public void captureOppositeStones(Player mover, Pit latestPit) {
+    public void captureOppositeStones(Board board, Player mover, Pit latestPit) {
         if (latestPit.getNumberOfStones() != 1)
             return;
         int homeLowerBound = mover.getHomeID().equals(P1_HOME_PIT) ? 0 : P1_HOME_PIT + 1;
@@ -191,11 +228,12 @@ public class BoardService {
 
     /**
      * Executes the specified Move object. Assumes move has already been validated.
-     * Calls the captureOppositeStones as well as updates the playerContinues variable to denote if the next move is
-     * to be made by a different player.
+     * Calls the captureOppositeStones and reports whether the next move is to be made by the same player.
+     * @param board: Board of the current game
      * @param move: Move object
+     * @return true if the same player should make the next move also (move ended at the mover's home), else false
      */
-    public void updateBoardForMove (Move move) {
+    public boolean updateBoardForMove (Board board, Move move) {
         Pit startingPit = move.getSelectedPit();
         int nextPitID = startingPit.getId();
         int currentStoneCount = startingPit.getNumberOfStones();
@@ -216,13 +254,12 @@ public class BoardService {
         }
         assert nextPit != null;
         if (nextPit.getPitType() == PitType.PLAYGROUND) {
-            captureOppositeStones(move.getCurrentPlayer(), nextPit);
-            playerContinues = false;
+            captureOppositeStones(board, move.getCurrentPlayer(), nextPit);
+            return false;
         }
         // If not in playground, nextPit has to be home of the mover
         // Since it terminates at home, it gets the chance again
-        else
-            playerContinues = true;
+        return true;
 
     }
 
@@ -0,0 +1,63 @@
+package com.shikhardev.mancala.services;
+
+import com.shikhardev.mancala.models.Game;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+
+/**
+ * Execution model of the games: every read or write of a game's state runs through the game's Mailbox, one action at
+ * a time per game, so no lock is needed. Actions run on the calling thread when the game is idle; the actions that
+ * queue up behind a busy game run on one scheduler shared by all games, a ForkJoinPool of GAME_EXECUTOR_THREADS
+ * threads in FIFO mode.
+ */
+@Service
+public class GameExecutor {
+
+    private final ForkJoinPool scheduler;
+    private final int batchSize;
+
+    /**
+     * @param threads: Threads of the shared scheduler; 0 for one per core
+     * @param batchSize: Queued actions of one game a thread runs before it moves on to other games
+     */
+    @Autowired
+    public GameExecutor(@Value("#{new Integer ('${GAME_EXECUTOR_THREADS}')}") Integer threads,
+                        @Value("#{new Integer ('${GAME_EXECUTOR_BATCH_SIZE}')}") Integer batchSize) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("GAME_EXECUTOR_BATCH_SIZE must be at least 1");
+        this.batchSize = batchSize;
+        scheduler = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("game-executor-" + thread.getPoolIndex());
+                    thread.setDaemon(true);
+                    return thread;
+                }, null, true);
+    }
+
+    /**
+     * Runs the action on the game in its turn, and returns its result.
+     */
+    public <T> T call(Game game, Function<Game, T> action) {
+        return game.getMailbox().call(() -> action.apply(game), scheduler, batchSize);
+    }
+
+    /**
+     * Runs the action on the game now if no other action is running or waiting on it.
+     * @return true if the action ran
+     */
+    public boolean tryRun(Game game, Runnable action) {
+        return game.getMailbox().tryRun(action, scheduler, batchSize);
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdown();
+    }
+}
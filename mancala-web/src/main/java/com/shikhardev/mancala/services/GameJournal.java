@@ -0,0 +1,198 @@
+package com.shikhardev.mancala.services;
+
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.journal.GameSnapshot;
+import com.shikhardev.mancala.journal.MoveJournal;
+import com.shikhardev.mancala.models.Game;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Makes games survive a restart. Every new game and every legal move is appended to the MoveJournal in JOURNAL_DIR,
+ * and every JOURNAL_SNAPSHOT_INTERVAL moves a snapshot of all games is written in the background, after which the
+ * journal segments it covers are deleted. On startup, before any request is served, the games are recovered into the
+ * GameRegistry from the latest snapshot and the journal segments after it.
+ *
+ * Records are appended from the game's mailbox, so the journal has the moves of a game in the order they were played;
+ * callers then wait for durability with sync() once their action is over, so a game is not blocked while its batch
+ * is written. The journal is disabled when JOURNAL_DIR is empty, and every method is then a no-op.
+ */
+@Service
+public class GameJournal {
+
+    private final Rules rules;
+    private final GameRegistry gameRegistry;
+    private final Path directory;
+    private final MoveJournal journal;     // null when disabled
+    private final long snapshotInterval;
+    private final AtomicLong moves = new AtomicLong();
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+    private final ExecutorService snapshotter;
+
+    @Autowired
+    public GameJournal(Rules rules, GameRegistry gameRegistry,
+                       @Value("${JOURNAL_DIR}") String directory,
+                       @Value("#{new Long ('${JOURNAL_SEGMENT_BYTES}')}") Long segmentBytes,
+                       @Value("#{new Integer ('${JOURNAL_BUFFER_BYTES}')}") Integer bufferBytes,
+                       @Value("#{new Long ('${JOURNAL_SNAPSHOT_INTERVAL}')}") Long snapshotInterval,
+                       @Value("${JOURNAL_FSYNC}") boolean force) throws IOException {
+        this.rules = rules;
+        this.gameRegistry = gameRegistry;
+        this.snapshotInterval = snapshotInterval;
+        if (directory.isEmpty()) {
+            this.directory = null;
+            journal = null;
+            snapshotter = null;
+            return;
+        }
+        if (snapshotInterval < 1)
+            throw new IllegalArgumentException("JOURNAL_SNAPSHOT_INTERVAL must be at least 1");
+        this.directory = Paths.get(directory);
+        long nextSegment = recover();
+        journal = new MoveJournal(this.directory, nextSegment, segmentBytes, bufferBytes, force);
+        snapshotter = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-snapshotter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isEnabled() {
+        return journal != null;
+    }
+
+    /**
+     * Appends the creation of a game. Must be called before its id is returned to the client.
+     */
+    void recordCreate(Game game) {
+        if (journal != null)
+            journal.append(MoveJournal.CREATE, game.getId(), 0, game.getNextPlayer(), 0);
+    }
+
+    /**
+     * Appends a move that was just played on the game. Must be called from the game's mailbox.
+     */
+    void recordMove(Game game, int mover, int pitID) {
+        if (journal == null)
+            return;
+        journal.append(MoveJournal.MOVE, game.getId(), game.getSequence(), mover, pitID);
+        if (moves.incrementAndGet() % snapshotInterval == 0 && snapshotRunning.compareAndSet(false, true))
+            snapshotter.execute(() -> {
+                try {
+                    snapshot();
+                }
+                catch (IOException | RuntimeException e) {
+                    // The journal still has every move; the next interval tries again
+                }
+                finally {
+                    snapshotRunning.set(false);
+                }
+            });
+    }
+
+    /**
+     * Waits until everything appended so far, by any thread, is durable.
+     * @exception IllegalStateException: if the journal failed to write
+     */
+    void sync() {
+        if (journal != null)
+            journal.awaitDurable(journal.getAppended());
+    }
+
+    /**
+     * Rolls the journal to a new segment, writes the snapshot of all games for it, cold ones included, and deletes the
+     * segments and snapshots it makes obsolete. Every record of the older segments was appended, hence played, before
+     * the roll, so the snapshot taken after it includes them. Evictions wait for the snapshot.
+     * @return segment the snapshot was taken for
+     */
+    public long snapshot() throws IOException {
+        if (journal == null)
+            throw new IllegalStateException("The journal is disabled");
+        long segment = journal.rollSegment();
+        gameRegistry.pauseEviction();
+        try {
+            GameSnapshot.write(directory, segment, gameRegistry.getGames(), rules);
+        }
+        finally {
+            gameRegistry.resumeEviction();
+        }
+        journal.deleteSegmentsBefore(segment);
+        GameSnapshot.deleteBefore(directory, segment);
+        return segment;
+    }
+
+    public long getBatches() {
+        return journal == null ? 0 : journal.getBatches();
+    }
+
+    /**
+     * Lets a running snapshot finish, then closes the journal once every record appended is written.
+     */
+    @PreDestroy
+    public void close() throws IOException {
+        if (journal == null)
+            return;
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+
+    /**
+     * Loads the latest snapshot and replays the journal segments from it into the registry. A torn record at the end
+     * of the last segment, left by a crash, is cut off.
+     * @return index of the first segment to write, past every existing one
+     */
+    private long recover() throws IOException {
+        List<Long> snapshots = GameSnapshot.list(directory);
+        long first = 0;
+        if (!snapshots.isEmpty()) {
+            first = snapshots.get(snapshots.size() - 1);
+            for (Game game : GameSnapshot.read(GameSnapshot.getPath(directory, first), rules))
+                gameRegistry.restoreGame(game);
+        }
+        long next = first;
+        for (long segment : MoveJournal.listSegments(directory)) {
+            next = segment + 1;
+            if (segment < first)
+                continue;
+            Path path = MoveJournal.getSegmentPath(directory, segment);
+            long valid = MoveJournal.read(path, this::replay);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                if (channel.size() > valid)
+                    channel.truncate(valid);
+            }
+        }
+        return next;
+    }
+
+    private void replay(byte type, long gameID, long sequence, int player, int pitID) {
+        Game game = gameRegistry.findGame(gameID);
+        if (type == MoveJournal.CREATE) {
+            if (game == null)
+                gameRegistry.restoreGame(new Game(gameID, rules.newBoard(), player, Rules.NO_PLAYER));
+        }
+        else if (type == MoveJournal.MOVE && game != null && sequence == game.getSequence() + 1) {
+            game.play(rules, player, pitID);
+        }
+        // Other moves are already in the snapshot
+    }
+}
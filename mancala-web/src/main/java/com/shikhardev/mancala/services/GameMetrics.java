@@ -0,0 +1,150 @@
+package com.shikhardev.mancala.services;
+
+import com.shikhardev.mancala.engine.MoveOutcome;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hot-path instrumentation of the game routes, under /actuator/metrics:
+ *      mancala.request{route=/start|/move}: latency of the routes, up to the response object (serialization apart)
+ *      mancala.move.phase{phase=...}: time spent in each phase of a move, see Phase
+ *      mancala.moves.played, .illegal, .captures, .extra.turns and mancala.games.finished: engine counters
+ * Each timer is a LatencyHistogram, published as a FunctionTimer (count and total time), a .max gauge and a .histogram
+ * of cumulative counts by upper bound (tag le, in seconds, powers of two from MIN_BUCKET to MAX_BUCKET nanoseconds),
+ * so p50/p99 can be aggregated across instances.
+ *
+ * Every meter is registered up front and kept in a field, so recording never looks up a meter or builds tags: a timer
+ * records into preallocated histogram buckets with atomic increments and a counter is a LongAdder increment. Nothing
+ * is allocated per move, and the cost is a few System.nanoTime() calls per request, low enough to stay on in
+ * production.
+ * Unlike the meters of MetricsConfiguration, these are registered here rather than by a MeterBinder: the timers must
+ * exist before the first request, and a binder depending on this service would make the registry depend on itself.
+ */
+@Service
+public class GameMetrics {
+
+    /**
+     * Phases of a move, in the order they happen.
+     */
+    public enum Phase {
+        VALIDATE,   // Player and pit id checks, before the game is looked up
+        APPLY,      // Rule check, sowing and journal append, in the game's mailbox: what updateBoardForMove once did
+        STATUS,     // Building the GameStatus or GameDelta of the move
+        JOURNAL,    // Waiting for the journal to make the move durable (only with a journal)
+        SERIALIZE   // Writing the response body, JSON or binary
+    }
+
+    private static final int MIN_BUCKET = 7;    // 128 ns
+    private static final int MAX_BUCKET = 34;   // About 17 s
+
+    private final LatencyHistogram startTimer;
+    private final LatencyHistogram moveTimer;
+    private final LatencyHistogram[] phaseTimers = new LatencyHistogram[Phase.values().length];
+
+    private final LongAdder movesPlayed = new LongAdder();
+    private final LongAdder illegalMoves = new LongAdder();
+    private final LongAdder captures = new LongAdder();
+    private final LongAdder extraTurns = new LongAdder();
+    private final LongAdder finishedGames = new LongAdder();
+
+    @Autowired
+    public GameMetrics(MeterRegistry registry) {
+        startTimer = timer("mancala.request", "route", "/start", "Latency of /start", registry);
+        moveTimer = timer("mancala.request", "route", "/move", "Latency of /move", registry);
+        for (Phase phase : Phase.values())
+            phaseTimers[phase.ordinal()] = timer("mancala.move.phase", "phase", phase.name().toLowerCase(),
+                    "Time spent in a phase of a move", registry);
+        counter("mancala.moves.played", movesPlayed, "Legal moves played", registry);
+        counter("mancala.moves.illegal", illegalMoves, "Moves refused by the rules", registry);
+        counter("mancala.moves.captures", captures, "Moves that captured the opposite pit", registry);
+        counter("mancala.moves.extra.turns", extraTurns, "Moves that earned an extra turn", registry);
+        counter("mancala.games.finished", finishedGames, "Games played to their end", registry);
+    }
+
+    private static void counter(String name, LongAdder adder, String description, MeterRegistry registry) {
+        FunctionCounter.builder(name, adder, LongAdder::sum)
+                .description(description)
+                .register(registry);
+    }
+
+    private static LatencyHistogram timer(String name, String tag, String value, String description,
+                                          MeterRegistry registry) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        FunctionTimer.builder(name, histogram, LatencyHistogram::getCount, LatencyHistogram::getTotalNanos,
+                        TimeUnit.NANOSECONDS)
+                .tag(tag, value)
+                .description(description)
+                .register(registry);
+        TimeGauge.builder(name + ".max", histogram, TimeUnit.NANOSECONDS, LatencyHistogram::getMaxNanos)
+                .tag(tag, value)
+                .description(description + ": largest over the last minute or two")
+                .register(registry);
+        for (int bucket = MIN_BUCKET; bucket <= MAX_BUCKET; bucket++) {
+            int upperBound = bucket;
+            FunctionCounter.builder(name + ".histogram", histogram, h -> h.getCumulativeCount(upperBound))
+                    .tags(tag, value, "le", BigDecimal.valueOf(1L << bucket).movePointLeft(9).toPlainString())
+                    .description(description + ": count at or below the le bound")
+                    .register(registry);
+        }
+        return histogram;
+    }
+
+    public void recordStart(long nanos) {
+        startTimer.record(nanos);
+    }
+
+    public void recordMove(long nanos) {
+        moveTimer.record(nanos);
+    }
+
+    public void recordPhase(Phase phase, long nanos) {
+        phaseTimers[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Counts a move by its outcome.
+     * @param outcome: MoveOutcome of the move, or MoveOutcome.ILLEGAL
+     * @param endsGame: true if the move ended the game
+     */
+    public void recordOutcome(int outcome, boolean endsGame) {
+        if (!MoveOutcome.isLegal(outcome)) {
+            illegalMoves.increment();
+            return;
+        }
+        movesPlayed.increment();
+        if (MoveOutcome.isCapture(outcome))
+            captures.increment();
+        if (MoveOutcome.isExtraTurn(outcome))
+            extraTurns.increment();
+        if (endsGame)
+            finishedGames.increment();
+    }
+
+    public long getMovesPlayed() {
+        return movesPlayed.sum();
+    }
+
+    public long getIllegalMoves() {
+        return illegalMoves.sum();
+    }
+
+    public long getCaptures() {
+        return captures.sum();
+    }
+
+    public long getExtraTurns() {
+        return extraTurns.sum();
+    }
+
+    public long getFinishedGames() {
+        return finishedGames.sum();
+    }
+}
@@ -0,0 +1,323 @@
+package com.shikhardev.mancala.services;
+
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.models.Game;
+import com.shikhardev.mancala.store.ColdGameStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Keeps every game of the server, keyed by game ID.
+ * Live games are backed by a ConcurrentHashMap, so lookups are lock-free and registrations only contend on the bin of
+ * the new key. There is no global lock: moves on one game never block moves on another.
+ *
+ * Idle games are moved out of the heap to a ColdGameStore by a periodic sweep: every game not looked up for
+ * GAME_IDLE_TTL_SECONDS, and, while the live games would take more than GAME_HEAP_BUDGET_BYTES, the least recently
+ * used ones. A lookup of a cold game rehydrates it into a new Game object, which callers holding the old, evicted one
+ * must fetch again (see Game.isEvicted).
+ */
+@Service
+public class GameRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(GameRegistry.class);
+
+    // Heap of a live game beyond its board: Game object, its mailbox, map node and boxed key
+    private static final int GAME_OVERHEAD_BYTES = 56 + 24 + 32 + 16;
+
+    private static final Object EVICTED = new Object();
+
+    private final Map<Long, Game> games = new ConcurrentHashMap<>();
+    private final AtomicLong nextGameID = new AtomicLong();
+    private final ColdGameStore coldGames;
+    private final GameExecutor gameExecutor;
+    private final long idleNanos;
+    private final int maxResidentGames;
+    private final long evictionIntervalMillis;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private ScheduledExecutorService evictor;
+
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong rehydrations = new AtomicLong();
+    private final AtomicLong rehydrationNanos = new AtomicLong();
+
+    /**
+     * @param rules: Rules of the variant played, which sizes the boards
+     * @param gameExecutor: Runs the actions on the games
+     * @param idleSeconds: Time without lookups after which a game is evicted
+     * @param heapBudgetBytes: Heap the live games may take, estimated from the board size
+     * @param evictionIntervalMillis: Time between two eviction sweeps
+     */
+    @Autowired
+    public GameRegistry(Rules rules, GameExecutor gameExecutor,
+                        @Value("#{new Long ('${GAME_IDLE_TTL_SECONDS}')}") Long idleSeconds,
+                        @Value("#{new Long ('${GAME_HEAP_BUDGET_BYTES}')}") Long heapBudgetBytes,
+                        @Value("#{new Long ('${GAME_EVICTION_INTERVAL_MILLIS}')}") Long evictionIntervalMillis) {
+        if (evictionIntervalMillis < 1)
+            throw new IllegalArgumentException("GAME_EVICTION_INTERVAL_MILLIS must be at least 1");
+        this.gameExecutor = gameExecutor;
+        coldGames = new ColdGameStore(rules.getTotalPitCount(),
+                2 * rules.getPitsPerPlayer() * rules.getStartingStoneCount());
+        idleNanos = TimeUnit.SECONDS.toNanos(idleSeconds);
+        long gameBytes = GAME_OVERHEAD_BYTES + ((16 + 4L * rules.getTotalPitCount() + 7) & ~7);
+        maxResidentGames = (int) Math.min(Integer.MAX_VALUE, heapBudgetBytes / gameBytes);
+        this.evictionIntervalMillis = evictionIntervalMillis;
+    }
+
+    /**
+     * Starts the eviction sweeps once the application is up, after the journal has recovered the games.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startEviction() {
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(this::evictIdleGames, evictionIntervalMillis, evictionIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopEviction() {
+        if (evictor != null)
+            evictor.shutdownNow();
+    }
+
+    /**
+     * Creates and registers a new game for the specified board.
+     * @param pits: Freshly initialized board of the new game
+     * @param firstPlayer: Player making the first move (Rules.PLAYER_1 / Rules.PLAYER_2)
+     * @return The registered Game object
+     */
+    public Game createGame(int[] pits, int firstPlayer) {
+        Game game = new Game(nextGameID.incrementAndGet(), pits, firstPlayer, Rules.NO_PLAYER);
+        game.setLastAccess(System.nanoTime());
+        games.put(game.getId(), game);
+        return game;
+    }
+
+    /**
+     * Runs the action on the specified game through its mailbox, and returns its result. A game evicted between the
+     * lookup and the action is looked up again, which rehydrates it, so the action always runs on the live game.
+     * @exception IllegalArgumentException: if no game exists for the id
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T call(long gameID, Function<Game, T> action) {
+        while (true) {
+            Object result = gameExecutor.call(getGame(gameID), game -> game.isEvicted() ? EVICTED : action.apply(game));
+            if (result != EVICTED)
+                return (T) result;
+        }
+    }
+
+    /**
+     * Returns the game registered under the specified id, rehydrating it if it is cold, and marks it used.
+     * Its state may only be used through call: the object returned may even be evicted already.
+     * @exception IllegalArgumentException: if no game exists for the id
+     */
+    public Game getGame(long gameID) {
+        Game game = findGame(gameID);
+        if (game == null)
+            throw new IllegalArgumentException(String.format("Game %d does not exist", gameID));
+        return game;
+    }
+
+    /**
+     * Returns the game registered under the specified id, or null; same as getGame otherwise.
+     */
+    Game findGame(long gameID) {
+        Game game = games.get(gameID);
+        if (game == null)
+            game = rehydrate(gameID);
+        if (game != null)
+            game.setLastAccess(System.nanoTime());
+        return game;
+    }
+
+    /**
+     * Registers a game recovered from the journal under its own id; new games get ids past it.
+     * Games past the heap budget go straight to the cold tier.
+     */
+    void restoreGame(Game game) {
+        game.setLastAccess(System.nanoTime());
+        if (games.size() < maxResidentGames || games.containsKey(game.getId())) {
+            games.put(game.getId(), game);
+        }
+        else {
+            coldGames.put(game);
+            evictions.incrementAndGet();
+        }
+        nextGameID.accumulateAndGet(game.getId(), Math::max);
+    }
+
+    /**
+     * Evicts the games idle for longer than the time to live, then the least recently used ones until the live games
+     * fit in the heap budget.
+     * @return number of games evicted
+     */
+    public int evictIdleGames() {
+        evictionLock.lock();
+        try {
+            long now = System.nanoTime();
+            long threshold = idleNanos;
+            int excess = games.size() - maxResidentGames;
+            if (excess > 0) {
+                long[] idle = games.values().stream().mapToLong(game -> now - game.getLastAccess()).toArray();
+                Arrays.sort(idle);
+                excess = Math.min(excess, idle.length);
+                if (excess > 0)
+                    threshold = Math.min(threshold, idle[idle.length - excess]);
+            }
+            long limit = threshold;
+            int evicted = 0;
+            for (Game game : games.values()) {
+                if (now - game.getLastAccess() < limit)
+                    continue;
+                // A game with an action running or waiting is in use: skip it
+                boolean[] isEvicted = new boolean[1];
+                gameExecutor.tryRun(game, () -> {
+                    // Looked up since the idle times were taken: in use again
+                    if (game.isEvicted() || now - game.getLastAccess() < limit)
+                        return;
+                    try {
+                        coldGames.put(game);
+                    }
+                    catch (RuntimeException e) {
+                        // Stays live: an exception out of a scheduled sweep would cancel all the later ones
+                        log.error("Cannot evict game {}", game.getId(), e);
+                        return;
+                    }
+                    game.setEvicted(true);
+                    games.remove(game.getId(), game);
+                    isEvicted[0] = true;
+                });
+                if (isEvicted[0])
+                    evicted++;
+            }
+            evictions.addAndGet(evicted);
+            return evicted;
+        }
+        finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Moves a cold game back to the live games. Concurrent lookups of the same game share the new object.
+     * The cold copy is dropped only once the live one is registered, so that a snapshot never misses the game.
+     */
+    private Game rehydrate(long gameID) {
+        long start = System.nanoTime();
+        Game game = games.computeIfAbsent(gameID, coldGames::get);
+        if (game == null)
+            return null;
+        gameExecutor.call(game, live -> {
+            // Unless it was evicted again already, and the cold copy is the latest state
+            if (!live.isEvicted() && coldGames.remove(gameID)) {
+                rehydrations.incrementAndGet();
+                rehydrationNanos.addAndGet(System.nanoTime() - start);
+            }
+            return live;
+        });
+        return game;
+    }
+
+    /**
+     * Stops the eviction sweeps until resumeEviction is called by the same thread, so that getGames sees every game.
+     */
+    void pauseEviction() {
+        evictionLock.lock();
+    }
+
+    void resumeEviction() {
+        evictionLock.unlock();
+    }
+
+    /**
+     * Returns a view of every game, for snapshots: copies of the cold games, then of the live ones, each taken through
+     * the game's mailbox. Evictions must be paused while it is iterated. A game rehydrated meanwhile may come twice,
+     * its live state last.
+     */
+    Iterable<Game> getGames() {
+        return () -> new Iterator<Game>() {
+            private final long[] coldIDs = coldGames.getIds();
+            private int index;
+            private Iterator<Game> live;   // Copied as they are iterated
+            private Game next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && index < coldIDs.length)
+                    next = coldGames.get(coldIDs[index++]);
+                if (next != null)
+                    return true;
+                if (live == null)
+                    live = games.values().iterator();
+                return live.hasNext();
+            }
+
+            @Override
+            public Game next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+                if (next == null)
+                    return gameExecutor.call(live.next(), Game::copy);
+                Game game = next;
+                next = null;
+                return game;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of games, live and cold.
+     */
+    public int getGameCount() {
+        return games.size() + coldGames.size();
+    }
+
+    /**
+     * Returns the number of live games, on the heap.
+     */
+    public int getResidentGameCount() {
+        return games.size();
+    }
+
+    public int getColdGameCount() {
+        return coldGames.size();
+    }
+
+    public long getColdGameBytes() {
+        return coldGames.getOffHeapBytes();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getRehydrations() {
+        return rehydrations.get();
+    }
+
+    public double getRehydrationNanos() {
+        return rehydrationNanos.get();
+    }
+}
@@ -0,0 +1,477 @@
+package com.shikhardev.mancala.services;
+
+import com.shikhardev.mancala.ai.SearchResult;
+import com.shikhardev.mancala.dto.AiMoveStatus;
+import com.shikhardev.mancala.dto.BatchMoveStatus;
+import com.shikhardev.mancala.dto.GameDelta;
+import com.shikhardev.mancala.dto.GameStatus;
+import com.shikhardev.mancala.dto.HintStatus;
+import com.shikhardev.mancala.dto.MoveRequest;
+import com.shikhardev.mancala.dto.OutcomeStatus;
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Position;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.models.Game;
+import com.shikhardev.mancala.models.Player;
+import com.shikhardev.mancala.models.PlayerID;
+import com.shikhardev.mancala.tablebase.Tablebase;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Service
+public class GameService {
+
+    private BoardService boardService;
+    private PlayerService playerService;
+    private GameRegistry gameRegistry;
+    private AiService aiService;
+    private HintService hintService;
+    private Rules rules;
+    private Tablebase tablebase;
+    private GameUpdatePublisher gameUpdatePublisher;
+    private GameJournal gameJournal;
+    private GameMetrics gameMetrics;
+    private boolean isMovePreview;
+
+    @Autowired
+    public GameService(BoardService boardService, PlayerService playerService, GameRegistry gameRegistry,
+                       AiService aiService, HintService hintService, Rules rules, Tablebase tablebase,
+                       GameUpdatePublisher gameUpdatePublisher, GameJournal gameJournal, GameMetrics gameMetrics,
+                       @Value("${MOVE_PREVIEW}") boolean isMovePreview) {
+        this.boardService = boardService;
+        this.playerService = playerService;
+        this.gameRegistry = gameRegistry;
+        this.aiService = aiService;
+        this.hintService = hintService;
+        this.rules = rules;
+        this.tablebase = tablebase;
+        this.gameUpdatePublisher = gameUpdatePublisher;
+        this.gameJournal = gameJournal;
+        this.gameMetrics = gameMetrics;
+        this.isMovePreview = isMovePreview;
+    }
+
+    /**
+     * Sets up the board and registers a new game.
+     * Assumes that the first move will be by Player 1.
+     * @return GameStatus object carrying the ID of the new game
+     */
+    public GameStatus initGame() {
+        Game game = gameRegistry.createGame(rules.newBoard(), Rules.PLAYER_1);
+        gameJournal.recordCreate(game);
+        GameStatus gameStatus = getGameStatus(game, true);
+        gameJournal.sync();
+        return gameStatus;
+    }
+
+    /**
+     * Called after every executeMove call. Returns true if game has ended; else false.
+     */
+    public boolean isEndGame(int[] pits) {
+        return rules.isEndGame(pits);
+    }
+
+    /**
+     * Called only if the game has ended.
+     * Collects the remaining stones from the board before checking for the player with higher stone count in their home.
+     * @return Rules.PLAYER_1 / Rules.PLAYER_2 for the player with higher home-stone count. If the number of stones at
+     * both homes are equal, return Rules.NO_PLAYER.
+     */
+    public int getGameWinner(int[] pits) {
+        rules.collectRemainingStones(pits);
+        return rules.getWinner(pits);
+    }
+
+    /**
+     * Builds the GameStatus snapshot of the specified game. Must be called from the game's mailbox, so the board view is
+     * consistent.
+     */
+    private GameStatus getGameStatus(Game game, boolean isLegalMove) {
+        GameStatus gameStatus = new GameStatus();
+        gameStatus.setGameID(game.getId());
+        gameStatus.setSequence(game.getSequence());
+        gameStatus.setCurrentBoardStatus(boardService.toBoard(game.getPits()));
+        gameStatus.setLegalMove(isLegalMove);
+        gameStatus.setNextPlayer(playerService.getPlayerByIndex(game.getNextPlayer()));
+        gameStatus.setEndGame(game.isEndGame());
+        gameStatus.setWinner(playerService.getPlayerByIndex(game.getWinner()));
+        gameStatus.analyzeMoves(rules, game.getPits(), isMovePreview);
+        return gameStatus;
+    }
+
+    /**
+     * Builds the GameDelta of the last move of the specified game: the pits that differ from the board before it.
+     * Must be called from the game's mailbox.
+     * @param before: Stone counts of the board before the move
+     */
+    private GameDelta getGameDelta(Game game, int[] before, boolean isLegalMove) {
+        int[] pits = game.getPits();
+        int changed = 0;
+        for (int i = 0; i < pits.length; i++)
+            if (pits[i] != before[i])
+                changed++;
+        int[] pitIDs = new int[changed];
+        int[] stoneCounts = new int[changed];
+        changed = 0;
+        for (int i = 0; i < pits.length; i++) {
+            if (pits[i] != before[i]) {
+                pitIDs[changed] = i;
+                stoneCounts[changed++] = pits[i];
+            }
+        }
+        GameDelta gameDelta = new GameDelta();
+        gameDelta.setGameID(game.getId());
+        gameDelta.setSequence(game.getSequence());
+        gameDelta.setLegalMove(isLegalMove);
+        gameDelta.setPitIDs(pitIDs);
+        gameDelta.setStoneCounts(stoneCounts);
+        gameDelta.setNextPlayer(playerService.getPlayerByIndex(game.getNextPlayer()).getId());
+        gameDelta.setEndGame(game.isEndGame());
+        gameDelta.setWinner(playerService.getPlayerByIndex(game.getWinner()).getId());
+        gameDelta.setLegalMoves(GameStatus.getLegalMoves(rules, pits));
+        return gameDelta;
+    }
+
+    /**
+     * Returns the current status of the specified game, for clients that (re)synchronize.
+     * @param gameID ID returned by initGame
+     * @exception IllegalArgumentException: if the game does not exist
+     */
+    public GameStatus getGameStatus(long gameID) throws IllegalArgumentException {
+        return withGame(gameID, game -> getGameStatus(game, true));
+    }
+
+    /**
+     * Packs the board and next player of a GameStatus into a Position.
+     */
+    public Position getPosition(GameStatus gameStatus) {
+        return boardService.toPosition(gameStatus.getCurrentBoardStatus(), gameStatus.getNextPlayer());
+    }
+
+    /**
+     * Builds the GameStatus described by a Position, the inverse of getPosition(GameStatus).
+     * The position of a finished game is the board after its remaining stones were collected, so the winner is read
+     * from the homes as they are. The status is not bound to a live game (gameID 0).
+     */
+    public GameStatus getGameStatus(Position position) {
+        int[] pits = position.toArray();
+        boolean isEndGame = isEndGame(pits);
+        GameStatus gameStatus = new GameStatus();
+        gameStatus.setCurrentBoardStatus(boardService.toBoard(pits));
+        gameStatus.setLegalMove(true);
+        gameStatus.setNextPlayer(playerService.getPlayerByIndex(position.getSideToMove()));
+        gameStatus.setEndGame(isEndGame);
+        gameStatus.setWinner(playerService.getPlayerByIndex(isEndGame ? rules.getWinner(pits) : Rules.NO_PLAYER));
+        gameStatus.analyzeMoves(rules, pits, isMovePreview);
+        return gameStatus;
+    }
+
+    /**
+     * Performs all the necessary validations and performs all steps necessary to execute a move. This is the entry
+     * point for clients to make a move request.
+     * Moves on the same game run one at a time through its mailbox; moves on different games run in parallel.
+     * @param gameID ID returned by initGame
+     * @param playerID String {PLAYER_1, PLAYER_2}
+     * @param pitID [0, 13]
+     * @exception IllegalArgumentException: Exception if player id is mis-specified or the game does not exist
+     * @exception IndexOutOfBoundsException: If the pit with specified pitID does not exist (yet)
+     * @return GameStatus object after executing the current move, if everything is valid
+     */
+    public GameStatus executeMove(long gameID, String playerID, int pitID) throws IllegalArgumentException, IndexOutOfBoundsException{
+        int mover = validateMove(playerID, pitID);
+        GameStatus gameStatus = withGame(gameID, game -> play(game, mover, pitID));
+        if (gameStatus.isLegalMove())
+            awaitJournal();
+        return gameStatus;
+    }
+
+    /**
+     * Plays a sequence of moves on a game in one go, with the semantics of executeMove for each. No other move on the
+     * game can come in between. The batch stops at its first illegal move; the moves before it stay played.
+     * All player and pit ids are checked before any move is played, so a malformed batch changes nothing.
+     * @param gameID ID returned by initGame
+     * @param moves: Moves to play, in order
+     * @exception IllegalArgumentException: if a player id is mis-specified or the game does not exist
+     * @exception IndexOutOfBoundsException: if a pitID does not exist
+     * @return BatchMoveStatus object with the GameStatus after the last move played and the index where it stopped;
+     * the status reports an illegal move if the batch stopped
+     */
+    public BatchMoveStatus executeMoves(long gameID, List<MoveRequest> moves) throws IllegalArgumentException, IndexOutOfBoundsException {
+        int[] movers = new int[moves.size()];
+        for (int i = 0; i < movers.length; i++) {
+            MoveRequest move = moves.get(i);
+            movers[i] = getMover(move.getPlayerID());
+            if (move.getPitID() < 0 || move.getPitID() >= rules.getTotalPitCount())
+                throw new IndexOutOfBoundsException(String.format("ID %d is invalid ID or board uninitiated", move.getPitID()));
+        }
+        BatchMoveStatus batchMoveStatus = withGame(gameID, game -> {
+            BatchMoveStatus batch = new BatchMoveStatus();
+            batch.setStoppedAt(-1);
+            GameStatus gameStatus = null;
+            for (int i = 0; i < movers.length; i++) {
+                gameStatus = play(game, movers[i], moves.get(i).getPitID());
+                if (!gameStatus.isLegalMove()) {
+                    batch.setStoppedAt(i);
+                    break;
+                }
+                batch.setMovesPlayed(i + 1);
+            }
+            batch.setGameStatus(gameStatus != null ? gameStatus : getGameStatus(game, true));
+            return batch;
+        });
+        if (batchMoveStatus.getMovesPlayed() > 0)
+            awaitJournal();
+        return batchMoveStatus;
+    }
+
+    /**
+     * Same as executeMove, answering with the changes made by the move instead of the whole status.
+     * @return GameDelta object of the move; an illegal move changes no pit
+     */
+    public GameDelta executeMoveDelta(long gameID, String playerID, int pitID) throws IllegalArgumentException, IndexOutOfBoundsException {
+        int mover = validateMove(playerID, pitID);
+        GameDelta gameDelta = withGame(gameID, game -> play(game, mover, pitID, PlayedMove::getGameDelta));
+        if (gameDelta.isLegalMove())
+            awaitJournal();
+        return gameDelta;
+    }
+
+    /**
+     * Lets the computer play the move of the specified player. The computer only moves on its own turn in a running
+     * game, and only if no other move was played on the game during its search; otherwise nothing is played and the
+     * status reports an illegal move.
+     * @param gameID ID returned by initGame
+     * @param playerID String {PLAYER_1, PLAYER_2}: side the computer plays
+     * @exception IllegalArgumentException: Exception if player id is mis-specified or the game does not exist
+     * @return AiMoveStatus object with the GameStatus after the move and the search statistics
+     */
+    public AiMoveStatus executeAiMove(long gameID, String playerID) throws IllegalArgumentException {
+        int mover = getMover(playerID);
+        AiMoveStatus aiMoveStatus = new AiMoveStatus();
+        aiMoveStatus.setPitID(-1);
+        // The search runs on a copy, outside the game's mailbox, so the game stays responsive meanwhile
+        Game position = withGame(gameID, Game::copy);
+        if (position.isEndGame() || position.getNextPlayer() != mover) {
+            aiMoveStatus.setGameStatus(getGameStatus(position, false));
+            return aiMoveStatus;
+        }
+        SearchResult result = aiService.findBestMove(position.getPits(), mover);
+        aiMoveStatus.setScore(result.getScore());
+        aiMoveStatus.setDepth(result.getDepth());
+        aiMoveStatus.setNodes(result.getNodes());
+        aiMoveStatus.setNodesPerSecond(result.getNodesPerSecond());
+        aiMoveStatus.setTableHitRate(result.getTableHitRate());
+        aiMoveStatus.setElapsedMillis(result.getElapsedNanos() / 1e6);
+        if (result.getBestPit() < 0) {
+            aiMoveStatus.setGameStatus(getGameStatus(position, false));
+            return aiMoveStatus;
+        }
+        // Only played if no other move came in during the search
+        aiMoveStatus.setGameStatus(withGame(gameID, game -> game.getSequence() == position.getSequence() ?
+                play(game, mover, result.getBestPit()) :
+                getGameStatus(game, false)));
+        if (aiMoveStatus.getGameStatus().isLegalMove())
+            aiMoveStatus.setPitID(result.getBestPit());
+        if (aiMoveStatus.getPitID() >= 0)
+            awaitJournal();
+        return aiMoveStatus;
+    }
+
+    /**
+     * Suggests a move to the player to move in the specified game, with the computer's evaluation of the position.
+     * The search runs outside the game's mailbox, and its result is cached for every game reaching the position.
+     * @param gameID ID returned by initGame
+     * @exception IllegalArgumentException: if the game does not exist
+     * @return HintStatus object; pitID is -1 if the game has ended
+     */
+    public HintStatus getHint(long gameID) throws IllegalArgumentException {
+        Game position = withGame(gameID, Game::copy);
+        HintStatus hintStatus;
+        if (position.isEndGame()) {
+            hintStatus = new HintStatus();
+            hintStatus.setPitID(-1);
+        }
+        else {
+            hintStatus = hintService.getHint(position.getPits(), position.getNextPlayer());
+        }
+        hintStatus.setGameID(gameID);
+        hintStatus.setSequence(position.getSequence());
+        hintStatus.setPlayer(playerService.getPlayerByIndex(position.getNextPlayer()).getId());
+        return hintStatus;
+    }
+
+    /**
+     * Tells who wins the specified game from its current position with perfect play. A finished game reports its
+     * result; a running game is solved if few enough stones are left in play for the endgame tablebase.
+     * @param gameID ID returned by initGame
+     * @exception IllegalArgumentException: if the game does not exist
+     * @return OutcomeStatus object; isSolved is false if the outcome is not known
+     */
+    public OutcomeStatus getOutcome(long gameID) throws IllegalArgumentException {
+        return withGame(gameID, game -> {
+            OutcomeStatus outcomeStatus = new OutcomeStatus();
+            outcomeStatus.setGameID(gameID);
+            outcomeStatus.setWinner(playerService.getPlayerByIndex(Rules.NO_PLAYER));
+            int[] pits = game.getPits();
+            int home1 = pits[rules.getHome(Rules.PLAYER_1)];
+            int home2 = pits[rules.getHome(Rules.PLAYER_2)];
+            if (game.isEndGame()) {
+                outcomeStatus.setSolved(true);
+                outcomeStatus.setWinner(playerService.getPlayerByIndex(game.getWinner()));
+                outcomeStatus.setPlayer1HomeCount(home1);
+                outcomeStatus.setPlayer2HomeCount(home2);
+                return outcomeStatus;
+            }
+            int stonesInPlay = Tablebase.getStonesInPlay(rules, pits);
+            outcomeStatus.setStonesInPlay(stonesInPlay);
+            if (!tablebase.covers(stonesInPlay))
+                return outcomeStatus;
+            // Value for player 1: the stones in play split into (stonesInPlay + value) / 2 and (stonesInPlay - value) / 2
+            int value = tablebase.getValue(pits, game.getNextPlayer());
+            if (game.getNextPlayer() == Rules.PLAYER_2)
+                value = -value;
+            home1 += (stonesInPlay + value) / 2;
+            home2 += (stonesInPlay - value) / 2;
+            outcomeStatus.setSolved(true);
+            outcomeStatus.setPlayer1HomeCount(home1);
+            outcomeStatus.setPlayer2HomeCount(home2);
+            outcomeStatus.setWinner(playerService.getPlayerByIndex(
+                    home1 > home2 ? Rules.PLAYER_1 : home2 > home1 ? Rules.PLAYER_2 : Rules.NO_PLAYER));
+            return outcomeStatus;
+        });
+    }
+
+    /**
+     * Registers a WebSocket session for the live updates of the specified game, and sends it the current status.
+     * @param gameID ID returned by initGame
+     * @param delta: true for a GameDelta per move after the first status, false for a GameStatus
+     * @exception IllegalArgumentException: if the game does not exist
+     */
+    public void subscribe(long gameID, WebSocketSession session, boolean delta) throws IllegalArgumentException {
+        withGame(gameID, game -> {
+            gameUpdatePublisher.subscribe(gameID, session, delta, getGameStatus(game, true));
+            return session;
+        });
+    }
+
+    /**
+     * Runs the action on the specified game through its mailbox (see GameRegistry.call).
+     * @exception IllegalArgumentException: if the game does not exist
+     */
+    private <T> T withGame(long gameID, Function<Game, T> action) {
+        return gameRegistry.call(gameID, action);
+    }
+
+    /**
+     * Returns the rules engine player for a client supplied player id.
+     * @exception IllegalArgumentException: if the id is not PLAYER_1 or PLAYER_2
+     */
+    private int getMover(String playerID) {
+        Player player = playerService.getPlayerById(PlayerID.valueOf(playerID));
+        if (player.getId() == PlayerID.None)
+            throw new IllegalArgumentException("Invalid Player ID");
+        return playerService.getPlayerIndex(player.getId());
+    }
+
+    /**
+     * Validates and plays a move on the game, and pushes the new status to the game's watchers.
+     * Must be called from the game's mailbox.
+     */
+    private GameStatus play(Game game, int mover, int pitID) {
+        return play(game, mover, pitID, PlayedMove::getGameStatus);
+    }
+
+    /**
+     * Validates and plays a move on the game, builds the reply to the client from the board before the move and its
+     * legality, and pushes the move to the game's watchers, reusing the reply for those asking for the same form.
+     * Must be called from the game's mailbox.
+     * @param reply: Builds the reply, GameStatus or GameDelta, of the played move
+     */
+    private <T> T play(Game game, int mover, int pitID, Function<PlayedMove, T> reply) {
+        PlayedMove playedMove = new PlayedMove(game);
+        long start = System.nanoTime();
+        playedMove.isLegalMove = applyMove(game, mover, pitID);
+        long applied = System.nanoTime();
+        gameMetrics.recordPhase(GameMetrics.Phase.APPLY, applied - start);
+        T response = reply.apply(playedMove);     // Everything remains the same if illegal
+        gameMetrics.recordPhase(GameMetrics.Phase.STATUS, System.nanoTime() - applied);
+        if (playedMove.isLegalMove)
+            gameUpdatePublisher.publish(game.getId(), playedMove::getGameStatus, playedMove::getGameDelta);
+        return response;
+    }
+
+    /**
+     * A move just played on a game: the board before it and its legality. The GameStatus and GameDelta of the move are
+     * built on first use, from the game's mailbox, and kept for the next one.
+     */
+    private final class PlayedMove {
+
+        private final Game game;
+        private final int[] before;
+        private boolean isLegalMove;
+        private GameStatus gameStatus;
+        private GameDelta gameDelta;
+
+        private PlayedMove(Game game) {
+            this.game = game;
+            this.before = game.getPits().clone();
+        }
+
+        private GameStatus getGameStatus() {
+            if (gameStatus == null)
+                gameStatus = GameService.this.getGameStatus(game, isLegalMove);
+            return gameStatus;
+        }
+
+        private GameDelta getGameDelta() {
+            if (gameDelta == null)
+                gameDelta = GameService.this.getGameDelta(game, before, isLegalMove);
+            return gameDelta;
+        }
+    }
+
+    /**
+     * Validates and plays a move on the game, appends it to the journal and counts it. Must be called from the
+     * game's mailbox.
+     * @return true if the move was legal and played
+     */
+    private boolean applyMove(Game game, int mover, int pitID) {
+        int outcome = game.play(rules, mover, pitID);
+        gameMetrics.recordOutcome(outcome, game.isEndGame() && MoveOutcome.isLegal(outcome));
+        if (!MoveOutcome.isLegal(outcome))
+            return false;
+        gameJournal.recordMove(game, mover, pitID);
+        return true;
+    }
+
+    /**
+     * Checks the player and pit ids of a move request.
+     * @return rules engine player of the mover
+     * @exception IllegalArgumentException: if the player id is mis-specified
+     * @exception IndexOutOfBoundsException: if the pit does not exist
+     */
+    private int validateMove(String playerID, int pitID) {
+        long start = System.nanoTime();
+        int mover = getMover(playerID);
+        if (pitID < 0 || pitID >= rules.getTotalPitCount())
+            throw new IndexOutOfBoundsException(String.format("ID %d is invalid ID or board uninitiated", pitID));
+        gameMetrics.recordPhase(GameMetrics.Phase.VALIDATE, System.nanoTime() - start);
+        return mover;
+    }
+
+    /**
+     * Waits until the moves played so far are durable, if there is a journal.
+     */
+    private void awaitJournal() {
+        if (!gameJournal.isEnabled())
+            return;
+        long start = System.nanoTime();
+        gameJournal.sync();
+        gameMetrics.recordPhase(GameMetrics.Phase.JOURNAL, System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,214 @@
+package com.shikhardev.mancala.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shikhardev.mancala.dto.GameDelta;
+import com.shikhardev.mancala.dto.GameStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pushes the GameStatus of every committed move to the WebSocket sessions watching the game: both players and any
+ * spectators. A session watches either the full GameStatus or the GameDelta of every move; each form is serialized
+ * once per move, and only if a session watches it.
+ * Sessions are kept per game ID in concurrent maps, so publishing to one game never waits for another.
+ * Publishing only queues the messages, in move order, in the outbox of each session; the messages are written to the
+ * sockets by the threads of a separate executor, one thread at a time per session. So a slow client never holds up
+ * the game's mailbox, nor the request that made the move. A client whose outbox grows beyond
+ * WEBSOCKET_BUFFER_SIZE_LIMIT bytes, or whose current message has been blocked for more than
+ * WEBSOCKET_SEND_TIME_LIMIT_MILLIS, is disconnected.
+ */
+@Service
+public class GameUpdatePublisher {
+
+    private final Map<Long, Map<String, Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper;
+    private final ExecutorService sender = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "websocket-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Value("#{new Integer ('${WEBSOCKET_SEND_TIME_LIMIT_MILLIS}')}")
+    private Integer WEBSOCKET_SEND_TIME_LIMIT_MILLIS;
+
+    @Value("#{new Integer ('${WEBSOCKET_BUFFER_SIZE_LIMIT}')}")
+    private Integer WEBSOCKET_BUFFER_SIZE_LIMIT;
+
+    private static final class Subscriber {
+
+        final long gameID;
+        final WebSocketSession session;
+        final boolean delta;    // Sent a GameDelta per move rather than a GameStatus
+        final Queue<TextMessage> outbox = new ConcurrentLinkedQueue<>();
+        final AtomicLong outboxBytes = new AtomicLong();
+        final AtomicBoolean isDraining = new AtomicBoolean();  // A sender thread owns the session
+        volatile boolean isSending;
+        volatile long sendStartNanos;
+        volatile boolean isClosed;
+
+        Subscriber(long gameID, WebSocketSession session, boolean delta) {
+            this.gameID = gameID;
+            this.session = session;
+            this.delta = delta;
+        }
+    }
+
+    @Autowired
+    public GameUpdatePublisher(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Registers a session for the updates of the specified game and sends it the current status.
+     * Called by GameService from the game's mailbox, so no update can slip in between.
+     * @param gameID: ID of a live game
+     * @param session: Session opened by the client
+     * @param delta: true to be sent a GameDelta per move, false for a GameStatus
+     * @param gameStatus: Current status of the game
+     */
+    void subscribe(long gameID, WebSocketSession session, boolean delta, GameStatus gameStatus) {
+        Subscriber subscriber = new Subscriber(gameID, session, delta);
+        subscribers.computeIfAbsent(gameID, id -> new ConcurrentHashMap<>()).put(session.getId(), subscriber);
+        enqueue(subscriber, toMessage(gameStatus));
+    }
+
+    @PreDestroy
+    public void stopSending() {
+        sender.shutdownNow();
+    }
+
+    /**
+     * Removes a session from the updates of the specified game; the game's entry goes with its last session.
+     */
+    public void unsubscribe(long gameID, WebSocketSession session) {
+        subscribers.computeIfPresent(gameID, (id, sessions) -> {
+            Subscriber subscriber = sessions.remove(session.getId());
+            if (subscriber != null)
+                subscriber.isClosed = true;
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    /**
+     * Queues a move for every session watching its game, in the form each one asked for. The forms are only built when
+     * a session needs them. Called by GameService from the game's mailbox, so updates of a game are queued, and sent,
+     * in move order; the call itself never waits for a socket.
+     * @param gameStatus: Builds the status after the move
+     * @param gameDelta: Builds the changes made by the move
+     */
+    void publish(long gameID, Supplier<GameStatus> gameStatus, Supplier<GameDelta> gameDelta) {
+        Map<String, Subscriber> sessions = subscribers.get(gameID);
+        if (sessions == null || sessions.isEmpty())
+            return;
+        TextMessage statusMessage = null;
+        TextMessage deltaMessage = null;
+        for (Subscriber subscriber : sessions.values()) {
+            if (subscriber.delta) {
+                if (deltaMessage == null)
+                    deltaMessage = toMessage(gameDelta.get());
+                enqueue(subscriber, deltaMessage);
+            }
+            else {
+                if (statusMessage == null)
+                    statusMessage = toMessage(gameStatus.get());
+                enqueue(subscriber, statusMessage);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of sessions watching the specified game.
+     */
+    public int getSubscriberCount(long gameID) {
+        Map<String, Subscriber> sessions = subscribers.get(gameID);
+        return sessions == null ? 0 : sessions.size();
+    }
+
+    private TextMessage toMessage(Object update) {
+        try {
+            return new TextMessage(objectMapper.writeValueAsBytes(update));
+        }
+        catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize the game status", e);
+        }
+    }
+
+    /**
+     * Adds a message to the outbox of a session, and has a sender thread drain it unless one already does. A session
+     * over its buffer or time limit is dropped instead.
+     */
+    private void enqueue(Subscriber subscriber, TextMessage message) {
+        if (subscriber.isClosed)
+            return;
+        long bytes = subscriber.outboxBytes.addAndGet(message.getPayloadLength());
+        if (bytes > WEBSOCKET_BUFFER_SIZE_LIMIT || subscriber.isSending && System.nanoTime() -
+                subscriber.sendStartNanos > TimeUnit.MILLISECONDS.toNanos(WEBSOCKET_SEND_TIME_LIMIT_MILLIS)) {
+            drop(subscriber);
+            return;
+        }
+        subscriber.outbox.add(message);
+        if (subscriber.isDraining.compareAndSet(false, true))
+            sender.execute(() -> drain(subscriber));
+    }
+
+    /**
+     * Sends the messages of an outbox in order, until it is empty. Runs on a sender thread, which owns the session
+     * until it gives up isDraining; a message queued meanwhile is picked up before it returns.
+     */
+    private void drain(Subscriber subscriber) {
+        do {
+            TextMessage message;
+            while (!subscriber.isClosed && (message = subscriber.outbox.poll()) != null) {
+                subscriber.sendStartNanos = System.nanoTime();
+                subscriber.isSending = true;
+                try {
+                    subscriber.session.sendMessage(message);
+                }
+                catch (IOException | RuntimeException e) {
+                    drop(subscriber);
+                }
+                finally {
+                    subscriber.isSending = false;
+                }
+                subscriber.outboxBytes.addAndGet(-message.getPayloadLength());
+            }
+            subscriber.isDraining.set(false);
+        } while (!subscriber.isClosed && !subscriber.outbox.isEmpty() &&
+                subscriber.isDraining.compareAndSet(false, true));
+    }
+
+    /**
+     * Drops a session that cannot keep up, and closes it on a sender thread.
+     */
+    private void drop(Subscriber subscriber) {
+        unsubscribe(subscriber.gameID, subscriber.session);
+        subscriber.isClosed = true;
+        subscriber.outbox.clear();
+        sender.execute(() -> {
+            try {
+                subscriber.session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            }
+            catch (IOException ignored) {
+                // Already gone
+            }
+        });
+    }
+}
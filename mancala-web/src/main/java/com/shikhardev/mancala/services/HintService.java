@@ -0,0 +1,98 @@
+package com.shikhardev.mancala.services;
+
+import com.shikhardev.mancala.ai.SearchResult;
+import com.shikhardev.mancala.cache.LruCache;
+import com.shikhardev.mancala.dto.HintStatus;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.engine.Zobrist;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+
+/**
+ * Suggests moves. A hint is the computer's search of the position, which takes the whole AI_TIME_BUDGET_MILLIS, so
+ * hints are kept in an LruCache of HINT_CACHE_BYTES shared by all games, keyed by the Zobrist hash of the position:
+ * openings and common lines are searched once, whichever game reaches them, and simultaneous requests for the same
+ * position wait for a single search. The key keeps the board as well, so two positions whose hashes collide are told
+ * apart.
+ */
+@Service
+public class HintService {
+
+    // Heap of a cache entry beyond the board: key, map entry, cache node and its future, SearchResult
+    private static final int ENTRY_OVERHEAD_BYTES = 32 + 40 + 24 + 40 + 56;
+
+    private final AiService aiService;
+    private final Zobrist zobrist;
+    private final LruCache<PositionKey, SearchResult> cache;
+
+    /**
+     * Board and side to move, hashed by its Zobrist hash.
+     */
+    private static final class PositionKey {
+        final long hash;
+        final int[] pits;
+        final int sideToMove;
+
+        PositionKey(long hash, int[] pits, int sideToMove) {
+            this.hash = hash;
+            this.pits = pits;
+            this.sideToMove = sideToMove;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof PositionKey))
+                return false;
+            PositionKey other = (PositionKey) o;
+            return hash == other.hash && sideToMove == other.sideToMove && Arrays.equals(pits, other.pits);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(hash);
+        }
+    }
+
+    /**
+     * @param cacheBytes: Heap the cached hints may take, estimated from the board size
+     */
+    @Autowired
+    public HintService(Rules rules, AiService aiService,
+                       @Value("#{new Long ('${HINT_CACHE_BYTES}')}") Long cacheBytes) {
+        this.aiService = aiService;
+        zobrist = Zobrist.forRules(rules);
+        long entryBytes = ENTRY_OVERHEAD_BYTES + ((16 + 4L * rules.getTotalPitCount() + 7) & ~7);
+        cache = new LruCache<>(cacheBytes, (key, result) -> entryBytes);
+    }
+
+    /**
+     * Returns the best move and the evaluation of a position for the side to move, from the cache or a new search.
+     * @param pits: Board of a running game; left unchanged
+     * @param sideToMove: Rules.PLAYER_1 or Rules.PLAYER_2
+     * @return HintStatus object with the move, score, depth and isCached set
+     */
+    public HintStatus getHint(int[] pits, int sideToMove) {
+        PositionKey key = new PositionKey(zobrist.hash(pits, sideToMove), pits.clone(), sideToMove);
+        boolean[] isSearched = new boolean[1];
+        SearchResult result = cache.get(key, position -> {
+            isSearched[0] = true;
+            return aiService.findBestMove(position.pits, position.sideToMove);
+        });
+        HintStatus hintStatus = new HintStatus();
+        hintStatus.setPitID(result.getBestPit());
+        hintStatus.setScore(result.getScore());
+        hintStatus.setDepth(result.getDepth());
+        hintStatus.setCached(!isSearched[0]);
+        return hintStatus;
+    }
+
+    /**
+     * Returns the cache of hints, for the metrics.
+     */
+    public LruCache<?, ?> getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,88 @@
+package com.shikhardev.mancala.services;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency recorder of one timed route or phase, written with primitive atomics only, so that recording allocates
+ * nothing whatever the JIT inlines: a Micrometer Timer would update its TimeWindowMax through a capturing lambda.
+ *
+ * Latencies are counted in buckets of powers of two nanoseconds: bucket i holds the latencies in [2^(i-1), 2^i), and
+ * bucket 0 the latencies of 0. GameMetrics publishes the count and total as a FunctionTimer, the cumulative bucket
+ * counts as a histogram, and the maximum. The maximum covers the current and the previous window of WINDOW_NANOS,
+ * like the decaying maximum of a Micrometer Timer.
+ */
+public final class LatencyHistogram {
+
+    public static final int BUCKETS = 64;
+    static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final long ORIGIN = System.nanoTime();
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray windowMax = new AtomicLongArray(2);      // Maximum of the even and odd windows
+    private final AtomicLongArray windowIndex = new AtomicLongArray(2);    // Window each slot is for
+
+    /**
+     * Returns the bucket of a latency: the number of bits it takes.
+     */
+    static int bucket(long nanos) {
+        return 64 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * @param nanos: Latency to record; a negative one, from a clock going back, counts as 0
+     */
+    public void record(long nanos) {
+        nanos = Math.max(0, nanos);
+        count.increment();
+        totalNanos.add(nanos);
+        buckets.incrementAndGet(bucket(nanos));
+
+        long window = (System.nanoTime() - ORIGIN) / WINDOW_NANOS;
+        int slot = (int) (window & 1);
+        long slotWindow = windowIndex.get(slot);
+        // A record racing with the reset of a new window may be lost: the maximum is a monitoring aid, not an exact
+        // statistic
+        if (slotWindow != window && windowIndex.compareAndSet(slot, slotWindow, window))
+            windowMax.set(slot, 0);
+        long max;
+        while (nanos > (max = windowMax.get(slot)) && !windowMax.compareAndSet(slot, max, nanos))
+            ;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Returns the number of latencies recorded below 2^bucket nanoseconds.
+     */
+    public long getCumulativeCount(int bucket) {
+        long cumulative = 0;
+        for (int i = 0; i <= bucket && i < BUCKETS; i++)
+            cumulative += buckets.get(i);
+        return cumulative;
+    }
+
+    /**
+     * Returns the largest latency recorded in the current or the previous window, in nanoseconds.
+     */
+    public long getMaxNanos() {
+        long window = (System.nanoTime() - ORIGIN) / WINDOW_NANOS;
+        long max = 0;
+        for (int slot = 0; slot < 2; slot++) {
+            long slotWindow = windowIndex.get(slot);
+            if (slotWindow == window || slotWindow == window - 1)
+                max = Math.max(max, windowMax.get(slot));
+        }
+        return max;
+    }
+}
@@ -0,0 +1,293 @@
+package com.shikhardev.mancala.services;
+
+import com.shikhardev.mancala.dto.MatchStatus;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.matchmaking.PairingQueue;
+import com.shikhardev.mancala.matchmaking.Ticket;
+import com.shikhardev.mancala.models.PlayerID;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pairs players who do not know each other into new games. A player joins the queue of a variant and, optionally, of
+ * a rating band (MATCHMAKING_BAND_WIDTH points wide), and gets a ticket. The next player joining the same queue is
+ * matched with them: a game is created on the spot, the player who waited gets PLAYER_1 and moves first, and the
+ * newcomer gets PLAYER_2. A waiting player polls their ticket until it is matched.
+ *
+ * Pairing is a PairingQueue, so a join never blocks: it is a couple of compare-and-sets, plus the game creation when
+ * it makes a match. A waiting player who has not polled their ticket for MATCHMAKING_TICKET_TTL_MILLIS is gone: a
+ * join drops them from the queue rather than pairing with them, and a periodic sweep expires them and forgets the
+ * tickets nobody polls anymore.
+ *
+ * The server plays a single variant (PITS_PER_PLAYER x STARTING_STONE_COUNT, e.g. 6x6); joins for another one are
+ * refused, but queues are keyed by variant, so players of different variants never meet.
+ *
+ * Meters, under /actuator/metrics: mancala.matchmaking.wait (time matched players waited), .match.rate (share of
+ * tickets matched rather than cancelled or expired), .waiting, .joins, .matches, .cancellations and .expirations.
+ * Like GameMetrics, the service registers them itself: a MeterBinder would depend on it, and through GameService on
+ * GameMetrics and the registry.
+ */
+@Service
+public class MatchmakingService {
+
+    public static final int MAX_RATING = 10_000;
+
+    private final GameService gameService;
+    private final String variant;
+    private final int bandWidth;
+    private final long ticketTtlNanos;
+    private final long sweepIntervalMillis;
+    private final PairingQueue<String, Ticket> queue = new PairingQueue<>();
+    private final Map<Long, Ticket> tickets = new ConcurrentHashMap<>();
+    private final AtomicLong nextTicketID = new AtomicLong();
+    private ScheduledExecutorService sweeper;
+
+    private final LongAdder joins = new LongAdder();
+    private final LongAdder matches = new LongAdder();
+    private final LongAdder matchedTickets = new LongAdder();
+    private final LongAdder matchedWaitNanos = new LongAdder();
+    private final LongAdder cancellations = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * @param bandWidth: Rating points in a band; players are only matched within their band
+     * @param ticketTtlMillis: Time without a poll after which a ticket expires
+     * @param sweepIntervalMillis: Time between two sweeps of the expired tickets
+     */
+    @Autowired
+    public MatchmakingService(GameService gameService, Rules rules, MeterRegistry registry,
+                              @Value("#{new Integer ('${MATCHMAKING_BAND_WIDTH}')}") Integer bandWidth,
+                              @Value("#{new Long ('${MATCHMAKING_TICKET_TTL_MILLIS}')}") Long ticketTtlMillis,
+                              @Value("#{new Long ('${MATCHMAKING_SWEEP_INTERVAL_MILLIS}')}") Long sweepIntervalMillis) {
+        if (bandWidth < 1)
+            throw new IllegalArgumentException("MATCHMAKING_BAND_WIDTH must be at least 1");
+        if (sweepIntervalMillis < 1)
+            throw new IllegalArgumentException("MATCHMAKING_SWEEP_INTERVAL_MILLIS must be at least 1");
+        this.gameService = gameService;
+        this.variant = rules.getPitsPerPlayer() + "x" + rules.getStartingStoneCount();
+        this.bandWidth = bandWidth;
+        this.ticketTtlNanos = TimeUnit.MILLISECONDS.toNanos(ticketTtlMillis);
+        this.sweepIntervalMillis = sweepIntervalMillis;
+        registerMeters(registry);
+    }
+
+    private void registerMeters(MeterRegistry registry) {
+        Gauge.builder("mancala.matchmaking.waiting", this, MatchmakingService::getWaiting)
+                .description("Players waiting in the matchmaking queues")
+                .register(registry);
+        FunctionCounter.builder("mancala.matchmaking.joins", this, MatchmakingService::getJoins)
+                .description("Players who joined a matchmaking queue")
+                .register(registry);
+        FunctionCounter.builder("mancala.matchmaking.matches", this, MatchmakingService::getMatches)
+                .description("Games created by matchmaking")
+                .register(registry);
+        FunctionCounter.builder("mancala.matchmaking.cancellations", this, MatchmakingService::getCancellations)
+                .description("Players who left a matchmaking queue")
+                .register(registry);
+        FunctionCounter.builder("mancala.matchmaking.expirations", this, MatchmakingService::getExpirations)
+                .description("Waiting players dropped after they stopped polling their ticket")
+                .register(registry);
+        Gauge.builder("mancala.matchmaking.match.rate", this, MatchmakingService::getMatchRate)
+                .description("Share of tickets matched rather than cancelled or expired")
+                .register(registry);
+        FunctionTimer.builder("mancala.matchmaking.wait", this, MatchmakingService::getMatchedTickets,
+                        MatchmakingService::getMatchedWaitNanos, TimeUnit.NANOSECONDS)
+                .description("Time matched players waited in their queue")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startSweeps() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "matchmaking-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::expireTickets, sweepIntervalMillis, sweepIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopSweeps() {
+        if (sweeper != null)
+            sweeper.shutdownNow();
+    }
+
+    /**
+     * Puts the player in a queue, and matches them at once if someone is waiting there.
+     * @param variant: Variant to play, e.g. 6x6; null or empty for the variant of the server
+     * @param rating: Rating of the player, in [0, MAX_RATING]; null to be matched with anyone without a rating
+     * @return MatchStatus of the new ticket, MATCHED or WAITING
+     * @exception IllegalArgumentException: if the server does not play the variant, or the rating is out of range
+     */
+    public MatchStatus join(String variant, Integer rating) throws IllegalArgumentException {
+        if (variant != null && !variant.isEmpty() && !variant.equals(this.variant))
+            throw new IllegalArgumentException(String.format("Variant %s is not played here, only %s", variant,
+                    this.variant));
+        if (rating != null && (rating < 0 || rating > MAX_RATING))
+            throw new IllegalArgumentException(String.format("Rating must be in [0, %d]", MAX_RATING));
+
+        long now = System.nanoTime();
+        String queueName = this.variant + "/" + (rating == null ? "any" : Integer.toString(rating / bandWidth));
+        Ticket ticket = new Ticket(nextTicketID.incrementAndGet(), queueName, now);
+        tickets.put(ticket.getId(), ticket);
+        joins.increment();
+
+        Ticket waiting = queue.offer(queueName, ticket, other -> !isStale(other, now), this::expire);
+        if (waiting != null) {
+            long gameID;
+            try {
+                gameID = gameService.initGame().getGameID();
+            } catch (RuntimeException e) {
+                // Both tickets are out of the queue: close them, or the waiting player would wait for good
+                waiting.closed(Ticket.State.FAILED);
+                ticket.closed(Ticket.State.FAILED);
+                throw e;
+            }
+            long matchNanos = System.nanoTime();
+            waiting.matched(gameID, PlayerID.PLAYER_1, matchNanos);
+            ticket.matched(gameID, PlayerID.PLAYER_2, matchNanos);
+            matches.increment();
+            matchedTickets.add(2);
+            matchedWaitNanos.add(waiting.getWaitNanos() + ticket.getWaitNanos());
+        }
+        return toMatchStatus(ticket, now);
+    }
+
+    /**
+     * Returns the status of a ticket, and keeps it from expiring.
+     * @exception IllegalArgumentException: if the ticket does not exist, or has been forgotten
+     */
+    public MatchStatus getTicket(long ticketID) throws IllegalArgumentException {
+        long now = System.nanoTime();
+        Ticket ticket = findTicket(ticketID);
+        ticket.seen(now);
+        return toMatchStatus(ticket, now);
+    }
+
+    /**
+     * Takes a waiting player out of their queue. A ticket that is already matched stays matched: the status returned
+     * tells which happened, and WAITING means that the match is being made, so the player should poll the ticket.
+     * @exception IllegalArgumentException: if the ticket does not exist, or has been forgotten
+     */
+    public MatchStatus leave(long ticketID) throws IllegalArgumentException {
+        long now = System.nanoTime();
+        Ticket ticket = findTicket(ticketID);
+        ticket.seen(now);
+        if (queue.remove(ticket.getQueue(), ticket)) {
+            ticket.closed(Ticket.State.CANCELLED);
+            cancellations.increment();
+        }
+        return toMatchStatus(ticket, now);
+    }
+
+    /**
+     * Expires the waiting tickets that have not been polled for MATCHMAKING_TICKET_TTL_MILLIS, and forgets the other
+     * tickets nobody polled for as long.
+     */
+    public void expireTickets() {
+        long now = System.nanoTime();
+        for (Ticket ticket : tickets.values()) {
+            if (!isStale(ticket, now))
+                continue;
+            // A stale ticket that is WAITING but no longer queued is being matched: its player stopped polling, so it
+            // is forgotten all the same
+            if (ticket.getState() == Ticket.State.WAITING && queue.remove(ticket.getQueue(), ticket))
+                expire(ticket);
+            tickets.remove(ticket.getId());
+        }
+    }
+
+    private Ticket findTicket(long ticketID) {
+        Ticket ticket = tickets.get(ticketID);
+        if (ticket == null)
+            throw new IllegalArgumentException(String.format("Ticket %d does not exist", ticketID));
+        return ticket;
+    }
+
+    private boolean isStale(Ticket ticket, long now) {
+        return now - ticket.getLastSeenNanos() > ticketTtlNanos;
+    }
+
+    private void expire(Ticket ticket) {
+        ticket.closed(Ticket.State.EXPIRED);
+        expirations.increment();
+    }
+
+    private MatchStatus toMatchStatus(Ticket ticket, long now) {
+        MatchStatus matchStatus = new MatchStatus();
+        matchStatus.setTicketID(ticket.getId());
+        matchStatus.setQueue(ticket.getQueue());
+        Ticket.State state = ticket.getState();     // Read first: the game and seat are written before the state
+        matchStatus.setState(state);
+        matchStatus.setGameID(ticket.getGameID());
+        matchStatus.setPlayerID(ticket.getPlayerID());
+        long waitNanos = state == Ticket.State.MATCHED ? ticket.getWaitNanos() : now - ticket.getJoinNanos();
+        matchStatus.setWaitMillis(TimeUnit.NANOSECONDS.toMillis(Math.max(0, waitNanos)));
+        return matchStatus;
+    }
+
+    /**
+     * Returns the number of players waiting in the queues.
+     */
+    public long getWaiting() {
+        return queue.getWaiting();
+    }
+
+    public long getJoins() {
+        return joins.sum();
+    }
+
+    /**
+     * Returns the number of games created by matchmaking.
+     */
+    public long getMatches() {
+        return matches.sum();
+    }
+
+    /**
+     * Returns the number of tickets matched, two per game, for the wait time of the players.
+     */
+    public long getMatchedTickets() {
+        return matchedTickets.sum();
+    }
+
+    /**
+     * Returns the total time the matched tickets waited in their queue, in nanoseconds.
+     */
+    public long getMatchedWaitNanos() {
+        return matchedWaitNanos.sum();
+    }
+
+    public long getCancellations() {
+        return cancellations.sum();
+    }
+
+    public long getExpirations() {
+        return expirations.sum();
+    }
+
+    /**
+     * Returns the share of tickets that ended in a match rather than being cancelled or expired; NaN before any.
+     */
+    public double getMatchRate() {
+        long matched = getMatchedTickets();
+        return (double) matched / (matched + getCancellations() + getExpirations());
+    }
+}
@@ -1,11 +1,14 @@
 package com.shikhardev.mancala.services;
 
+import com.shikhardev.mancala.engine.Rules;
 import com.shikhardev.mancala.models.Player;
 import com.shikhardev.mancala.models.PlayerID;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
+
 /**
  * Implements services for Player class, including initialization, getting empty player, and fetching Player objects.
  */
@@ -22,6 +25,10 @@ public class PlayerService {
     @Value("#{new Integer ('${P2_HOME_PIT}')}")
     private Integer P2_HOME_PIT;
 
+    /**
+     * Creates both players. Players are immutable in practice, so the same two objects are shared by every game.
+     */
+    @PostConstruct
     public void initPlayers() {
         p1 = new Player(PlayerID.PLAYER_1, P1_HOME_PIT);
         p2 = new Player(PlayerID.PLAYER_2, P2_HOME_PIT);
@@ -43,4 +50,30 @@ public class PlayerService {
         }
         return getEmptyPlayer();
     }
+
+    /**
+     * Returns the Player object for a player of the rules engine (Rules.PLAYER_1, Rules.PLAYER_2 or Rules.NO_PLAYER)
+     */
+    public Player getPlayerByIndex(int player) {
+        switch (player) {
+            case Rules.PLAYER_1:
+                return p1;
+            case Rules.PLAYER_2:
+                return p2;
+        }
+        return getEmptyPlayer();
+    }
+
+    /**
+     * Returns the rules engine player (Rules.PLAYER_1, Rules.PLAYER_2 or Rules.NO_PLAYER) for the specified id
+     */
+    public int getPlayerIndex(PlayerID id) {
+        switch (id) {
+            case PLAYER_1:
+                return Rules.PLAYER_1;
+            case PLAYER_2:
+                return Rules.PLAYER_2;
+        }
+        return Rules.NO_PLAYER;
+    }
 }
@@ -0,0 +1,243 @@
+package com.shikhardev.mancala.store;
+
+import com.shikhardev.mancala.models.Game;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Off-heap store of idle games, the cold tier behind the GameRegistry.
+ *
+ * A game is kept as a fixed-size slot in direct memory slabs of SLAB_BYTES, allocated as the store grows:
+ *      long sequence, byte nextPlayer, byte winner, byte isEndGame, unsigned short stones[pitCount]
+ * or int stones[pitCount] for variants with more than 65535 stones in all. 39 bytes for a 6-pit board, against about 200 bytes of heap for a live Game with its board and map entry. The only
+ * heap cost of a cold game is its entry in an open-addressing index from game id to slot (two arrays, at most half
+ * full). Slots freed when games are taken out are reused before the store grows; slabs are never released.
+ *
+ * All methods are thread-safe. They run under one lock, which is fine for the eviction sweeps and rehydrations of
+ * idle games that use this store; moves never touch it.
+ */
+public class ColdGameStore {
+
+    static final int SLAB_BYTES = 1 << 20;
+
+    private static final long EMPTY = 0;    // Game ids start at 1
+
+    private final int pitCount;
+    private final boolean isWide;           // Stone counts as ints rather than unsigned shorts
+    private final int slotBytes;
+    private final int slotsPerSlab;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private int nextSlot;                   // Slots below it are in use or free
+    private int[] freeSlots = new int[64];
+    private int freeCount;
+
+    // Index: open addressing with linear probing, game id to slot
+    private long[] keys = new long[64];
+    private int[] values = new int[64];
+    private int size;
+
+    /**
+     * @param pitCount: Number of pits of the boards stored, homes included
+     * @param totalStones: Number of stones on each board, which no pit can exceed
+     */
+    public ColdGameStore(int pitCount, int totalStones) {
+        this.pitCount = pitCount;
+        isWide = totalStones > 0xFFFF;
+        slotBytes = 8 + 3 + (isWide ? 4 : 2) * pitCount;
+        slotsPerSlab = SLAB_BYTES / slotBytes;
+    }
+
+    /**
+     * Stores the state of a game, replacing what was stored under its id. Must be called from the game's mailbox.
+     * @exception IllegalArgumentException: if the board does not have pitCount pits or a pit holds more stones than
+     * the store was sized for
+     */
+    public void put(Game game) {
+        int[] pits = game.getPits();
+        if (pits.length != pitCount)
+            throw new IllegalArgumentException(String.format("Game %d has %d pits, not %d", game.getId(),
+                    pits.length, pitCount));
+        for (int i = 0; i < pitCount; i++)
+            if (!isWide && pits[i] > 0xFFFF)
+                throw new IllegalArgumentException(String.format("Game %d has too many stones in pit %d",
+                        game.getId(), i));
+        lock.lock();
+        try {
+            int index = find(game.getId());
+            int slot;
+            if (keys[index] == EMPTY) {
+                slot = allocate();
+                keys[index] = game.getId();
+                values[index] = slot;
+                if (++size * 2 > keys.length)
+                    grow();
+            }
+            else {
+                slot = values[index];
+            }
+            ByteBuffer slab = slabs.get(slot / slotsPerSlab);
+            int offset = (slot % slotsPerSlab) * slotBytes;
+            slab.putLong(offset, game.getSequence());
+            slab.put(offset + 8, (byte) game.getNextPlayer());
+            slab.put(offset + 9, (byte) game.getWinner());
+            slab.put(offset + 10, (byte) (game.isEndGame() ? 1 : 0));
+            for (int i = 0; i < pitCount; i++) {
+                if (isWide)
+                    slab.putInt(offset + 11 + 4 * i, pits[i]);
+                else
+                    slab.putShort(offset + 11 + 2 * i, (short) pits[i]);
+            }
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the game stored under the id, leaving it in the store.
+     * @return a new Game object, or null if no game is stored under the id
+     */
+    public Game get(long gameID) {
+        lock.lock();
+        try {
+            int index = find(gameID);
+            if (keys[index] == EMPTY)
+                return null;
+            int slot = values[index];
+            ByteBuffer slab = slabs.get(slot / slotsPerSlab);
+            int offset = (slot % slotsPerSlab) * slotBytes;
+            int[] pits = new int[pitCount];
+            for (int i = 0; i < pitCount; i++)
+                pits[i] = isWide ? slab.getInt(offset + 11 + 4 * i) :
+                        Short.toUnsignedInt(slab.getShort(offset + 11 + 2 * i));
+            Game game = new Game(gameID, pits, slab.get(offset + 8), slab.get(offset + 9));
+            game.setSequence(slab.getLong(offset));
+            game.setEndGame(slab.get(offset + 10) != 0);
+            return game;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the game stored under the id, if any, and frees its slot.
+     * @return true if a game was dropped
+     */
+    public boolean remove(long gameID) {
+        lock.lock();
+        try {
+            int index = find(gameID);
+            if (keys[index] == EMPTY)
+                return false;
+            if (freeCount == freeSlots.length)
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            freeSlots[freeCount++] = values[index];
+            size--;
+            // Backward shift deletion: move up the entries of the probe run that follows, so no lookup stops early
+            int mask = keys.length - 1;
+            int hole = index;
+            for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+                int home = hash(keys[next]) & mask;
+                if (((next - home) & mask) >= ((next - hole) & mask)) {
+                    keys[hole] = keys[next];
+                    values[hole] = values[next];
+                    hole = next;
+                }
+            }
+            keys[hole] = EMPTY;
+            return true;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the games stored at the time of the call, in no particular order.
+     */
+    public long[] getIds() {
+        lock.lock();
+        try {
+            long[] ids = new long[size];
+            int count = 0;
+            for (long key : keys)
+                if (key != EMPTY)
+                    ids[count++] = key;
+            return ids;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of games stored.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the direct memory held by the slabs, in bytes.
+     */
+    public long getOffHeapBytes() {
+        lock.lock();
+        try {
+            return (long) slabs.size() * SLAB_BYTES;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Returns the index of the key, or of the empty entry where it would be inserted.
+     */
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (keys[index] != EMPTY && keys[index] != key)
+            index = (index + 1) & mask;
+        return index;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int index = find(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private int allocate() {
+        if (freeCount > 0)
+            return freeSlots[--freeCount];
+        if (nextSlot == slabs.size() * slotsPerSlab)
+            slabs.add(ByteBuffer.allocateDirect(SLAB_BYTES));
+        return nextSlot++;
+    }
+}
@@ -0,0 +1,114 @@
+package com.shikhardev.mancala.actor;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class MailboxTest {
+
+    ForkJoinPool scheduler = new ForkJoinPool(2);
+
+    @AfterEach
+    void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * State written without any lock: only the mailbox keeps it consistent.
+     */
+    static class Counter {
+        long count;
+        List<Integer>[] order;
+    }
+
+    @Test
+    @DisplayName("Actions called from many threads should run one at a time, each caller's in its order")
+    @SuppressWarnings("unchecked")
+    void singleWriter() throws Exception {
+        int threads = 8;
+        int calls = 20_000;
+        Mailbox mailbox = new Mailbox();
+        Counter counter = new Counter();
+        counter.order = new List[threads];
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int caller = t;
+            counter.order[caller] = new ArrayList<>();
+            results.add(callers.submit(() -> {
+                start.await();
+                for (int i = 0; i < calls; i++) {
+                    int call = i;
+                    long count = mailbox.call(() -> {
+                        Assert.assertTrue(mailbox.isRunning());
+                        counter.order[caller].add(call);
+                        return ++counter.count;
+                    }, scheduler, 4);
+                    Assert.assertTrue(count > 0);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results)
+            result.get(1, TimeUnit.MINUTES);
+        callers.shutdown();
+
+        Assert.assertEquals((long) threads * calls, mailbox.call(() -> counter.count, scheduler, 4).longValue());
+        for (List<Integer> order : counter.order) {
+            Assert.assertEquals(calls, order.size());
+            for (int i = 0; i < calls; i++)
+                Assert.assertEquals(i, order.get(i).intValue());
+        }
+        Assert.assertFalse(mailbox.isRunning());
+    }
+
+    @Test
+    @DisplayName("An exception thrown by an action should reach its caller and leave the mailbox usable")
+    void exceptions() {
+        Mailbox mailbox = new Mailbox();
+        assertThrows(IllegalArgumentException.class, () -> mailbox.call(() -> {
+            throw new IllegalArgumentException("refused");
+        }, scheduler, 4));
+        Assert.assertFalse(mailbox.isRunning());
+        Assert.assertEquals("ok", mailbox.call(() -> "ok", scheduler, 4));
+    }
+
+    @Test
+    @DisplayName("tryRun should only run the action if the mailbox is idle")
+    void tryRun() throws Exception {
+        Mailbox mailbox = new Mailbox();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> mailbox.call(() -> {
+            running.countDown();
+            try {
+                return release.await(1, TimeUnit.MINUTES);
+            }
+            catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }, scheduler, 4));
+        holder.start();
+        running.await();
+
+        boolean[] ran = new boolean[1];
+        Assert.assertFalse(mailbox.tryRun(() -> ran[0] = true, scheduler, 4));
+        release.countDown();
+        holder.join();
+        Assert.assertTrue(mailbox.tryRun(() -> ran[0] = true, scheduler, 4));
+        Assert.assertTrue(ran[0]);
+    }
+}
@@ -0,0 +1,99 @@
+package com.shikhardev.mancala.cache;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class LruCacheTest {
+
+    @Test
+    @DisplayName("Values should be computed once, then served from the cache")
+    void hits() {
+        LruCache<Long, String> cache = new LruCache<>(1000, (key, value) -> 1);
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 3; i++)
+            Assert.assertEquals("7", cache.get(7L, key -> Integer.toString(loads.incrementAndGet() * 7)));
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals(2, cache.getHits());
+        Assert.assertEquals(1, cache.getMisses());
+        Assert.assertEquals(2.0 / 3, cache.getHitRate(), 1e-9);
+        Assert.assertEquals(1, cache.getLoads());
+        Assert.assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("The least recently used entries should go once the weight is over the budget")
+    void eviction() {
+        // Keys that are multiples of SEGMENTS share a segment, whose budget is 3 entries of weight 10
+        LruCache<Integer, Integer> cache = new LruCache<>(30 * LruCache.SEGMENTS, (key, value) -> 10);
+        int s = LruCache.SEGMENTS;
+        for (int i = 1; i <= 3; i++)
+            cache.get(i * s, key -> key);
+        cache.get(s, key -> -1);            // Hit: now the most recently used
+        cache.get(4 * s, key -> key);       // Evicts 2 * s
+        Assert.assertEquals(1, cache.getEvictions());
+        Assert.assertEquals(30, cache.getWeight());
+        Assert.assertEquals(s, cache.get(s, key -> -1).intValue());
+        Assert.assertEquals(-1, cache.get(2 * s, key -> -1).intValue());
+        Assert.assertEquals(2, cache.getEvictions());
+    }
+
+    @Test
+    @DisplayName("Concurrent lookups of the same key should wait for a single computation")
+    void collapsedLoads() throws Exception {
+        LruCache<Long, Long> cache = new LruCache<>(1000, (key, value) -> 1);
+        int threads = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        Future<Long> first = callers.submit(() -> cache.get(1L, key -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await(1, TimeUnit.MINUTES);
+            }
+            catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            return 42L;
+        }));
+        loading.await();
+        List<Future<Long>> waiters = new ArrayList<>();
+        for (int i = 1; i < threads; i++)
+            waiters.add(callers.submit(() -> cache.get(1L, key -> (long) -loads.incrementAndGet())));
+        while (cache.getHits() < threads - 1)
+            Thread.sleep(1);
+        release.countDown();
+
+        Assert.assertEquals(42L, first.get(1, TimeUnit.MINUTES).longValue());
+        for (Future<Long> waiter : waiters)
+            Assert.assertEquals(42L, waiter.get(1, TimeUnit.MINUTES).longValue());
+        callers.shutdown();
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("A failed computation should reach its caller and not be cached")
+    void failures() {
+        LruCache<Long, String> cache = new LruCache<>(1000, (key, value) -> 1);
+        assertThrows(IllegalStateException.class, () -> cache.get(1L, key -> {
+            throw new IllegalStateException("no searcher");
+        }));
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals("ok", cache.get(1L, key -> "ok"));
+        Assert.assertEquals(2, cache.getLoads());
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<Long, String>(0, (key, value) -> 1));
+    }
+}
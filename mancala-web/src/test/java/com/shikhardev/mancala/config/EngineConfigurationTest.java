@@ -0,0 +1,30 @@
+package com.shikhardev.mancala.config;
+
+import com.shikhardev.mancala.engine.Rules;
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EngineConfigurationTest {
+
+    @Test
+    @DisplayName("Rules bean should be read from the environment, and a mismatched variant should stop the startup")
+    void rules() {
+        EngineConfiguration configuration = new EngineConfiguration();
+        Rules rules = configuration.rules(new MockEnvironment()
+                .withProperty("PITS_PER_PLAYER", "6")
+                .withProperty("STARTING_STONE_COUNT", "6")
+                .withProperty("TOTAL_PIT_COUNT", "14")
+                .withProperty("P1_HOME_PIT", "6")
+                .withProperty("P2_HOME_PIT", "13"));
+        Assert.assertEquals(14, rules.getTotalPitCount());
+
+        assertThrows(IllegalArgumentException.class, () -> configuration.rules(new MockEnvironment()
+                .withProperty("PITS_PER_PLAYER", "8")
+                .withProperty("STARTING_STONE_COUNT", "6")
+                .withProperty("TOTAL_PIT_COUNT", "14")));
+    }
+}
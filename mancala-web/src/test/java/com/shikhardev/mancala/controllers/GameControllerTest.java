@@ -0,0 +1,135 @@
+package com.shikhardev.mancala.controllers;
+
+import com.shikhardev.mancala.dto.GameStatus;
+import com.shikhardev.mancala.dto.GameStatusCodec;
+import com.shikhardev.mancala.models.*;
+import com.shikhardev.mancala.services.GameService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+class GameControllerTest {
+
+    @Autowired
+    GameService gameService;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Integration test: Starting a new game")
+    void start() {
+        GameStatus gameStatus = gameService.initGame();
+        Assert.assertFalse(gameStatus.isEndGame());
+        Assert.assertEquals(PlayerID.None, gameStatus.getWinner().getId());
+        Assert.assertTrue(gameStatus.isLegalMove());
+        Assert.assertEquals(PlayerID.PLAYER_1, gameStatus.getNextPlayer().getId());
+
+        for (int i = 0; i < 14; i ++) {
+            Pit pit = gameStatus.getCurrentBoardStatus().getPit(i);
+            if (pit.getPitType() == PitType.PLAYGROUND)
+                Assert.assertEquals(6, (int)pit.getNumberOfStones());
+            else
+                Assert.assertEquals(0, (int)pit.getNumberOfStones());
+        }
+    }
+
+    @Test
+    @DisplayName("Integration test: Making a move")
+    void move() {
+        GameStatus gameStatus = gameService.initGame();
+        gameStatus = gameService.executeMove(gameStatus.getGameID(), "PLAYER_1", 0);
+        Assert.assertFalse(gameStatus.isEndGame());
+        Assert.assertEquals(PlayerID.None, gameStatus.getWinner().getId());
+        Assert.assertTrue(gameStatus.isLegalMove());
+        Assert.assertEquals(PlayerID.PLAYER_1, gameStatus.getNextPlayer().getId());
+        Assert.assertEquals(0, (int)gameStatus.getCurrentBoardStatus().getPit(0).getNumberOfStones());
+        Assert.assertEquals(7, (int)gameStatus.getCurrentBoardStatus().getPit(1).getNumberOfStones());
+        Assert.assertEquals(1, (int)gameStatus.getCurrentBoardStatus().getPit(6).getNumberOfStones());
+    }
+
+    @Test
+    @DisplayName("Integration test: Requests should be timed by route and by move phase, and moves counted")
+    void metrics() throws Exception {
+        double starts = meterRegistry.get("mancala.request").tag("route", "/start").functionTimer().count();
+        double moves = meterRegistry.get("mancala.request").tag("route", "/move").functionTimer().count();
+        double serialized = meterRegistry.get("mancala.move.phase").tag("phase", "serialize").functionTimer().count();
+        double illegal = meterRegistry.get("mancala.moves.illegal").functionCounter().count();
+        double extraTurns = meterRegistry.get("mancala.moves.extra.turns").functionCounter().count();
+
+        String body = mockMvc.perform(get("/start")).andReturn().getResponse().getContentAsString();
+        long gameID = Long.parseLong(body.replaceAll("(?s).*\"gameID\":(\\d+).*", "$1"));
+        mockMvc.perform(get("/move?gameID=" + gameID + "&playerID=PLAYER_1&pitID=0"));
+        mockMvc.perform(get("/move?gameID=" + gameID + "&playerID=PLAYER_1&pitID=0&delta=true"));
+
+        Assert.assertEquals(starts + 1,
+                meterRegistry.get("mancala.request").tag("route", "/start").functionTimer().count(), 0);
+        Assert.assertEquals(moves + 2,
+                meterRegistry.get("mancala.request").tag("route", "/move").functionTimer().count(), 0);
+        Assert.assertEquals(serialized + 3,
+                meterRegistry.get("mancala.move.phase").tag("phase", "serialize").functionTimer().count(), 0);
+        Assert.assertEquals(extraTurns + 1, meterRegistry.get("mancala.moves.extra.turns").functionCounter().count(), 0);
+        Assert.assertEquals(illegal + 1, meterRegistry.get("mancala.moves.illegal").functionCounter().count(), 0);
+    }
+
+    @Test
+    @DisplayName("Integration test: The binary form should be served on request, JSON otherwise")
+    void contentNegotiation() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/start").accept(MediaType.ALL))
+                .andReturn().getResponse();
+        Assert.assertTrue(response.getContentType().startsWith(MediaType.APPLICATION_JSON_VALUE));
+
+        response = mockMvc.perform(get("/start").accept("application/x-mancala-status")).andReturn().getResponse();
+        Assert.assertEquals("application/x-mancala-status", response.getContentType());
+        GameStatus gameStatus = GameStatusCodec.decode(new ByteArrayInputStream(response.getContentAsByteArray()));
+        Assert.assertEquals(response.getContentLength(), response.getContentAsByteArray().length);
+
+        response = mockMvc.perform(get("/move").accept("application/x-mancala-status")
+                .param("gameID", Long.toString(gameStatus.getGameID()))
+                .param("playerID", "PLAYER_1")
+                .param("pitID", "2")).andReturn().getResponse();
+        gameStatus = GameStatusCodec.decode(new ByteArrayInputStream(response.getContentAsByteArray()));
+        Assert.assertEquals(1, gameStatus.getSequence());
+        Assert.assertEquals(PlayerID.PLAYER_2, gameStatus.getNextPlayer().getId());
+        Assert.assertEquals(0, (int) gameStatus.getCurrentBoardStatus().getPit(2).getNumberOfStones());
+    }
+
+    @Test
+    @DisplayName("Integration test: Replaying a game in one batch request")
+    void batchMoves() throws Exception {
+        long gameID = gameService.initGame().getGameID();
+        String body = "[{\"playerID\": \"PLAYER_1\", \"pitID\": 2}, {\"playerID\": \"PLAYER_2\", \"pitID\": 9}," +
+                " {\"playerID\": \"PLAYER_1\", \"pitID\": 2}]";
+        MockHttpServletResponse response = mockMvc.perform(post("/moves")
+                .param("gameID", Long.toString(gameID))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)).andReturn().getResponse();
+        Assert.assertEquals(200, response.getStatus());
+        String json = response.getContentAsString();
+        Assert.assertTrue(json.contains("\"movesPlayed\":2"));
+        Assert.assertTrue(json.contains("\"stoppedAt\":2"));
+        Assert.assertEquals(2, gameService.getGameStatus(gameID).getSequence());
+    }
+}
@@ -0,0 +1,141 @@
+package com.shikhardev.mancala.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shikhardev.mancala.dto.GameDelta;
+import com.shikhardev.mancala.dto.GameStatus;
+import com.shikhardev.mancala.models.PlayerID;
+import com.shikhardev.mancala.services.GameService;
+import com.shikhardev.mancala.services.GameUpdatePublisher;
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class GameUpdateHandlerTest {
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    GameService gameService;
+
+    @Autowired
+    GameUpdatePublisher gameUpdatePublisher;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    /**
+     * Client session queuing the statuses it receives.
+     */
+    static class Watcher extends TextWebSocketHandler {
+
+        final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        final BlockingQueue<CloseStatus> closed = new LinkedBlockingQueue<>();
+
+        @Override
+        protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+            messages.add(message.getPayload());
+        }
+
+        @Override
+        public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+            closed.add(status);
+        }
+    }
+
+    WebSocketSession connect(Watcher watcher, String query) throws Exception {
+        return new StandardWebSocketClient()
+                .doHandshake(watcher, String.format("ws://localhost:%d/updates?%s", port, query))
+                .get(5, TimeUnit.SECONDS);
+    }
+
+    GameStatus next(Watcher watcher) throws Exception {
+        String message = watcher.messages.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull(message);
+        return objectMapper.readValue(message, GameStatus.class);
+    }
+
+    @Test
+    @DisplayName("Integration test: Every move should be pushed to both players and spectators")
+    void pushesMoves() throws Exception {
+        long gameID = gameService.initGame().getGameID();
+        Watcher player = new Watcher();
+        Watcher spectator = new Watcher();
+        WebSocketSession playerSession = connect(player, "gameID=" + gameID);
+        WebSocketSession spectatorSession = connect(spectator, "gameID=" + gameID);
+        Assert.assertEquals(6, (int) next(player).getCurrentBoardStatus().getPit(0).getNumberOfStones());
+        Assert.assertEquals(6, (int) next(spectator).getCurrentBoardStatus().getPit(0).getNumberOfStones());
+        Assert.assertEquals(2, gameUpdatePublisher.getSubscriberCount(gameID));
+
+        gameService.executeMove(gameID, "PLAYER_1", 0);
+        gameService.executeMove(gameID, "PLAYER_1", 1);
+        gameService.executeMove(gameID, "PLAYER_1", 0);      // Illegal: not pushed
+        for (Watcher watcher : new Watcher[]{player, spectator}) {
+            GameStatus first = next(watcher);
+            Assert.assertEquals(gameID, first.getGameID());
+            Assert.assertEquals(0, (int) first.getCurrentBoardStatus().getPit(0).getNumberOfStones());
+            Assert.assertEquals(PlayerID.PLAYER_1, first.getNextPlayer().getId());
+            GameStatus second = next(watcher);
+            Assert.assertEquals(0, (int) second.getCurrentBoardStatus().getPit(1).getNumberOfStones());
+            Assert.assertEquals(PlayerID.PLAYER_2, second.getNextPlayer().getId());
+            Assert.assertNull(watcher.messages.poll(100, TimeUnit.MILLISECONDS));
+        }
+
+        spectatorSession.close();
+        playerSession.close();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (gameUpdatePublisher.getSubscriberCount(gameID) > 0 && System.nanoTime() < deadline)
+            Thread.sleep(10);
+        Assert.assertEquals(0, gameUpdatePublisher.getSubscriberCount(gameID));
+    }
+
+    @Test
+    @DisplayName("Integration test: Delta watchers should get the full status, then a much smaller GameDelta per move")
+    void pushesDeltas() throws Exception {
+        long gameID = gameService.initGame().getGameID();
+        Watcher full = new Watcher();
+        Watcher delta = new Watcher();
+        connect(full, "gameID=" + gameID);
+        connect(delta, "gameID=" + gameID + "&delta=true");
+        Assert.assertEquals(0, next(full).getSequence());
+        Assert.assertEquals(0, next(delta).getSequence());
+
+        gameService.executeMove(gameID, "PLAYER_1", 2);
+        String status = full.messages.poll(5, TimeUnit.SECONDS);
+        String update = delta.messages.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull(status);
+        Assert.assertNotNull(update);
+        GameDelta gameDelta = objectMapper.readValue(update, GameDelta.class);
+        Assert.assertEquals(1, gameDelta.getSequence());
+        Assert.assertArrayEquals(new int[]{2, 3, 4, 5, 6, 7, 8}, gameDelta.getPitIDs());
+        Assert.assertEquals(PlayerID.PLAYER_2, gameDelta.getNextPlayer());
+        Assert.assertTrue(update.length() * 8 < status.length());
+    }
+
+    @Test
+    @DisplayName("Integration test: A connection to an unknown game should be closed")
+    void unknownGame() throws Exception {
+        Watcher watcher = new Watcher();
+        connect(watcher, "gameID=-1");
+        CloseStatus status = watcher.closed.poll(5, TimeUnit.SECONDS);
+        Assert.assertNotNull(status);
+        Assert.assertEquals(CloseStatus.BAD_DATA.getCode(), status.getCode());
+        Assert.assertTrue(watcher.messages.isEmpty());
+    }
+}
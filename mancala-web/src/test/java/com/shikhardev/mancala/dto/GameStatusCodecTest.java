@@ -0,0 +1,64 @@
+package com.shikhardev.mancala.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shikhardev.mancala.services.GameService;
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+class GameStatusCodecTest {
+
+    @Autowired
+    GameService gameService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    byte[] encode(GameStatus gameStatus) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GameStatusCodec.encode(gameStatus, out);
+        Assert.assertEquals(GameStatusCodec.size(gameStatus), out.size());
+        return out.toByteArray();
+    }
+
+    @Test
+    @DisplayName("Decoding should give back the status as its JSON form describes it")
+    void roundTrip() throws IOException {
+        GameStatus gameStatus = gameService.initGame();
+        long gameID = gameStatus.getGameID();
+        for (int pitID : new int[]{0, 1, 0, 9, 2})
+            gameStatus = gameService.executeMove(gameID, gameStatus.getNextPlayer().getId().name(), pitID);
+        for (GameStatus original : new GameStatus[]{gameService.initGame(), gameStatus}) {
+            byte[] bytes = encode(original);
+            GameStatus decoded = GameStatusCodec.decode(new ByteArrayInputStream(bytes));
+            Assert.assertEquals(objectMapper.writeValueAsString(original), objectMapper.writeValueAsString(decoded));
+            Assert.assertTrue(bytes.length * 40 < objectMapper.writeValueAsBytes(original).length);
+        }
+    }
+
+    @Test
+    @DisplayName("Unknown versions and truncated input should be rejected")
+    void invalidInput() throws IOException {
+        byte[] bytes = encode(gameService.initGame());
+        byte[] wrongVersion = bytes.clone();
+        wrongVersion[0] = 2;
+        assertThrows(IllegalArgumentException.class,
+                () -> GameStatusCodec.decode(new ByteArrayInputStream(wrongVersion)));
+        assertThrows(EOFException.class,
+                () -> GameStatusCodec.decode(new ByteArrayInputStream(Arrays.copyOf(bytes, bytes.length - 1))));
+    }
+}
@@ -0,0 +1,129 @@
+package com.shikhardev.mancala.engine;
+
+import com.shikhardev.mancala.dto.GameStatus;
+import com.shikhardev.mancala.models.Board;
+import com.shikhardev.mancala.models.PlayerID;
+import com.shikhardev.mancala.services.BoardService;
+import com.shikhardev.mancala.services.GameService;
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+class PositionTest {
+
+    @Autowired
+    Rules rules;
+
+    @Autowired
+    GameService gameService;
+
+    @Autowired
+    BoardService boardService;
+
+    @Test
+    @DisplayName("Packing and unpacking should keep every pit and the side to move")
+    void packAndUnpack() {
+        int[] pits = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 255, 12, 13};
+        Position position = Position.of(pits, Rules.PLAYER_2);
+        Assert.assertArrayEquals(pits, position.toArray());
+        Assert.assertEquals(Rules.PLAYER_2, position.getSideToMove());
+        Assert.assertEquals(255, position.getStones(11));
+
+        Position copy = Position.fromPacked(position.getLow(), position.getHigh());
+        Assert.assertEquals(position, copy);
+        Assert.assertEquals(position.getHash(), copy.getHash());
+        Assert.assertNotEquals(position, Position.of(pits, Rules.PLAYER_1));
+    }
+
+    @Test
+    @DisplayName("Verify if exception is thrown for boards a Position cannot hold")
+    void invalidBoards() {
+        assertThrows(IllegalArgumentException.class, () -> Position.of(new int[12], Rules.PLAYER_1));
+        int[] pits = rules.newBoard();
+        pits[0] = 256;
+        assertThrows(IllegalArgumentException.class, () -> Position.of(pits, Rules.PLAYER_1));
+        assertThrows(IllegalArgumentException.class,
+                () -> Position.of(rules.newBoard(), Rules.PLAYER_1).play(rules, 7));
+        assertThrows(IllegalArgumentException.class,
+                () -> Position.of(rules.newBoard(), Rules.PLAYER_1).play(new Rules(5, 4), 2));
+
+        Board board = boardService.initBoard();
+        board.getAllPits().remove(board.getAllPits().size() - 1);
+        assertThrows(IllegalArgumentException.class,
+                () -> boardService.toPosition(board, gameService.initGame().getNextPlayer()));
+    }
+
+    @Test
+    @DisplayName("Moves of full laps and captures should update only the pits they touch, and the hash with them")
+    void playLapsAndCaptures() {
+        int[][] boards = {
+                {30, 0, 1, 0, 2, 0, 5, 3, 0, 4, 0, 0, 1, 10},   // Two full laps and a remainder from pit 0
+                {0, 13, 0, 0, 0, 0, 0, 0, 0, 0, 0, 7, 0, 0},    // One full lap back into the emptied pit 1: capture
+                {1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 9, 0, 0},     // One stone from pit 0 into the empty pit 1: capture
+        };
+        for (int[] board : boards) {
+            int[] pits = board.clone();
+            int pitID = pits[0] > 0 ? 0 : 1;
+            int outcome = rules.sow(pits, Rules.PLAYER_1, pitID);
+            int player = MoveOutcome.isExtraTurn(outcome) ? Rules.PLAYER_1 : Rules.PLAYER_2;
+            Position position = Position.of(board, Rules.PLAYER_1).play(rules, pitID);
+            Assert.assertEquals(Position.of(pits, player), position);
+            Assert.assertEquals(Position.getZobrist().hash(pits, player), position.getHash());
+        }
+    }
+
+    @Test
+    @DisplayName("Incremental hash and board should match the rules engine along random games")
+    void playMatchesRules() {
+        Random random = new Random(3);
+        for (int game = 0; game < 200; game++) {
+            int[] pits = rules.newBoard();
+            int player = Rules.PLAYER_1;
+            Position position = Position.of(pits, player);
+            while (!rules.isEndGame(pits)) {
+                int pitID;
+                do {
+                    pitID = rules.getFirstPit(player) + random.nextInt(rules.getPitsPerPlayer());
+                } while (!rules.isLegalMove(pits, player, pitID));
+                if (!MoveOutcome.isExtraTurn(rules.sow(pits, player, pitID)))
+                    player = Rules.opponent(player);
+                position = position.play(rules, pitID);
+
+                Assert.assertArrayEquals(pits, position.toArray());
+                Assert.assertEquals(player, position.getSideToMove());
+                Assert.assertEquals(Position.getZobrist().hash(pits, player), position.getHash());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Converting to and from GameStatus should be lossless")
+    void gameStatusRoundTrip() {
+        GameStatus gameStatus = gameService.initGame();
+        gameStatus = gameService.executeMove(gameStatus.getGameID(), "PLAYER_1", 2);
+        Position position = gameService.getPosition(gameStatus);
+        Assert.assertEquals(Rules.PLAYER_2, position.getSideToMove());
+
+        GameStatus copy = gameService.getGameStatus(position);
+        Assert.assertEquals(PlayerID.PLAYER_2, copy.getNextPlayer().getId());
+        Assert.assertFalse(copy.isEndGame());
+        Assert.assertEquals(PlayerID.None, copy.getWinner().getId());
+        for (int i = 0; i < Position.PIT_COUNT; i++) {
+            Assert.assertEquals(gameStatus.getCurrentBoardStatus().getPit(i).getNumberOfStones(),
+                    copy.getCurrentBoardStatus().getPit(i).getNumberOfStones());
+            Assert.assertEquals(gameStatus.getCurrentBoardStatus().getPit(i).getOwner(),
+                    copy.getCurrentBoardStatus().getPit(i).getOwner());
+        }
+        Assert.assertEquals(position, gameService.getPosition(copy));
+    }
+}
@@ -0,0 +1,100 @@
+package com.shikhardev.mancala.journal;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+class MoveJournalTest {
+
+    @TempDir
+    Path directory;
+
+    List<long[]> readAll() throws IOException {
+        List<long[]> records = new ArrayList<>();
+        for (long segment : MoveJournal.listSegments(directory))
+            MoveJournal.read(MoveJournal.getSegmentPath(directory, segment),
+                    (type, gameID, sequence, player, pitID) ->
+                            records.add(new long[]{type, gameID, sequence, player, pitID}));
+        return records;
+    }
+
+    @Test
+    @DisplayName("Records should be read back in order, across segments")
+    void roundTrip() throws IOException {
+        MoveJournal journal = new MoveJournal(directory, 0, 10 * MoveJournal.RECORD_SIZE, 4096, true);
+        journal.append(MoveJournal.CREATE, 7, 0, 0, 0);
+        long ticket = 0;
+        for (int i = 1; i <= 100; i++) {
+            ticket = journal.append(MoveJournal.MOVE, 7, i, i & 1, i % 13);
+            if (i % 5 == 0)
+                journal.awaitDurable(ticket);   // Small batches, to fill several segments
+        }
+        journal.close();
+
+        Assert.assertTrue(MoveJournal.listSegments(directory).size() > 5);
+        List<long[]> records = readAll();
+        Assert.assertEquals(101, records.size());
+        Assert.assertArrayEquals(new long[]{MoveJournal.CREATE, 7, 0, 0, 0}, records.get(0));
+        for (int i = 1; i <= 100; i++)
+            Assert.assertArrayEquals(new long[]{MoveJournal.MOVE, 7, i, i & 1, i % 13}, records.get(i));
+    }
+
+    @Test
+    @DisplayName("Concurrent appends should be committed in shared batches, none lost")
+    void groupCommit() throws Exception {
+        MoveJournal journal = new MoveJournal(directory, 0, 1 << 20, 1 << 12, true);
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        for (int t = 0; t < 32; t++) {
+            long gameID = t + 1;
+            executor.execute(() -> {
+                for (int i = 1; i <= 200; i++)
+                    journal.awaitDurable(journal.append(MoveJournal.MOVE, gameID, i, 0, 1));
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        journal.close();
+
+        Assert.assertTrue(journal.getBatches() < 32 * 200);
+        long[] last = new long[33];
+        for (long[] record : readAll()) {
+            Assert.assertEquals(last[(int) record[1]] + 1, record[2]);     // In order within each game
+            last[(int) record[1]] = record[2];
+        }
+        long[] expected = new long[33];
+        Arrays.fill(expected, 1, 33, 200);
+        Assert.assertArrayEquals(expected, last);
+    }
+
+    @Test
+    @DisplayName("Reading should stop at a torn or corrupt record")
+    void tornTail() throws IOException {
+        MoveJournal journal = new MoveJournal(directory, 3, 1 << 20, 4096, false);
+        for (int i = 1; i <= 10; i++)
+            journal.append(MoveJournal.MOVE, 1, i, 0, 2);
+        journal.close();
+        Path segment = MoveJournal.getSegmentPath(directory, 3);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+        Assert.assertEquals(9 * MoveJournal.RECORD_SIZE, MoveJournal.read(segment, (t, g, s, p, i) -> { }));
+
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[4 * MoveJournal.RECORD_SIZE + 10] ^= 1;
+        Files.write(segment, bytes);
+        Assert.assertEquals(4 * MoveJournal.RECORD_SIZE, MoveJournal.read(segment, (t, g, s, p, i) -> { }));
+    }
+}
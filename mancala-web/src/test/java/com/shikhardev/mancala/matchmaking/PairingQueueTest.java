@@ -0,0 +1,88 @@
+package com.shikhardev.mancala.matchmaking;
+
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PairingQueueTest {
+
+    @Test
+    @DisplayName("Entries should be paired in twos within their key only")
+    void pairing() {
+        PairingQueue<String, Integer> queue = new PairingQueue<>();
+        Assert.assertNull(queue.offer("a", 1, e -> true, e -> fail()));
+        Assert.assertNull(queue.offer("b", 2, e -> true, e -> fail()));
+        Assert.assertEquals(2, queue.getWaiting());
+        Assert.assertEquals(1, queue.offer("a", 3, e -> true, e -> fail()).intValue());
+        Assert.assertNull(queue.offer("a", 4, e -> true, e -> fail()));
+        Assert.assertEquals(2, queue.getWaiting());
+        Assert.assertEquals(2, queue.getKeyCount());
+    }
+
+    @Test
+    @DisplayName("Removed or dropped entries should never be paired")
+    void removal() {
+        PairingQueue<String, Integer> queue = new PairingQueue<>();
+        Integer first = 1;
+        queue.offer("a", first, e -> true, e -> fail());
+        Assert.assertTrue(queue.remove("a", first));
+        Assert.assertFalse(queue.remove("a", first));
+        Assert.assertNull(queue.offer("a", 2, e -> true, e -> fail()));
+
+        List<Integer> dropped = new ArrayList<>();
+        Assert.assertNull(queue.offer("a", 3, e -> e != 2, dropped::add));
+        Assert.assertEquals(List.of(2), dropped);
+        Assert.assertEquals(1, queue.getWaiting());
+        Assert.assertFalse(queue.remove("b", 3));
+    }
+
+    @Test
+    @DisplayName("Concurrent offers and removals should pair every entry at most once")
+    void concurrentOffers() throws Exception {
+        PairingQueue<Integer, Integer> queue = new PairingQueue<>();
+        int threads = 4;
+        int perThread = 20_000;
+        ConcurrentHashMap<Integer, Integer> partners = new ConcurrentHashMap<>();
+        AtomicInteger removed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    Integer entry = thread * perThread + i;
+                    int key = i % 3;
+                    Integer partner = queue.offer(key, entry, e -> true, e -> fail());
+                    if (partner != null) {
+                        Assert.assertNull(partners.put(entry, partner));
+                        Assert.assertNull(partners.put(partner, entry));
+                    }
+                    else if (i % 5 == 0 && queue.remove(key, entry))
+                        removed.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures)
+            future.get();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        for (int entry = 0; entry < threads * perThread; entry++) {
+            Integer partner = partners.get(entry);
+            if (partner != null)
+                Assert.assertEquals(entry % perThread % 3, partner % perThread % 3);
+        }
+        Assert.assertEquals(threads * perThread, partners.size() + removed.get() + queue.getWaiting());
+        Assert.assertTrue(queue.getWaiting() <= 3);
+    }
+}
@@ -18,19 +18,19 @@ class MoveTest {
 
     @Test
     void isValid() {
-        gameService.initGame();
+        long gameID = gameService.initGame().getGameID();
         // Move an invalid ID will not happen, because invalid pit cannot be instantiated
 
         // Move from home
-        GameStatus res = gameService.executeMove("PLAYER_1", 6);
+        GameStatus res = gameService.executeMove(gameID, "PLAYER_1", 6);
         Assert.assertFalse(res.isLegalMove());
 
         // Move from opponent
-        res = gameService.executeMove("PLAYER_1", 10);
+        res = gameService.executeMove(gameID, "PLAYER_1", 10);
         Assert.assertFalse(res.isLegalMove());
 
         // Right move
-        res = gameService.executeMove("PLAYER_1", 0);
+        res = gameService.executeMove(gameID, "PLAYER_1", 0);
         Assert.assertTrue(res.isLegalMove());
     }
 }
\ No newline at end of file
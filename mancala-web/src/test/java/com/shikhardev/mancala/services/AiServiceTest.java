@@ -0,0 +1,63 @@
+package com.shikhardev.mancala.services;
+
+import com.shikhardev.mancala.ai.SearchResult;
+import com.shikhardev.mancala.engine.Rules;
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+class AiServiceTest {
+
+    private static final int REQUESTS = 4 * AiService.MIN_SEARCHERS;
+    private static final long SLACK_MILLIS = 60;   // Scheduling of REQUESTS threads on few cores
+
+    @Autowired
+    AiService aiService;
+
+    @Autowired
+    Rules rules;
+
+    @Value("#{new Integer ('${AI_TIME_BUDGET_MILLIS}')}")
+    Integer budgetMillis;
+
+    @Test
+    @DisplayName("Concurrent searches should all reply within the time budget, past the searchers of the pool")
+    void concurrentLatency() throws Exception {
+        int[] pits = rules.newBoard();
+        rules.sow(pits, Rules.PLAYER_1, 2);     // Out of the opening book
+        rules.sow(pits, Rules.PLAYER_1, 5);
+        rules.sow(pits, Rules.PLAYER_2, 9);
+
+        ExecutorService executor = Executors.newFixedThreadPool(REQUESTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> latencies = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++)
+            latencies.add(executor.submit(() -> {
+                start.await();
+                long begin = System.nanoTime();
+                SearchResult result = aiService.findBestMove(pits, Rules.PLAYER_1);
+                long elapsed = System.nanoTime() - begin;
+                Assert.assertTrue(rules.isLegalMove(pits, Rules.PLAYER_1, result.getBestPit()));
+                return elapsed;
+            }));
+        start.countDown();
+        for (Future<Long> latency : latencies)
+            Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(latency.get()) < budgetMillis + SLACK_MILLIS);
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,77 @@
+package com.shikhardev.mancala.services;
+
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.models.Board;
+import com.shikhardev.mancala.models.Move;
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Random;
+
+/**
+ * Replays random games on the rules engine and on BoardService, the object-model reference of the same rules, for
+ * several variants. The services are set up for each variant by hand, so no application context is needed.
+ */
+class BoardServiceRulesTest {
+
+    private static PlayerService playerService(Rules rules) {
+        PlayerService playerService = new PlayerService();
+        ReflectionTestUtils.setField(playerService, "P1_HOME_PIT", rules.getHome(Rules.PLAYER_1));
+        ReflectionTestUtils.setField(playerService, "P2_HOME_PIT", rules.getHome(Rules.PLAYER_2));
+        playerService.initPlayers();
+        return playerService;
+    }
+
+    private static BoardService boardService(Rules rules, PlayerService playerService) {
+        BoardService boardService = new BoardService(playerService);
+        ReflectionTestUtils.setField(boardService, "PITS_PER_PLAYER", rules.getPitsPerPlayer());
+        ReflectionTestUtils.setField(boardService, "STARTING_STONE_COUNT", rules.getStartingStoneCount());
+        ReflectionTestUtils.setField(boardService, "TOTAL_PIT_COUNT", rules.getTotalPitCount());
+        ReflectionTestUtils.setField(boardService, "P1_HOME_PIT", rules.getHome(Rules.PLAYER_1));
+        ReflectionTestUtils.setField(boardService, "P2_HOME_PIT", rules.getHome(Rules.PLAYER_2));
+        return boardService;
+    }
+
+    @ParameterizedTest(name = "{0} pits per player, {1} stones")
+    @CsvSource({
+            "6, 6, 500, 42",
+            "6, 4, 200, 5",
+            "12, 20, 100, 7",   // Most moves sow one or more full laps
+    })
+    @DisplayName("Random games played on the engine and on BoardService should produce identical boards")
+    void matchesBoardService(int pitsPerPlayer, int stones, int games, long seed) {
+        Rules rules = new Rules(pitsPerPlayer, stones);
+        PlayerService playerService = playerService(rules);
+        BoardService boardService = boardService(rules, playerService);
+        Random random = new Random(seed);
+        for (int game = 0; game < games; game++) {
+            int[] pits = rules.newBoard();
+            Board board = boardService.initBoard();
+            int player = Rules.PLAYER_1;
+            while (!rules.isEndGame(pits)) {
+                int first = rules.getFirstPit(player);
+                int pitID;
+                do {
+                    pitID = first + random.nextInt(rules.getPitsPerPlayer());
+                } while (!rules.isLegalMove(pits, player, pitID));
+
+                Move move = new Move(playerService.getPlayerByIndex(player), boardService.getPitByID(board, pitID));
+                Assert.assertTrue(move.isValid());
+                boolean playerContinues = boardService.updateBoardForMove(board, move);
+                int preview = rules.preview(pits, player, pitID);
+                int outcome = rules.sow(pits, player, pitID);
+
+                Assert.assertEquals(outcome, preview);
+                Assert.assertEquals(playerContinues, MoveOutcome.isExtraTurn(outcome));
+                for (int i = 0; i < pits.length; i++)
+                    Assert.assertEquals(pits[i], (int) board.getPit(i).getNumberOfStones());
+                if (!playerContinues)
+                    player = Rules.opponent(player);
+            }
+        }
+    }
+}
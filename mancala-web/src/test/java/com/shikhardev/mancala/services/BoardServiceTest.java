@@ -24,16 +24,18 @@ class BoardServiceTest {
     @Autowired
     PlayerService playerService;
 
+    Board board;
+
     @BeforeEach
     void setUp() {
-        boardService.initBoard();
         playerService.initPlayers();
+        board = boardService.initBoard();
     }
 
     @Test
     @DisplayName("Verify properties for Player1 playground pits")
     void p1_playgroundPitVerify() {
-        Pit pit = boardService.getPitByID(0);
+        Pit pit = boardService.getPitByID(board, 0);
         Assert.assertEquals(0, (int) pit.getId());
         Assert.assertSame(pit.getOwner().getId(), PlayerID.PLAYER_1);
         Assert.assertSame(pit.getPitType(), PitType.PLAYGROUND);
@@ -90,11 +92,11 @@ class BoardServiceTest {
     @Test
     @DisplayName("Verify initialized board state")
     void initBoard() {
-        int sizeOfBoard = boardService.getBoard().getAllPits().size();
+        int sizeOfBoard = board.getAllPits().size();
         Assert.assertEquals(14, sizeOfBoard);
 
         int totalExpectedStones = 6 * 12;
-        List<Pit> allPits = boardService.getBoard().getAllPits();
+        List<Pit> allPits = board.getAllPits();
         int sum = allPits
                 .stream()
                 .mapToInt(Pit::getNumberOfStones)
@@ -120,7 +122,7 @@ class BoardServiceTest {
 
     @Test
     void getPitByID() {
-        Pit p = boardService.getPitByID(0);
+        Pit p = boardService.getPitByID(board, 0);
         Assert.assertEquals(0, (int) p.getId());
         Assert.assertEquals(PlayerID.PLAYER_1, p.getOwner().getId());
         Assert.assertEquals(6, (int)p.getNumberOfStones());
@@ -129,7 +131,7 @@ class BoardServiceTest {
     @Test
     @DisplayName("Verify if exception is thrown while fetching invalid pit ID")
     void getPitOfInvalidID() {
-        assertThrows(IndexOutOfBoundsException.class, () -> boardService.getPitByID(100));
+        assertThrows(IndexOutOfBoundsException.class, () -> boardService.getPitByID(board, 100));
     }
 
     @Test
@@ -137,10 +139,10 @@ class BoardServiceTest {
     void arePitsInRangeEmpty() {
         int low = 0;
         int high = 6;
-        Assert.assertFalse(boardService.arePitsInRangeEmpty(low, high));
+        Assert.assertFalse(boardService.arePitsInRangeEmpty(board, low, high));
         for (int i = low; i < high; i ++)
-            boardService.getPitByID(i).setNumberOfStones(0);
-        Assert.assertTrue(boardService.arePitsInRangeEmpty(low, high));
+            boardService.getPitByID(board, i).setNumberOfStones(0);
+        Assert.assertTrue(boardService.arePitsInRangeEmpty(board, low, high));
     }
 
     @Test
@@ -148,28 +150,26 @@ class BoardServiceTest {
     void doesPlayerContinue() {
         // Player_1 starting from pit 0 will end at home and thus player continues
         Player player = playerService.getP1();
-        Pit pit = boardService.getPitByID(0);
+        Pit pit = boardService.getPitByID(board, 0);
         Move move = new Move(player, pit);
-        boardService.updateBoardForMove(move);
-        Assert.assertTrue(boardService.doesPlayerContinue());
+        Assert.assertTrue(boardService.updateBoardForMove(board, move));
 
         // For the next move, if player 1 moves from pit 1, player will not continue
-        pit = boardService.getPitByID(1);
+        pit = boardService.getPitByID(board, 1);
         move = new Move(player, pit);
-        boardService.updateBoardForMove(move);
-        Assert.assertFalse(boardService.doesPlayerContinue());
+        Assert.assertFalse(boardService.updateBoardForMove(board, move));
     }
 
     @Test
     void getPlayerHomeCount() {
         Player player = playerService.getP1();
         // Home-count should be 0 at the beginning
-        Assert.assertEquals(0, boardService.getPlayerHomeCount(player));
+        Assert.assertEquals(0, boardService.getPlayerHomeCount(board, player));
 
-        Pit pit = boardService.getPitByID(0);
+        Pit pit = boardService.getPitByID(board, 0);
         Move move = new Move(player, pit);
-        boardService.updateBoardForMove(move);
-        Assert.assertEquals(1, boardService.getPlayerHomeCount(player));
+        boardService.updateBoardForMove(board, move);
+        Assert.assertEquals(1, boardService.getPlayerHomeCount(board, player));
 
     }
 
@@ -178,9 +178,9 @@ class BoardServiceTest {
     void collectRemainingStones() {
         // The game is not over yet, but if we collect stones at the beginning,
         // we should get 36 (6 stones for each of 6 pits) stones on each home pit
-        boardService.collectRemainingStones();
-        int homeCount1 = boardService.getPlayerHomeCount(playerService.getP1());
-        int homeCount2 = boardService.getPlayerHomeCount(playerService.getP2());
+        boardService.collectRemainingStones(board);
+        int homeCount1 = boardService.getPlayerHomeCount(board, playerService.getP1());
+        int homeCount2 = boardService.getPlayerHomeCount(board, playerService.getP2());
         Assert.assertEquals(36, homeCount1);
         Assert.assertEquals(36, homeCount2);
     }
@@ -191,14 +191,14 @@ class BoardServiceTest {
         Player player = playerService.getP1();
         int lowerBound = 0;
         int upperBound = 6;
-        Pit pit = boardService.getPitByID(lowerBound);
+        Pit pit = boardService.getPitByID(board, lowerBound);
         Move move = new Move(player, pit);
-        boardService.updateBoardForMove(move);
-        Assert.assertEquals(0, (int) boardService.getPitByID(0).getNumberOfStones());
+        boolean playerContinues = boardService.updateBoardForMove(board, move);
+        Assert.assertEquals(0, (int) boardService.getPitByID(board, 0).getNumberOfStones());
         for (int i = lowerBound + 1; i < upperBound; i ++)
-            Assert.assertEquals(7, (int) boardService.getPitByID(i).getNumberOfStones());
-        Assert.assertEquals(1, (int) boardService.getPitByID(upperBound).getNumberOfStones());
-        Assert.assertTrue(boardService.doesPlayerContinue());
+            Assert.assertEquals(7, (int) boardService.getPitByID(board, i).getNumberOfStones());
+        Assert.assertEquals(1, (int) boardService.getPitByID(board, upperBound).getNumberOfStones());
+        Assert.assertTrue(playerContinues);
     }
 
     @Test
@@ -207,82 +207,82 @@ class BoardServiceTest {
         Player player = playerService.getP2();
         int lowerBound = 7;
         int upperBound = 13;
-        Pit pit = boardService.getPitByID(lowerBound);
+        Pit pit = boardService.getPitByID(board, lowerBound);
         Move move = new Move(player, pit);
-        boardService.updateBoardForMove(move);
-        Assert.assertEquals(0, (int) boardService.getPitByID(lowerBound).getNumberOfStones());
+        boolean playerContinues = boardService.updateBoardForMove(board, move);
+        Assert.assertEquals(0, (int) boardService.getPitByID(board, lowerBound).getNumberOfStones());
         for (int i = lowerBound + 1; i < upperBound; i ++)
-            Assert.assertEquals(7, (int) boardService.getPitByID(i).getNumberOfStones());
-        Assert.assertEquals(1, (int) boardService.getPitByID(upperBound).getNumberOfStones());
-        Assert.assertTrue(boardService.doesPlayerContinue());
+            Assert.assertEquals(7, (int) boardService.getPitByID(board, i).getNumberOfStones());
+        Assert.assertEquals(1, (int) boardService.getPitByID(board, upperBound).getNumberOfStones());
+        Assert.assertTrue(playerContinues);
     }
 
     @Test
     @DisplayName("Verify board status when player 1 moves from pit 1 after board init")
     void doesP1Move1Work(){
         Player player = playerService.getP1();
-        Pit pit = boardService.getPitByID(1);
+        Pit pit = boardService.getPitByID(board, 1);
         Move move = new Move(player, pit);
-        boardService.updateBoardForMove(move);
-        Assert.assertEquals(6, (int) boardService.getPitByID(0).getNumberOfStones());
-        Assert.assertEquals(0, (int) boardService.getPitByID(1).getNumberOfStones());
+        boolean playerContinues = boardService.updateBoardForMove(board, move);
+        Assert.assertEquals(6, (int) boardService.getPitByID(board, 0).getNumberOfStones());
+        Assert.assertEquals(0, (int) boardService.getPitByID(board, 1).getNumberOfStones());
         int lowerBound = 2;
         int upperBound = 6;
         for (int i = lowerBound; i < upperBound; i ++)
-            Assert.assertEquals(7, (int) boardService.getPitByID(i).getNumberOfStones());
-        Assert.assertEquals(1, (int) boardService.getPitByID(upperBound).getNumberOfStones());
-        Assert.assertEquals(7, (int) boardService.getPitByID(7).getNumberOfStones());
-        Assert.assertFalse(boardService.doesPlayerContinue());
+            Assert.assertEquals(7, (int) boardService.getPitByID(board, i).getNumberOfStones());
+        Assert.assertEquals(1, (int) boardService.getPitByID(board, upperBound).getNumberOfStones());
+        Assert.assertEquals(7, (int) boardService.getPitByID(board, 7).getNumberOfStones());
+        Assert.assertFalse(playerContinues);
     }
 
     @Test
     @DisplayName("Verify simulated board status if player 2 moves from pit 8 after board init")
     void doesP2Move8Work(){
         Player player = playerService.getP2();
-        Pit pit = boardService.getPitByID(8);
+        Pit pit = boardService.getPitByID(board, 8);
         Move move = new Move(player, pit);
-        boardService.updateBoardForMove(move);
-        Assert.assertEquals(6, (int) boardService.getPitByID(7).getNumberOfStones());
-        Assert.assertEquals(0, (int) boardService.getPitByID(8).getNumberOfStones());
+        boolean playerContinues = boardService.updateBoardForMove(board, move);
+        Assert.assertEquals(6, (int) boardService.getPitByID(board, 7).getNumberOfStones());
+        Assert.assertEquals(0, (int) boardService.getPitByID(board, 8).getNumberOfStones());
         int lowerBound = 9;
         int upperBound = 13;
         for (int i = lowerBound; i < upperBound; i ++)
-            Assert.assertEquals(7, (int) boardService.getPitByID(i).getNumberOfStones());
-        Assert.assertEquals(1, (int) boardService.getPitByID(upperBound).getNumberOfStones());
+            Assert.assertEquals(7, (int) boardService.getPitByID(board, i).getNumberOfStones());
+        Assert.assertEquals(1, (int) boardService.getPitByID(board, upperBound).getNumberOfStones());
         // Below value is 7  since board is at the reset condition with current move being the first one
-        Assert.assertEquals(7, (int) boardService.getPitByID(0).getNumberOfStones());
-        Assert.assertFalse(boardService.doesPlayerContinue());
+        Assert.assertEquals(7, (int) boardService.getPitByID(board, 0).getNumberOfStones());
+        Assert.assertFalse(playerContinues);
     }
 
     @Test
     @DisplayName("Verify capture opposite stones condition")
     void captureOppositeStones() {
-        boardService.initBoard();
-        boardService.getPitByID(0).setNumberOfStones(1);
-        boardService.getPitByID(1).setNumberOfStones(0);
+        board = boardService.initBoard();
+        boardService.getPitByID(board, 0).setNumberOfStones(1);
+        boardService.getPitByID(board, 1).setNumberOfStones(0);
         playerService.initPlayers();
         Player player = playerService.getP1();
-        Pit pit = boardService.getPitByID(0);
+        Pit pit = boardService.getPitByID(board, 0);
         Move move = new Move(player, pit);
 
-        int stoneCount = boardService.getPitByID(6).getNumberOfStones();
+        int stoneCount = boardService.getPitByID(board, 6).getNumberOfStones();
         Assert.assertEquals(0, stoneCount);
 
-        stoneCount = boardService.getPitByID(13).getNumberOfStones();
+        stoneCount = boardService.getPitByID(board, 13).getNumberOfStones();
         Assert.assertEquals(0, stoneCount);
 
-        stoneCount = boardService.getPitByID(0).getNumberOfStones();
+        stoneCount = boardService.getPitByID(board, 0).getNumberOfStones();
         Assert.assertEquals(1, stoneCount);
 
-        stoneCount = boardService.getPitByID(1).getNumberOfStones();
+        stoneCount = boardService.getPitByID(board, 1).getNumberOfStones();
         Assert.assertEquals(0, stoneCount);
 
-        boardService.updateBoardForMove(move);
+        boardService.updateBoardForMove(board, move);
 
-        stoneCount = boardService.getPitByID(6).getNumberOfStones();
+        stoneCount = boardService.getPitByID(board, 6).getNumberOfStones();
         Assert.assertEquals(7, stoneCount);
 
-        stoneCount = boardService.getPitByID(13).getNumberOfStones();
+        stoneCount = boardService.getPitByID(board, 13).getNumberOfStones();
         Assert.assertEquals(0, stoneCount);
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.shikhardev.mancala.services;
+
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.journal.GameSnapshot;
+import com.shikhardev.mancala.journal.MoveJournal;
+import com.shikhardev.mancala.models.Game;
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+class GameJournalTest {
+
+    @TempDir
+    Path directory;
+
+    Rules rules = new Rules(6, 6);
+
+    GameRegistry newRegistry() {
+        return new GameRegistry(rules, new GameExecutor(2, 16), 3600L, 1L << 30, 1000L);
+    }
+
+    GameJournal open(GameRegistry registry, long snapshotInterval) throws IOException {
+        return new GameJournal(rules, registry, directory.toString(), 1L << 20, 1 << 16, snapshotInterval, false);
+    }
+
+    /**
+     * Plays random legal moves on the games, through their mailboxes and the journal as GameService does.
+     */
+    void play(GameJournal journal, GameRegistry registry, List<Game> games, int moves, SplittableRandom random) {
+        for (int i = 0; i < moves; i++) {
+            long gameID = games.get(random.nextInt(games.size())).getId();
+            registry.call(gameID, game -> {
+                if (game.isEndGame())
+                    return null;
+                int side = game.getNextPlayer();
+                int pit = rules.getFirstPit(side) + random.nextInt(rules.getPitsPerPlayer());
+                if (MoveOutcome.isLegal(game.play(rules, side, pit)))
+                    journal.recordMove(game, side, pit);
+                return null;
+            });
+        }
+        journal.sync();
+    }
+
+    void assertSameGames(GameRegistry expected, GameRegistry actual) {
+        Assert.assertEquals(expected.getGameCount(), actual.getGameCount());
+        for (Game game : expected.getGames()) {
+            Game recovered = actual.findGame(game.getId());
+            Assert.assertNotNull(recovered);
+            Assert.assertArrayEquals(game.getPits(), recovered.getPits());
+            Assert.assertEquals(game.getSequence(), recovered.getSequence());
+            Assert.assertEquals(game.getNextPlayer(), recovered.getNextPlayer());
+            Assert.assertEquals(game.isEndGame(), recovered.isEndGame());
+            Assert.assertEquals(game.getWinner(), recovered.getWinner());
+        }
+    }
+
+    @Test
+    @DisplayName("Games should be recovered from the snapshot, cold games included, and the journal after it")
+    void recovery() throws IOException {
+        GameRegistry registry = newRegistry();
+        GameJournal journal = open(registry, 1_000_000);
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Game game = registry.createGame(rules.newBoard(), Rules.PLAYER_1);
+            journal.recordCreate(game);
+            games.add(game);
+        }
+        SplittableRandom random = new SplittableRandom(5);
+        play(journal, registry, games, 400, random);
+        for (int i = 0; i < games.size(); i += 2)
+            games.get(i).setLastAccess(System.nanoTime() - TimeUnit.HOURS.toNanos(2));
+        Assert.assertEquals(10, registry.evictIdleGames());
+        long segment = journal.snapshot();     // Cold games included
+        for (int i = 0; i < games.size(); i += 2)
+            games.set(i, registry.getGame(games.get(i).getId()));
+        play(journal, registry, games, 400, random);
+        games.add(registry.createGame(rules.newBoard(), Rules.PLAYER_1));
+        journal.recordCreate(games.get(games.size() - 1));
+        play(journal, registry, games, 100, random);
+        journal.close();
+
+        Assert.assertEquals(segment, (long) MoveJournal.listSegments(directory).get(0));
+        Assert.assertEquals(1, GameSnapshot.list(directory).size());
+        GameRegistry recovered = newRegistry();
+        GameJournal reopened = open(recovered, 1_000_000);
+        assertSameGames(registry, recovered);
+        Assert.assertEquals(registry.getGameCount() + 1, recovered.createGame(rules.newBoard(), 0).getId());
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Background snapshots should keep recovery exact and drop the segments they cover")
+    void periodicSnapshots() throws Exception {
+        GameRegistry registry = newRegistry();
+        GameJournal journal = open(registry, 50);
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Game game = registry.createGame(rules.newBoard(), Rules.PLAYER_1);
+            journal.recordCreate(game);
+            games.add(game);
+        }
+        play(journal, registry, games, 2000, new SplittableRandom(9));
+        journal.close();
+
+        Assert.assertFalse(GameSnapshot.list(directory).isEmpty());
+        GameRegistry recovered = newRegistry();
+        open(recovered, 50).close();
+        assertSameGames(registry, recovered);
+    }
+}
@@ -0,0 +1,75 @@
+package com.shikhardev.mancala.services;
+
+import com.shikhardev.mancala.engine.MoveOutcome;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+class GameMetricsTest {
+
+    @Test
+    @DisplayName("Moves should be counted by outcome")
+    void outcomes() {
+        GameMetrics metrics = new GameMetrics(new SimpleMeterRegistry());
+        metrics.recordOutcome(MoveOutcome.ILLEGAL, false);
+        metrics.recordOutcome(MoveOutcome.of(6, true, false), false);
+        metrics.recordOutcome(MoveOutcome.of(3, false, true), true);
+        metrics.recordOutcome(MoveOutcome.of(9, false, false), false);
+        Assert.assertEquals(1, metrics.getIllegalMoves());
+        Assert.assertEquals(3, metrics.getMovesPlayed());
+        Assert.assertEquals(1, metrics.getExtraTurns());
+        Assert.assertEquals(1, metrics.getCaptures());
+        Assert.assertEquals(1, metrics.getFinishedGames());
+    }
+
+    @Test
+    @DisplayName("Recording should not allocate")
+    void allocationFree() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GameMetrics metrics = new GameMetrics(registry);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        // Interpreted code boxes, compiled code does not: record until the JIT has compiled the recording paths
+        long allocated = Long.MAX_VALUE;
+        int rounds = 0;
+        while (allocated >= 4096 && rounds++ < 50) {
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < 100_000; i++) {
+                metrics.recordMove(1000 + i);
+                metrics.recordPhase(GameMetrics.Phase.APPLY, 100 + i);
+                metrics.recordOutcome(MoveOutcome.of(i % 14, (i & 1) == 0, (i & 2) == 0), false);
+            }
+            allocated = threads.getThreadAllocatedBytes(thread) - before;
+        }
+        Assert.assertTrue(allocated + " bytes allocated", allocated < 4096);
+        Assert.assertEquals(100_000.0 * rounds,
+                registry.get("mancala.request").tag("route", "/move").functionTimer().count(), 0);
+    }
+
+    @Test
+    @DisplayName("Latencies should be published as a histogram of cumulative counts, with their maximum")
+    void histogram() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GameMetrics metrics = new GameMetrics(registry);
+        metrics.recordMove(100);
+        metrics.recordMove(1000);
+        metrics.recordMove(3000);
+        metrics.recordMove(-5);
+        FunctionTimer timer = registry.get("mancala.request").tag("route", "/move").functionTimer();
+        Assert.assertEquals(4, timer.count(), 0);
+        Assert.assertEquals(4100, timer.totalTime(TimeUnit.NANOSECONDS), 0);
+        Assert.assertEquals(3000, registry.get("mancala.request.max").tag("route", "/move").timeGauge()
+                .value(TimeUnit.NANOSECONDS), 0);
+        Assert.assertEquals(2, registry.get("mancala.request.histogram").tags("route", "/move", "le", "0.000000128")
+                .functionCounter().count(), 0);
+        Assert.assertEquals(3, registry.get("mancala.request.histogram").tags("route", "/move", "le", "0.000002048")
+                .functionCounter().count(), 0);
+        Assert.assertEquals(4, registry.get("mancala.request.histogram").tags("route", "/move", "le", "0.000004096")
+                .functionCounter().count(), 0);
+    }
+}
@@ -0,0 +1,80 @@
+package com.shikhardev.mancala.services;
+
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.models.Game;
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class GameRegistryTest {
+
+    Rules rules = new Rules(6, 6);
+
+    // Estimated heap of a live 6-pit game
+    static final long GAME_BYTES = 128 + 72;
+
+    @Test
+    @DisplayName("Idle games should be evicted, then rehydrated as they were on their next lookup")
+    void idleGames() {
+        GameRegistry registry = new GameRegistry(rules, new GameExecutor(2, 16), 0L, 1L << 30, 1000L);
+        Game game = registry.createGame(rules.newBoard(), Rules.PLAYER_1);
+        Assert.assertTrue(MoveOutcome.isLegal(game.play(rules, Rules.PLAYER_1, 2)));
+        registry.createGame(rules.newBoard(), Rules.PLAYER_1);
+
+        Assert.assertEquals(2, registry.evictIdleGames());
+        Assert.assertTrue(game.isEvicted());
+        Assert.assertEquals(0, registry.getResidentGameCount());
+        Assert.assertEquals(2, registry.getColdGameCount());
+        Assert.assertEquals(2, registry.getGameCount());
+
+        Game rehydrated = registry.getGame(game.getId());
+        Assert.assertNotSame(game, rehydrated);
+        Assert.assertFalse(rehydrated.isEvicted());
+        Assert.assertArrayEquals(game.getPits(), rehydrated.getPits());
+        Assert.assertEquals(1, rehydrated.getSequence());
+        Assert.assertEquals(game.getNextPlayer(), rehydrated.getNextPlayer());
+        Assert.assertSame(rehydrated, registry.getGame(game.getId()));
+        Assert.assertEquals(1, registry.getResidentGameCount());
+        Assert.assertEquals(1, registry.getColdGameCount());
+        Assert.assertEquals(2, registry.getEvictions());
+        Assert.assertEquals(1, registry.getRehydrations());
+        Assert.assertTrue(registry.getRehydrationNanos() > 0);
+        assertThrows(IllegalArgumentException.class, () -> registry.getGame(3));
+    }
+
+    @Test
+    @DisplayName("Past the heap budget, the least recently used games should be evicted")
+    void heapBudget() {
+        GameRegistry registry = new GameRegistry(rules, new GameExecutor(2, 16), 3600L, 3 * GAME_BYTES, 1000L);
+        List<Game> games = new ArrayList<>();
+        for (int i = 0; i < 5; i++)
+            games.add(registry.createGame(rules.newBoard(), Rules.PLAYER_1));
+        registry.getGame(games.get(0).getId());
+
+        Assert.assertEquals(2, registry.evictIdleGames());
+        Assert.assertEquals(3, registry.getResidentGameCount());
+        Assert.assertFalse(games.get(0).isEvicted());
+        Assert.assertTrue(games.get(1).isEvicted());
+        Assert.assertTrue(games.get(2).isEvicted());
+        Assert.assertFalse(games.get(4).isEvicted());
+        Assert.assertEquals(0, registry.evictIdleGames());
+    }
+
+    @Test
+    @DisplayName("A game the cold store rejects should stay live without stopping the sweep")
+    void rejectedGame() {
+        GameRegistry registry = new GameRegistry(rules, new GameExecutor(2, 16), 0L, 1L << 30, 1000L);
+        Game rejected = registry.createGame(new int[8], Rules.PLAYER_1);   // Not a board of the variant
+        registry.createGame(rules.newBoard(), Rules.PLAYER_1);
+
+        Assert.assertEquals(1, registry.evictIdleGames());
+        Assert.assertFalse(rejected.isEvicted());
+        Assert.assertSame(rejected, registry.getGame(rejected.getId()));
+        Assert.assertEquals(1, registry.getColdGameCount());
+    }
+}
@@ -0,0 +1,426 @@
+package com.shikhardev.mancala.services;
+
+import com.shikhardev.mancala.dto.AiMoveStatus;
+import com.shikhardev.mancala.dto.BatchMoveStatus;
+import com.shikhardev.mancala.dto.GameDelta;
+import com.shikhardev.mancala.dto.GameStatus;
+import com.shikhardev.mancala.dto.HintStatus;
+import com.shikhardev.mancala.dto.MovePreview;
+import com.shikhardev.mancala.dto.MoveRequest;
+import com.shikhardev.mancala.dto.OutcomeStatus;
+import com.shikhardev.mancala.engine.MoveOutcome;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.models.Game;
+import com.shikhardev.mancala.models.Pit;
+import com.shikhardev.mancala.models.PlayerID;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Assert;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+class GameServiceTest {
+
+    @BeforeEach
+    void setUp() {
+        gameStatus = gameService.initGame();
+    }
+
+    @Autowired
+    BoardService boardService;
+
+    @Autowired
+    PlayerService playerService;
+
+    @Autowired
+    GameService gameService;
+
+    @Autowired
+    GameRegistry gameRegistry;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    GameStatus gameStatus;
+
+    int[] getPits() {
+        return gameRegistry.getGame(gameStatus.getGameID()).getPits();
+    }
+
+    @Test
+    @DisplayName("Verify if all pits have been appropriately created after init")
+    void isBoardCreated() {
+        Assert.assertEquals(14, getPits().length);
+        int totalExpectedStones = 6 * 12;
+        int sum = Arrays.stream(getPits()).sum();
+        Assert.assertEquals(sum, totalExpectedStones);
+    }
+
+    @Test
+    @DisplayName("Verify if all players have been appropriately created after init")
+    void arePlayersCreated() {
+        Assert.assertNotNull(playerService.getP1());
+        Assert.assertNotNull(playerService.getP2());
+    }
+
+    @Test
+    @DisplayName("Verify if gameStatus reflects a newly created game after init")
+    void verifyInitGameStatus() {
+        int totalExpectedStones = 6 * 12;
+        int sum;
+
+        // Verifying gameStatus
+        sum = gameStatus.getCurrentBoardStatus()
+                .getAllPits()
+                .stream()
+                .mapToInt(Pit::getNumberOfStones)
+                .sum();
+        Assert.assertEquals(sum, totalExpectedStones);
+        Assert.assertFalse(gameStatus.isEndGame());
+        Assert.assertTrue(gameStatus.isLegalMove());
+        Assert.assertSame(gameStatus.getNextPlayer().getId(), PlayerID.PLAYER_1);
+        Assert.assertSame(gameStatus.getWinner().getId(), PlayerID.None);
+    }
+
+    void setStoneCountForPitsInRange (int stoneCount, int lowerBound, int upperBound) {
+        for (int i = lowerBound; i < upperBound; i ++)
+            getPits()[i] = stoneCount;
+    }
+
+    @Test
+    @DisplayName("isEndGame should return false if neither side is completely empty")
+    void partlyFilledSide_endGameStatus() {
+        // If a side is partially empty, game has not ended
+        setStoneCountForPitsInRange(0, 0, 4);
+        GameStatus res = gameService.executeMove(gameStatus.getGameID(), "PLAYER_1", 5);
+        Assert.assertFalse(res.isEndGame());
+        // No winner yet
+        Assert.assertEquals(PlayerID.None, res.getWinner().getId());
+    }
+
+    @Test
+    @DisplayName("isEndGame should return true if at least one side is completely empty")
+    void oneSideEmpty_endGameStatus() {
+        setStoneCountForPitsInRange(0, 0, 5);
+        setStoneCountForPitsInRange(1, 5, 6);
+        GameStatus res = gameService.executeMove(gameStatus.getGameID(), "PLAYER_1", 5);
+        Assert.assertTrue(res.isEndGame());
+        // P1 home stone count is 0 and P2 side of board is full
+        // So, by collecting at the end, P2 should be winner
+        Assert.assertEquals(res.getWinner(), playerService.getP2());
+
+        gameStatus = gameService.initGame();
+        setStoneCountForPitsInRange(0, 7, 12);
+        setStoneCountForPitsInRange(1, 12, 13);
+        res = gameService.executeMove(gameStatus.getGameID(), "PLAYER_2", 12);
+        Assert.assertTrue(res.isEndGame());
+        Assert.assertEquals(res.getWinner(), playerService.getP1());
+    }
+
+    @Test
+    @DisplayName("isEndGame should return true but winner should be emptyPlayer for draw")
+    void verifyDrawGameStatus() {
+        setStoneCountForPitsInRange(0, 0, 6);
+        setStoneCountForPitsInRange(1, 6, 7);
+        setStoneCountForPitsInRange(0, 7, 12);
+        setStoneCountForPitsInRange(1, 12, 13);
+        GameStatus res = gameService.executeMove(gameStatus.getGameID(), "PLAYER_2", 12);
+        Assert.assertTrue(res.isEndGame());
+        Assert.assertEquals(PlayerID.None, res.getWinner().getId());
+    }
+
+    @Test
+    @DisplayName("ExecuteMove for valid parameters")
+    void executeMove() {
+        // move.isValid() has been tested in models.MoveTest
+        // updateBoardForMove() has been tested in services.BoardServiceTest
+        // isEndGame() has been tested in services.BoardServiceTest
+        // doesPlayerContinue()  has been tested in services.BoardServiceTest
+        // => While of this function has been tested before
+    }
+
+    @Test
+    @DisplayName("Simulate ExecuteMove for illegal player id")
+    void testIllegalPlayerIDForExecuteMove() {
+        assertThrows(IllegalArgumentException.class, () -> gameService.executeMove(gameStatus.getGameID(), "Shikhar", 0));
+    }
+
+    @Test
+    @DisplayName("Simulate ExecuteMove for illegal pit id")
+    void testIllegalPitIDForExecuteMove() {
+        assertThrows(IndexOutOfBoundsException.class, () -> gameService.executeMove(gameStatus.getGameID(), "PLAYER_1", 100));
+    }
+
+    @Test
+    @DisplayName("Simulate ExecuteMove for a game that does not exist")
+    void testUnknownGameIDForExecuteMove() {
+        assertThrows(IllegalArgumentException.class, () -> gameService.executeMove(-1, "PLAYER_1", 0));
+    }
+
+    @Test
+    @DisplayName("Moves on one game should not change any other game")
+    void gamesAreIndependent() {
+        GameStatus other = gameService.initGame();
+        Assert.assertNotEquals(gameStatus.getGameID(), other.getGameID());
+
+        GameStatus res = gameService.executeMove(gameStatus.getGameID(), "PLAYER_1", 0);
+        Assert.assertEquals(0, (int) res.getCurrentBoardStatus().getPit(0).getNumberOfStones());
+
+        res = gameService.executeMove(other.getGameID(), "PLAYER_1", 1);
+        Assert.assertEquals(6, (int) res.getCurrentBoardStatus().getPit(0).getNumberOfStones());
+        Assert.assertEquals(0, (int) res.getCurrentBoardStatus().getPit(1).getNumberOfStones());
+        Assert.assertEquals(PlayerID.PLAYER_2, res.getNextPlayer().getId());
+        Assert.assertEquals(0, getPits()[0]);
+    }
+
+    @Test
+    @DisplayName("The computer should only play a legal move on its own turn")
+    void executeAiMove() {
+        AiMoveStatus res = gameService.executeAiMove(gameStatus.getGameID(), "PLAYER_2");
+        Assert.assertEquals(-1, res.getPitID());
+        Assert.assertFalse(res.getGameStatus().isLegalMove());
+
+        res = gameService.executeAiMove(gameStatus.getGameID(), "PLAYER_1");
+        Assert.assertTrue(res.getGameStatus().isLegalMove());
+        Assert.assertTrue(res.getPitID() >= 0 && res.getPitID() < 6);
+        Assert.assertEquals(0, (int) res.getGameStatus().getCurrentBoardStatus().getPit(res.getPitID()).getNumberOfStones());
+        Assert.assertTrue(res.getDepth() > 0);
+    }
+
+    @Test
+    @DisplayName("The computer should answer opening positions from the book and search the others")
+    void executeAiMoveFromBook() {
+        double hits = meterRegistry.get("mancala.book.hits").functionCounter().count();
+        AiMoveStatus res = gameService.executeAiMove(gameStatus.getGameID(), "PLAYER_1");
+        Assert.assertEquals(0, res.getNodes());
+        Assert.assertEquals(hits + 1, meterRegistry.get("mancala.book.hits").functionCounter().count(), 0);
+
+        int[] pits = getPits();
+        Arrays.fill(pits, 0);
+        pits[1] = 4;
+        pits[3] = 2;
+        pits[8] = 3;
+        pits[10] = 5;
+        res = gameService.executeAiMove(gameStatus.getGameID(), res.getGameStatus().getNextPlayer().getId().name());
+        Assert.assertTrue(res.getGameStatus().isLegalMove());
+        Assert.assertTrue(res.getNodes() > 0);
+        Assert.assertTrue(res.getNodesPerSecond() > 0);
+        Assert.assertEquals(hits + 1, meterRegistry.get("mancala.book.hits").functionCounter().count(), 0);
+    }
+
+    @Test
+    @DisplayName("Returned GameStatus should not change with later moves")
+    void gameStatusIsSnapshot() {
+        GameStatus res = gameService.executeMove(gameStatus.getGameID(), "PLAYER_1", 0);
+        gameService.executeMove(gameStatus.getGameID(), "PLAYER_1", 1);
+        Assert.assertEquals(7, (int) res.getCurrentBoardStatus().getPit(1).getNumberOfStones());
+        Assert.assertEquals(PlayerID.PLAYER_1, res.getNextPlayer().getId());
+    }
+
+    @Test
+    @DisplayName("Outcome should be unknown without a tablebase and final once the game has ended")
+    void getOutcome() {
+        OutcomeStatus res = gameService.getOutcome(gameStatus.getGameID());
+        Assert.assertFalse(res.isSolved());
+        Assert.assertEquals(72, res.getStonesInPlay());
+        Assert.assertEquals(PlayerID.None, res.getWinner().getId());
+
+        int[] pits = getPits();
+        Arrays.fill(pits, 0);
+        pits[5] = 1;
+        pits[8] = 2;
+        pits[13] = 1;
+        gameService.executeMove(gameStatus.getGameID(), "PLAYER_1", 5);
+        res = gameService.getOutcome(gameStatus.getGameID());
+        Assert.assertTrue(res.isSolved());
+        Assert.assertEquals(1, res.getPlayer1HomeCount());
+        Assert.assertEquals(3, res.getPlayer2HomeCount());
+        Assert.assertEquals(PlayerID.PLAYER_2, res.getWinner().getId());
+    }
+
+    @Test
+    @DisplayName("A GameDelta should hold the changed pits and the move's sequence number")
+    void executeMoveDelta() {
+        Assert.assertEquals(0, gameStatus.getSequence());
+        GameDelta res = gameService.executeMoveDelta(gameStatus.getGameID(), "PLAYER_1", 0);
+        Assert.assertTrue(res.isLegalMove());
+        Assert.assertEquals(1, res.getSequence());
+        Assert.assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5, 6}, res.getPitIDs());
+        Assert.assertArrayEquals(new int[]{0, 7, 7, 7, 7, 7, 1}, res.getStoneCounts());
+        Assert.assertEquals(PlayerID.PLAYER_1, res.getNextPlayer());
+        Assert.assertFalse(res.isEndGame());
+        Assert.assertEquals(PlayerID.None, res.getWinner());
+        Assert.assertArrayEquals(new int[] {0b1111110111110}, res.getLegalMoves());
+
+        res = gameService.executeMoveDelta(gameStatus.getGameID(), "PLAYER_1", 0);
+        Assert.assertFalse(res.isLegalMove());
+        Assert.assertArrayEquals(new int[] {0b1111110111110}, res.getLegalMoves());
+        Assert.assertEquals(1, res.getSequence());
+        Assert.assertEquals(0, res.getPitIDs().length);
+
+        GameStatus status = gameService.executeMove(gameStatus.getGameID(), "PLAYER_1", 1);
+        Assert.assertEquals(2, status.getSequence());
+        Assert.assertEquals(2, gameService.getGameStatus(gameStatus.getGameID()).getSequence());
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> gameService.executeMoveDelta(gameStatus.getGameID(), "PLAYER_2", -1));
+    }
+
+    @Test
+    @DisplayName("A batch should play its moves until the first illegal one")
+    void executeMoves() {
+        long gameID = gameStatus.getGameID();
+        BatchMoveStatus res = gameService.executeMoves(gameID, Arrays.asList(
+                new MoveRequest("PLAYER_1", 0),
+                new MoveRequest("PLAYER_1", 1),
+                new MoveRequest("PLAYER_2", 7),
+                new MoveRequest("PLAYER_2", 7),     // Illegal: pit 7 is empty
+                new MoveRequest("PLAYER_1", 2)));
+        Assert.assertEquals(3, res.getMovesPlayed());
+        Assert.assertEquals(3, res.getStoppedAt());
+        Assert.assertFalse(res.getGameStatus().isLegalMove());
+        Assert.assertEquals(3, res.getGameStatus().getSequence());
+        Assert.assertEquals(0, (int) res.getGameStatus().getCurrentBoardStatus().getPit(7).getNumberOfStones());
+        Assert.assertEquals(8, getPits()[2]);
+
+        res = gameService.executeMoves(gameID, Collections.singletonList(new MoveRequest("PLAYER_1", 2)));
+        Assert.assertEquals(1, res.getMovesPlayed());
+        Assert.assertEquals(-1, res.getStoppedAt());
+        Assert.assertTrue(res.getGameStatus().isLegalMove());
+
+        res = gameService.executeMoves(gameID, Collections.emptyList());
+        Assert.assertEquals(0, res.getMovesPlayed());
+        Assert.assertEquals(4, res.getGameStatus().getSequence());
+    }
+
+    @Test
+    @DisplayName("A malformed batch should be rejected before any move is played")
+    void executeMovesMalformed() {
+        long gameID = gameStatus.getGameID();
+        assertThrows(IndexOutOfBoundsException.class, () -> gameService.executeMoves(gameID, Arrays.asList(
+                new MoveRequest("PLAYER_1", 0), new MoveRequest("PLAYER_1", 14))));
+        assertThrows(IllegalArgumentException.class, () -> gameService.executeMoves(gameID, Arrays.asList(
+                new MoveRequest("PLAYER_1", 0), new MoveRequest("Shikhar", 1))));
+        Assert.assertEquals(6, getPits()[0]);
+        Assert.assertEquals(0, gameService.getGameStatus(gameID).getSequence());
+    }
+
+    @Test
+    @DisplayName("Concurrent moves on one game should play as if they came one at a time, in sequence order")
+    void concurrentMoves() throws Exception {
+        long gameID = gameStatus.getGameID();
+        int threads = 4;
+        ExecutorService clients = Executors.newFixedThreadPool(threads);
+        List<Future<Map<Long, int[]>>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            SplittableRandom random = new SplittableRandom(t);
+            results.add(clients.submit(() -> {
+                Map<Long, int[]> played = new HashMap<>();    // Sequence number to mover and pit
+                for (int i = 0; i < 500; i++) {
+                    int mover = random.nextInt(2);
+                    int pit = random.nextInt(6) + 7 * mover;
+                    GameDelta delta = gameService.executeMoveDelta(gameID, mover == 0 ? "PLAYER_1" : "PLAYER_2", pit);
+                    if (delta.isLegalMove())
+                        played.put(delta.getSequence(), new int[] {mover, pit});
+                }
+                return played;
+            }));
+        }
+        TreeMap<Long, int[]> moves = new TreeMap<>();
+        int legalMoves = 0;
+        for (Future<Map<Long, int[]>> result : results) {
+            Map<Long, int[]> played = result.get(1, TimeUnit.MINUTES);
+            legalMoves += played.size();
+            moves.putAll(played);
+        }
+        clients.shutdown();
+
+        // Every legal move got its own sequence number, and none was lost
+        Assert.assertEquals(legalMoves, moves.size());
+        Assert.assertEquals(legalMoves, gameService.getGameStatus(gameID).getSequence());
+        Rules rules = new Rules(6, 6);
+        Game replay = new Game(gameID, rules.newBoard(), Rules.PLAYER_1, Rules.NO_PLAYER);
+        for (int[] move : moves.values())
+            Assert.assertTrue(MoveOutcome.isLegal(replay.play(rules, move[0], move[1])));
+        Assert.assertArrayEquals(replay.getPits(), getPits());
+    }
+
+    @Test
+    @DisplayName("The status should list the legal moves and preview each, as the moves then play")
+    void legalMovesAndPreview() {
+        Assert.assertArrayEquals(new int[] {0b1111110111111}, gameStatus.getLegalMoves());
+        MovePreview movePreview = gameStatus.getMovePreview();
+        Assert.assertEquals(6, movePreview.getLastPitIDs()[0]);
+        Assert.assertEquals(-1, movePreview.getLastPitIDs()[6]);
+        Assert.assertEquals(13, movePreview.getLastPitIDs()[7]);
+        Assert.assertEquals((1 << 0) | (1 << 7), movePreview.getExtraTurns()[0]);
+        Assert.assertEquals(0, movePreview.getCaptures()[0]);
+
+        long gameID = gameStatus.getGameID();
+        SplittableRandom random = new SplittableRandom(11);
+        GameStatus status = gameStatus;
+        while (!status.isEndGame()) {
+            String player = status.getNextPlayer().getId().name();
+            int mover = status.getNextPlayer().getId() == PlayerID.PLAYER_1 ? 0 : 1;
+            int pit = 7 * mover + random.nextInt(6);
+            if ((status.getLegalMoves()[0] & 1 << pit) == 0) {
+                Assert.assertFalse(gameService.executeMove(gameID, player, pit).isLegalMove());
+                continue;
+            }
+            MovePreview preview = status.getMovePreview();
+            status = gameService.executeMove(gameID, player, pit);
+            Assert.assertTrue(status.isLegalMove());
+            boolean extraTurn = (preview.getExtraTurns()[0] & 1 << pit) != 0;
+            boolean capture = (preview.getCaptures()[0] & 1 << pit) != 0;
+            int lastPit = preview.getLastPitIDs()[pit];
+            Assert.assertEquals(extraTurn, mover == 0 ? lastPit == 6 : lastPit == 13);
+            if (!status.isEndGame())
+                Assert.assertEquals(extraTurn, status.getNextPlayer().getId() == (mover == 0 ? PlayerID.PLAYER_1 : PlayerID.PLAYER_2));
+            if (capture && !status.isEndGame())
+                Assert.assertEquals(0, getPits()[lastPit]);
+        }
+    }
+
+    @Test
+    @DisplayName("Hints should suggest a legal move, and be cached for every game reaching the position")
+    void getHint() {
+        gameService.executeMove(gameStatus.getGameID(), "PLAYER_1", 3);
+        HintStatus hint = gameService.getHint(gameStatus.getGameID());
+        Assert.assertEquals(gameStatus.getGameID(), hint.getGameID());
+        Assert.assertEquals(1, hint.getSequence());
+        Assert.assertEquals(PlayerID.PLAYER_2, hint.getPlayer());
+        Assert.assertTrue(hint.getPitID() >= 7 && hint.getPitID() < 13);
+
+        GameStatus other = gameService.initGame();
+        gameService.executeMove(other.getGameID(), "PLAYER_1", 3);
+        HintStatus cached = gameService.getHint(other.getGameID());
+        Assert.assertTrue(cached.isCached());
+        Assert.assertEquals(hint.getPitID(), cached.getPitID());
+        Assert.assertEquals(hint.getScore(), cached.getScore());
+        Assert.assertTrue(meterRegistry.get("mancala.hints.cache.hits").functionCounter().count() >= 1);
+
+        setStoneCountForPitsInRange(0, 0, 5);
+        setStoneCountForPitsInRange(1, 5, 6);
+        Assert.assertTrue(gameService.executeMove(gameStatus.getGameID(), "PLAYER_1", 5).isEndGame());
+        Assert.assertEquals(-1, gameService.getHint(gameStatus.getGameID()).getPitID());
+    }
+}
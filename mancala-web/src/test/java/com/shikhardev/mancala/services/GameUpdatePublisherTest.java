@@ -0,0 +1,92 @@
+package com.shikhardev.mancala.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shikhardev.mancala.dto.GameStatus;
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+class GameUpdatePublisherTest {
+
+    @Autowired
+    GameService gameService;
+
+    @Autowired
+    GameUpdatePublisher gameUpdatePublisher;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    /**
+     * Session of a client that stops reading: every send blocks until released.
+     */
+    static class BlockedClient {
+
+        final CountDownLatch released = new CountDownLatch(1);
+        final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        final BlockingQueue<CloseStatus> closed = new LinkedBlockingQueue<>();
+        final WebSocketSession session = (WebSocketSession) Proxy.newProxyInstance(
+                WebSocketSession.class.getClassLoader(), new Class<?>[]{WebSocketSession.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getId":
+                            return "blocked-" + System.identityHashCode(proxy);
+                        case "isOpen":
+                            return closed.isEmpty();
+                        case "sendMessage":
+                            released.await();
+                            messages.add(((TextMessage) args[0]).getPayload());
+                            return null;
+                        case "close":
+                            closed.add(args == null ? CloseStatus.NORMAL : (CloseStatus) args[0]);
+                            return null;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    @Test
+    @DisplayName("A client that does not read should not hold up the moves of the game it watches")
+    void blockedClient() throws Exception {
+        long gameID = gameService.initGame().getGameID();
+        BlockedClient client = new BlockedClient();
+        gameService.subscribe(gameID, client.session, false);
+
+        long start = System.nanoTime();
+        gameService.executeMove(gameID, "PLAYER_1", 0);
+        gameService.executeMove(gameID, "PLAYER_1", 1);
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        Assert.assertTrue(client.messages.isEmpty());
+
+        client.released.countDown();
+        int[] sequences = new int[3];
+        for (int i = 0; i < sequences.length; i++) {
+            String message = client.messages.poll(5, TimeUnit.SECONDS);
+            Assert.assertNotNull(message);
+            sequences[i] = (int) objectMapper.readValue(message, GameStatus.class).getSequence();
+        }
+        Assert.assertArrayEquals(new int[]{0, 1, 2}, sequences);
+        Assert.assertTrue(client.closed.isEmpty());
+        gameUpdatePublisher.unsubscribe(gameID, client.session);
+    }
+}
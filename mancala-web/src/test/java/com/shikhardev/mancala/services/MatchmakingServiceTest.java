@@ -0,0 +1,111 @@
+package com.shikhardev.mancala.services;
+
+import com.shikhardev.mancala.dto.GameStatus;
+import com.shikhardev.mancala.dto.MatchStatus;
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.matchmaking.Ticket;
+import com.shikhardev.mancala.models.PlayerID;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import static org.junit.jupiter.api.Assertions.*;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+class MatchmakingServiceTest {
+
+    @Autowired
+    GameService gameService;
+
+    @Autowired
+    Rules rules;
+
+    MatchmakingService matchmaking(long ticketTtlMillis) {
+        return new MatchmakingService(gameService, rules, new SimpleMeterRegistry(), 200, ticketTtlMillis, 1000L);
+    }
+
+    @Test
+    @DisplayName("Two players of the same band should be seated in one new game")
+    void match() {
+        MatchmakingService matchmakingService = matchmaking(60_000);
+        MatchStatus first = matchmakingService.join(null, 1510);
+        Assert.assertEquals(Ticket.State.WAITING, first.getState());
+        Assert.assertEquals("6x6/7", first.getQueue());
+        Assert.assertEquals(PlayerID.None, first.getPlayerID());
+
+        Assert.assertEquals(Ticket.State.WAITING, matchmakingService.join("6x6", 1390).getState());
+        Assert.assertEquals(Ticket.State.WAITING, matchmakingService.join("6x6", null).getState());
+        Assert.assertEquals(3, matchmakingService.getWaiting());
+
+        MatchStatus second = matchmakingService.join("6x6", 1599);
+        Assert.assertEquals(Ticket.State.MATCHED, second.getState());
+        Assert.assertEquals(PlayerID.PLAYER_2, second.getPlayerID());
+        first = matchmakingService.getTicket(first.getTicketID());
+        Assert.assertEquals(Ticket.State.MATCHED, first.getState());
+        Assert.assertEquals(PlayerID.PLAYER_1, first.getPlayerID());
+        Assert.assertEquals(first.getGameID(), second.getGameID());
+
+        GameStatus gameStatus = gameService.getGameStatus(first.getGameID());
+        Assert.assertEquals(PlayerID.PLAYER_1, gameStatus.getNextPlayer().getId());
+        Assert.assertEquals(1, matchmakingService.getMatches());
+        Assert.assertEquals(2, matchmakingService.getWaiting());
+        Assert.assertEquals(1.0, matchmakingService.getMatchRate(), 0);
+    }
+
+    @Test
+    @DisplayName("Cancelled and expired tickets should not be matched")
+    void cancelAndExpire() throws InterruptedException {
+        MatchmakingService matchmakingService = matchmaking(60_000);
+        MatchStatus first = matchmakingService.join(null, null);
+        Assert.assertEquals(Ticket.State.CANCELLED, matchmakingService.leave(first.getTicketID()).getState());
+        Assert.assertEquals(Ticket.State.WAITING, matchmakingService.join(null, null).getState());
+        Assert.assertEquals(1, matchmakingService.getCancellations());
+
+        matchmakingService = matchmaking(1);
+        MatchStatus stale = matchmakingService.join(null, null);
+        Thread.sleep(5);
+        Assert.assertEquals(Ticket.State.WAITING, matchmakingService.join(null, null).getState());
+        Assert.assertEquals(Ticket.State.EXPIRED, matchmakingService.getTicket(stale.getTicketID()).getState());
+        Thread.sleep(5);
+        matchmakingService.expireTickets();
+        Assert.assertEquals(2, matchmakingService.getExpirations());
+        Assert.assertEquals(0, matchmakingService.getWaiting());
+        Assert.assertEquals(0.0, matchmakingService.getMatchRate(), 0);
+        long ticketID = stale.getTicketID();
+        assertThrows(IllegalArgumentException.class, () -> matchmaking(1).getTicket(ticketID));
+    }
+
+    @Test
+    @DisplayName("A pair whose game could not be created should be closed, not left waiting")
+    void failedMatch() {
+        GameService failingGameService = new GameService(null, null, null, null, null, rules, null, null, null, null,
+                false) {
+            @Override
+            public GameStatus initGame() {
+                throw new IllegalStateException("No game");
+            }
+        };
+        MatchmakingService matchmakingService = new MatchmakingService(failingGameService, rules,
+                new SimpleMeterRegistry(), 200, 60_000L, 1000L);
+        MatchStatus first = matchmakingService.join(null, null);
+        assertThrows(IllegalStateException.class, () -> matchmakingService.join(null, null));
+        Assert.assertEquals(Ticket.State.FAILED, matchmakingService.getTicket(first.getTicketID()).getState());
+        Assert.assertEquals(0, matchmakingService.getWaiting());
+        Assert.assertEquals(Ticket.State.WAITING, matchmakingService.join(null, null).getState());
+    }
+
+    @Test
+    @DisplayName("Other variants and out of range ratings should be refused")
+    void invalidJoins() {
+        MatchmakingService matchmakingService = matchmaking(60_000);
+        assertThrows(IllegalArgumentException.class, () -> matchmakingService.join("4x4", null));
+        assertThrows(IllegalArgumentException.class, () -> matchmakingService.join(null, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> matchmakingService.join(null, MatchmakingService.MAX_RATING + 1));
+    }
+}
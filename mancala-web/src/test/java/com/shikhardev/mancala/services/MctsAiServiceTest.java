@@ -0,0 +1,13 @@
+package com.shikhardev.mancala.services;
+
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+/**
+ * The tests of AiServiceTest, with the pool of Monte Carlo tree searchers.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "AI_ENGINE=MCTS")
+class MctsAiServiceTest extends AiServiceTest {
+}
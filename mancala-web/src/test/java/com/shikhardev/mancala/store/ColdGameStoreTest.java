@@ -0,0 +1,107 @@
+package com.shikhardev.mancala.store;
+
+import com.shikhardev.mancala.engine.Rules;
+import com.shikhardev.mancala.models.Game;
+import org.junit.Assert;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+class ColdGameStoreTest {
+
+    Rules rules = new Rules(6, 6);
+
+    Game newGame(long id, SplittableRandom random) {
+        int[] pits = new int[rules.getTotalPitCount()];
+        for (int i = 0; i < pits.length; i++)
+            pits[i] = random.nextInt(100);
+        Game game = new Game(id, pits, random.nextInt(2), random.nextInt(3) - 1);
+        game.setSequence(random.nextLong(1L << 40));
+        game.setEndGame(random.nextBoolean());
+        return game;
+    }
+
+    void assertSameGame(Game expected, Game actual) {
+        Assert.assertNotNull(actual);
+        Assert.assertEquals(expected.getId(), actual.getId());
+        Assert.assertArrayEquals(expected.getPits(), actual.getPits());
+        Assert.assertEquals(expected.getSequence(), actual.getSequence());
+        Assert.assertEquals(expected.getNextPlayer(), actual.getNextPlayer());
+        Assert.assertEquals(expected.getWinner(), actual.getWinner());
+        Assert.assertEquals(expected.isEndGame(), actual.isEndGame());
+    }
+
+    @Test
+    @DisplayName("A stored game should be read back as it was, and replaced by a later put")
+    void roundTrip() {
+        ColdGameStore store = new ColdGameStore(rules.getTotalPitCount(), 72);
+        SplittableRandom random = new SplittableRandom(1);
+        Game game = newGame(42, random);
+        store.put(game);
+        assertSameGame(game, store.get(42));
+        Assert.assertNotSame(game, store.get(42));
+
+        Game later = newGame(42, random);
+        store.put(later);
+        assertSameGame(later, store.get(42));
+        Assert.assertEquals(1, store.size());
+        Assert.assertNull(store.get(43));
+        Assert.assertTrue(store.remove(42));
+        Assert.assertFalse(store.remove(42));
+        Assert.assertNull(store.get(42));
+    }
+
+    @Test
+    @DisplayName("The store should match a HashMap through random puts and removes, reusing freed slots")
+    void randomOperations() {
+        ColdGameStore store = new ColdGameStore(rules.getTotalPitCount(), 72);
+        Map<Long, Game> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 200_000; i++) {
+            long id = 1 + random.nextInt(20_000);
+            if (random.nextInt(3) == 0) {
+                Assert.assertEquals(expected.remove(id) != null, store.remove(id));
+            }
+            else {
+                Game game = newGame(id, random);
+                store.put(game);
+                expected.put(id, game);
+            }
+        }
+        Assert.assertEquals(expected.size(), store.size());
+        for (Game game : expected.values())
+            assertSameGame(game, store.get(game.getId()));
+        long[] ids = store.getIds();
+        Arrays.sort(ids);
+        Assert.assertArrayEquals(expected.keySet().stream().mapToLong(Long::longValue).sorted().toArray(), ids);
+        // 39 bytes a game: 20000 games at most fit in one slab
+        Assert.assertEquals(ColdGameStore.SLAB_BYTES, store.getOffHeapBytes());
+    }
+
+    @Test
+    @DisplayName("A board of the wrong size should be rejected")
+    void wrongBoard() {
+        ColdGameStore store = new ColdGameStore(rules.getTotalPitCount(), 72);
+        assertThrows(IllegalArgumentException.class,
+                () -> store.put(new Game(1, new int[8], Rules.PLAYER_1, Rules.NO_PLAYER)));
+    }
+
+    @Test
+    @DisplayName("Variants with more than 65535 stones should be stored in wider slots, the others rejected")
+    void largeStoneCounts() {
+        int[] pits = rules.newBoard();
+        pits[13] = 100_000;
+        Game game = new Game(7, pits, Rules.PLAYER_2, Rules.NO_PLAYER);
+        ColdGameStore wide = new ColdGameStore(rules.getTotalPitCount(), 100_072);
+        wide.put(game);
+        assertSameGame(game, wide.get(7));
+
+        ColdGameStore narrow = new ColdGameStore(rules.getTotalPitCount(), 72);
+        assertThrows(IllegalArgumentException.class, () -> narrow.put(game));
+    }
+}